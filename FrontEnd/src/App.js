@@ -58,7 +58,7 @@ const App = () => {
   const [cars, setCars] = useState([]);
   const [reservations, setReservations] = useState([]);
   const [maintenanceRecords, setMaintenanceRecords] = useState([]);
-  const [users, setUsers] = useState([]);
+  const [customerCount, setCustomerCount] = useState(0);
   const [pendingRequests, setPendingRequests] = useState([]);
   const [searchParams, setSearchParams] = useState({
     location: '',
@@ -81,7 +81,7 @@ const App = () => {
                 headers: { 'Content-Type': 'application/json' },
                 credentials: 'include'
               }),
-              fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/customers`, {
+              fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/customers/count`, {
                 method: 'GET',
                 headers: { 'Content-Type': 'application/json' },
                 credentials: 'include'
@@ -106,7 +106,7 @@ const App = () => {
             const reservationsData = await reservationsRes.json();
 
             if (vehiclesRes.ok) setCars(Array.isArray(vehiclesData) ? vehiclesData : []);
-            if (usersRes.ok) setUsers(Array.isArray(usersData) ? usersData : []);
+            if (usersRes.ok) setCustomerCount(usersData.count || 0);
             if (pendingRes.ok) setPendingRequests(Array.isArray(pendingData) ? pendingData : []);
             if (reservationsRes.ok) setReservations(Array.isArray(reservationsData) ? reservationsData : []);
           } catch (error) {
@@ -148,7 +148,7 @@ const App = () => {
     }
     return (
       <AdminPageWrapper>
-        {React.cloneElement(children, { currentUser, setCurrentUser, cars, users, pendingRequests })}
+        {React.cloneElement(children, { currentUser, setCurrentUser, cars, customerCount, pendingRequests })}
       </AdminPageWrapper>
     );
   };
@@ -163,7 +163,7 @@ const App = () => {
     }
     return (
       <ManagerPageWrapper>
-        {React.cloneElement(children, { currentUser, setCurrentUser, cars, users, pendingRequests })}
+        {React.cloneElement(children, { currentUser, setCurrentUser, cars, customerCount, pendingRequests })}
       </ManagerPageWrapper>
     );
   };
@@ -356,7 +356,7 @@ const App = () => {
                   currentUser={currentUser}
                   cars={cars}
                   reservations={reservations}
-                  users={users}
+                  customerCount={customerCount}
                   pendingRequests={pendingRequests}
                 />
               </SuperAdminRoute>
@@ -448,7 +448,7 @@ const App = () => {
                   currentUser={currentUser} 
                   cars={cars} 
                   reservations={reservations} 
-                  users={users} 
+                  customerCount={customerCount} 
                   pendingRequests={pendingRequests}
                 />
               </AdminRoute>
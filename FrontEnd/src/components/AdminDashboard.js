@@ -1,13 +1,25 @@
 
-import React, { useState } from 'react';
+import React, { useEffect, useState } from 'react';
 import { useNavigate, useLocation } from 'react-router-dom';
 import { LogOut, Layout, Users, Car, ClipboardList, ToolCase, Calendar } from 'lucide-react';
 import '../styles/AdminDashboard.css';
 
-const AdminDashboard = ({ currentUser, cars, reservations, users, pendingRequests, setCurrentUser }) => {
+const AdminDashboard = ({ currentUser, cars, reservations, customerCount, pendingRequests, setCurrentUser }) => {
   const navigate = useNavigate();
   const location = useLocation();
   const [currentView, setCurrentView] = useState('dashboard');
+  const [monthStats, setMonthStats] = useState(null);
+
+  // Current month's revenue and utilisation, answered from the analytics aggregates
+  useEffect(() => {
+    const now = new Date();
+    fetch(`${process.env.REACT_APP_API_URL}/api/analytics/summary?year=${now.getFullYear()}&month=${now.getMonth() + 1}`, {
+      credentials: 'include',
+    })
+      .then(response => (response.ok ? response.json() : null))
+      .then(data => setMonthStats(data))
+      .catch(error => console.error('Error fetching analytics:', error));
+  }, []);
 
   const handleLogout = () => {
     console.log('Logging out from Admin Dashboard');
@@ -94,12 +106,20 @@ const AdminDashboard = ({ currentUser, cars, reservations, users, pendingRequest
               </div>
               <div className="stat-card">
                 <h3>Total Users</h3>
-                <p>{users.length}</p>
+                <p>{customerCount}</p>
               </div>
               <div className="stat-card">
                 <h3>Pending User Requests</h3>
                 <p>{pendingRequests.length}</p>
               </div>
+              <div className="stat-card">
+                <h3>Revenue This Month</h3>
+                <p>{monthStats ? `$${Number(monthStats.revenue).toFixed(2)}` : '-'}</p>
+              </div>
+              <div className="stat-card">
+                <h3>Fleet Utilisation This Month</h3>
+                <p>{monthStats && monthStats.utilisation != null ? `${monthStats.utilisation}%` : '-'}</p>
+              </div>
             </div>
           </div>
         )}
@@ -38,6 +38,31 @@ const AllReservations = ({ reservations, setReservations, currentUser, setCurren
     }
   };
 
+  // The list only carries a vehicle summary, so images are loaded when a reservation is opened
+  const viewReservation = async (reservation) => {
+    setSelectedReservation(reservation);
+    if (!reservation.vehicle?.id) return;
+
+    try {
+      const response = await fetch(`${process.env.REACT_APP_API_URL}/api/vehicles/${reservation.vehicle.id}`, {
+        method: 'GET',
+        headers: { 'Content-Type': 'application/json' },
+        credentials: 'include'
+      });
+
+      if (response.ok) {
+        const vehicle = await response.json();
+        setSelectedReservation(current =>
+          current && current.id === reservation.id
+            ? { ...current, vehicle: { ...current.vehicle, ...vehicle } }
+            : current
+        );
+      }
+    } catch (error) {
+      console.error('Error fetching vehicle details:', error);
+    }
+  };
+
   const cancelReservation = async (reservationId) => {
     if (!window.confirm('Are you sure you want to cancel this reservation?')) return;
 
@@ -66,6 +91,7 @@ const AllReservations = ({ reservations, setReservations, currentUser, setCurren
   const getStatusColor = (status) => {
     switch (status.toLowerCase()) {
       case 'confirmed': return '#27ae60';
+      case 'active': return '#8e44ad';
       case 'completed': return '#2980b9';
       case 'cancelled': return '#e74c3c';
       case 'ready for pickup': return '#f39c12';
@@ -186,6 +212,7 @@ const AllReservations = ({ reservations, setReservations, currentUser, setCurren
           <select value={statusFilter} onChange={(e) => setStatusFilter(e.target.value)}>
             <option value="all">All Statuses</option>
             <option value="confirmed">Confirmed</option>
+            <option value="active">Active</option>
             <option value="completed">Completed</option>
             <option value="cancelled">Cancelled</option>
             <option value="ready for pickup">Ready for Pickup</option>
@@ -269,7 +296,7 @@ const AllReservations = ({ reservations, setReservations, currentUser, setCurren
                   <td>
                     <div className="action-buttons">
                       <button
-                        onClick={() => setSelectedReservation(reservation)}
+                        onClick={() => viewReservation(reservation)}
                         className="action-btn view-btn"
                         title="View Reservation Details"
                       >
@@ -52,27 +52,26 @@ export default function CancelReservation({ reservations, setReservations, curre
     }
   }, [id, reservations]);
 
-  // --- Fee logic ---
-  const feePreview = useMemo(() => {
-    if (!reservation) return null;
-    const pickup = new Date(reservation.pickupAt);
-    const hoursToPickup = (pickup - new Date()) / 36e5; // hours
-    const total = Number(reservation.totalAmount || 0);
-
-    let feePct = 0;
-    if (hoursToPickup < 24) feePct = 0.3;
-    else if (hoursToPickup < 72) feePct = 0.1;
+  // --- Fee logic (server-side CancellationPolicy) ---
+  const [quote, setQuote] = useState(null);
 
-    const cancellationFee = round2(total * feePct);
-    const refundAmount = round2(total - cancellationFee);
+  useEffect(() => {
+    if (!id) return;
+    fetch(`${process.env.REACT_APP_API_URL}/api/reservations/${id}/cancellation-quote`, { credentials: 'include' })
+      .then(response => (response.ok ? response.json() : null))
+      .then(data => setQuote(data))
+      .catch(error => console.error('Error fetching cancellation quote:', error));
+  }, [id]);
 
+  const feePreview = useMemo(() => {
+    if (!reservation || !quote) return null;
     return {
-      cancellationFee,
-      refundAmount,
+      cancellationFee: Number(quote.cancellationFee),
+      refundAmount: Number(quote.refundAmount),
       currency: reservation.currency || "FJD",
-      hoursToPickup,
+      hoursToPickup: quote.hoursToPickup,
     };
-  }, [reservation]);
+  }, [reservation, quote]);
 
   // --- Validation ---
   const validatePayment = () => {
@@ -298,6 +297,3 @@ function fmtDateTime(iso) {
   const d = new Date(iso);
   return d.toLocaleString(undefined, { dateStyle: "medium", timeStyle: "short" });
 }
-function round2(n) {
-  return Math.round((Number(n) + Number.EPSILON) * 100) / 100;
-}
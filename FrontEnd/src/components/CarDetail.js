@@ -41,6 +41,7 @@ const CarDetail = ({ reservations, setReservations, currentUser }) => {
   const navigate = useNavigate();
   const [reservation, setReservation] = useState(state?.reservation);
   const [amenities, setAmenities] = useState(['none']); 
+  const [quote, setQuote] = useState(null);
   const [error, setError] = useState('');
 
  
@@ -66,21 +67,43 @@ const CarDetail = ({ reservations, setReservations, currentUser }) => {
     Math.floor((new Date(reservation.returnDate) - new Date(reservation.rentalDate)) / (1000 * 60 * 60 * 24)) + 1 
     : 1;
 
-  const basePrice = reservation ? days * reservation.vehicle.pricePerDay : 0;
+  // The server quote is authoritative (it is what the booking is checked against);
+  // the local estimate only fills in until it arrives
+  useEffect(() => {
+    if (!reservation || !amenities.length) {
+      setQuote(null);
+      return;
+    }
 
-  
-  const amenityPrices = {
-    'none': 0,
-    'baby-sitter': 20,
-    'gps': 10,
-    'power-bank': 5
-  };
+    let cancelled = false;
+    fetch(`${process.env.REACT_APP_API_URL}/api/reservations/quote`, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/json' },
+      credentials: 'include',
+      body: JSON.stringify({
+        vehicleId: reservation.vehicle.id,
+        rentalDate: reservation.rentalDate,
+        returnDate: reservation.returnDate,
+        amenities: amenities
+      })
+    })
+      .then(response => (response.ok ? response.json() : null))
+      .then(data => { if (!cancelled) setQuote(data); })
+      .catch(err => console.error('Error fetching price quote:', err));
+
+    return () => { cancelled = true; };
+  }, [reservation, amenities, currentUser]);
+
+  const estimatedBasePrice = reservation ? days * reservation.vehicle.pricePerDay : 0;
 
-  const amenityCost = amenities.includes('none') || amenities.length === 0 ? 
+  const estimatedAmenityCost = amenities.includes('none') || amenities.length === 0 ? 
     0 : 
-    amenities.reduce((sum, amenityId) => sum + (amenityPrices[amenityId] || 0), 0);
+    amenities.reduce((sum, amenityId) => sum + (availableAmenities.find(a => a.id === amenityId)?.price || 0), 0);
 
-  const totalPrice = basePrice + amenityCost;
+  const basePrice = quote ? quote.basePrice : estimatedBasePrice;
+  const amenityCost = quote ? quote.amenitiesPrice : estimatedAmenityCost;
+  const discount = quote ? quote.discount : 0;
+  const totalPrice = quote ? quote.totalPrice : basePrice + amenityCost;
 
   const handleAmenityChange = (amenity, checked) => {
     setAmenities(prev => {
@@ -94,18 +117,43 @@ const CarDetail = ({ reservations, setReservations, currentUser }) => {
     });
   };
 
-  const proceedToCheckout = () => {
+  const proceedToCheckout = async () => {
     if (!amenities.length) {
       setError('Please select at least one amenity option or "None"');
       return;
     }
-    
+
+    // Hold the car for these dates while checkout is filled in, so nobody else can book it meanwhile
+    let hold = null;
+    try {
+      const response = await fetch(`${process.env.REACT_APP_API_URL}/api/reservations/holds`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        credentials: 'include',
+        body: JSON.stringify({
+          vehicleId: reservation.vehicle.id,
+          rentalDate: reservation.rentalDate,
+          returnDate: reservation.returnDate
+        })
+      });
+      const data = await response.json().catch(() => null);
+      if (!response.ok) {
+        setError(data?.error || 'This vehicle is no longer available for these dates');
+        return;
+      }
+      hold = data;
+    } catch (err) {
+      console.error('Error placing checkout hold:', err);
+    }
+
     navigate('/checkout', {
       state: {
         reservation: reservation,
         amenities: amenities,
+        quote: quote,
         totalPrice: totalPrice,
-        currentUser: currentUser
+        currentUser: currentUser,
+        hold: hold
       }
     });
   };
@@ -184,6 +232,9 @@ const CarDetail = ({ reservations, setReservations, currentUser }) => {
             {amenities.length > 0 && !amenities.includes('none') && (
               <p>Amenities: <span>+{amenityCost.toFixed(2)} FJD</span></p>
             )}
+            {discount > 0 && (
+              <p>Promotions: <span>-{discount.toFixed(2)} FJD</span></p>
+            )}
             <hr />
             <p><strong>Total: <span>{totalPrice.toFixed(2)} FJD</span></strong></p>
             
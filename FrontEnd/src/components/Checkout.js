@@ -7,7 +7,7 @@ import '../styles/Checkout.css';
 const Checkout = ({ reservations, setReservations, currentUser }) => {
   const { state } = useLocation();
   const navigate = useNavigate();
-  const { reservation, amenities, totalPrice, currentUser: stateCurrentUser } = state || {};
+  const { reservation, amenities, quote, totalPrice, currentUser: stateCurrentUser, hold } = state || {};
 
   const [formData, setFormData] = useState({
     fullName: '',
@@ -211,7 +211,8 @@ const Checkout = ({ reservations, setReservations, currentUser }) => {
   const days = reservation ?
     Math.floor((new Date(reservation.returnDate) - new Date(reservation.rentalDate)) / (1000 * 60 * 60 * 24)) + 1
     : 1;
-  const basePrice = vehicle ? days * vehicle.pricePerDay : 0;
+  const basePrice = quote ? quote.basePrice : (vehicle ? days * vehicle.pricePerDay : 0);
+  const discount = quote ? quote.discount : 0;
   const availableAmenities = [
     { id: 'none', name: 'None', price: 0 },
     { id: 'baby-sitter', name: 'Baby Sitter', price: 20 },
@@ -226,6 +227,9 @@ const Checkout = ({ reservations, setReservations, currentUser }) => {
       <header className="detail-header">
         <h1><Lock size={20} /> Secure Checkout</h1>
         <p>Enter your details and payment information to complete the booking</p>
+        {hold && (
+          <p>This vehicle is held for you until {new Date(hold.expiresAt).toLocaleTimeString('en-FJ', { hour: '2-digit', minute: '2-digit' })}</p>
+        )}
       </header>
       <div className="detail-content">
         <div className="detail-main">
@@ -459,7 +463,10 @@ const Checkout = ({ reservations, setReservations, currentUser }) => {
             <div className="pricing">
               <p>Base Price ({days} day{days > 1 ? 's' : ''}): <span>{basePrice.toFixed(2)} FJD</span></p>
               {amenities.length > 0 && !amenities.includes('none') && (
-                <p>Amenities: <span>+{(totalPrice - basePrice).toFixed(2)} FJD</span></p>
+                <p>Amenities: <span>+{(totalPrice + discount - basePrice).toFixed(2)} FJD</span></p>
+              )}
+              {discount > 0 && (
+                <p>Promotions: <span>-{discount.toFixed(2)} FJD</span></p>
               )}
               <hr />
               <p><strong>Total: <span>{totalPrice.toFixed(2)} FJD</span></strong></p>
@@ -10,6 +10,7 @@ const PendingRequests = ({ setCurrentUser }) => {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
   const [successMessage, setSuccessMessage] = useState('');
+  const [selectedIds, setSelectedIds] = useState([]);
 
   useEffect(() => {
     fetchPendingRequests();
@@ -45,6 +46,7 @@ const PendingRequests = ({ setCurrentUser }) => {
       if (response.ok) {
         const data = await response.json();
         setRequests(Array.isArray(data) ? data : []);
+        setSelectedIds([]);
         setError('');
       } else {
         const errorData = await response.json();
@@ -128,6 +130,52 @@ const PendingRequests = ({ setCurrentUser }) => {
     }
   };
 
+  const toggleSelected = (requestId) => {
+    setSelectedIds((current) =>
+      current.includes(requestId) ? current.filter((id) => id !== requestId) : [...current, requestId]
+    );
+  };
+
+  const toggleAll = () => {
+    setSelectedIds(selectedIds.length === requests.length ? [] : requests.map((request) => request.id));
+  };
+
+  // action is 'approve' or 'reject'; the server decides every selected request in one transaction
+  const handleBatchDecision = async (action) => {
+    if (selectedIds.length === 0) {
+      return;
+    }
+    try {
+      setLoading(true);
+      const response = await fetch(`${process.env.REACT_APP_API_URL}/api/auth/${action}`, {
+        method: 'POST',
+        headers: {
+          'Content-Type': 'application/json',
+          'Accept': 'application/json'
+        },
+        credentials: 'include',
+        body: JSON.stringify({ requestIds: selectedIds })
+      });
+
+      const result = await response.json();
+      if (response.ok) {
+        const failed = (result.results || []).filter((item) => item.status === 'FAILED');
+        setSuccessMessage(result.message);
+        setError(failed.map((item) => `Request ${item.requestId}: ${item.error}`).join('; '));
+        fetchPendingRequests();
+      } else {
+        setError(result.error || `Failed to ${action} selected requests`);
+        setSuccessMessage('');
+      }
+    } catch (err) {
+      console.error('Batch decision error:', err);
+      setError(`Failed to ${action} selected requests: ` + err.message);
+      setSuccessMessage('');
+    } finally {
+      setLoading(false);
+    }
+  };
+
   const isValidBase64 = (str) => {
     try {
       return str && typeof str === 'string' && str.trim().length > 0 && !str.includes('data:');
@@ -203,11 +251,37 @@ const PendingRequests = ({ setCurrentUser }) => {
             {successMessage && <p className="success-text">{successMessage}</p>}
             {loading && <p>Loading...</p>}
             {!loading && requests.length === 0 && <p>No pending requests.</p>}
+            {requests.length > 0 && (
+              <div className="table-actions" style={{ marginBottom: '12px' }}>
+                <button
+                  onClick={() => handleBatchDecision('approve')}
+                  className="action-btn approve"
+                  disabled={loading || selectedIds.length === 0}
+                >
+                  Approve selected ({selectedIds.length})
+                </button>
+                <button
+                  onClick={() => handleBatchDecision('reject')}
+                  className="action-btn reject"
+                  disabled={loading || selectedIds.length === 0}
+                >
+                  Reject selected ({selectedIds.length})
+                </button>
+              </div>
+            )}
             {requests.length > 0 && (
               <div className="table-container">
                 <table className="requests-table">
                   <thead>
                     <tr>
+                      <th>
+                        <input
+                          type="checkbox"
+                          checked={selectedIds.length === requests.length}
+                          onChange={toggleAll}
+                          title="Select all"
+                        />
+                      </th>
                       <th>Name</th>
                       <th>Email</th>
                       <th>Phone Number</th>
@@ -220,6 +294,13 @@ const PendingRequests = ({ setCurrentUser }) => {
                   <tbody>
                     {requests.map((request) => (
                       <tr key={request.id}>
+                        <td>
+                          <input
+                            type="checkbox"
+                            checked={selectedIds.includes(request.id)}
+                            onChange={() => toggleSelected(request.id)}
+                          />
+                        </td>
                         <td>{request.firstName} {request.lastName}</td>
                         <td>{request.email}</td>
                         <td>{request.phoneNumber}</td>
@@ -650,10 +650,21 @@ const ReservationManagement = ({ reservations, setReservations, currentUser, set
             >
               <div style={{
                 display: 'grid',
-                gridTemplateColumns: 'auto 1fr auto',
+                gridTemplateColumns: 'auto auto 1fr auto',
                 gap: '1.5rem',
                 alignItems: 'center'
               }}>
+                {/* Vehicle thumbnail (served scaled, cached by the browser) */}
+                {reservation.vehicle?.thumbnailUrl ? (
+                  <img
+                    src={`${process.env.REACT_APP_API_URL}${reservation.vehicle.thumbnailUrl}`}
+                    alt={`${reservation.vehicle?.make || ''} ${reservation.vehicle?.model || ''}`.trim()}
+                    loading="lazy"
+                    style={{ width: '96px', height: '72px', objectFit: 'cover', borderRadius: '8px' }}
+                    onError={e => { e.currentTarget.style.visibility = 'hidden'; }}
+                  />
+                ) : <div />}
+
                 {/* Vehicle Info */}
                 <div>
                   <h4 style={{ margin: '0 0 0.25rem 0', color: '#2c3e50' }}>
@@ -65,7 +65,7 @@ const SuperAdminDashboardModified = ({ setCurrentUser, currentUser }) => {
       });
 
       // Fetch user stats
-      const userResponse = await fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/customers`, {
+      const userResponse = await fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/customers/count`, {
         method: 'GET',
         headers: { 'Content-Type': 'application/json' },
         credentials: 'include'
@@ -74,10 +74,10 @@ const SuperAdminDashboardModified = ({ setCurrentUser, currentUser }) => {
       const pendingData = pendingResponse.ok ? await pendingResponse.json() : [];
       const maintenanceData = maintenanceResponse.ok ? await maintenanceResponse.json() : [];
       const vehicleData = vehicleResponse.ok ? await vehicleResponse.json() : [];
-      const userData = userResponse.ok ? await userResponse.json() : [];
+      const userData = userResponse.ok ? await userResponse.json() : {};
 
       setStats({
-        totalUsers: Array.isArray(userData) ? userData.length : 0,
+        totalUsers: userData.count || 0,
         totalVehicles: Array.isArray(vehicleData) ? vehicleData.length : 0,
         pendingRequests: Array.isArray(pendingData) ? pendingData.length : 0,
         pendingMaintenance: Array.isArray(maintenanceData) ? maintenanceData.length : 0
@@ -3,20 +3,27 @@ import { useNavigate, useLocation } from 'react-router-dom';
 import { LogOut, Layout, Users, Car, ClipboardList, ToolCase, Trash2, UserPlus, Calendar } from 'lucide-react';
 import '../styles/UserManagement.css';
 
+const PAGE_SIZE = 50;
+
 const UserManagement = ({ setCurrentUser, currentUser }) => {
   const navigate = useNavigate();
   const location = useLocation()
   const [users, setUsers] = useState([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
+  const [search, setSearch] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [licenseImages, setLicenseImages] = useState({});
 
 
   const isSuperAdmin = currentUser?.role === 'SUPER_ADMIN'
   const isAdmin = currentUser?.role === 'ADMIN';
 
+  // Refetch the first page once typing pauses
   useEffect(() => {
-    fetchUsers();
-  }, []);
+    const timer = setTimeout(() => fetchUsers(), 300);
+    return () => clearTimeout(timer);
+  }, [search]);
 
   const handleLogout = async () => {
     try {
@@ -42,23 +49,26 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
     }
   };
 
-  const fetchUsers = async () => {
+  // Directory rows carry no licence image; pass nextCursor as after to load the next page
+  const fetchUsers = async (after = null) => {
     setLoading(true);
     setError('');
     try {
-      console.log('Fetching users from${process.env.REACT_APP_API_URL}/api/auth/users/customers');
-      const response = await fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/customers`, {
+      const params = new URLSearchParams({ limit: PAGE_SIZE });
+      if (search.trim()) params.append('q', search.trim());
+      if (after) params.append('after', after);
+      const response = await fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/directory?${params}`, {
         method: 'GET',
         headers: { 'Content-Type': 'application/json' },
         credentials: 'include'
       });
       console.log('Response status:', response.status);
       const text = await response.text();
-      console.log('Raw response:', text);
       if (response.ok) {
         const data = JSON.parse(text);
-        console.log('Parsed data:', data);
-        setUsers(Array.isArray(data) ? data : []);
+        const customers = Array.isArray(data.customers) ? data.customers : [];
+        setUsers(prev => (after ? [...prev, ...customers] : customers));
+        setNextCursor(data.nextCursor ?? null);
         setError('');
       } else {
         let errorData;
@@ -78,6 +88,25 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
     }
   };
 
+  const handleViewLicense = async (userId) => {
+    try {
+      const response = await fetch(`${process.env.REACT_APP_API_URL}/api/auth/users/${userId}/license-image`, {
+        method: 'GET',
+        headers: { 'Content-Type': 'application/json' },
+        credentials: 'include'
+      });
+      const data = await response.json();
+      if (response.ok) {
+        setLicenseImages(prev => ({ ...prev, [userId]: data.image }));
+      } else {
+        alert(data.error || 'Failed to load license image');
+      }
+    } catch (err) {
+      console.error('License image error:', err);
+      alert('Failed to load license image');
+    }
+  };
+
   const handleDeleteUser = async (userId) => {
     if (!isSuperAdmin) {
       alert('Only super admins can delete users');
@@ -97,7 +126,7 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
 
       if (response.ok) {
         alert('User deleted successfully');
-        fetchUsers(); 
+        setUsers(prev => prev.filter(user => user.id !== userId));
       } else {
         const errorData = await response.json();
         alert(errorData.error || 'Failed to delete user');
@@ -220,8 +249,15 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
         <div className="user-management">
           <div className="card">
             <h2>Customer Information</h2>
+            <input
+              type="text"
+              className="directory-search"
+              placeholder="Search by name, email, phone or license number"
+              value={search}
+              onChange={(e) => setSearch(e.target.value)}
+            />
             {error && <p className="error-text">{error}</p>}
-            {loading && <p>Loading...</p>}
+            {loading && users.length === 0 && <p>Loading...</p>}
             {!loading && users.length === 0 && <p>No users found.</p>}
             {users.length > 0 && (
               <div className="table-container">
@@ -234,6 +270,7 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
                       <th>Phone Number</th>
                       <th>Driver's License</th>
                       <th>License Image</th>
+                      <th>Reservations</th>
                       {isSuperAdmin && <th>Actions</th>}
                     </tr>
                   </thead>
@@ -246,10 +283,10 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
                         <td>{user.phoneNumber}</td>
                         <td>{user.driversLicenseNumber}</td>
                         <td>
-                          {user.driversLicenseImage && isValidBase64(user.driversLicenseImage) ? (
+                          {licenseImages[user.id] && isValidBase64(licenseImages[user.id]) ? (
                             <div className="image-container">
                               <img
-                                src={`data:image/jpeg;base64,${user.driversLicenseImage}`}
+                                src={`data:image/jpeg;base64,${licenseImages[user.id]}`}
                                 alt={`${user.firstName}'s license`}
                                 className="license-image"
                                 onError={(e) => {
@@ -259,10 +296,15 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
                               />
                               <span style={{ display: 'none', color: '#999' }}>Invalid Image</span>
                             </div>
+                          ) : user.hasLicenseImage ? (
+                            <button onClick={() => handleViewLicense(user.id)} className="view-license-btn">
+                              View
+                            </button>
                           ) : (
                             <span style={{ color: '#999' }}>No Image</span>
                           )}
                         </td>
+                        <td>{user.reservationCount}</td>
                         {isSuperAdmin && (
                           <td>
                             <button
@@ -278,6 +320,11 @@ const UserManagement = ({ setCurrentUser, currentUser }) => {
                     ))}
                   </tbody>
                 </table>
+                {nextCursor && (
+                  <button onClick={() => fetchUsers(nextCursor)} className="load-more-btn" disabled={loading}>
+                    {loading ? 'Loading...' : 'Load more'}
+                  </button>
+                )}
               </div>
             )}
           </div>
@@ -161,7 +161,7 @@ const VehicleSearch = ({ reservations, setReservations, currentUser }) => {
       try {
         const apiUrl = process.env.REACT_APP_API_URL;
         const [vehiclesRes, locationsRes, typesRes] = await Promise.all([
-          fetch(`${apiUrl}/api/vehicles/available`),
+          fetch(`${apiUrl}/api/vehicles/available`, { credentials: 'include' }),
           fetch(`${apiUrl}/api/vehicles/locations`),
           fetch(`${apiUrl}/api/vehicles/types`)
         ]);
@@ -283,7 +283,7 @@ const VehicleSearch = ({ reservations, setReservations, currentUser }) => {
     setLoading(true);
     try {
       const apiUrl = process.env.REACT_APP_API_URL;
-      const vehiclesRes = await fetch(`${apiUrl}/api/vehicles/available`);
+      const vehiclesRes = await fetch(`${apiUrl}/api/vehicles/available`, { credentials: 'include' });
 
       if (vehiclesRes.ok) {
         const data = await vehiclesRes.json();
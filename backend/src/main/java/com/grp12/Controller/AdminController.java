@@ -1,9 +1,11 @@
 package com.grp12.Controller;
 
+import com.grp12.Exception.PasswordHashingBusyException;
 import com.grp12.Model.Admin;
 import com.grp12.Repository.AdminRepository; 
 import com.grp12.Services.AdminService;
 import com.grp12.Services.UserService;
+import com.grp12.config.CurrentAdmin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -103,6 +105,8 @@ public class AdminController {
             existingAdmin.setPassword(null); 
             return ResponseEntity.ok(existingAdmin);
             
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("=== LOGIN ERROR ===");
             System.err.println("Error type: " + e.getClass().getSimpleName());
@@ -233,18 +237,10 @@ public class AdminController {
     }
     
     @GetMapping("/current")
-    public ResponseEntity<?> getCurrentAdmin() {
+    public ResponseEntity<?> getCurrentAdmin(@CurrentAdmin Admin admin) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated() && 
-                !authentication.getName().equals("anonymousUser")) {
-                
-                String email = authentication.getName();
-                Admin admin = adminService.getAdminByEmail(email);
-                if (admin != null) {
-                    admin.setPassword(null);
-                    return ResponseEntity.ok(admin);
-                }
+            if (admin != null) {
+                return ResponseEntity.ok(admin);
             }
             
             Map<String, String> errorResponse = new HashMap<>();
@@ -258,7 +254,7 @@ public class AdminController {
     }
 
     @PostMapping("/add-admin")
-    public ResponseEntity<?> addAdmin(@RequestBody Admin admin, HttpServletRequest request) {
+    public ResponseEntity<?> addAdmin(@RequestBody Admin admin, @CurrentAdmin Admin currentAdmin, HttpServletRequest request) {
         try {
             // Get current admin from security context
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -268,13 +264,6 @@ public class AdminController {
                     .body(Map.of("error", "Not authenticated"));
             }
 
-            // Get current admin by email/username
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             if (currentAdmin == null || !"SUPER_ADMIN".equals(currentAdmin.getRole())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only super admins can add new admin accounts"));
@@ -0,0 +1,101 @@
+package com.grp12.Controller;
+
+import com.grp12.DTO.AnalyticsRow;
+import com.grp12.Services.AnalyticsService;
+import com.grp12.Services.FleetUtilisationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Dashboard figures answered from reservation_daily_stats (see AnalyticsService)
+@RestController
+@RequestMapping("/api/analytics")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private FleetUtilisationService fleetUtilisationService;
+
+    // Revenue, bookings, cancellations and fleet utilisation for a year or one month of it
+    @GetMapping("/summary")
+    public ResponseEntity<?> getSummary(@RequestParam int year, @RequestParam(required = false) Integer month) {
+        try {
+            return ResponseEntity.ok(analyticsService.summary(year, month));
+        } catch (DateTimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse("Invalid period: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get analytics summary: " + e.getMessage()));
+        }
+    }
+
+    // Same figures split by location, type or vehicle
+    @GetMapping("/breakdown")
+    public ResponseEntity<?> getBreakdown(@RequestParam int year, @RequestParam(required = false) Integer month,
+                                          @RequestParam(defaultValue = "location") String by) {
+        try {
+            List<AnalyticsRow> rows = analyticsService.breakdown(year, month, by);
+            return ResponseEntity.ok(rows);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get analytics breakdown: " + e.getMessage()));
+        }
+    }
+
+    // Month-by-month series for a year
+    @GetMapping("/monthly")
+    public ResponseEntity<?> getMonthly(@RequestParam int year) {
+        try {
+            return ResponseEntity.ok(analyticsService.monthly(year));
+        } catch (DateTimeException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse("Invalid period: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to get monthly analytics: " + e.getMessage()));
+        }
+    }
+
+    // Occupancy over any window (yyyy-MM-dd), net of maintenance, computed from the raw intervals
+    @GetMapping("/utilisation")
+    public ResponseEntity<?> getUtilisation(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(defaultValue = "false") boolean includeVehicles) {
+        try {
+            return ResponseEntity.ok(fleetUtilisationService.utilisation(from, to, includeVehicles));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to compute utilisation: " + e.getMessage()));
+        }
+    }
+
+    // Rebuild the recent window now instead of waiting for the nightly run
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> reconcile() {
+        try {
+            int rows = analyticsService.reconcile(LocalDate.now());
+            if (rows < 0) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Reconciliation already running"));
+            }
+            return ResponseEntity.ok(Map.of("rows", rows));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to reconcile analytics: " + e.getMessage()));
+        }
+    }
+}
@@ -5,14 +5,12 @@ import com.grp12.Model.MaintenanceRecord;
 import com.grp12.Model.Admin;
 import com.grp12.Repository.PendingMaintenanceRecordRepository;
 import com.grp12.Repository.MaintenanceRecordRepository;
-import com.grp12.Services.AdminService;
 import com.grp12.Services.ImageCompressionService;
+import com.grp12.config.CurrentAdmin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -36,9 +34,6 @@ public class PendingMaintenanceController {
     @Autowired
     private MaintenanceRecordRepository maintenanceRecordRepository;
 
-    @Autowired
-    private AdminService adminService;
-
     @Autowired
     private ImageCompressionService imageCompressionService;
 
@@ -56,17 +51,10 @@ public class PendingMaintenanceController {
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "notes", required = false) String notes,
             @RequestParam(value = "mileage", required = false) Integer mileage,
-            @RequestParam(value = "receipt", required = false) MultipartFile receipt) {
+            @RequestParam(value = "receipt", required = false) MultipartFile receipt,
+            @CurrentAdmin Admin currentAdmin) {
 
         try {
-            // Get current admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             if (currentAdmin == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not found"));
@@ -146,7 +134,7 @@ public class PendingMaintenanceController {
     // Approve pending maintenance request (SUPER_ADMIN only)
     @PostMapping("/{requestId}/approve")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<?> approvePendingMaintenanceRequest(@PathVariable Long requestId) {
+    public ResponseEntity<?> approvePendingMaintenanceRequest(@PathVariable Long requestId, @CurrentAdmin Admin currentAdmin) {
         try {
             Optional<PendingMaintenanceRecord> requestOpt = pendingMaintenanceRecordRepository.findById(requestId);
             if (!requestOpt.isPresent()) {
@@ -160,14 +148,6 @@ public class PendingMaintenanceController {
                     .body(Map.of("error", "Request is not in pending status"));
             }
 
-            // Get current super admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             // Update request status
             request.setApprovalStatus("APPROVED");
             request.setApprovedBy(currentAdmin.getId());
@@ -195,7 +175,8 @@ public class PendingMaintenanceController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<?> rejectPendingMaintenanceRequest(
             @PathVariable Long requestId,
-            @RequestBody Map<String, String> rejectionData) {
+            @RequestBody Map<String, String> rejectionData,
+            @CurrentAdmin Admin currentAdmin) {
 
         try {
             Optional<PendingMaintenanceRecord> requestOpt = pendingMaintenanceRecordRepository.findById(requestId);
@@ -212,14 +193,6 @@ public class PendingMaintenanceController {
 
             String rejectionReason = rejectionData.get("reason");
 
-            // Get current super admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             // Update request status
             request.setApprovalStatus("REJECTED");
             request.setApprovedBy(currentAdmin.getId());
@@ -4,14 +4,12 @@ import com.grp12.Model.PendingVehicleChange;
 import com.grp12.Model.Admin;
 import com.grp12.Model.Vehicle;
 import com.grp12.Repository.PendingVehicleChangeRepository;
-import com.grp12.Services.AdminService;
 import com.grp12.Services.VehicleService;
+import com.grp12.config.CurrentAdmin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -31,9 +29,6 @@ public class PendingVehicleController {
     @Autowired
     private PendingVehicleChangeRepository pendingVehicleChangeRepository;
 
-    @Autowired
-    private AdminService adminService;
-
     @Autowired
     private VehicleService vehicleService;
 
@@ -60,17 +55,10 @@ public class PendingVehicleController {
             @RequestParam(value = "features", required = false) String features,
             @RequestParam("vehicleImage1") MultipartFile vehicleImage1,
             @RequestParam("vehicleImage2") MultipartFile vehicleImage2,
-            @RequestParam("vehicleImage3") MultipartFile vehicleImage3) {
+            @RequestParam("vehicleImage3") MultipartFile vehicleImage3,
+            @CurrentAdmin Admin currentAdmin) {
 
         try {
-            // Get current admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             if (currentAdmin == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not found"));
@@ -150,16 +138,8 @@ public class PendingVehicleController {
     // Submit pending vehicle remove request (ADMIN only)
     @PostMapping("/remove/{vehicleId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<?> submitVehicleRemoveRequest(@PathVariable Long vehicleId) {
+    public ResponseEntity<?> submitVehicleRemoveRequest(@PathVariable Long vehicleId, @CurrentAdmin Admin currentAdmin) {
         try {
-            // Get current admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             if (currentAdmin == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not found"));
@@ -202,7 +182,7 @@ public class PendingVehicleController {
     // Approve pending request (SUPER_ADMIN only)
     @PostMapping("/{requestId}/approve")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<?> approvePendingRequest(@PathVariable Long requestId) {
+    public ResponseEntity<?> approvePendingRequest(@PathVariable Long requestId, @CurrentAdmin Admin currentAdmin) {
         try {
             Optional<PendingVehicleChange> requestOpt = pendingVehicleChangeRepository.findById(requestId);
             if (!requestOpt.isPresent()) {
@@ -216,14 +196,6 @@ public class PendingVehicleController {
                     .body(Map.of("error", "Request is not in pending status"));
             }
 
-            // Get current super admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             // Update request status
             request.setStatus("APPROVED");
             request.setApprovedBy(currentAdmin.getId());
@@ -285,7 +257,8 @@ public class PendingVehicleController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<?> rejectPendingRequest(
             @PathVariable Long requestId,
-            @RequestBody Map<String, String> rejectionData) {
+            @RequestBody Map<String, String> rejectionData,
+            @CurrentAdmin Admin currentAdmin) {
 
         try {
             Optional<PendingVehicleChange> requestOpt = pendingVehicleChangeRepository.findById(requestId);
@@ -302,14 +275,6 @@ public class PendingVehicleController {
 
             String rejectionReason = rejectionData.get("reason");
 
-            // Get current super admin
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             // Update request status
             request.setStatus("REJECTED");
             request.setApprovedBy(currentAdmin.getId());
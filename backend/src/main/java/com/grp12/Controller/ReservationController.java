@@ -1,5 +1,16 @@
 package com.grp12.Controller;
 
+import com.grp12.DTO.BatchCancellationRequest;
+import com.grp12.DTO.CancellationResult;
+import com.grp12.DTO.GroupBookingRequest;
+import com.grp12.DTO.GroupBookingResult;
+import com.grp12.DTO.HoldRequest;
+import com.grp12.DTO.PriceQuote;
+import com.grp12.DTO.QuoteRequest;
+import com.grp12.DTO.ReservationAmendment;
+import com.grp12.DTO.ReservationView;
+import com.grp12.Model.Amenity;
+import com.grp12.Model.CheckoutHold;
 import com.grp12.Model.Reservation;
 import com.grp12.Model.User;
 import com.grp12.Model.Vehicle;
@@ -7,6 +18,8 @@ import com.grp12.Repository.ReservationRepository;
 import com.grp12.Repository.UserRepository;
 import com.grp12.Repository.VehicleRepository;
 import com.grp12.Services.EmailService;
+import com.grp12.Services.HoldService;
+import com.grp12.Services.PricingEngine;
 import com.grp12.Services.ReservationService;
 import com.grp12.Services.VehicleService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,9 +32,11 @@ import org.springframework.security.core.GrantedAuthority;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.math.BigDecimal;
 
 @RestController
@@ -37,6 +52,9 @@ public class ReservationController {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private PricingEngine pricingEngine;
+
     @Autowired
     private ReservationRepository reservationRepository;
 
@@ -46,6 +64,9 @@ public class ReservationController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private HoldService holdService;
+
     @PostMapping
     public ResponseEntity<?> createReservation(@RequestBody Reservation reservation) {
         try {
@@ -135,82 +156,131 @@ public class ReservationController {
         }
     }
 
-    @PutMapping("/{id}/cancel")
-    public ResponseEntity<?> cancelReservation(@PathVariable Long id) {
+    // Several vehicles for the same dates, all booked or none; the customer comes from the session
+    @PostMapping("/group")
+    public ResponseEntity<?> createGroupReservation(@RequestBody GroupBookingRequest request, Authentication authentication) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN") || auth.getAuthority().equals("ROLE_SUPER_ADMIN"));
+            Optional<User> currentUserOpt = userRepository.findByEmailForAuth(authentication.getName());
+            if (!currentUserOpt.isPresent()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
+            }
+            GroupBookingResult result = reservationService.createGroupReservation(currentUserOpt.get(), request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to create group reservation: " + e.getMessage()));
+        }
+    }
 
-            Optional<Reservation> reservationOpt = reservationRepository.findById(id);
-            if (!reservationOpt.isPresent()) {
-                return ResponseEntity.notFound().build();
+    @PostMapping("/quote")
+    public ResponseEntity<?> quote(@RequestBody QuoteRequest request, Authentication authentication) {
+        try {
+            Optional<User> currentUserOpt = userRepository.findByEmailForAuth(authentication.getName());
+            if (!currentUserOpt.isPresent()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
             }
+            PriceQuote quote = pricingEngine.quote(request.getVehicleId(), request.getRentalDate(), request.getReturnDate(),
+                    request.getAmenities(), reservationService.isFirstBooking(currentUserOpt.get().getId()));
+            return ResponseEntity.ok(quote);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(new ErrorResponse("Failed to quote reservation: " + e.getMessage()));
+        }
+    }
 
-            Reservation reservation = reservationOpt.get();
+    // Holds the vehicle and dates for the signed-in customer while they check out
+    @PostMapping("/holds")
+    public ResponseEntity<?> placeHold(@RequestBody HoldRequest request, Authentication authentication) {
+        try {
+            Optional<User> currentUserOpt = userRepository.findByEmailForAuth(authentication.getName());
+            if (!currentUserOpt.isPresent()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
+            }
+            CheckoutHold hold = holdService.placeHold(currentUserOpt.get().getId(), request.getVehicleId(),
+                    request.getRentalDate(), request.getReturnDate(), request.getMinutes());
+            return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to hold vehicle: " + e.getMessage()));
+        }
+    }
 
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<?> releaseHold(@PathVariable String holdId, Authentication authentication) {
+        try {
+            Optional<CheckoutHold> holdOpt = holdService.getHold(holdId);
+            if (!holdOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN") || auth.getAuthority().equals("ROLE_SUPER_ADMIN"));
             if (!isAdmin) {
-            
-            
-                String currentUserEmail = authentication.getName();
-                Optional<User> currentUserOpt = userRepository.findByEmailForAuth(currentUserEmail);
+                Optional<User> currentUserOpt = userRepository.findByEmailForAuth(authentication.getName());
                 if (!currentUserOpt.isPresent()) {
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
                 }
-                User currentUser = currentUserOpt.get();
-                boolean isOwner = reservation.getUserId().equals(currentUser.getId());
-                if (!isOwner) {
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "You can only cancel your own reservations"));
+                if (!holdOpt.get().getUserId().equals(currentUserOpt.get().getId())) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "You can only release your own holds"));
                 }
             }
-           
+            holdService.releaseHold(holdId);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to release hold: " + e.getMessage()));
+        }
+    }
 
-            // Update reservation status
-            reservation.setStatus("Cancelled");
-            reservationRepository.save(reservation);
+    @GetMapping("/{id}/cancellation-quote")
+    public ResponseEntity<?> getCancellationQuote(@PathVariable Long id, Authentication authentication) {
+        try {
+            Optional<Reservation> reservationOpt = reservationRepository.findById(id);
+            if (!reservationOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            Reservation reservation = reservationOpt.get();
 
-            // Update vehicle status - make it available again
-            Vehicle vehicle = reservation.getVehicle();
-            if (vehicle != null) {
-                vehicle.setStatus("Available");
-                vehicleRepository.save(vehicle);
+            ResponseEntity<?> denied = checkOwnerOrAdmin(reservation, authentication, "You can only view your own reservations");
+            if (denied != null) {
+                return denied;
             }
+            return ResponseEntity.ok(reservationService.quoteCancellation(reservation));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to quote cancellation: " + e.getMessage()));
+        }
+    }
 
-            // Calculate cancellation fee based on hours to pickup
-            BigDecimal cancellationFee = BigDecimal.ZERO;
-            if (reservation.getRentalDate() != null) {
-                long hoursToPickup = java.time.Duration.between(java.time.LocalDateTime.now(), reservation.getRentalDate().atStartOfDay()).toHours();
-                BigDecimal totalAmount = reservation.getTotalPrice();
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<?> cancelReservation(@PathVariable Long id) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-                if (hoursToPickup < 24) {
-                    cancellationFee = totalAmount.multiply(BigDecimal.valueOf(0.3)); // 30%
-                } else if (hoursToPickup < 72) {
-                    cancellationFee = totalAmount.multiply(BigDecimal.valueOf(0.1)); // 10%
-                }
-                // No fee if more than 72 hours
+            Optional<Reservation> reservationOpt = reservationRepository.findById(id);
+            if (!reservationOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
             }
+            Reservation reservation = reservationOpt.get();
 
-            // Send cancellation email to user
-            Optional<User> userOpt = userRepository.findById(reservation.getUserId());
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                String vehicleName = vehicle != null ? vehicle.getMake() + " " + vehicle.getModel() : "Unknown Vehicle";
-                BigDecimal refundAmount = reservation.getTotalPrice().subtract(cancellationFee);
-                emailService.sendCancellationEmail(
-                    user.getEmail(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    reservation.getId(),
-                    vehicleName,
-                    cancellationFee.setScale(2, java.math.RoundingMode.HALF_UP).toString(),
-                    reservation.getTotalPrice().toString(),
-                    refundAmount.setScale(2, java.math.RoundingMode.HALF_UP).toString()
-                );
+            ResponseEntity<?> denied = checkOwnerOrAdmin(reservation, authentication, "You can only cancel your own reservations");
+            if (denied != null) {
+                return denied;
+            }
+
+            // Fee comes from CancellationPolicy; the email is queued and sent after commit
+            CancellationResult result = reservationService.cancelReservations(List.of(id), false);
+            if (result.getCancelled().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Only confirmed reservations can be cancelled (status: " + reservation.getStatus() + ")"));
             }
 
             return ResponseEntity.ok().body(Map.of(
                 "message", "Reservation cancelled successfully",
-                "reservation", reservation
+                "cancellation", result.getCancelled().get(0)
             ));
 
         } catch (Exception e) {
@@ -219,8 +289,84 @@ public class ReservationController {
         }
     }
 
+    // Change dates, vehicle or amenities without cancelling and rebooking; the price is recomputed
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> amendReservation(@PathVariable Long id, @RequestBody ReservationAmendment amendment,
+                                              Authentication authentication) {
+        try {
+            Optional<Reservation> reservationOpt = reservationRepository.findById(id);
+            if (!reservationOpt.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            ResponseEntity<?> denied = checkOwnerOrAdmin(reservationOpt.get(), authentication, "You can only change your own reservations");
+            if (denied != null) {
+                return denied;
+            }
+
+            Reservation saved = reservationService.amendReservation(id, amendment);
+
+            ReservationResponse response = new ReservationResponse();
+            response.setId(saved.getId());
+            response.setVehicleId(saved.getVehicle().getId());
+            response.setUserId(saved.getUserId());
+            response.setRentalDate(saved.getRentalDate());
+            response.setReturnDate(saved.getReturnDate());
+            response.setStatus(saved.getStatus());
+            response.setAmenities(saved.getAmenities());
+            response.setTotalPrice(saved.getTotalPrice());
+            response.setCreatedAt(saved.getCreatedAt());
+            response.setUpdatedAt(saved.getUpdatedAt());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to change reservation: " + e.getMessage()));
+        }
+    }
+
+    // Admin only: cancel every Confirmed booking on a vehicle, or a list of reservations, in one transaction
+    @PostMapping("/cancel-batch")
+    public ResponseEntity<?> cancelReservations(@RequestBody BatchCancellationRequest request) {
+        try {
+            CancellationResult result;
+            if (request.getVehicleId() != null) {
+                result = reservationService.cancelReservationsForVehicle(request.getVehicleId(), request.isWaiveFees());
+            } else if (request.getReservationIds() != null && !request.getReservationIds().isEmpty()) {
+                result = reservationService.cancelReservations(request.getReservationIds(), request.isWaiveFees());
+            } else {
+                return ResponseEntity.status(400).body(new ErrorResponse("vehicleId or reservationIds is required"));
+            }
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to cancel reservations: " + e.getMessage()));
+        }
+    }
+
+    // Returns an error response unless the caller is an admin or owns the reservation
+    private ResponseEntity<?> checkOwnerOrAdmin(Reservation reservation, Authentication authentication, String forbiddenMessage) {
+        boolean isAdmin = authentication.getAuthorities().stream()
+            .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN") || auth.getAuthority().equals("ROLE_SUPER_ADMIN"));
+        if (isAdmin) {
+            return null;
+        }
+        Optional<User> currentUserOpt = userRepository.findByEmailForAuth(authentication.getName());
+        if (!currentUserOpt.isPresent()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "User not authenticated"));
+        }
+        if (!reservation.getUserId().equals(currentUserOpt.get().getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", forbiddenMessage));
+        }
+        return null;
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getUserReservations(@PathVariable Long userId, Authentication authentication) {
+    public ResponseEntity<?> getUserReservations(@PathVariable Long userId,
+                                                 @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived,
+                                                 Authentication authentication) {
         try {
             boolean isAdmin = authentication.getAuthorities().stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN") || auth.getAuthority().equals("ROLE_SUPER_ADMIN"));
@@ -240,7 +386,11 @@ public class ReservationController {
             }
             // If admin or owner, proceed
 
-            List<Reservation> reservations = reservationRepository.findByUserId(userId);
+            // Recent bookings only, unless ?includeArchived=true asks for the archived history too
+            if (includeArchived) {
+                return ResponseEntity.ok(reservationService.getReservationHistory(userId));
+            }
+            List<ReservationView> reservations = reservationService.getUserReservationViews(userId);
             return ResponseEntity.ok(reservations);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -249,25 +399,19 @@ public class ReservationController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllReservations() {
+    public ResponseEntity<?> getAllReservations(@RequestParam(value = "amenity", required = false) List<String> amenityCodes) {
         try {
-         
-            List<Reservation> reservations = reservationRepository.findAllWithVehicle();
-
-            // Populate user details for reservations that don't have them
-            for (Reservation res : reservations) {
-                if (res.getFirstName() == null || res.getFirstName().isEmpty()) {
-                    Optional<User> userOpt = userRepository.findById(res.getUserId());
-                    if (userOpt.isPresent()) {
-                        User user = userOpt.get();
-                        res.setTitle(user.getTitle());
-                        res.setFirstName(user.getFirstName());
-                        res.setLastName(user.getLastName());
-                    }
+            // Optional ?amenity=gps&amenity=power-bank filter: reservations that include all of them
+            Set<Amenity> required = EnumSet.noneOf(Amenity.class);
+            if (amenityCodes != null) {
+                for (String code : amenityCodes) {
+                    required.add(Amenity.fromCode(code));
                 }
             }
-
+            List<ReservationView> reservations = reservationService.getAllReservationViews(required);
             return ResponseEntity.ok(reservations);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(new ErrorResponse(e.getMessage()));
         } catch (Exception e) {
             
             e.printStackTrace();
@@ -300,7 +444,7 @@ class ReservationResponse {
     private LocalDate rentalDate;
     private LocalDate returnDate;
     private String status;
-    private List<String> amenities;
+    private Set<Amenity> amenities;
     private BigDecimal totalPrice;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -318,8 +462,8 @@ class ReservationResponse {
     public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
-    public List<String> getAmenities() { return amenities; }
-    public void setAmenities(List<String> amenities) { this.amenities = amenities; }
+    public Set<Amenity> getAmenities() { return amenities; }
+    public void setAmenities(Set<Amenity> amenities) { this.amenities = amenities; }
     public BigDecimal getTotalPrice() { return totalPrice; }
     public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -0,0 +1,87 @@
+package com.grp12.Controller;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.DTO.TokenResponse;
+import com.grp12.Exception.PasswordHashingBusyException;
+import com.grp12.Services.AccessTokenCodec;
+import com.grp12.Services.PrincipalService;
+import com.grp12.Services.TokenService;
+import com.grp12.config.TokenAuthenticationFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Sign-in, refresh and logout for app.auth.mode=token; clients send "Authorization: Bearer <accessToken>"
+@RestController
+@RequestMapping("/api/auth/token")
+@ConditionalOnProperty(name = "app.auth.mode", havingValue = "token")
+public class TokenController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private PrincipalService principalService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Body: {"email": "...", "password": "..."}; admins may sign in with their username as "email"
+    @PostMapping
+    public ResponseEntity<?> signIn(@RequestBody Map<String, String> credentials) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(credentials.get("email"), credentials.get("password")));
+            AuthPrincipal principal = principalService.resolve(authentication.getName())
+                    .orElseThrow(() -> new IllegalStateException("Account disappeared during sign-in"));
+            TokenResponse tokens = tokenService.issue(principal);
+            return ResponseEntity.ok(tokens);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "Invalid email, password, or account not approved"));
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Sign-in failed: " + e.getMessage()));
+        }
+    }
+
+    // Body: {"refreshToken": "..."}; the presented refresh token is used up
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> body) {
+        try {
+            return ResponseEntity.ok(tokenService.refresh(body.get("refreshToken")));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Refresh failed: " + e.getMessage()));
+        }
+    }
+
+    // Logout: revokes the bearer access token on every node, and the refresh token if given
+    @PostMapping("/revoke")
+    public ResponseEntity<?> revoke(@RequestBody(required = false) Map<String, String> body, HttpServletRequest request) {
+        try {
+            AccessTokenCodec.Claims claims = (AccessTokenCodec.Claims) request.getAttribute(TokenAuthenticationFilter.CLAIMS_ATTRIBUTE);
+            if (claims == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not authenticated"));
+            }
+            tokenService.revoke(claims, body != null ? body.get("refreshToken") : null);
+            return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Logout failed: " + e.getMessage()));
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.grp12.Controller;
 
+import com.grp12.DTO.CustomerDirectoryPage;
+import com.grp12.DTO.RegistrationDecisionRequest;
+import com.grp12.DTO.RegistrationDecisionResult;
+import com.grp12.Exception.PasswordHashingBusyException;
 import com.grp12.Model.User;
 import com.grp12.Model.Admin;
 import com.grp12.Model.RegistrationRequest;
@@ -9,6 +13,7 @@ import com.grp12.Services.EmailService;
 import com.grp12.Services.ImageCompressionService; 
 import com.grp12.Repository.RegistrationRequestRepository;
 import com.grp12.Repository.AdminRepository;
+import com.grp12.config.CurrentAdmin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -27,7 +32,6 @@ import java.util.List;
 import java.util.Base64;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.Optional;
 import java.time.LocalDateTime;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -68,36 +72,7 @@ public class UserController {
                 System.out.println("Image compression completed successfully");
             }
 
-            
-            User existingUser = userService.getUserByEmail(user.getEmail());
-            if (existingUser != null && existingUser.getApproved()) {
-                return ResponseEntity.badRequest()
-                    .body(Map.of("error", "Email already registered and approved"));
-            }
-
-          
-            Optional<RegistrationRequest> existingRequest = registrationRequestRepository.findByEmailAndStatus(
-                user.getEmail(), "PENDING");
-            if (existingRequest.isPresent()) {
-                return ResponseEntity.badRequest()
-                    .body(Map.of("error", "Registration request already pending for this email"));
-            }
-
-           
-            if (existingUser != null && !existingUser.getApproved()) {
-                // Remove the old rejected user record
-                userService.deleteUser(existingUser.getId());
-            }
-
-           
-            registrationRequestRepository.findByEmail(user.getEmail())
-                .ifPresent(oldRequest -> {
-                    if ("REJECTED".equals(oldRequest.getStatus())) {
-                        registrationRequestRepository.delete(oldRequest);
-                    }
-                });
-
-           
+            // Duplicate screening and clean-up of stale records happen in registerUser
             RegistrationRequest registrationRequest = userService.registerUser(user);
 
             return ResponseEntity.ok().body(Map.of(
@@ -109,6 +84,9 @@ public class UserController {
                 )
             ));
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Registration error: " + e.getMessage());
             e.printStackTrace();
@@ -140,8 +118,8 @@ public class UserController {
             request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
                 SecurityContextHolder.getContext());
 
-           
-            User authenticatedUser = userService.loginUser(user.getEmail(), user.getPassword());
+            // The password was already checked above; only the account status is left
+            User authenticatedUser = userService.getUserByEmail(authentication.getName());
             if (authenticatedUser != null) {
                
                 Map<String, Object> response = new HashMap<>();
@@ -159,6 +137,10 @@ public class UserController {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Invalid email, password, or account not approved");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+        } catch (PasswordHashingBusyException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorResponse);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Login failed: " + e.getMessage());
@@ -234,6 +216,44 @@ public class UserController {
         }
     }
 
+    // Approve a list of requests in one transaction; each id gets its own result
+    @PostMapping("/approve")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> approveRegistrations(@RequestBody RegistrationDecisionRequest request) {
+        try {
+            List<RegistrationDecisionResult> results = userService.approveUsers(request.getRequestIds());
+            long approved = results.stream().filter(result -> "APPROVED".equals(result.getStatus())).count();
+            return ResponseEntity.ok(Map.of(
+                "message", approved + " of " + results.size() + " registrations approved. Notification emails will be sent shortly.",
+                "results", results
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to approve registrations: " + e.getMessage()));
+        }
+    }
+
+    // Reject a list of requests in one transaction; each id gets its own result
+    @PostMapping("/reject")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> rejectRegistrations(@RequestBody RegistrationDecisionRequest request) {
+        try {
+            List<RegistrationDecisionResult> results = userService.rejectUsers(request.getRequestIds());
+            long rejected = results.stream().filter(result -> "REJECTED".equals(result.getStatus())).count();
+            return ResponseEntity.ok(Map.of(
+                "message", rejected + " of " + results.size() + " registrations rejected. Notification emails will be sent shortly.",
+                "results", results
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Failed to reject registrations: " + e.getMessage()));
+        }
+    }
+
     @PostMapping("/approve/{requestId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
     public ResponseEntity<?> approveRegistration(@PathVariable Long requestId) {
@@ -292,7 +312,50 @@ public class UserController {
         }
     }
 
-    
+    // Searchable, keyset-paged customer list without licence images; pass nextCursor back as after
+    @GetMapping("/users/directory")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getCustomerDirectory(@RequestParam(value = "q", required = false) String search,
+                                                  @RequestParam(value = "after", required = false) Long after,
+                                                  @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            CustomerDirectoryPage page = userService.getCustomerDirectory(search, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch customers: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/users/customers/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> countCustomers() {
+        try {
+            return ResponseEntity.ok(Map.of("count", userService.countCustomers()));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to count customers: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/users/{userId}/license-image")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getCustomerLicenseImage(@PathVariable Long userId) {
+        try {
+            String image = userService.getCustomerLicenseImage(userId);
+            if (image == null || image.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "No licence image for this customer"));
+            }
+            return ResponseEntity.ok(Map.of("image", image));
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to load licence image: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     @DeleteMapping("/users/{userId}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<?> deleteUser(@PathVariable Long userId) {
@@ -414,7 +477,7 @@ public class UserController {
 
     @PostMapping("/create-admin")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<?> createAdmin(@RequestBody Admin admin, HttpServletRequest request) {
+    public ResponseEntity<?> createAdmin(@RequestBody Admin admin, @CurrentAdmin Admin currentAdmin, HttpServletRequest request) {
         try {
             // Get current admin from security context
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -424,13 +487,6 @@ public class UserController {
                     .body(Map.of("error", "Not authenticated"));
             }
 
-            // Get current admin by email/username
-            String currentUsername = authentication.getName();
-            Admin currentAdmin = adminService.getAdminByEmail(currentUsername);
-            if (currentAdmin == null) {
-                currentAdmin = adminService.getAdminByUsername(currentUsername);
-            }
-
             if (currentAdmin == null || !"SUPER_ADMIN".equals(currentAdmin.getRole())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(Map.of("error", "Only super admins can create new admin accounts"));
@@ -1,18 +1,23 @@
 package com.grp12.Controller;
 
+import com.grp12.DTO.AuthPrincipal;
 import com.grp12.Model.Vehicle;
 import com.grp12.Model.PendingVehicleChange;
 import com.grp12.Model.Admin;
 import com.grp12.Repository.VehicleRepository;
 import com.grp12.Repository.PendingVehicleChangeRepository;
 import com.grp12.Services.VehicleService;
-import com.grp12.Services.AdminService;
+import com.grp12.Services.HoldService;
+import com.grp12.Services.VehicleThumbnailService;
+import com.grp12.Services.PrincipalService;
+import com.grp12.config.CurrentAdmin;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -24,6 +29,7 @@ import java.util.Base64;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -35,14 +41,21 @@ public class VehicleController {
     @Autowired
     private VehicleService vehicleService;
     
-    @Autowired
-    private AdminService adminService;
-    
     @Autowired
     private VehicleRepository vehicleRepository;
     
     @Autowired
     private PendingVehicleChangeRepository pendingVehicleChangeRepository;
+
+    @Autowired
+    private VehicleThumbnailService vehicleThumbnailService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private PrincipalService principalService;
+
     
     private final ObjectMapper objectMapper = new ObjectMapper();
     
@@ -53,10 +66,18 @@ public class VehicleController {
 
     // Get available vehicles
     @GetMapping("/available")
-    public ResponseEntity<?> getAvailableVehicles() {
+    public ResponseEntity<?> getAvailableVehicles(Authentication authentication) {
         try {
             List<Vehicle> vehicles = vehicleService.getAvailableVehicles();
-            return ResponseEntity.ok(vehicles);
+            // Hide vehicles someone else is checking out; the caller still sees their own holds
+            Long userId = null;
+            if (authentication != null && authentication.isAuthenticated()) {
+                userId = principalService.resolve(authentication.getName())
+                        .filter(principal -> !principal.isAdmin())
+                        .map(AuthPrincipal::getId)
+                        .orElse(null);
+            }
+            return ResponseEntity.ok(holdService.withoutHeldVehicles(vehicles, userId));
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch available vehicles: " + e.getMessage());
@@ -124,20 +145,24 @@ public class VehicleController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-    
-    
-    private Admin getCurrentAdmin() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            return null;
-        }
-        
-        String username = authentication.getName();
-        Admin admin = adminService.getAdminByEmail(username);
-        if (admin == null) {
-            admin = adminService.getAdminByUsername(username);
+
+    // Scaled first photo for listings; public like /available, and cacheable by the browser
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<?> getVehicleThumbnail(@PathVariable Long id) {
+        try {
+            Optional<byte[]> thumbnail = vehicleThumbnailService.getThumbnail(id);
+            if (!thumbnail.isPresent()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .body(thumbnail.get());
+        } catch (Exception e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to load thumbnail: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
-        return admin;
     }
     
     // Add new vehicle (admin only) - with role-based logic
@@ -161,10 +186,10 @@ public class VehicleController {
             @RequestParam(value = "features", required = false) String features,
             @RequestParam("vehicleImage1") MultipartFile vehicleImage1,
             @RequestParam("vehicleImage2") MultipartFile vehicleImage2,
-            @RequestParam("vehicleImage3") MultipartFile vehicleImage3) {
+            @RequestParam("vehicleImage3") MultipartFile vehicleImage3,
+            @CurrentAdmin Admin currentAdmin) {
         
         try {
-            Admin currentAdmin = getCurrentAdmin();
             if (currentAdmin == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not authenticated"));
@@ -382,9 +407,8 @@ public class VehicleController {
     // Update vehicle status (super admin only)
     @PatchMapping("/{id}/status")
 @PreAuthorize("hasRole('SUPER_ADMIN')")
-public ResponseEntity<?> updateVehicleStatus(@PathVariable Long id, @RequestBody Map<String, String> statusUpdate) {
+public ResponseEntity<?> updateVehicleStatus(@PathVariable Long id, @RequestBody Map<String, String> statusUpdate, @CurrentAdmin Admin currentAdmin) {
     try {
-        Admin currentAdmin = getCurrentAdmin();
         if (currentAdmin == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not authenticated"));
@@ -445,9 +469,9 @@ public ResponseEntity<?> updateVehicle(@PathVariable Long id,
                                        @RequestParam(value = "features", required = false) String features,
                                        @RequestParam(value = "vehicleImage1", required = false) MultipartFile vehicleImage1,
                                        @RequestParam(value = "vehicleImage2", required = false) MultipartFile vehicleImage2,
-                                       @RequestParam(value = "vehicleImage3", required = false) MultipartFile vehicleImage3) {
+                                       @RequestParam(value = "vehicleImage3", required = false) MultipartFile vehicleImage3,
+                                       @CurrentAdmin Admin currentAdmin) {
     try {
-        Admin currentAdmin = getCurrentAdmin();
         if (currentAdmin == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("error", "Admin not authenticated"));
@@ -561,9 +585,8 @@ public ResponseEntity<?> updateVehicle(@PathVariable Long id,
     // Bulk update vehicle status (super admin only)
     @PutMapping("")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<?> bulkUpdateVehicleStatus(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> bulkUpdateVehicleStatus(@RequestBody Map<String, Object> request, @CurrentAdmin Admin currentAdmin) {
         try {
-            Admin currentAdmin = getCurrentAdmin();
             if (currentAdmin == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not authenticated"));
@@ -629,9 +652,8 @@ public ResponseEntity<?> updateVehicle(@PathVariable Long id,
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<?> deleteVehicle(@PathVariable Long id) {
+    public ResponseEntity<?> deleteVehicle(@PathVariable Long id, @CurrentAdmin Admin currentAdmin) {
         try {
-            Admin currentAdmin = getCurrentAdmin();
             if (currentAdmin == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Admin not authenticated"));
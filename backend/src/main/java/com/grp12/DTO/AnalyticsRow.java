@@ -0,0 +1,44 @@
+package com.grp12.DTO;
+
+import java.math.BigDecimal;
+
+// One line of an analytics answer: totals for a key (a location, type, vehicle id, month or "total")
+public class AnalyticsRow {
+    private String key;
+    private long bookings;
+    private long bookedDays;
+    private BigDecimal revenue;
+    private long cancellations;
+    // Booked vehicle-days over available vehicle-days in the period, as a percentage
+    private Double utilisation;
+
+    public AnalyticsRow() {
+    }
+
+    // Argument order must match the SELECT new ... expressions in ReservationDailyStatRepository; SUMs are null on no rows
+    public AnalyticsRow(String key, Long bookings, Long bookedDays, BigDecimal revenue, Long cancellations) {
+        this.key = key;
+        this.bookings = bookings != null ? bookings : 0;
+        this.bookedDays = bookedDays != null ? bookedDays : 0;
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+        this.cancellations = cancellations != null ? cancellations : 0;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getBookings() { return bookings; }
+    public void setBookings(long bookings) { this.bookings = bookings; }
+
+    public long getBookedDays() { return bookedDays; }
+    public void setBookedDays(long bookedDays) { this.bookedDays = bookedDays; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public long getCancellations() { return cancellations; }
+    public void setCancellations(long cancellations) { this.cancellations = cancellations; }
+
+    public Double getUtilisation() { return utilisation; }
+    public void setUtilisation(Double utilisation) { this.utilisation = utilisation; }
+}
@@ -0,0 +1,82 @@
+package com.grp12.DTO;
+
+import com.grp12.Model.Admin;
+
+import java.time.LocalDateTime;
+
+// Immutable snapshot of an admin or customer account as seen by authentication; safe to share from a cache
+public class AuthPrincipal {
+    public static final String ADMIN = "ADMIN";
+    public static final String USER = "USER";
+
+    private final String kind;
+    private final Long id;
+    private final String email;
+    private final String username;
+    private final String password;
+    private final String role;
+    private final String status;
+    private final String firstName;
+    private final String lastName;
+    private final String phoneNumber;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public AuthPrincipal(String kind, Long id, String email, String username, String password, String role, String status,
+                         String firstName, String lastName, String phoneNumber, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.kind = kind;
+        this.id = id;
+        this.email = email;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.status = status;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isAdmin() {
+        return ADMIN.equals(kind);
+    }
+
+    // Deactivated admins and customers that are not (or no longer) approved cannot sign in
+    public boolean isEnabled() {
+        return isAdmin() ? "ACTIVE".equals(status) : "APPROVED".equals(status);
+    }
+
+    public String getAuthority() {
+        if (!isAdmin()) {
+            return "ROLE_USER";
+        }
+        return "SUPER_ADMIN".equals(role) ? "ROLE_SUPER_ADMIN" : "ROLE_ADMIN";
+    }
+
+    // A fresh detached Admin without the password hash, so callers may modify it freely
+    public Admin toAdmin() {
+        Admin admin = new Admin(firstName, lastName, username, email);
+        admin.setId(id);
+        admin.setPhoneNumber(phoneNumber);
+        admin.setRole(role);
+        admin.setStatus(status);
+        admin.setActive("ACTIVE".equals(status));
+        admin.setCreatedAt(createdAt);
+        admin.setUpdatedAt(updatedAt);
+        return admin;
+    }
+
+    public String getKind() { return kind; }
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getUsername() { return username; }
+    public String getPassword() { return password; }
+    public String getRole() { return role; }
+    public String getStatus() { return status; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getPhoneNumber() { return phoneNumber; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
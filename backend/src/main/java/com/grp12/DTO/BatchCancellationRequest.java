@@ -0,0 +1,19 @@
+package com.grp12.DTO;
+
+import java.util.List;
+
+// Admin batch cancel: either every Confirmed booking on a vehicle, or an explicit id list
+public class BatchCancellationRequest {
+    private Long vehicleId;
+    private List<Long> reservationIds;
+    private boolean waiveFees = true;
+
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+
+    public List<Long> getReservationIds() { return reservationIds; }
+    public void setReservationIds(List<Long> reservationIds) { this.reservationIds = reservationIds; }
+
+    public boolean isWaiveFees() { return waiveFees; }
+    public void setWaiveFees(boolean waiveFees) { this.waiveFees = waiveFees; }
+}
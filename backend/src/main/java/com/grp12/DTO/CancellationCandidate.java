@@ -0,0 +1,41 @@
+package com.grp12.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// What a batch cancellation needs per reservation (fee, vehicle release, email), read in one query
+public class CancellationCandidate {
+    private final Long reservationId;
+    private final Long userId;
+    private final Long vehicleId;
+    private final LocalDate rentalDate;
+    private final BigDecimal totalPrice;
+    private final String vehicleName;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+
+    // Argument order must match the SELECT new ... expressions in ReservationRepository
+    public CancellationCandidate(Long reservationId, Long userId, Long vehicleId, LocalDate rentalDate, BigDecimal totalPrice,
+                                 String make, String model, String email, String firstName, String lastName) {
+        this.reservationId = reservationId;
+        this.userId = userId;
+        this.vehicleId = vehicleId;
+        this.rentalDate = rentalDate;
+        this.totalPrice = totalPrice;
+        this.vehicleName = make + " " + model;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public Long getReservationId() { return reservationId; }
+    public Long getUserId() { return userId; }
+    public Long getVehicleId() { return vehicleId; }
+    public LocalDate getRentalDate() { return rentalDate; }
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public String getVehicleName() { return vehicleName; }
+    public String getEmail() { return email; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+}
@@ -0,0 +1,44 @@
+package com.grp12.DTO;
+
+import java.math.BigDecimal;
+
+// Fee and refund for cancelling a reservation now; feePercent is e.g. 10.00 for 10%
+public class CancellationQuote {
+    private Long reservationId;
+    private long hoursToPickup;
+    private BigDecimal feePercent;
+    private BigDecimal cancellationFee;
+    private BigDecimal totalAmount;
+    private BigDecimal refundAmount;
+
+    public CancellationQuote() {
+    }
+
+    public CancellationQuote(Long reservationId, long hoursToPickup, BigDecimal feePercent, BigDecimal cancellationFee,
+                             BigDecimal totalAmount, BigDecimal refundAmount) {
+        this.reservationId = reservationId;
+        this.hoursToPickup = hoursToPickup;
+        this.feePercent = feePercent;
+        this.cancellationFee = cancellationFee;
+        this.totalAmount = totalAmount;
+        this.refundAmount = refundAmount;
+    }
+
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+
+    public long getHoursToPickup() { return hoursToPickup; }
+    public void setHoursToPickup(long hoursToPickup) { this.hoursToPickup = hoursToPickup; }
+
+    public BigDecimal getFeePercent() { return feePercent; }
+    public void setFeePercent(BigDecimal feePercent) { this.feePercent = feePercent; }
+
+    public BigDecimal getCancellationFee() { return cancellationFee; }
+    public void setCancellationFee(BigDecimal cancellationFee) { this.cancellationFee = cancellationFee; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getRefundAmount() { return refundAmount; }
+    public void setRefundAmount(BigDecimal refundAmount) { this.refundAmount = refundAmount; }
+}
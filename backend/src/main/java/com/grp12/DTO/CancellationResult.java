@@ -0,0 +1,24 @@
+package com.grp12.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a cancellation call: a quote per cancelled reservation, plus requested ids that were not Confirmed
+public class CancellationResult {
+    private List<CancellationQuote> cancelled = new ArrayList<>();
+    private List<Long> skipped = new ArrayList<>();
+
+    public CancellationResult() {
+    }
+
+    public CancellationResult(List<CancellationQuote> cancelled, List<Long> skipped) {
+        this.cancelled = cancelled;
+        this.skipped = skipped;
+    }
+
+    public List<CancellationQuote> getCancelled() { return cancelled; }
+    public void setCancelled(List<CancellationQuote> cancelled) { this.cancelled = cancelled; }
+
+    public List<Long> getSkipped() { return skipped; }
+    public void setSkipped(List<Long> skipped) { this.skipped = skipped; }
+}
@@ -0,0 +1,43 @@
+package com.grp12.DTO;
+
+import java.time.LocalDateTime;
+
+// One row of the admin customer directory; the licence image is fetched on demand, never listed
+public class CustomerDirectoryEntry {
+    private final Long id;
+    private final String title;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phoneNumber;
+    private final String driversLicenseNumber;
+    private final LocalDateTime createdAt;
+    private final boolean hasLicenseImage;
+    private final long reservationCount;
+
+    public CustomerDirectoryEntry(Long id, String title, String firstName, String lastName, String email,
+                                  String phoneNumber, String driversLicenseNumber, LocalDateTime createdAt,
+                                  boolean hasLicenseImage, long reservationCount) {
+        this.id = id;
+        this.title = title;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.driversLicenseNumber = driversLicenseNumber;
+        this.createdAt = createdAt;
+        this.hasLicenseImage = hasLicenseImage;
+        this.reservationCount = reservationCount;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getEmail() { return email; }
+    public String getPhoneNumber() { return phoneNumber; }
+    public String getDriversLicenseNumber() { return driversLicenseNumber; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public boolean isHasLicenseImage() { return hasLicenseImage; }
+    public long getReservationCount() { return reservationCount; }
+}
@@ -0,0 +1,17 @@
+package com.grp12.DTO;
+
+import java.util.List;
+
+// A page of the customer directory; nextCursor is the id to pass as after for the next page, null on the last
+public class CustomerDirectoryPage {
+    private final List<CustomerDirectoryEntry> customers;
+    private final Long nextCursor;
+
+    public CustomerDirectoryPage(List<CustomerDirectoryEntry> customers, Long nextCursor) {
+        this.customers = customers;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CustomerDirectoryEntry> getCustomers() { return customers; }
+    public Long getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,41 @@
+package com.grp12.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.grp12.Model.Amenity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// Body of POST /api/reservations/group: several vehicles for the same dates, booked all or nothing
+public class GroupBookingRequest {
+    private List<Long> vehicleIds;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate rentalDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    // Applied to every vehicle in the group
+    private Set<Amenity> amenities;
+
+    // Optional; when present it must equal the sum of the server's per-vehicle quotes
+    private BigDecimal totalPrice;
+
+    public List<Long> getVehicleIds() { return vehicleIds; }
+    public void setVehicleIds(List<Long> vehicleIds) { this.vehicleIds = vehicleIds; }
+
+    public LocalDate getRentalDate() { return rentalDate; }
+    public void setRentalDate(LocalDate rentalDate) { this.rentalDate = rentalDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public Set<Amenity> getAmenities() { return amenities; }
+    public void setAmenities(Set<Amenity> amenities) { this.amenities = amenities; }
+
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+}
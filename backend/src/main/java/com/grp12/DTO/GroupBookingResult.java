@@ -0,0 +1,41 @@
+package com.grp12.DTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// One reservation per vehicle of a group booking, in vehicle id order, and their combined price
+public class GroupBookingResult {
+    private List<Item> reservations = new ArrayList<>();
+    private BigDecimal totalPrice;
+
+    public static class Item {
+        private final Long reservationId;
+        private final Long vehicleId;
+        private final BigDecimal totalPrice;
+
+        public Item(Long reservationId, Long vehicleId, BigDecimal totalPrice) {
+            this.reservationId = reservationId;
+            this.vehicleId = vehicleId;
+            this.totalPrice = totalPrice;
+        }
+
+        public Long getReservationId() { return reservationId; }
+        public Long getVehicleId() { return vehicleId; }
+        public BigDecimal getTotalPrice() { return totalPrice; }
+    }
+
+    public GroupBookingResult() {
+    }
+
+    public GroupBookingResult(List<Item> reservations, BigDecimal totalPrice) {
+        this.reservations = reservations;
+        this.totalPrice = totalPrice;
+    }
+
+    public List<Item> getReservations() { return reservations; }
+    public void setReservations(List<Item> reservations) { this.reservations = reservations; }
+
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+}
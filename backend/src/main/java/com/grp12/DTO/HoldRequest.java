@@ -0,0 +1,31 @@
+package com.grp12.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+// Body of POST /api/reservations/holds; the customer comes from the session, not the body
+public class HoldRequest {
+    private Long vehicleId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate rentalDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    // Optional; defaults to app.holds.minutes and is capped at app.holds.max-minutes
+    private Integer minutes;
+
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+
+    public LocalDate getRentalDate() { return rentalDate; }
+    public void setRentalDate(LocalDate rentalDate) { this.rentalDate = rentalDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public Integer getMinutes() { return minutes; }
+    public void setMinutes(Integer minutes) { this.minutes = minutes; }
+}
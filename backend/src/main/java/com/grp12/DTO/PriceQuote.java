@@ -0,0 +1,82 @@
+package com.grp12.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.grp12.Model.Amenity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+// Itemised price returned by POST /api/reservations/quote; amounts are FJD with two decimals and
+// totalPrice = basePrice + amenitiesPrice - discount, where promotions lists the rule ids applied
+public class PriceQuote {
+    private Long vehicleId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate rentalDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    private long days;
+    private Set<Amenity> amenities;
+    private BigDecimal dayRate;
+    private BigDecimal basePrice;
+    private BigDecimal amenitiesPrice;
+    private BigDecimal discount;
+    private List<String> promotions;
+    private BigDecimal totalPrice;
+
+    public PriceQuote() {
+    }
+
+    public PriceQuote(Long vehicleId, LocalDate rentalDate, LocalDate returnDate, long days, Set<Amenity> amenities,
+                      BigDecimal dayRate, BigDecimal basePrice, BigDecimal amenitiesPrice, BigDecimal discount,
+                      List<String> promotions, BigDecimal totalPrice) {
+        this.vehicleId = vehicleId;
+        this.rentalDate = rentalDate;
+        this.returnDate = returnDate;
+        this.days = days;
+        this.amenities = amenities;
+        this.dayRate = dayRate;
+        this.basePrice = basePrice;
+        this.amenitiesPrice = amenitiesPrice;
+        this.discount = discount;
+        this.promotions = promotions;
+        this.totalPrice = totalPrice;
+    }
+
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+
+    public LocalDate getRentalDate() { return rentalDate; }
+    public void setRentalDate(LocalDate rentalDate) { this.rentalDate = rentalDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public long getDays() { return days; }
+    public void setDays(long days) { this.days = days; }
+
+    public Set<Amenity> getAmenities() { return amenities; }
+    public void setAmenities(Set<Amenity> amenities) { this.amenities = amenities; }
+
+    public BigDecimal getDayRate() { return dayRate; }
+    public void setDayRate(BigDecimal dayRate) { this.dayRate = dayRate; }
+
+    public BigDecimal getBasePrice() { return basePrice; }
+    public void setBasePrice(BigDecimal basePrice) { this.basePrice = basePrice; }
+
+    public BigDecimal getAmenitiesPrice() { return amenitiesPrice; }
+    public void setAmenitiesPrice(BigDecimal amenitiesPrice) { this.amenitiesPrice = amenitiesPrice; }
+
+    public BigDecimal getDiscount() { return discount; }
+    public void setDiscount(BigDecimal discount) { this.discount = discount; }
+
+    public List<String> getPromotions() { return promotions; }
+    public void setPromotions(List<String> promotions) { this.promotions = promotions; }
+
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+}
@@ -0,0 +1,34 @@
+package com.grp12.DTO;
+
+// A users or registration_requests row sharing an email, phone number or licence number with a new sign-up
+public class RegistrationConflict {
+    public static final String USER = "USER";
+    public static final String REQUEST = "REQUEST";
+
+    private final String source;
+    private final Long id;
+    private final String status;
+    private final boolean emailMatch;
+    private final boolean phoneMatch;
+    private final boolean licenseMatch;
+
+    public RegistrationConflict(String source, Long id, String status,
+                                boolean emailMatch, boolean phoneMatch, boolean licenseMatch) {
+        this.source = source;
+        this.id = id;
+        this.status = status;
+        this.emailMatch = emailMatch;
+        this.phoneMatch = phoneMatch;
+        this.licenseMatch = licenseMatch;
+    }
+
+    public boolean isUser() { return USER.equals(source); }
+    public boolean isRequest() { return REQUEST.equals(source); }
+
+    public String getSource() { return source; }
+    public Long getId() { return id; }
+    public String getStatus() { return status; }
+    public boolean isEmailMatch() { return emailMatch; }
+    public boolean isPhoneMatch() { return phoneMatch; }
+    public boolean isLicenseMatch() { return licenseMatch; }
+}
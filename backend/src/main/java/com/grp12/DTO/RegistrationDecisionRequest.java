@@ -0,0 +1,11 @@
+package com.grp12.DTO;
+
+import java.util.List;
+
+// Admin batch approve or reject of registration requests
+public class RegistrationDecisionRequest {
+    private List<Long> requestIds;
+
+    public List<Long> getRequestIds() { return requestIds; }
+    public void setRequestIds(List<Long> requestIds) { this.requestIds = requestIds; }
+}
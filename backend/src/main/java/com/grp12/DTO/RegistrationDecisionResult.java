@@ -0,0 +1,33 @@
+package com.grp12.DTO;
+
+// Outcome for one id of a batch approve or reject: the new status, or why the request was left alone
+public class RegistrationDecisionResult {
+    private final Long requestId;
+    private final String status;
+    private final Long userId;
+    private final String error;
+
+    private RegistrationDecisionResult(Long requestId, String status, Long userId, String error) {
+        this.requestId = requestId;
+        this.status = status;
+        this.userId = userId;
+        this.error = error;
+    }
+
+    public static RegistrationDecisionResult approved(Long requestId, Long userId) {
+        return new RegistrationDecisionResult(requestId, "APPROVED", userId, null);
+    }
+
+    public static RegistrationDecisionResult rejected(Long requestId) {
+        return new RegistrationDecisionResult(requestId, "REJECTED", null, null);
+    }
+
+    public static RegistrationDecisionResult failed(Long requestId, String error) {
+        return new RegistrationDecisionResult(requestId, "FAILED", null, error);
+    }
+
+    public Long getRequestId() { return requestId; }
+    public String getStatus() { return status; }
+    public Long getUserId() { return userId; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,39 @@
+package com.grp12.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.grp12.Model.Amenity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+// Body of PATCH /api/reservations/{id}; fields left null keep their current value
+public class ReservationAmendment {
+    private Long vehicleId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate rentalDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    private Set<Amenity> amenities;
+
+    // Optional; when present it must equal the recomputed price
+    private BigDecimal totalPrice;
+
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+
+    public LocalDate getRentalDate() { return rentalDate; }
+    public void setRentalDate(LocalDate rentalDate) { this.rentalDate = rentalDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public Set<Amenity> getAmenities() { return amenities; }
+    public void setAmenities(Set<Amenity> amenities) { this.amenities = amenities; }
+
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+}
@@ -0,0 +1,106 @@
+package com.grp12.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.grp12.Model.Amenity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Read model for reservation listings, built from a JPQL constructor projection
+public class ReservationView {
+    private Long id;
+    private VehicleSummary vehicle;
+    private Long userId;
+    private String title;
+    private String firstName;
+    private String lastName;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate rentalDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate returnDate;
+
+    private String status;
+    private Set<Amenity> amenities = EnumSet.noneOf(Amenity.class);
+    private BigDecimal totalPrice;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    // True for rows read from reservations_archive
+    private boolean archived;
+
+    public ReservationView() {
+    }
+
+    // Argument order must match the SELECT new ... expressions in ReservationRepository
+    public ReservationView(Long id, Long userId, String title, String firstName, String lastName,
+                           LocalDate rentalDate, LocalDate returnDate, String status, int amenityMask, BigDecimal totalPrice,
+                           LocalDateTime createdAt, LocalDateTime updatedAt,
+                           Long vehicleId, String make, String model, String vehicleType, Integer year,
+                           String location, String licensePlate, BigDecimal pricePerDay, String vehicleStatus) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.rentalDate = rentalDate;
+        this.returnDate = returnDate;
+        this.status = status;
+        this.amenities = Amenity.fromMask(amenityMask);
+        this.totalPrice = totalPrice;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.vehicle = new VehicleSummary(vehicleId, make, model, vehicleType, year, location, licensePlate, pricePerDay, vehicleStatus);
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public VehicleSummary getVehicle() { return vehicle; }
+    public void setVehicle(VehicleSummary vehicle) { this.vehicle = vehicle; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
+    public LocalDate getRentalDate() { return rentalDate; }
+    public void setRentalDate(LocalDate rentalDate) { this.rentalDate = rentalDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Set<Amenity> getAmenities() { return amenities; }
+    public void setAmenities(Set<Amenity> amenities) { this.amenities = amenities != null ? amenities : EnumSet.noneOf(Amenity.class); }
+
+    public BigDecimal getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public boolean isArchived() { return archived; }
+    public void setArchived(boolean archived) { this.archived = archived; }
+}
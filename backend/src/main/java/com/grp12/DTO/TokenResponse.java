@@ -0,0 +1,26 @@
+package com.grp12.DTO;
+
+// Returned by the /api/auth/token endpoints when app.auth.mode=token; expiries are in seconds from now
+public class TokenResponse {
+    private final String accessToken;
+    private final String tokenType = "Bearer";
+    private final long expiresIn;
+    private final String refreshToken;
+    private final long refreshExpiresIn;
+    private final String role;
+
+    public TokenResponse(String accessToken, long expiresIn, String refreshToken, long refreshExpiresIn, String role) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+        this.refreshExpiresIn = refreshExpiresIn;
+        this.role = role;
+    }
+
+    public String getAccessToken() { return accessToken; }
+    public String getTokenType() { return tokenType; }
+    public long getExpiresIn() { return expiresIn; }
+    public String getRefreshToken() { return refreshToken; }
+    public long getRefreshExpiresIn() { return refreshExpiresIn; }
+    public String getRole() { return role; }
+}
@@ -0,0 +1,7 @@
+package com.grp12.DTO;
+
+// Interface projection of the unique columns of users, for checking a batch of new accounts in one query
+public interface UserKeyView {
+    String getEmail();
+    String getDriversLicenseNumber();
+}
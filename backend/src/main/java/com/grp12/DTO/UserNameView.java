@@ -0,0 +1,9 @@
+package com.grp12.DTO;
+
+// Interface projection used to fill customer names on reservation listings in one batch
+public interface UserNameView {
+    Long getId();
+    String getTitle();
+    String getFirstName();
+    String getLastName();
+}
@@ -0,0 +1,51 @@
+package com.grp12.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Fleet occupancy over [from, to], net of maintenance downtime; vehicles is only filled on request
+public class UtilisationReport {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+
+    private UtilisationRow total;
+    private List<UtilisationRow> byLocation;
+    private List<UtilisationRow> byType;
+    private List<UtilisationRow> vehicles;
+
+    public UtilisationReport() {
+    }
+
+    public UtilisationReport(LocalDate from, LocalDate to, UtilisationRow total, List<UtilisationRow> byLocation,
+                             List<UtilisationRow> byType, List<UtilisationRow> vehicles) {
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.byLocation = byLocation;
+        this.byType = byType;
+        this.vehicles = vehicles;
+    }
+
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public UtilisationRow getTotal() { return total; }
+    public void setTotal(UtilisationRow total) { this.total = total; }
+
+    public List<UtilisationRow> getByLocation() { return byLocation; }
+    public void setByLocation(List<UtilisationRow> byLocation) { this.byLocation = byLocation; }
+
+    public List<UtilisationRow> getByType() { return byType; }
+    public void setByType(List<UtilisationRow> byType) { this.byType = byType; }
+
+    public List<UtilisationRow> getVehicles() { return vehicles; }
+    public void setVehicles(List<UtilisationRow> vehicles) { this.vehicles = vehicles; }
+}
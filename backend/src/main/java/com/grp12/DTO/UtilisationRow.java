@@ -0,0 +1,41 @@
+package com.grp12.DTO;
+
+// Occupancy for one vehicle or group over a window; occupancy = bookedDays / availableDays, as a percentage
+public class UtilisationRow {
+    private String key;
+    private int vehicles;
+    private long bookedDays;
+    private long maintenanceDays;
+    private long availableDays;
+    private Double occupancy;
+
+    public UtilisationRow() {
+    }
+
+    public UtilisationRow(String key, int vehicles, long bookedDays, long maintenanceDays, long availableDays) {
+        this.key = key;
+        this.vehicles = vehicles;
+        this.bookedDays = bookedDays;
+        this.maintenanceDays = maintenanceDays;
+        this.availableDays = availableDays;
+        this.occupancy = availableDays > 0 ? Math.round(bookedDays * 10000.0 / availableDays) / 100.0 : null;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public int getVehicles() { return vehicles; }
+    public void setVehicles(int vehicles) { this.vehicles = vehicles; }
+
+    public long getBookedDays() { return bookedDays; }
+    public void setBookedDays(long bookedDays) { this.bookedDays = bookedDays; }
+
+    public long getMaintenanceDays() { return maintenanceDays; }
+    public void setMaintenanceDays(long maintenanceDays) { this.maintenanceDays = maintenanceDays; }
+
+    public long getAvailableDays() { return availableDays; }
+    public void setAvailableDays(long availableDays) { this.availableDays = availableDays; }
+
+    public Double getOccupancy() { return occupancy; }
+    public void setOccupancy(Double occupancy) { this.occupancy = occupancy; }
+}
@@ -0,0 +1,65 @@
+package com.grp12.DTO;
+
+import java.math.BigDecimal;
+
+// Vehicle fields needed by reservation listings; never carries the base64 images
+public class VehicleSummary {
+    private Long id;
+    private String make;
+    private String model;
+    private String vehicleType;
+    private Integer year;
+    private String location;
+    private String licensePlate;
+    private BigDecimal pricePerDay;
+    private String status;
+
+    public VehicleSummary() {
+    }
+
+    public VehicleSummary(Long id, String make, String model, String vehicleType, Integer year,
+                          String location, String licensePlate, BigDecimal pricePerDay, String status) {
+        this.id = id;
+        this.make = make;
+        this.model = model;
+        this.vehicleType = vehicleType;
+        this.year = year;
+        this.location = location;
+        this.licensePlate = licensePlate;
+        this.pricePerDay = pricePerDay;
+        this.status = status;
+    }
+
+    // Scaled first photo served by VehicleController; relative to the API base URL
+    public String getThumbnailUrl() {
+        return id != null ? "/api/vehicles/" + id + "/thumbnail" : null;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMake() { return make; }
+    public void setMake(String make) { this.make = make; }
+
+    public String getModel() { return model; }
+    public void setModel(String model) { this.model = model; }
+
+    public String getVehicleType() { return vehicleType; }
+    public void setVehicleType(String vehicleType) { this.vehicleType = vehicleType; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getLicensePlate() { return licensePlate; }
+    public void setLicensePlate(String licensePlate) { this.licensePlate = licensePlate; }
+
+    public BigDecimal getPricePerDay() { return pricePerDay; }
+    public void setPricePerDay(BigDecimal pricePerDay) { this.pricePerDay = pricePerDay; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -0,0 +1,8 @@
+package com.grp12.Exception;
+
+// The password hashing pool is saturated; the caller should retry shortly (mapped to 503)
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,66 @@
+package com.grp12.Model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Collection;
+import java.util.EnumSet;
+
+/**
+ * Optional extras a customer can add to a reservation.
+ *
+ * A reservation's amenities are stored as a single bitmask in
+ * reservations.amenity_mask. Each constant owns a fixed bit, so the values
+ * below must never be renumbered; new amenities take the next free bit.
+ * NONE is an explicit "no extras" choice and has its own bit so it
+ * round-trips the same way the customer selected it.
+ */
+public enum Amenity {
+    NONE("none", 1),
+    BABY_SITTER("baby-sitter", 1 << 1),
+    GPS("gps", 1 << 2),
+    POWER_BANK("power-bank", 1 << 3);
+
+    private final String code;
+    private final int bit;
+
+    Amenity(String code, int bit) {
+        this.code = code;
+        this.bit = bit;
+    }
+
+    @JsonValue
+    public String getCode() { return code; }
+
+    public int getBit() { return bit; }
+
+    @JsonCreator
+    public static Amenity fromCode(String code) {
+        for (Amenity amenity : values()) {
+            if (amenity.code.equals(code)) {
+                return amenity;
+            }
+        }
+        throw new IllegalArgumentException("Invalid amenity: " + code);
+    }
+
+    public static int toMask(Collection<Amenity> amenities) {
+        int mask = 0;
+        if (amenities != null) {
+            for (Amenity amenity : amenities) {
+                mask |= amenity.bit;
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<Amenity> fromMask(int mask) {
+        EnumSet<Amenity> amenities = EnumSet.noneOf(Amenity.class);
+        for (Amenity amenity : values()) {
+            if ((mask & amenity.bit) != 0) {
+                amenities.add(amenity);
+            }
+        }
+        return amenities;
+    }
+}
@@ -0,0 +1,75 @@
+package com.grp12.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Short-lived claim on a vehicle and date range while a customer checks out.
+// Rows are only written when app.holds.store=database; the in-memory store
+// keeps the same objects in its timing wheel instead.
+@Entity
+@Table(name = "checkout_holds", indexes = {
+    @Index(name = "idx_checkout_hold_vehicle_expiry", columnList = "vehicle_id, expires_at"),
+    @Index(name = "idx_checkout_hold_user", columnList = "user_id")
+})
+public class CheckoutHold {
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "rental_date", nullable = false)
+    private LocalDate rentalDate;
+
+    @Column(name = "return_date", nullable = false)
+    private LocalDate returnDate;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public CheckoutHold() {
+    }
+
+    public CheckoutHold(String id, Long vehicleId, Long userId, LocalDate rentalDate, LocalDate returnDate,
+                        LocalDateTime expiresAt) {
+        this.id = id;
+        this.vehicleId = vehicleId;
+        this.userId = userId;
+        this.rentalDate = rentalDate;
+        this.returnDate = returnDate;
+        this.expiresAt = expiresAt;
+    }
+
+    // Both ranges are inclusive of their first and last day
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return !rentalDate.isAfter(to) && !returnDate.isBefore(from);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    // Getters and setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDate getRentalDate() { return rentalDate; }
+    public void setRentalDate(LocalDate rentalDate) { this.rentalDate = rentalDate; }
+
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
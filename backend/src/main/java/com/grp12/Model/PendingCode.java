@@ -0,0 +1,34 @@
+package com.grp12.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A one-time code (sign-up verification or password reset) for DatabaseCodeStore.
+// id is "PURPOSE:email"; expired rows never match and are purged periodically.
+@Entity
+@Table(name = "pending_codes", indexes = {
+    @Index(name = "idx_pending_code_expiry", columnList = "expires_at")
+})
+public class PendingCode {
+    @Id
+    @Column(name = "id", length = 320)
+    private String id;
+
+    @Column(name = "code", nullable = false, length = 64)
+    private String code;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public PendingCode() {
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
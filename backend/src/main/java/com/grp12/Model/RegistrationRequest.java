@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 @Table(name = "registration_requests", indexes = {
     @Index(name = "idx_reg_email", columnList = "email"),
     @Index(name = "idx_reg_status", columnList = "status"),
-    @Index(name = "idx_reg_license", columnList = "drivers_license_number")
+    @Index(name = "idx_reg_license", columnList = "drivers_license_number"),
+    @Index(name = "idx_reg_phone", columnList = "phone_number")
 })
 public class RegistrationRequest {
     @Id
@@ -66,9 +67,15 @@ public class RegistrationRequest {
         this.driversLicenseImage = driversLicenseImage;
     }
 
+    @PrePersist
+    public void prePersist() {
+        this.email = User.normalizeEmail(email);
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.email = User.normalizeEmail(email);
     }
 
     // Getters and setters
@@ -2,14 +2,21 @@ package com.grp12.Model;
 
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservation_status_return", columnList = "status, return_date"),
+    @Index(name = "idx_reservation_user_rental", columnList = "user_id, rental_date"),
+    @Index(name = "idx_reservation_vehicle_rental", columnList = "vehicle_id, rental_date"),
+    @Index(name = "idx_reservation_rental_date", columnList = "rental_date")
+})
 public class Reservation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,12 +47,13 @@ public class Reservation {
     private LocalDate returnDate;
 
     @Column(name = "status", nullable = false, length = 20)
-    private String status = "Confirmed"; 
+    private String status = "Confirmed"; // Confirmed, Active, Completed, Cancelled
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "reservation_amenities", joinColumns = @JoinColumn(name = "reservation_id"))
-    @Column(name = "amenity")
-    private List<String> amenities = new ArrayList<>();
+    // Bitwise OR of Amenity bits, exposed through getAmenities()/setAmenities()
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "amenity_mask", nullable = false)
+    private int amenityMask;
 
     @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalPrice;
@@ -62,24 +70,23 @@ public class Reservation {
     public Reservation() {
         this.createdAt = LocalDateTime.now();
         this.status = "Confirmed";
-        this.amenities = new ArrayList<>();
     }
 
     
     public Reservation(Vehicle vehicle, Long userId, LocalDate rentalDate, LocalDate returnDate,
-                      List<String> amenities, BigDecimal totalPrice) {
+                      Collection<Amenity> amenities, BigDecimal totalPrice) {
         this();
         this.vehicle = vehicle;
         this.userId = userId;
         this.rentalDate = rentalDate;
         this.returnDate = returnDate;
-        this.amenities = amenities != null ? new ArrayList<>(amenities) : new ArrayList<>();
+        this.amenityMask = Amenity.toMask(amenities);
         this.totalPrice = totalPrice;
     }
 
     // Constructor with user details
     public Reservation(Vehicle vehicle, Long userId, String title, String firstName, String lastName,
-                      LocalDate rentalDate, LocalDate returnDate, List<String> amenities, BigDecimal totalPrice) {
+                      LocalDate rentalDate, LocalDate returnDate, Collection<Amenity> amenities, BigDecimal totalPrice) {
         this(vehicle, userId, rentalDate, returnDate, amenities, totalPrice);
         this.title = title;
         this.firstName = firstName;
@@ -114,13 +121,16 @@ public class Reservation {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
-    public List<String> getAmenities() { 
-        return amenities != null ? amenities : new ArrayList<>(); 
+    public Set<Amenity> getAmenities() {
+        return Amenity.fromMask(amenityMask);
     }
-    public void setAmenities(List<String> amenities) { 
-        this.amenities = amenities != null ? amenities : new ArrayList<>(); 
+    public void setAmenities(Set<Amenity> amenities) {
+        this.amenityMask = Amenity.toMask(amenities);
     }
 
+    public int getAmenityMask() { return amenityMask; }
+    public void setAmenityMask(int amenityMask) { this.amenityMask = amenityMask; }
+
     public BigDecimal getTotalPrice() { return totalPrice; }
     public void setTotalPrice(BigDecimal totalPrice) { this.totalPrice = totalPrice; }
 
@@ -138,9 +148,6 @@ public class Reservation {
         if (this.status == null || this.status.isEmpty()) {
             this.status = "Confirmed";
         }
-        if (this.amenities == null) {
-            this.amenities = new ArrayList<>();
-        }
     }
 
     @PreUpdate
@@ -157,7 +164,7 @@ public class Reservation {
                 ", rentalDate=" + rentalDate +
                 ", returnDate=" + returnDate +
                 ", status='" + status + '\'' +
-                ", amenities=" + amenities +
+                ", amenities=" + getAmenities() +
                 ", totalPrice=" + totalPrice +
                 ", createdAt=" + createdAt +
                 '}';
@@ -0,0 +1,98 @@
+package com.grp12.Model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Per-vehicle, per-day booking aggregates behind /api/analytics; written only by
+// the native upserts in ReservationDailyStatRepository
+@Entity
+@Table(name = "reservation_daily_stats", indexes = {
+    @Index(name = "idx_daily_stats_location_date", columnList = "location, stat_date"),
+    @Index(name = "idx_daily_stats_type_date", columnList = "vehicle_type, stat_date")
+})
+@IdClass(ReservationDailyStat.Key.class)
+public class ReservationDailyStat {
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Id
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "location", length = 100)
+    private String location;
+
+    @Column(name = "vehicle_type", length = 30)
+    private String vehicleType;
+
+    // Bookings and revenue land on the rental date; booked days on every day of the rental
+    @Column(name = "bookings", nullable = false)
+    private int bookings;
+
+    @Column(name = "booked_days", nullable = false)
+    private int bookedDays;
+
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "cancellations", nullable = false)
+    private int cancellations;
+
+    public ReservationDailyStat() {
+    }
+
+    // Getters and setters
+    public LocalDate getStatDate() { return statDate; }
+    public void setStatDate(LocalDate statDate) { this.statDate = statDate; }
+
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getVehicleType() { return vehicleType; }
+    public void setVehicleType(String vehicleType) { this.vehicleType = vehicleType; }
+
+    public int getBookings() { return bookings; }
+    public void setBookings(int bookings) { this.bookings = bookings; }
+
+    public int getBookedDays() { return bookedDays; }
+    public void setBookedDays(int bookedDays) { this.bookedDays = bookedDays; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public int getCancellations() { return cancellations; }
+    public void setCancellations(int cancellations) { this.cancellations = cancellations; }
+
+    public static class Key implements Serializable {
+        private LocalDate statDate;
+        private Long vehicleId;
+
+        public Key() {
+        }
+
+        public Key(LocalDate statDate, Long vehicleId) {
+            this.statDate = statDate;
+            this.vehicleId = vehicleId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(statDate, key.statDate) && Objects.equals(vehicleId, key.vehicleId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(statDate, vehicleId);
+        }
+    }
+}
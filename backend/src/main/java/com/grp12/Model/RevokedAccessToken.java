@@ -0,0 +1,33 @@
+package com.grp12.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// An access token revoked before it expired (logout). Every node reloads the
+// unexpired rows into its in-memory deny-list; rows are purged once expired.
+@Entity
+@Table(name = "revoked_access_tokens", indexes = {
+    @Index(name = "idx_revoked_access_token_expiry", columnList = "expires_at")
+})
+public class RevokedAccessToken {
+    @Id
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public RevokedAccessToken() {
+    }
+
+    public RevokedAccessToken(String jti, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() { return jti; }
+    public void setJti(String jti) { this.jti = jti; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
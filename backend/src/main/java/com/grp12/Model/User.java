@@ -2,15 +2,18 @@ package com.grp12.Model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
 @Table(name = "users", indexes = {
-    @Index(name = "idx_user_email", columnList = "email"),
-    @Index(name = "idx_user_license", columnList = "drivers_license_number")
+    @Index(name = "idx_user_license", columnList = "drivers_license_number"),
+    @Index(name = "idx_user_phone", columnList = "phone_number")
 })
 public class User {
+    // Pooled sequence (50 ids per round trip) so batches of new users can be JDBC-batched; IDENTITY cannot be
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
     
@@ -59,6 +62,17 @@ public class User {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        email = normalizeEmail(email);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        email = normalizeEmail(email);
+    }
+
+    // Emails are stored trimmed and lower-cased, so lookups are plain equality on the unique index
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 
     
@@ -4,9 +4,11 @@ package com.grp12.Repository;
 
 import com.grp12.Model.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,4 +34,10 @@ public interface AdminRepository extends JpaRepository<Admin, Long> {
     
     @Query("SELECT a FROM Admin a WHERE a.status = 'ACTIVE' ORDER BY a.createdAt ASC")
     List<Admin> findActiveAdminsOrderByCreatedAt();
+
+    // Rehash on login; the principal name is always the admin's email
+    @Modifying
+    @Transactional
+    @Query("UPDATE Admin a SET a.password = :password WHERE a.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.grp12.Repository;
+
+import com.grp12.Model.CheckoutHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Backing table for DatabaseHoldStore; expired rows are ignored by every read and purged periodically
+@Repository
+public interface CheckoutHoldRepository extends JpaRepository<CheckoutHold, String> {
+
+    @Query("SELECT h FROM CheckoutHold h WHERE h.vehicleId = :vehicleId AND h.userId <> :userId " +
+           "AND h.expiresAt > :now AND h.rentalDate <= :returnDate AND h.returnDate >= :rentalDate")
+    List<CheckoutHold> findConflicts(@Param("vehicleId") Long vehicleId, @Param("rentalDate") LocalDate rentalDate,
+                                     @Param("returnDate") LocalDate returnDate, @Param("userId") Long userId,
+                                     @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT h.vehicleId FROM CheckoutHold h WHERE h.expiresAt > :now")
+    List<Long> findHeldVehicleIds(@Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT h.vehicleId FROM CheckoutHold h WHERE h.expiresAt > :now AND h.userId <> :userId")
+    List<Long> findVehicleIdsHeldByOthers(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(h) FROM CheckoutHold h WHERE h.userId = :userId AND h.expiresAt > :now")
+    long countActiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM CheckoutHold h WHERE h.vehicleId = :vehicleId AND h.userId = :userId")
+    int deleteByVehicleIdAndUserId(@Param("vehicleId") Long vehicleId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM CheckoutHold h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
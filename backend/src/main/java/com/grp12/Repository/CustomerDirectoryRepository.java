@@ -0,0 +1,121 @@
+package com.grp12.Repository;
+
+import com.grp12.DTO.CustomerDirectoryEntry;
+import com.grp12.DTO.CustomerDirectoryPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pages through approved customers in id order for the admin directory,
+ * never reading drivers_license_image beyond whether it is set. Pages are
+ * keyset-paged on the primary key (id > after), so a deep page costs the same
+ * as the first.
+ *
+ * A search of one or two characters is a prefix match on each of first name,
+ * last name, email, phone and licence number, served by the pattern_ops
+ * indexes; a longer one is a substring match on SEARCH_TEXT, served by its
+ * pg_trgm index (both created by CustomerDirectorySchema). Reservation counts,
+ * live and archived, come from one grouped subquery over the page's ids.
+ */
+@Repository
+public class CustomerDirectoryRepository {
+
+    // Shortest search the trigram index can answer; pg_trgm extracts no trigrams from fewer characters
+    public static final int TRIGRAM_MIN_LENGTH = 3;
+    public static final int MAX_SEARCH_LENGTH = 100;
+
+    // Must match the expression of idx_user_directory_trgm exactly for Postgres to use it
+    public static final String SEARCH_TEXT =
+            "LOWER(first_name || ' ' || last_name || ' ' || email || ' ' || phone_number || ' ' || drivers_license_number)";
+
+    private static final String PREFIX_FILTER =
+            " AND (LOWER(first_name) LIKE :pattern OR LOWER(last_name) LIKE :pattern OR email LIKE :pattern" +
+            " OR phone_number LIKE :pattern OR LOWER(drivers_license_number) LIKE :pattern)";
+
+    private static final String SUBSTRING_FILTER = " AND " + SEARCH_TEXT + " LIKE :pattern";
+
+    private static final String PAGE_SQL =
+            "WITH page AS (" +
+            "    SELECT id, title, first_name, last_name, email, phone_number, drivers_license_number, created_at, " +
+            "        drivers_license_image IS NOT NULL AS has_license_image " +
+            "    FROM users " +
+            "    WHERE role = 'ROLE_CUSTOMER' AND status = 'APPROVED' AND id > :after%s " +
+            "    ORDER BY id " +
+            "    LIMIT :limit) " +
+            "SELECT p.*, COALESCE(c.reservations, 0) AS reservation_count " +
+            "FROM page p " +
+            "LEFT JOIN (" +
+            "    SELECT user_id, COUNT(*) AS reservations FROM (" +
+            "        SELECT r.user_id FROM reservations r JOIN page ON page.id = r.user_id " +
+            "        UNION ALL " +
+            "        SELECT a.user_id FROM reservations_archive a JOIN page ON page.id = a.user_id) booked " +
+            "    GROUP BY user_id) c ON c.user_id = p.id " +
+            "ORDER BY p.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CustomerDirectoryRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    // search may be null or blank for every customer; after is the previous page's nextCursor, or null
+    public CustomerDirectoryPage findPage(String search, Long after, int limit) {
+        String term = normalizeSearch(search);
+        String filter = "";
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("after", after != null ? after : 0L)
+                .addValue("limit", limit + 1);
+        if (term != null) {
+            String escaped = escapeLike(term);
+            boolean substring = term.length() >= TRIGRAM_MIN_LENGTH;
+            filter = substring ? SUBSTRING_FILTER : PREFIX_FILTER;
+            params.addValue("pattern", substring ? "%" + escaped + "%" : escaped + "%");
+        }
+
+        List<CustomerDirectoryEntry> rows = jdbcTemplate.query(String.format(PAGE_SQL, filter), params, (rs, rowNum) -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            return new CustomerDirectoryEntry(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("email"),
+                    rs.getString("phone_number"),
+                    rs.getString("drivers_license_number"),
+                    createdAt != null ? createdAt.toLocalDateTime() : null,
+                    rs.getBoolean("has_license_image"),
+                    rs.getLong("reservation_count"));
+        });
+
+        // One row beyond the page tells whether another page follows
+        if (rows.size() > limit) {
+            List<CustomerDirectoryEntry> page = rows.subList(0, limit);
+            return new CustomerDirectoryPage(page, page.get(limit - 1).getId());
+        }
+        return new CustomerDirectoryPage(rows, null);
+    }
+
+    static String normalizeSearch(String search) {
+        if (search == null) {
+            return null;
+        }
+        String trimmed = search.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return trimmed.length() > MAX_SEARCH_LENGTH ? trimmed.substring(0, MAX_SEARCH_LENGTH) : trimmed;
+    }
+
+    // Backslash is the default LIKE escape in Postgres
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,80 @@
+package com.grp12.Repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+/**
+ * Streams occupancy events for one location, ordered by day: every booking
+ * (live or archived, not cancelled) and every maintenance record becomes a +1
+ * on its first day and a -1 on the day after its last, clipped to the window.
+ *
+ * A maintenance record that is still open ("Pending" or "In Progress") takes
+ * its vehicle out from the record's date to the end of the window; any other
+ * record counts as its service day only. completed_at is when the record was
+ * filed, not when the work finished, so it is not used.
+ *
+ * Rows come through a cursor (fetch size below) and must be read inside a
+ * transaction, so memory stays flat however long the window is.
+ */
+@Repository
+public class FleetEventRepository {
+
+    public static final int RESERVATION = 0;
+    public static final int MAINTENANCE = 1;
+
+    private static final int FETCH_SIZE = 5_000;
+
+    // Statuses of maintenance that has not finished yet
+    private static final String OPEN_MAINTENANCE = "'Pending', 'In Progress'";
+
+    private static final String EVENTS_SQL =
+            "WITH intervals AS (" +
+            "  SELECT r.vehicle_id, GREATEST(r.rental_date, :from) AS first_day, LEAST(r.return_date, :to) AS last_day, 0 AS kind " +
+            "  FROM reservations r JOIN vehicles v ON v.id = r.vehicle_id " +
+            "  WHERE v.location = :location AND r.status <> 'Cancelled' AND r.rental_date <= :to AND r.return_date >= :from " +
+            "  UNION ALL " +
+            "  SELECT a.vehicle_id, GREATEST(a.rental_date, :from), LEAST(a.return_date, :to), 0 " +
+            "  FROM reservations_archive a JOIN vehicles v ON v.id = a.vehicle_id " +
+            "  WHERE v.location = :location AND a.status <> 'Cancelled' AND a.rental_date <= :to AND a.return_date >= :from " +
+            "  UNION ALL " +
+            "  SELECT m.car_id, GREATEST(CAST(m.date AS DATE), :from), " +
+            "         CASE WHEN m.status IN (" + OPEN_MAINTENANCE + ") THEN :to ELSE CAST(m.date AS DATE) END, 1 " +
+            "  FROM maintenance_records m JOIN vehicles v ON v.id = m.car_id " +
+            "  WHERE v.location = :location AND CAST(m.date AS DATE) <= :to " +
+            "    AND (m.status IN (" + OPEN_MAINTENANCE + ") OR CAST(m.date AS DATE) >= :from)" +
+            ") " +
+            "SELECT vehicle_id, first_day AS event_day, kind, 1 AS delta FROM intervals " +
+            "UNION ALL " +
+            "SELECT vehicle_id, last_day + 1, kind, -1 FROM intervals " +
+            "ORDER BY event_day";
+
+    @FunctionalInterface
+    public interface EventHandler {
+        void onEvent(long vehicleId, long epochDay, int kind, int delta);
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public FleetEventRepository(DataSource dataSource) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    public void streamEvents(String location, LocalDate from, LocalDate to, EventHandler handler) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("location", location)
+                .addValue("from", from)
+                .addValue("to", to);
+        jdbcTemplate.query(EVENTS_SQL, params, (RowCallbackHandler) rs ->
+                handler.onEvent(rs.getLong(1), rs.getDate(2).toLocalDate().toEpochDay(), rs.getInt(3), rs.getInt(4)));
+    }
+}
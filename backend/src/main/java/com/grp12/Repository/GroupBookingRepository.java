@@ -0,0 +1,118 @@
+package com.grp12.Repository;
+
+import com.grp12.Model.Reservation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain-JDBC statements behind multi-vehicle bookings.
+ *
+ * lockForBooking locks every requested vehicle row and reports its
+ * availability in one round trip. Rows are sorted before they are locked,
+ * so concurrent group bookings always take their locks in id order and
+ * cannot deadlock on each other. insertAll writes the reservations as one
+ * JDBC batch; Hibernate cannot batch them because reservation ids are
+ * IDENTITY columns.
+ */
+@Repository
+public class GroupBookingRepository {
+
+    private static final String LOCK_SQL =
+            "SELECT v.id, v.make, v.model, v.status, EXISTS (" +
+            "  SELECT 1 FROM reservations r WHERE r.vehicle_id = v.id AND r.status IN ('Confirmed', 'Active') " +
+            "  AND r.rental_date <= :returnDate AND r.return_date >= :rentalDate) AS booked " +
+            "FROM vehicles v WHERE v.id IN (:ids) ORDER BY v.id FOR UPDATE OF v";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reservations (vehicle_id, user_id, title, first_name, last_name, rental_date, return_date, " +
+            "    status, amenity_mask, total_price, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // A locked vehicle row: its status and whether a live booking overlaps the requested dates
+    public static class VehicleAvailability {
+        private final long vehicleId;
+        private final String vehicleName;
+        private final String status;
+        private final boolean booked;
+
+        public VehicleAvailability(long vehicleId, String vehicleName, String status, boolean booked) {
+            this.vehicleId = vehicleId;
+            this.vehicleName = vehicleName;
+            this.status = status;
+            this.booked = booked;
+        }
+
+        public boolean isBookable() {
+            return "Available".equals(status) && !booked;
+        }
+
+        public long getVehicleId() { return vehicleId; }
+        public String getVehicleName() { return vehicleName; }
+        public String getStatus() { return status; }
+        public boolean isBooked() { return booked; }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // Must run inside the booking transaction; the row locks last until it ends
+    public List<VehicleAvailability> lockForBooking(Collection<Long> vehicleIds, LocalDate rentalDate, LocalDate returnDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", vehicleIds)
+                .addValue("rentalDate", rentalDate)
+                .addValue("returnDate", returnDate);
+        return namedParameterJdbcTemplate.query(LOCK_SQL, params, (rs, rowNum) ->
+                new VehicleAvailability(rs.getLong("id"), rs.getString("make") + " " + rs.getString("model"),
+                        rs.getString("status"), rs.getBoolean("booked")));
+    }
+
+    // Sets each reservation's generated id
+    public void insertAll(List<Reservation> reservations) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Reservation reservation = reservations.get(i);
+                        ps.setLong(1, reservation.getVehicle().getId());
+                        ps.setLong(2, reservation.getUserId());
+                        ps.setString(3, reservation.getTitle());
+                        ps.setString(4, reservation.getFirstName());
+                        ps.setString(5, reservation.getLastName());
+                        ps.setDate(6, Date.valueOf(reservation.getRentalDate()));
+                        ps.setDate(7, Date.valueOf(reservation.getReturnDate()));
+                        ps.setString(8, reservation.getStatus());
+                        ps.setInt(9, reservation.getAmenityMask());
+                        ps.setBigDecimal(10, reservation.getTotalPrice());
+                        ps.setTimestamp(11, Timestamp.valueOf(reservation.getCreatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return reservations.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < reservations.size(); i++) {
+            reservations.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+}
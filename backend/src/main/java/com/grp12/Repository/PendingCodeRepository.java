@@ -0,0 +1,35 @@
+package com.grp12.Repository;
+
+import com.grp12.Model.PendingCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+// Backing table for DatabaseCodeStore; every statement is a single-row atomic write
+@Repository
+public interface PendingCodeRepository extends JpaRepository<PendingCode, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO pending_codes (id, code, expires_at) VALUES (:id, :code, :expiresAt) " +
+                   "ON CONFLICT (id) DO UPDATE SET code = EXCLUDED.code, expires_at = EXCLUDED.expires_at",
+           nativeQuery = true)
+    int upsert(@Param("id") String id, @Param("code") String code, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("SELECT COUNT(c) > 0 FROM PendingCode c WHERE c.id = :id AND c.code = :code AND c.expiresAt > :now")
+    boolean matches(@Param("id") String id, @Param("code") String code, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PendingCode c WHERE c.id = :id AND c.code = :code AND c.expiresAt > :now")
+    int consume(@Param("id") String id, @Param("code") String code, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(c) FROM PendingCode c WHERE c.expiresAt > :now")
+    long countUnexpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM PendingCode c WHERE c.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,59 @@
+package com.grp12.Repository;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.Model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves a login name to an admin or customer in one round trip.
+ *
+ * Precedence matches the old three-query lookup: an admin by email, then an
+ * admin by username, then a customer by case-insensitive email (customer
+ * emails are stored normalised, so that branch is an index lookup too).
+ */
+@Repository
+public class PrincipalRepository {
+
+    private static final String FIND_SQL =
+            "SELECT * FROM (" +
+            "  SELECT 0 AS precedence, 'ADMIN' AS kind, a.id, a.email, a.username, a.password, a.role, a.status, " +
+            "      a.first_name, a.last_name, a.phone_number, a.created_at, a.updated_at FROM admins a WHERE a.email = ? " +
+            "  UNION ALL " +
+            "  SELECT 1, 'ADMIN', a.id, a.email, a.username, a.password, a.role, a.status, " +
+            "      a.first_name, a.last_name, a.phone_number, a.created_at, a.updated_at FROM admins a WHERE a.username = ? " +
+            "  UNION ALL " +
+            "  SELECT 2, 'USER', u.id, u.email, NULL, u.password, u.role, u.status, " +
+            "      u.first_name, u.last_name, u.phone_number, u.created_at, NULL FROM users u WHERE u.email = ?" +
+            ") p ORDER BY precedence LIMIT 1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Optional<AuthPrincipal> findByLogin(String login) {
+        List<AuthPrincipal> rows = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new AuthPrincipal(
+                rs.getString("kind"),
+                rs.getLong("id"),
+                rs.getString("email"),
+                rs.getString("username"),
+                rs.getString("password"),
+                rs.getString("role"),
+                rs.getString("status"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("phone_number"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at"))), login, login, User.normalizeEmail(login));
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,49 @@
+package com.grp12.Repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Shared token buckets for DatabaseRateLimiter. Taking a token is a single
+ * upsert that refills from the stored time, checks and decrements under the
+ * row lock, so concurrent nodes can never overdraw a bucket. A refused
+ * request writes nothing.
+ */
+@Repository
+public class RateLimitBucketRepository {
+
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO rate_limit_buckets AS b (bucket_key, tokens, refilled_at) VALUES (?, ? - 1, now()) " +
+            "ON CONFLICT (bucket_key) DO UPDATE SET " +
+            "    tokens = LEAST(?, b.tokens + EXTRACT(EPOCH FROM (now() - b.refilled_at)) * ?) - 1, " +
+            "    refilled_at = now() " +
+            "WHERE LEAST(?, b.tokens + EXTRACT(EPOCH FROM (now() - b.refilled_at)) * ?) >= 1 " +
+            "RETURNING tokens";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS rate_limit_buckets (" +
+                "    bucket_key VARCHAR(400) PRIMARY KEY," +
+                "    tokens DOUBLE PRECISION NOT NULL," +
+                "    refilled_at TIMESTAMP NOT NULL" +
+                ")");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_rate_limit_bucket_refilled ON rate_limit_buckets (refilled_at)");
+    }
+
+    public boolean tryAcquire(String key, int capacity, double tokensPerSecond) {
+        List<Double> remaining = jdbcTemplate.query(ACQUIRE_SQL, (rs, rowNum) -> rs.getDouble(1),
+                key, capacity, capacity, tokensPerSecond, capacity, tokensPerSecond);
+        return !remaining.isEmpty();
+    }
+
+    // Buckets untouched for longer than the longest period are full again, so their rows can go
+    public int deleteIdle(long idleSeconds) {
+        return jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE refilled_at < now() - make_interval(secs => ?)",
+                (double) idleSeconds);
+    }
+}
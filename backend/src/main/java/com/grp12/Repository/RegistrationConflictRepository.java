@@ -0,0 +1,84 @@
+package com.grp12.Repository;
+
+import com.grp12.DTO.RegistrationConflict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Screens a sign-up against users and registration_requests in one round
+ * trip: every row of either table sharing the email (case-insensitive), the
+ * phone number or the licence number, with which of the three it shares.
+ * Emails are stored normalised (User.normalizeEmail), and callers pass the
+ * email normalised the same way.
+ *
+ * Each branch is an OR of equalities that Postgres answers with a bitmap OR
+ * over the email, phone and licence indexes.
+ */
+@Repository
+public class RegistrationConflictRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String CONFLICTS_SQL =
+            "SELECT 'USER' AS source, u.id, u.status, " +
+            "    u.email = :email AS email_match, " +
+            "    COALESCE(u.phone_number = :phone, FALSE) AS phone_match, " +
+            "    COALESCE(u.drivers_license_number = :license, FALSE) AS license_match " +
+            "FROM users u " +
+            "WHERE u.email = :email OR u.phone_number = :phone OR u.drivers_license_number = :license " +
+            "UNION ALL " +
+            "SELECT 'REQUEST', r.id, r.status, " +
+            "    r.email = :email, " +
+            "    COALESCE(r.phone_number = :phone, FALSE), " +
+            "    COALESCE(r.drivers_license_number = :license, FALSE) " +
+            "FROM registration_requests r " +
+            "WHERE r.email = :email OR r.phone_number = :phone OR r.drivers_license_number = :license";
+
+    private static final String KEYS_SQL =
+            "SELECT email, phone_number, drivers_license_number FROM users " +
+            "UNION ALL " +
+            "SELECT email, phone_number, drivers_license_number FROM registration_requests";
+
+    @FunctionalInterface
+    public interface KeyHandler {
+        void onKeys(String email, String phoneNumber, String driversLicenseNumber);
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public RegistrationConflictRepository(DataSource dataSource) {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    public List<RegistrationConflict> findConflicts(String email, String phoneNumber, String driversLicenseNumber) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("email", email)
+                .addValue("phone", phoneNumber)
+                .addValue("license", driversLicenseNumber);
+        return jdbcTemplate.query(CONFLICTS_SQL, params, (rs, rowNum) -> new RegistrationConflict(
+                rs.getString("source"),
+                rs.getLong("id"),
+                rs.getString("status"),
+                rs.getBoolean("email_match"),
+                rs.getBoolean("phone_match"),
+                rs.getBoolean("license_match")));
+    }
+
+    // Streams the screened columns of every row of both tables; in a transaction so Postgres uses a cursor
+    @Transactional(readOnly = true)
+    public void streamKeys(KeyHandler handler) {
+        jdbcTemplate.query(KEYS_SQL, new MapSqlParameterSource(), (RowCallbackHandler) rs ->
+                handler.onKeys(rs.getString(1), rs.getString(2), rs.getString(3)));
+    }
+}
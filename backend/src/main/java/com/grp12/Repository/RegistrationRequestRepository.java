@@ -1,10 +1,16 @@
 package com.grp12.Repository;
 
 import com.grp12.Model.RegistrationRequest;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +32,19 @@ public interface RegistrationRequestRepository extends JpaRepository<Registratio
     boolean existsByPhoneNumber(String phoneNumber);
     long countByStatus(String status);
     
+    // Batch decisions lock their requests so two admins cannot approve the same one twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RegistrationRequest r WHERE r.id IN :ids")
+    List<RegistrationRequest> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE RegistrationRequest r SET r.status = 'APPROVED', r.approvedAt = :now, r.updatedAt = :now WHERE r.id IN :ids")
+    int markApproved(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RegistrationRequest r SET r.status = 'REJECTED', r.updatedAt = :now WHERE r.id IN :ids")
+    int markRejected(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
     default List<RegistrationRequest> findPendingRequests() {
         return findByStatusOrderByCreatedAtDesc("PENDING");
     }
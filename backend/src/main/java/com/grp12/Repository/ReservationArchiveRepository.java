@@ -0,0 +1,98 @@
+package com.grp12.Repository;
+
+import com.grp12.DTO.ReservationView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Plain-JDBC access to reservations_archive. The table is range-partitioned by
+ * rental_date (one partition per year), which Hibernate cannot describe, so it
+ * is not mapped as an entity; ReservationArchiveSchema creates it.
+ *
+ * Archived rows keep a snapshot of the vehicle's descriptive columns so history
+ * still reads correctly after the vehicle itself is deleted.
+ */
+@Repository
+public class ReservationArchiveRepository {
+
+    static final String ARCHIVABLE = "status IN ('Completed', 'Cancelled') AND return_date < ?";
+
+    private static final String HISTORY_SQL =
+            "SELECT r.id, r.user_id, r.title, r.first_name, r.last_name, r.rental_date, r.return_date, r.status, " +
+            "       r.amenity_mask, r.total_price, r.created_at, r.updated_at, v.id AS vehicle_id, v.make, v.model, " +
+            "       v.vehicle_type, v.year, v.location, v.license_plate, v.price_per_day, v.status AS vehicle_status, " +
+            "       false AS archived " +
+            "FROM reservations r JOIN vehicles v ON v.id = r.vehicle_id WHERE r.user_id = ? " +
+            "UNION ALL " +
+            "SELECT a.id, a.user_id, a.title, a.first_name, a.last_name, a.rental_date, a.return_date, a.status, " +
+            "       a.amenity_mask, a.total_price, a.created_at, a.updated_at, a.vehicle_id, a.vehicle_make, a.vehicle_model, " +
+            "       a.vehicle_type, a.vehicle_year, a.vehicle_location, a.vehicle_license_plate, a.vehicle_price_per_day, " +
+            "       NULL, true " +
+            "FROM reservations_archive a WHERE a.user_id = ? " +
+            "ORDER BY rental_date DESC, id DESC";
+
+    // One statement per batch: delete from the hot table and insert what was deleted, vehicle snapshot included
+    private static final String MOVE_SQL =
+            "WITH moved AS (" +
+            "  DELETE FROM reservations r USING vehicles v " +
+            "  WHERE v.id = r.vehicle_id AND r.id IN (" +
+            "    SELECT id FROM reservations WHERE " + ARCHIVABLE + " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "  RETURNING r.id, r.vehicle_id, r.user_id, r.title, r.first_name, r.last_name, r.rental_date, r.return_date, " +
+            "            r.status, r.amenity_mask, r.total_price, r.created_at, r.updated_at, v.make, v.model, " +
+            "            v.vehicle_type, v.year, v.location, v.license_plate, v.price_per_day) " +
+            "INSERT INTO reservations_archive (id, vehicle_id, user_id, title, first_name, last_name, rental_date, return_date, " +
+            "    status, amenity_mask, total_price, created_at, updated_at, vehicle_make, vehicle_model, vehicle_type, " +
+            "    vehicle_year, vehicle_location, vehicle_license_plate, vehicle_price_per_day) " +
+            "SELECT * FROM moved";
+
+    private static final RowMapper<ReservationView> VIEW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        ReservationView view = new ReservationView(rs.getLong("id"), rs.getLong("user_id"), rs.getString("title"),
+                rs.getString("first_name"), rs.getString("last_name"),
+                rs.getDate("rental_date").toLocalDate(), rs.getDate("return_date").toLocalDate(),
+                rs.getString("status"), rs.getInt("amenity_mask"), rs.getBigDecimal("total_price"),
+                createdAt != null ? createdAt.toLocalDateTime() : null, updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                rs.getLong("vehicle_id"), rs.getString("make"), rs.getString("model"), rs.getString("vehicle_type"),
+                rs.getObject("year", Integer.class), rs.getString("location"), rs.getString("license_plate"),
+                rs.getBigDecimal("price_per_day"), rs.getString("vehicle_status"));
+        view.setArchived(rs.getBoolean("archived"));
+        return view;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Customer history: live and archived bookings, newest first
+    public List<ReservationView> findHistoryByUserId(Long userId) {
+        return jdbcTemplate.query(HISTORY_SQL, VIEW_MAPPER, userId, userId);
+    }
+
+    public boolean existsBookingByUserId(Long userId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM reservations_archive WHERE user_id = ? AND status <> 'Cancelled')",
+                Boolean.class, userId));
+    }
+
+    // Rental years among rows the next batches will move; each needs its partition first
+    public List<Integer> findArchivableYears(LocalDate cutoff) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(EXTRACT(YEAR FROM rental_date) AS INTEGER) FROM reservations WHERE " + ARCHIVABLE,
+                Integer.class, cutoff);
+    }
+
+    public void ensureYearPartition(int year) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS reservations_archive_y" + year +
+                " PARTITION OF reservations_archive FOR VALUES FROM ('" + year + "-01-01') TO ('" + (year + 1) + "-01-01')");
+    }
+
+    public int moveToArchive(LocalDate cutoff, int batchSize) {
+        return jdbcTemplate.update(MOVE_SQL, cutoff, batchSize);
+    }
+}
@@ -0,0 +1,85 @@
+package com.grp12.Repository;
+
+import com.grp12.DTO.AnalyticsRow;
+import com.grp12.Model.ReservationDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationDailyStatRepository extends JpaRepository<ReservationDailyStat, ReservationDailyStat.Key> {
+
+    // Incremental maintenance: adds (sign = 1, new bookings) or removes (sign = -1) the given reservations from
+    // the aggregates, counting them as cancellations when cancellations = 1. One row per rental day; bookings,
+    // revenue and cancellations count on the first day only.
+    @Modifying
+    @Query(value = "INSERT INTO reservation_daily_stats " +
+           "(stat_date, vehicle_id, location, vehicle_type, bookings, booked_days, revenue, cancellations) " +
+           "SELECT CAST(d.day AS DATE), r.vehicle_id, MAX(v.location), MAX(v.vehicle_type), " +
+           "       :sign * SUM(CASE WHEN CAST(d.day AS DATE) = r.rental_date THEN 1 ELSE 0 END), " +
+           "       :sign * COUNT(*), " +
+           "       :sign * SUM(CASE WHEN CAST(d.day AS DATE) = r.rental_date THEN r.total_price ELSE 0 END), " +
+           "       :cancellations * SUM(CASE WHEN CAST(d.day AS DATE) = r.rental_date THEN 1 ELSE 0 END) " +
+           "FROM reservations r JOIN vehicles v ON v.id = r.vehicle_id " +
+           "CROSS JOIN LATERAL generate_series(r.rental_date, r.return_date, INTERVAL '1 day') AS d(day) " +
+           "WHERE r.id IN (:ids) " +
+           "GROUP BY CAST(d.day AS DATE), r.vehicle_id " +
+           "ON CONFLICT (stat_date, vehicle_id) DO UPDATE SET " +
+           "  bookings = reservation_daily_stats.bookings + EXCLUDED.bookings, " +
+           "  booked_days = reservation_daily_stats.booked_days + EXCLUDED.booked_days, " +
+           "  revenue = reservation_daily_stats.revenue + EXCLUDED.revenue, " +
+           "  cancellations = reservation_daily_stats.cancellations + EXCLUDED.cancellations",
+           nativeQuery = true)
+    int applyReservations(@Param("ids") Collection<Long> ids, @Param("sign") int sign,
+                          @Param("cancellations") int cancellations);
+
+    // Nightly reconciliation: drop and rebuild every day from :from on out of the live and archived reservations
+    @Modifying
+    @Query("DELETE FROM ReservationDailyStat s WHERE s.statDate >= :from")
+    int deleteFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query(value = "INSERT INTO reservation_daily_stats " +
+           "(stat_date, vehicle_id, location, vehicle_type, bookings, booked_days, revenue, cancellations) " +
+           "SELECT CAST(d.day AS DATE), b.vehicle_id, MAX(b.location), MAX(b.vehicle_type), " +
+           "       SUM(CASE WHEN CAST(d.day AS DATE) = b.rental_date AND b.status <> 'Cancelled' THEN 1 ELSE 0 END), " +
+           "       SUM(CASE WHEN b.status <> 'Cancelled' THEN 1 ELSE 0 END), " +
+           "       SUM(CASE WHEN CAST(d.day AS DATE) = b.rental_date AND b.status <> 'Cancelled' THEN b.total_price ELSE 0 END), " +
+           "       SUM(CASE WHEN CAST(d.day AS DATE) = b.rental_date AND b.status = 'Cancelled' THEN 1 ELSE 0 END) " +
+           "FROM (SELECT r.vehicle_id, v.location, v.vehicle_type, r.rental_date, r.return_date, r.status, r.total_price " +
+           "      FROM reservations r JOIN vehicles v ON v.id = r.vehicle_id WHERE r.return_date >= :from " +
+           "      UNION ALL " +
+           "      SELECT a.vehicle_id, a.vehicle_location, a.vehicle_type, a.rental_date, a.return_date, a.status, a.total_price " +
+           "      FROM reservations_archive a WHERE a.return_date >= :from) b " +
+           "CROSS JOIN LATERAL generate_series(GREATEST(b.rental_date, :from), b.return_date, INTERVAL '1 day') AS d(day) " +
+           "GROUP BY CAST(d.day AS DATE), b.vehicle_id",
+           nativeQuery = true)
+    int rebuildFrom(@Param("from") LocalDate from);
+
+    // Read side: every answer is one aggregate over the (stat_date, vehicle_id) primary key range
+    @Query("SELECT new com.grp12.DTO.AnalyticsRow('total', SUM(s.bookings), SUM(s.bookedDays), SUM(s.revenue), SUM(s.cancellations)) " +
+           "FROM ReservationDailyStat s WHERE s.statDate BETWEEN :from AND :to")
+    AnalyticsRow totalsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.grp12.DTO.AnalyticsRow(s.location, SUM(s.bookings), SUM(s.bookedDays), SUM(s.revenue), SUM(s.cancellations)) " +
+           "FROM ReservationDailyStat s WHERE s.statDate BETWEEN :from AND :to GROUP BY s.location ORDER BY s.location")
+    List<AnalyticsRow> byLocationBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.grp12.DTO.AnalyticsRow(s.vehicleType, SUM(s.bookings), SUM(s.bookedDays), SUM(s.revenue), SUM(s.cancellations)) " +
+           "FROM ReservationDailyStat s WHERE s.statDate BETWEEN :from AND :to GROUP BY s.vehicleType ORDER BY s.vehicleType")
+    List<AnalyticsRow> byVehicleTypeBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.grp12.DTO.AnalyticsRow(CAST(s.vehicleId AS String), SUM(s.bookings), SUM(s.bookedDays), SUM(s.revenue), SUM(s.cancellations)) " +
+           "FROM ReservationDailyStat s WHERE s.statDate BETWEEN :from AND :to GROUP BY s.vehicleId ORDER BY s.vehicleId")
+    List<AnalyticsRow> byVehicleBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.grp12.DTO.AnalyticsRow(CAST(MONTH(s.statDate) AS String), SUM(s.bookings), SUM(s.bookedDays), SUM(s.revenue), SUM(s.cancellations)) " +
+           "FROM ReservationDailyStat s WHERE s.statDate BETWEEN :from AND :to GROUP BY MONTH(s.statDate) ORDER BY MONTH(s.statDate)")
+    List<AnalyticsRow> byMonthBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,20 +1,105 @@
 package com.grp12.Repository;
 
+import com.grp12.DTO.CancellationCandidate;
+import com.grp12.DTO.ReservationView;
 import com.grp12.Model.Reservation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
     List<Reservation> findByUserId(Long userId);
     List<Reservation> findByVehicleId(Long vehicleId);
     List<Reservation> findByStatus(String status);
+    boolean existsByUserIdAndStatusNot(Long userId, String status);
+    boolean existsByUserIdAndStatusNotAndIdNot(Long userId, String status, Long id);
 
-   
-    @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.vehicle")
-    List<Reservation> findAllWithVehicle();
+    // Listing projection: reservation plus vehicle columns in one query, without the image blobs
+    @Query("SELECT new com.grp12.DTO.ReservationView(r.id, r.userId, r.title, r.firstName, r.lastName, " +
+           "r.rentalDate, r.returnDate, r.status, r.amenityMask, r.totalPrice, r.createdAt, r.updatedAt, " +
+           "v.id, v.make, v.model, v.vehicleType, v.year, v.location, v.licensePlate, v.pricePerDay, v.status) " +
+           "FROM Reservation r JOIN r.vehicle v ORDER BY r.id")
+    List<ReservationView> findAllViews();
+
+    // Customer dashboard: one user's reservations, newest pick-up first
+    @Query("SELECT new com.grp12.DTO.ReservationView(r.id, r.userId, r.title, r.firstName, r.lastName, " +
+           "r.rentalDate, r.returnDate, r.status, r.amenityMask, r.totalPrice, r.createdAt, r.updatedAt, " +
+           "v.id, v.make, v.model, v.vehicleType, v.year, v.location, v.licensePlate, v.pricePerDay, v.status) " +
+           "FROM Reservation r JOIN r.vehicle v WHERE r.userId = :userId ORDER BY r.rentalDate DESC, r.id DESC")
+    List<ReservationView> findViewsByUserId(@Param("userId") Long userId);
+
+    // Same projection restricted to reservations carrying every bit in mask; bitand renders as (amenity_mask & ?)
+    @Query("SELECT new com.grp12.DTO.ReservationView(r.id, r.userId, r.title, r.firstName, r.lastName, " +
+           "r.rentalDate, r.returnDate, r.status, r.amenityMask, r.totalPrice, r.createdAt, r.updatedAt, " +
+           "v.id, v.make, v.model, v.vehicleType, v.year, v.location, v.licensePlate, v.pricePerDay, v.status) " +
+           "FROM Reservation r JOIN r.vehicle v WHERE bitand(r.amenityMask, :mask) = :mask ORDER BY r.id")
+    List<ReservationView> findAllViewsWithAmenities(@Param("mask") int mask);
+
+    // Lifecycle transitions: set-based updates driven by idx_reservation_status_return
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'Completed', r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.status IN ('Confirmed', 'Active') AND r.returnDate < :today")
+    int completeFinishedReservations(@Param("today") LocalDate today);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'Active', r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.status = 'Confirmed' AND r.returnDate >= :today AND r.rentalDate <= :today")
+    int activateStartedReservations(@Param("today") LocalDate today);
+
+    // Cancellation: lock the still-Confirmed rows first so concurrent cancels cannot both succeed,
+    // then read fee/email inputs and flip the status in set-based statements
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id FROM Reservation r WHERE r.id IN :ids AND r.status = 'Confirmed' ORDER BY r.id")
+    List<Long> lockConfirmedIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id FROM Reservation r WHERE r.vehicle.id = :vehicleId AND r.status = 'Confirmed' ORDER BY r.id")
+    List<Long> lockConfirmedIdsForVehicle(@Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT new com.grp12.DTO.CancellationCandidate(r.id, r.userId, v.id, r.rentalDate, r.totalPrice, " +
+           "v.make, v.model, u.email, u.firstName, u.lastName) " +
+           "FROM Reservation r JOIN r.vehicle v LEFT JOIN User u ON u.id = r.userId WHERE r.id IN :ids ORDER BY r.id")
+    List<CancellationCandidate> findCancellationCandidates(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'Cancelled', r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.id IN :ids AND r.status = 'Confirmed'")
+    int cancelConfirmedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.vehicle.id = :vehicleId " +
+           "AND r.status IN ('Confirmed', 'Active') AND r.returnDate >= :today")
+    boolean existsOpenReservationForVehicle(@Param("vehicleId") Long vehicleId, @Param("today") LocalDate today);
+
+    // Amendments: the reservation row stays locked until the change commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") Long id);
+
+    // Does another live booking on the vehicle touch either date range? Amendments pass only the days
+    // they add (the same range twice when there is one), so unchanged days are never re-checked
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.vehicle.id = :vehicleId AND r.id <> :excludeId " +
+           "AND r.status IN ('Confirmed', 'Active') " +
+           "AND ((r.rentalDate <= :to1 AND r.returnDate >= :from1) OR (r.rentalDate <= :to2 AND r.returnDate >= :from2))")
+    boolean existsOverlapExcluding(@Param("vehicleId") Long vehicleId, @Param("excludeId") Long excludeId,
+                                   @Param("from1") LocalDate from1, @Param("to1") LocalDate to1,
+                                   @Param("from2") LocalDate from2, @Param("to2") LocalDate to2);
+
+    // Single DELETE statement; the derived deleteByVehicleId would load and remove rows one by one
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.vehicle.id = :vehicleId")
+    int deleteAllForVehicle(@Param("vehicleId") Long vehicleId);
+
+    // Transaction-scoped Postgres advisory lock; released automatically on commit or rollback
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
 }
\ No newline at end of file
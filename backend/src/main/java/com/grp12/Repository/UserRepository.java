@@ -1,23 +1,37 @@
 package com.grp12.Repository;
 
+import com.grp12.DTO.UserKeyView;
+import com.grp12.DTO.UserNameView;
 import com.grp12.Model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Emails are stored normalised (User.normalizeEmail), so these are equality lookups on the unique email index
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findByNormalizedEmail(@Param("email") String email);
+
+    @Query("SELECT new User(u.id, u.email, u.password, u.firstName, u.lastName, u.approved, u.emailVerified) FROM User u WHERE u.email = :email")
+    Optional<User> findByNormalizedEmailForAuth(@Param("email") String email);
+
     // Find user by email (case-insensitive for better matching)
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<User> findByEmail(@Param("email") String email);
-    
-    @Query("SELECT new User(u.id, u.email, u.password, u.firstName, u.lastName, u.approved, u.emailVerified) FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    Optional<User> findByEmailForAuth(@Param("email") String email);
+    default Optional<User> findByEmail(String email) {
+        return findByNormalizedEmail(User.normalizeEmail(email));
+    }
+
+    default Optional<User> findByEmailForAuth(String email) {
+        return findByNormalizedEmailForAuth(User.normalizeEmail(email));
+    }
     
     // Find users by role
     List<User> findByRole(String role);
@@ -28,9 +42,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find users by role and status
     List<User> findByRoleAndStatus(String role, String status);
     
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.email = :email")
+    boolean existsByNormalizedEmail(@Param("email") String email);
+
     // Check if email exists (useful for validation)
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE LOWER(u.email) = LOWER(:email)")
-    boolean existsByEmail(@Param("email") String email);
+    default boolean existsByEmail(String email) {
+        return existsByNormalizedEmail(User.normalizeEmail(email));
+    }
     
     // Find by phone number (if needed for validation)
     Optional<User> findByPhoneNumber(String phoneNumber);
@@ -67,4 +85,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Count approved customers specifically
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = 'ROLE_CUSTOMER' AND u.status = 'APPROVED'")
     long countApprovedCustomers();
+
+    // Licence image for the customer directory, loaded only when an admin opens it
+    @Query("SELECT u.driversLicenseImage FROM User u WHERE u.id = :id AND u.role = 'ROLE_CUSTOMER'")
+    Optional<String> findLicenseImageByCustomerId(@Param("id") Long id);
+
+    // Batch name lookup for reservation listings
+    @Query("SELECT u.id AS id, u.title AS title, u.firstName AS firstName, u.lastName AS lastName FROM User u WHERE u.id IN :ids")
+    List<UserNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Existing emails and licence numbers among a batch about to be approved; both are unique
+    @Query("SELECT u.email AS email, u.driversLicenseNumber AS driversLicenseNumber FROM User u " +
+           "WHERE u.email IN :emails OR u.driversLicenseNumber IN :licenses")
+    List<UserKeyView> findKeysByEmailInOrLicenseIn(@Param("emails") Collection<String> emails,
+                                                   @Param("licenses") Collection<String> licenses);
+
+    // Rehash on login when the BCrypt work factor changes
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByNormalizedEmail(@Param("email") String email, @Param("password") String password);
+
+    default int updatePasswordByEmail(String email, String password) {
+        return updatePasswordByNormalizedEmail(User.normalizeEmail(email), password);
+    }
 }
\ No newline at end of file
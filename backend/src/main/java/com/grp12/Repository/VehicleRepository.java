@@ -2,10 +2,13 @@ package com.grp12.Repository;
 
 import com.grp12.Model.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +50,26 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
                                          @Param("maxPrice") Double maxPrice,
                                          @Param("status") String status);
     
+    // (id, pricePerDay, vehicleType, location, seatingCapacity) ordered by id, for the pricing engine's price table
+    @Query("SELECT v.id, v.pricePerDay, v.vehicleType, v.location, v.seatingCapacity FROM Vehicle v ORDER BY v.id")
+    List<Object[]> findAllPricingAttributes();
+
+    // Only the first photo column, for thumbnails; the other image columns stay unread
+    @Query("SELECT v.vehicleImage1 FROM Vehicle v WHERE v.id = :id")
+    Optional<String> findPrimaryImageById(@Param("id") Long id);
+
+    // When the vehicle row last changed, for vehicles with a first photo; keys cached thumbnails
+    @Query("SELECT COALESCE(v.updatedAt, v.createdAt) FROM Vehicle v WHERE v.id = :id AND v.vehicleImage1 IS NOT NULL")
+    Optional<LocalDateTime> findPrimaryImageVersionById(@Param("id") Long id);
+
+    // (id, location, vehicleType) for fleet utilisation, which groups vehicles by location before streaming events
+    @Query("SELECT v.id, v.location, v.vehicleType FROM Vehicle v ORDER BY v.location, v.id")
+    List<Object[]> findAllUtilisationAttributes();
+
+    // Row lock on the vehicle without loading it; serialises hold placement for one vehicle across nodes
+    @Query(value = "SELECT id FROM vehicles WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
     @Query("SELECT DISTINCT v.location FROM Vehicle v WHERE v.status = 'Available'")
     List<String> findDistinctLocations();
     
@@ -60,6 +83,13 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.status = :status")
     Long countByStatus(@Param("status") String status);
 
+    // Fleet size per group, the denominator of utilisation analytics
+    @Query("SELECT v.location, COUNT(v) FROM Vehicle v GROUP BY v.location")
+    List<Object[]> countByLocation();
+
+    @Query("SELECT v.vehicleType, COUNT(v) FROM Vehicle v GROUP BY v.vehicleType")
+    List<Object[]> countByVehicleType();
+
     List<Vehicle> findByLocationAndVehicleTypeAndStatus(String location, String vehicleType, String status);
 
     @Query("SELECT v FROM Vehicle v WHERE v.location = :location")
@@ -70,4 +100,24 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     
     @Query("SELECT v FROM Vehicle v WHERE v.location = :location AND v.vehicleType = :vehicleType")
     List<Vehicle> findVehiclesByLocationAndType(@Param("location") String location, @Param("vehicleType") String vehicleType);
-}
+
+    // Frees vehicles whose bookings have all finished; vehicles marked Rented by hand
+    // without any completed reservation are left alone
+    @Modifying
+    @Query("UPDATE Vehicle v SET v.status = 'Available', v.updatedAt = CURRENT_TIMESTAMP WHERE v.status = 'Rented' " +
+           "AND EXISTS (SELECT r.id FROM Reservation r WHERE r.vehicle = v AND r.status = 'Completed') " +
+           "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.vehicle = v AND r.status IN ('Confirmed', 'Active'))")
+    int releaseVehiclesWithoutOpenReservations();
+
+    // After cancellations: free the given vehicles unless another open booking still holds them
+    @Modifying
+    @Query("UPDATE Vehicle v SET v.status = 'Available', v.updatedAt = CURRENT_TIMESTAMP WHERE v.id IN :ids " +
+           "AND v.status = 'Rented' " +
+           "AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.vehicle = v AND r.status IN ('Confirmed', 'Active'))")
+    int releaseRentedVehicles(@Param("ids") Collection<Long> ids);
+
+    // Group bookings; the rows are already locked by GroupBookingRepository.lockForBooking
+    @Modifying
+    @Query("UPDATE Vehicle v SET v.status = 'Rented', v.updatedAt = CURRENT_TIMESTAMP WHERE v.id IN :ids")
+    int markRented(@Param("ids") Collection<Long> ids);
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.grp12.Services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Compact HMAC-SHA256 access tokens: base64url(claims JSON) "." base64url(signature).
+ *
+ * Claims are sub (principal email), iat and exp (epoch seconds) and jti (for
+ * the deny-list). Every node with the same secret can verify a token
+ * without any shared state. Thread-safe.
+ */
+public class AccessTokenCodec {
+
+    public static class Claims {
+        private final String subject;
+        private final String jti;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        public Claims(String subject, String jti, long issuedAt, long expiresAt) {
+            this.subject = subject;
+            this.jti = jti;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getSubject() { return subject; }
+        public String getJti() { return jti; }
+        public long getIssuedAt() { return issuedAt; }
+        public long getExpiresAt() { return expiresAt; }
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public AccessTokenCodec(byte[] secret) {
+        if (secret.length < 32) {
+            throw new IllegalStateException("Token secret must be at least 256 bits");
+        }
+        this.key = new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    public String encode(Claims claims) {
+        ObjectNode node = MAPPER.createObjectNode()
+                .put("sub", claims.getSubject())
+                .put("jti", claims.getJti())
+                .put("iat", claims.getIssuedAt())
+                .put("exp", claims.getExpiresAt());
+        String payload = ENCODER.encodeToString(node.toString().getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    // Null unless the signature is valid and the token has not expired at nowSeconds
+    public Claims decode(String token, long nowSeconds) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+            JsonNode node = MAPPER.readTree(DECODER.decode(payload));
+            Claims claims = new Claims(node.path("sub").asText(null), node.path("jti").asText(null),
+                    node.path("iat").asLong(), node.path("exp").asLong());
+            if (claims.getSubject() == null || claims.getJti() == null || claims.getExpiresAt() <= nowSeconds) {
+                return null;
+            }
+            return claims;
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.grp12.Services;
 
 import com.grp12.Model.Admin;
 import com.grp12.Repository.AdminRepository;
+import com.grp12.Repository.RefreshTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,10 @@ public class AdminService {
     private AdminRepository adminRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PrincipalService principalService;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
 
     public Admin registerAdmin(Admin admin) {
         try {
@@ -108,17 +115,26 @@ public class AdminService {
                 throw new IllegalArgumentException("Username already exists");
             }
 
+            // Refresh tokens are issued under the email the admin signed in with
+            String previousEmail = existingAdmin.getEmail();
+            boolean passwordChanged = updatedAdmin.getPassword() != null && !updatedAdmin.getPassword().isEmpty();
+
             existingAdmin.setFirstName(updatedAdmin.getFirstName());
             existingAdmin.setLastName(updatedAdmin.getLastName());
             existingAdmin.setUsername(updatedAdmin.getUsername());
             existingAdmin.setEmail(updatedAdmin.getEmail());
             
             // Only update password if provided
-            if (updatedAdmin.getPassword() != null && !updatedAdmin.getPassword().isEmpty()) {
+            if (passwordChanged) {
                 existingAdmin.setPassword(passwordEncoder.encode(updatedAdmin.getPassword()));
             }
 
-            return adminRepository.save(existingAdmin);
+            Admin savedAdmin = adminRepository.save(existingAdmin);
+            principalService.evictAdmin(id);
+            if (passwordChanged) {
+                refreshTokenRepository.revokeAllForSubject(previousEmail, LocalDateTime.now(ZoneOffset.UTC));
+            }
+            return savedAdmin;
         } catch (Exception e) {
             System.err.println("Error in updateAdmin: " + e.getMessage());
             if (e instanceof IllegalArgumentException || e instanceof RuntimeException) {
@@ -141,6 +157,7 @@ public class AdminService {
             
             admin.setStatus("INACTIVE");
             adminRepository.save(admin);
+            principalService.evictAdmin(id);
             System.out.println("Admin deactivated: " + id);
             
         } catch (Exception e) {
@@ -159,6 +176,7 @@ public class AdminService {
             
             admin.setStatus("ACTIVE");
             adminRepository.save(admin);
+            principalService.evictAdmin(id);
             System.out.println("Admin activated: " + id);
             
         } catch (Exception e) {
@@ -194,6 +212,8 @@ public class AdminService {
             // Update password
             admin.setPassword(passwordEncoder.encode(newPassword));
             adminRepository.save(admin);
+            principalService.evictAdmin(admin.getId());
+            refreshTokenRepository.revokeAllForSubject(admin.getEmail(), LocalDateTime.now(ZoneOffset.UTC));
 
             System.out.println("Password changed successfully for admin: " + admin.getUsername());
 
@@ -0,0 +1,165 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.AnalyticsRow;
+import com.grp12.Repository.ReservationDailyStatRepository;
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Revenue and utilisation from reservation_daily_stats.
+ *
+ * ReservationService keeps the table current as bookings are created and
+ * cancelled (one set-based upsert per call), and a nightly pass rebuilds the
+ * recent window from the reservations themselves to repair any drift. Reads
+ * never touch the reservations table: a month or year answer is one aggregate
+ * over at most (days x vehicles) stat rows.
+ */
+@Service
+public class AnalyticsService {
+
+    static final long RECONCILE_LOCK_KEY = 270_270_003L;
+
+    @Autowired
+    private ReservationDailyStatRepository statRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Value("${app.analytics.reconcile-days:60}")
+    private int reconcileDays;
+
+    // Called inside the booking/cancelling transaction so the aggregates commit or roll back with it
+    @Transactional
+    public void recordBookings(Collection<Long> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statRepository.applyReservations(reservationIds, 1, 0);
+        }
+    }
+
+    @Transactional
+    public void recordCancellations(Collection<Long> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statRepository.applyReservations(reservationIds, -1, 1);
+        }
+    }
+
+    // Amendments: take the reservation out as it stands now, before the row is changed, then
+    // recordBookings once it has been; nothing counts as a cancellation
+    @Transactional
+    public void retractBookings(Collection<Long> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statRepository.applyReservations(reservationIds, -1, 0);
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.reconcile-cron:0 45 3 * * *}")
+    @Transactional
+    public void runScheduledReconciliation() {
+        reconcile(LocalDate.now());
+    }
+
+    // Rebuilds every day from today - reconcile-days onwards (future bookings included); -1 when another node is on it
+    @Transactional
+    public int reconcile(LocalDate today) {
+        if (!reservationRepository.tryAdvisoryXactLock(RECONCILE_LOCK_KEY)) {
+            System.out.println("Analytics reconciliation skipped: another node holds the lock");
+            return -1;
+        }
+        LocalDate from = today.minusDays(reconcileDays);
+        statRepository.deleteFrom(from);
+        int rows = statRepository.rebuildFrom(from);
+        System.out.println("Analytics reconciled from " + from + ": " + rows + " daily rows");
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public AnalyticsRow summary(int year, Integer month) {
+        LocalDate from = periodStart(year, month);
+        LocalDate to = periodEnd(year, month);
+        AnalyticsRow totals = statRepository.totalsBetween(from, to);
+        totals.setUtilisation(utilisation(totals.getBookedDays(), vehicleRepository.count(), from, to));
+        return totals;
+    }
+
+    // by: location, type or vehicle
+    @Transactional(readOnly = true)
+    public List<AnalyticsRow> breakdown(int year, Integer month, String by) {
+        LocalDate from = periodStart(year, month);
+        LocalDate to = periodEnd(year, month);
+        List<AnalyticsRow> rows;
+        Map<String, Long> fleet;
+        switch (by) {
+            case "location":
+                rows = statRepository.byLocationBetween(from, to);
+                fleet = toCounts(vehicleRepository.countByLocation());
+                break;
+            case "type":
+                rows = statRepository.byVehicleTypeBetween(from, to);
+                fleet = toCounts(vehicleRepository.countByVehicleType());
+                break;
+            case "vehicle":
+                rows = statRepository.byVehicleBetween(from, to);
+                fleet = null;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown breakdown '" + by + "', expected location, type or vehicle");
+        }
+        for (AnalyticsRow row : rows) {
+            long vehicles = fleet == null ? 1 : fleet.getOrDefault(row.getKey(), 0L);
+            row.setUtilisation(utilisation(row.getBookedDays(), vehicles, from, to));
+        }
+        return rows;
+    }
+
+    // Twelve-month series for a year; months without bookings are omitted
+    @Transactional(readOnly = true)
+    public List<AnalyticsRow> monthly(int year) {
+        List<AnalyticsRow> rows = statRepository.byMonthBetween(periodStart(year, null), periodEnd(year, null));
+        long vehicles = vehicleRepository.count();
+        for (AnalyticsRow row : rows) {
+            YearMonth month = YearMonth.of(year, Integer.parseInt(row.getKey()));
+            row.setUtilisation(utilisation(row.getBookedDays(), vehicles, month.atDay(1), month.atEndOfMonth()));
+        }
+        return rows;
+    }
+
+    static Double utilisation(long bookedDays, long vehicles, LocalDate from, LocalDate to) {
+        long capacity = vehicles * (ChronoUnit.DAYS.between(from, to) + 1);
+        if (capacity <= 0) {
+            return null;
+        }
+        return Math.round(bookedDays * 10000.0 / capacity) / 100.0;
+    }
+
+    private static LocalDate periodStart(int year, Integer month) {
+        return month == null ? LocalDate.of(year, 1, 1) : YearMonth.of(year, month).atDay(1);
+    }
+
+    private static LocalDate periodEnd(int year, Integer month) {
+        return month == null ? LocalDate.of(year, 12, 31) : YearMonth.of(year, month).atEndOfMonth();
+    }
+
+    private static Map<String, Long> toCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
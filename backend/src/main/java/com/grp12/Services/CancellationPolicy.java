@@ -0,0 +1,84 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.CancellationQuote;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Cancellation fees by notice given before pick-up (midnight of the rental
+ * date). Tiers come from app.cancellation.tiers as "hours:percent" pairs,
+ * e.g. "24:30,72:10" means under 24 hours pays 30%, under 72 hours pays
+ * 10%, and more notice is free. Quoting never touches the database.
+ */
+@Component
+public class CancellationPolicy {
+
+    private static final long BASIS_POINTS = 10_000L;
+
+    private final long[] tierHours;
+    private final long[] tierBasisPoints;
+
+    public CancellationPolicy(@Value("${app.cancellation.tiers:24:30,72:10}") String tiers) {
+        List<long[]> parsed = new ArrayList<>();
+        for (String tier : tiers.split(",")) {
+            if (tier.isBlank()) {
+                continue;
+            }
+            String[] parts = tier.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid cancellation tier '" + tier + "', expected hours:percent");
+            }
+            long hours = Long.parseLong(parts[0].trim());
+            long basisPoints = new BigDecimal(parts[1].trim()).movePointRight(2).longValueExact();
+            if (hours <= 0 || basisPoints < 0 || basisPoints > BASIS_POINTS) {
+                throw new IllegalStateException("Invalid cancellation tier '" + tier + "'");
+            }
+            parsed.add(new long[]{hours, basisPoints});
+        }
+        parsed.sort(Comparator.comparingLong(tier -> tier[0]));
+
+        this.tierHours = new long[parsed.size()];
+        this.tierBasisPoints = new long[parsed.size()];
+        for (int i = 0; i < parsed.size(); i++) {
+            tierHours[i] = parsed.get(i)[0];
+            tierBasisPoints[i] = parsed.get(i)[1];
+        }
+    }
+
+    public long hoursToPickup(LocalDate rentalDate, LocalDateTime now) {
+        return Duration.between(now, rentalDate.atStartOfDay()).toHours();
+    }
+
+    // Fee percentage in basis points for the notice given; the tightest matching tier wins
+    public long feeBasisPoints(long hoursToPickup) {
+        for (int i = 0; i < tierHours.length; i++) {
+            if (hoursToPickup < tierHours[i]) {
+                return tierBasisPoints[i];
+            }
+        }
+        return 0;
+    }
+
+    public long feeCents(long totalCents, long hoursToPickup) {
+        return (totalCents * feeBasisPoints(hoursToPickup) + BASIS_POINTS / 2) / BASIS_POINTS;
+    }
+
+    public CancellationQuote quote(Long reservationId, BigDecimal totalPrice, LocalDate rentalDate, LocalDateTime now,
+                                   boolean waiveFee) {
+        long hours = hoursToPickup(rentalDate, now);
+        long totalCents = PricingEngine.toCents(totalPrice);
+        long basisPoints = waiveFee ? 0 : feeBasisPoints(hours);
+        long feeCents = waiveFee ? 0 : feeCents(totalCents, hours);
+        return new CancellationQuote(reservationId, hours, PricingEngine.fromCents(basisPoints),
+                PricingEngine.fromCents(feeCents), PricingEngine.fromCents(totalCents),
+                PricingEngine.fromCents(totalCents - feeCents));
+    }
+}
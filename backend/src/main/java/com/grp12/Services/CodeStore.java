@@ -0,0 +1,26 @@
+package com.grp12.Services;
+
+import java.time.Duration;
+
+/**
+ * Where short-lived one-time codes live: sign-up verification codes and
+ * password-reset codes, one per purpose and email. The default in-memory
+ * store is enough for one node; set app.codes.store=database when several
+ * nodes serve sign-ups so a code sent by one node can be checked on another.
+ * Expired codes never match, whether or not they have been swept yet.
+ */
+public interface CodeStore {
+
+    enum Purpose { EMAIL_VERIFICATION, PASSWORD_RESET }
+
+    // Replaces any code already issued for the same purpose and key; throws IllegalStateException when the store is full
+    void put(Purpose purpose, String key, String code, Duration ttl);
+
+    // Whether the unexpired code for the key equals code; the code stays usable
+    boolean matches(Purpose purpose, String key, String code);
+
+    // Removes the code only if it is unexpired and equal, in one step, so at most one caller can use it
+    boolean consume(Purpose purpose, String key, String code);
+
+    void remove(Purpose purpose, String key);
+}
@@ -0,0 +1,70 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.PendingCodeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Multi-node code store on the pending_codes table. Issuing a code is one
+ * upsert and using it is one conditional delete, so two nodes can never
+ * both accept the same code. Every read filters on expires_at; the periodic
+ * purge only reclaims space. The size cap counts unexpired rows before an
+ * insert, so concurrent sign-ups can overshoot it slightly.
+ */
+@Component
+@ConditionalOnProperty(name = "app.codes.store", havingValue = "database")
+public class DatabaseCodeStore implements CodeStore {
+
+    @Autowired
+    private PendingCodeRepository pendingCodeRepository;
+
+    @Value("${app.codes.max-entries:100000}")
+    private int maxEntries;
+
+    @Override
+    @Transactional
+    public void put(Purpose purpose, String key, String code, Duration ttl) {
+        String id = TimingWheelCodeStore.id(purpose, key);
+        LocalDateTime now = LocalDateTime.now();
+        if (!pendingCodeRepository.existsById(id) && pendingCodeRepository.countUnexpired(now) >= maxEntries) {
+            throw new IllegalStateException("Too many pending codes, please try again in a few minutes");
+        }
+        pendingCodeRepository.upsert(id, code, now.plus(ttl));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean matches(Purpose purpose, String key, String code) {
+        return code != null && pendingCodeRepository.matches(TimingWheelCodeStore.id(purpose, key), code, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public boolean consume(Purpose purpose, String key, String code) {
+        return code != null
+                && pendingCodeRepository.consume(TimingWheelCodeStore.id(purpose, key), code, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void remove(Purpose purpose, String key) {
+        pendingCodeRepository.deleteById(TimingWheelCodeStore.id(purpose, key));
+    }
+
+    // Idempotent, so every node may run it
+    @Scheduled(fixedDelayString = "${app.codes.purge-ms:60000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = pendingCodeRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " expired verification and reset codes");
+        }
+    }
+}
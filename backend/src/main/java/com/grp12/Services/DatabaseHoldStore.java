@@ -0,0 +1,103 @@
+package com.grp12.Services;
+
+import com.grp12.Model.CheckoutHold;
+import com.grp12.Repository.CheckoutHoldRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Multi-node hold store on the checkout_holds table. Placing a hold takes
+ * the vehicle's row lock first, so two nodes cannot both grant overlapping
+ * holds. Every read filters on expires_at, so expiry needs no per-hold work;
+ * the periodic purge only reclaims space.
+ */
+@Component
+@ConditionalOnProperty(name = "app.holds.store", havingValue = "database")
+public class DatabaseHoldStore implements HoldStore {
+
+    @Autowired
+    private CheckoutHoldRepository checkoutHoldRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Override
+    @Transactional
+    public CheckoutHold place(CheckoutHold hold) {
+        vehicleRepository.lockById(hold.getVehicleId())
+                .orElseThrow(() -> new IllegalArgumentException("Vehicle not found"));
+        List<CheckoutHold> conflicts = checkoutHoldRepository.findConflicts(hold.getVehicleId(), hold.getRentalDate(),
+                hold.getReturnDate(), hold.getUserId(), LocalDateTime.now());
+        if (!conflicts.isEmpty()) {
+            throw new IllegalArgumentException("Vehicle is held by another customer until " + conflicts.get(0).getExpiresAt());
+        }
+        checkoutHoldRepository.deleteByVehicleIdAndUserId(hold.getVehicleId(), hold.getUserId());
+        return checkoutHoldRepository.save(hold);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CheckoutHold> findById(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        return checkoutHoldRepository.findById(id).filter(hold -> !hold.isExpired(now));
+    }
+
+    @Override
+    @Transactional
+    public boolean release(String id) {
+        if (!checkoutHoldRepository.existsById(id)) {
+            return false;
+        }
+        checkoutHoldRepository.deleteById(id);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int releaseForUser(Long vehicleId, Long userId) {
+        return checkoutHoldRepository.deleteByVehicleIdAndUserId(vehicleId, userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CheckoutHold> findConflict(Long vehicleId, LocalDate rentalDate, LocalDate returnDate, Long userId) {
+        return checkoutHoldRepository.findConflicts(vehicleId, rentalDate, returnDate, userId, LocalDateTime.now())
+                .stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<Long> findHeldVehicleIds(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new HashSet<>(userId == null
+                ? checkoutHoldRepository.findHeldVehicleIds(now)
+                : checkoutHoldRepository.findVehicleIdsHeldByOthers(userId, now));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int countActiveForUser(Long userId) {
+        return (int) checkoutHoldRepository.countActiveByUserId(userId, LocalDateTime.now());
+    }
+
+    // Idempotent, so every node may run it
+    @Scheduled(fixedDelayString = "${app.holds.purge-ms:60000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = checkoutHoldRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " expired checkout holds");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.RateLimitBucketRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Multi-node rate limiter on the rate_limit_buckets table.
+ *
+ * Every request is first checked against this node's own in-memory buckets
+ * with the same limits. A node can never allow more than the shared limit,
+ * so a flood aimed at one node is refused there without a query, and only
+ * requests that pass locally cost one upsert. If the table cannot be reached
+ * the local limit still applies, rather than failing every login.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "database")
+public class DatabaseRateLimiter implements RateLimiter {
+
+    // Rows idle this long are full buckets again; comfortably above any configured period
+    private static final long IDLE_SECONDS = 86_400;
+
+    @Autowired
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    private final TokenBucketRateLimiter local;
+
+    public DatabaseRateLimiter(@Value("${app.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.local = new TokenBucketRateLimiter(Clock.systemUTC(), maxBuckets);
+    }
+
+    @PostConstruct
+    void init() {
+        rateLimitBucketRepository.createTableIfMissing();
+    }
+
+    @Override
+    public boolean tryAcquire(String key, Limit limit) {
+        if (!local.tryAcquire(key, limit)) {
+            return false;
+        }
+        try {
+            return rateLimitBucketRepository.tryAcquire(key, limit.getCapacity(),
+                    limit.getCapacity() * 1000.0 / limit.getPeriodMillis());
+        } catch (DataAccessException e) {
+            System.err.println("Shared rate limit unavailable, using this node's limit only: " + e.getMessage());
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-ms:60000}")
+    public void sweep() {
+        local.sweep();
+    }
+
+    // Idempotent, so every node may run it
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-ms:3600000}")
+    public void purgeIdle() {
+        int purged = rateLimitBucketRepository.deleteIdle(IDLE_SECONDS);
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " idle rate limit buckets");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.grp12.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Loads HTML email templates from resources and compiles them once into
+ * static segments and parameter slots.
+ *
+ * Templates use {{name}} for values and {{> partial}} to inline another
+ * template file (e.g. the shared head and footers). Partials are resolved at
+ * compile time, so rendering is a single pass over pre-split segments into a
+ * buffer sized up front.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String SLOT_OPEN = "{{";
+    private static final String SLOT_CLOSE = "}}";
+    private static final String PARTIAL_MARKER = ">";
+    private static final int MAX_PARTIAL_DEPTH = 8;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${app.email.templates.location:classpath:templates/email/}")
+    private String templateLocation;
+
+    /**
+     * Loads and compiles the named template. The parameters declare the
+     * positional order expected by {@link CompiledTemplate#render(String...)};
+     * any slot in the template that is not declared fails fast at startup.
+     */
+    public CompiledTemplate compile(String templateName, String... parameters) {
+        return compile(templateName, loadSource(templateName), this::loadSource, parameters);
+    }
+
+    private String loadSource(String templateName) {
+        Resource resource = resourceLoader.getResource(templateLocation + templateName + ".html");
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load email template '" + templateName + "' from " + templateLocation, e);
+        }
+    }
+
+    static CompiledTemplate compile(String templateName, String source, Function<String, String> partials, String... parameters) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        parse(templateName, source, partials, Arrays.asList(parameters), literal, literals, slots, 0);
+        literals.add(literal.toString());
+
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new CompiledTemplate(templateName, literals.toArray(new String[0]), slotArray, parameters.length);
+    }
+
+    private static void parse(String templateName, String source, Function<String, String> partials, List<String> parameters,
+                              StringBuilder literal, List<String> literals, List<Integer> slots, int depth) {
+        if (depth > MAX_PARTIAL_DEPTH) {
+            throw new IllegalStateException("Email template '" + templateName + "' nests partials too deeply");
+        }
+
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(SLOT_OPEN, position);
+            if (open < 0) {
+                literal.append(source, position, source.length());
+                return;
+            }
+            int close = source.indexOf(SLOT_CLOSE, open + SLOT_OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed slot in email template '" + templateName + "' at offset " + open);
+            }
+
+            literal.append(source, position, open);
+            String token = source.substring(open + SLOT_OPEN.length(), close).trim();
+
+            if (token.startsWith(PARTIAL_MARKER)) {
+                String partialName = token.substring(PARTIAL_MARKER.length()).trim();
+                String partial = stripTrailingNewline(partials.apply(partialName));
+                parse(partialName, partial, partials, parameters, literal, literals, slots, depth + 1);
+            } else {
+                int index = parameters.indexOf(token);
+                if (index < 0) {
+                    throw new IllegalStateException("Email template '" + templateName + "' uses undeclared slot '" + token + "'");
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(index);
+            }
+            position = close + SLOT_CLOSE.length();
+        }
+    }
+
+    private static String stripTrailingNewline(String partial) {
+        if (partial.endsWith("\r\n")) {
+            return partial.substring(0, partial.length() - 2);
+        }
+        if (partial.endsWith("\n")) {
+            return partial.substring(0, partial.length() - 1);
+        }
+        return partial;
+    }
+
+    /**
+     * Immutable, thread-safe compiled template: literals[i] precedes slot i and
+     * the final literal follows the last slot.
+     */
+    public static final class CompiledTemplate {
+        private final String name;
+        private final String[] literals;
+        private final int[] slots;
+        private final int parameterCount;
+
+        CompiledTemplate(String name, String[] literals, int[] slots, int parameterCount) {
+            this.name = name;
+            this.literals = literals;
+            this.slots = slots;
+            this.parameterCount = parameterCount;
+        }
+
+        public String render(String... values) {
+            if (values.length != parameterCount) {
+                throw new IllegalArgumentException("Email template '" + name + "' expects " + parameterCount
+                        + " values but got " + values.length);
+            }
+
+            // String.join sizes the result and picks Latin-1/UTF-16 once up front, so the
+            // html is written straight into its final buffer instead of a growing builder
+            String[] parts = new String[literals.length + slots.length];
+            int part = 0;
+            for (int i = 0; i < slots.length; i++) {
+                parts[part++] = literals[i];
+                parts[part++] = String.valueOf(values[slots[i]]);
+            }
+            parts[part] = literals[slots.length];
+            return String.join("", parts);
+        }
+
+        public String getName() { return name; }
+    }
+}
@@ -0,0 +1,279 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.UtilisationReport;
+import com.grp12.DTO.UtilisationRow;
+import com.grp12.Repository.FleetEventRepository;
+import com.grp12.Repository.VehicleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Occupancy per vehicle, location and type over any window, net of maintenance.
+ *
+ * Each location is one fork/join leaf. A leaf streams that location's booking
+ * and maintenance events in day order and feeds them to an OccupancySweep,
+ * which keeps a few counters per vehicle and nothing per event. Memory grows
+ * with the fleet size, not with the length of history.
+ */
+@Service
+public class FleetUtilisationService {
+
+    static final long MAX_WINDOW_DAYS = 3_700;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private FleetEventRepository fleetEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Each leaf holds a pooled connection while it streams, so keep this below the pool size
+    @Value("${app.analytics.utilisation.parallelism:4}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public UtilisationReport utilisation(LocalDate from, LocalDate to, boolean includeVehicles) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        long windowDays = to.toEpochDay() - from.toEpochDay() + 1;
+        if (windowDays > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window is limited to " + MAX_WINDOW_DAYS + " days");
+        }
+
+        // Fleet grouped by location; query is ordered by location then id
+        Map<String, List<Long>> vehicleIdsByLocation = new LinkedHashMap<>();
+        Map<Long, String> typeByVehicle = new HashMap<>();
+        for (Object[] row : vehicleRepository.findAllUtilisationAttributes()) {
+            Long id = (Long) row[0];
+            vehicleIdsByLocation.computeIfAbsent((String) row[1], location -> new ArrayList<>()).add(id);
+            typeByVehicle.put(id, (String) row[2]);
+        }
+
+        List<LocationSweep> sweeps = vehicleIdsByLocation.isEmpty()
+                ? new ArrayList<>()
+                : pool.invoke(new LocationTask(new ArrayList<>(vehicleIdsByLocation.entrySet()), from, to));
+
+        // Roll vehicle results up by location, type and overall
+        Map<String, long[]> byLocation = new TreeMap<>();
+        Map<String, long[]> byType = new TreeMap<>();
+        long[] total = new long[3];
+        List<UtilisationRow> vehicles = includeVehicles ? new ArrayList<>() : null;
+        for (LocationSweep sweep : sweeps) {
+            OccupancySweep occupancy = sweep.occupancy;
+            for (int i = 0; i < occupancy.size(); i++) {
+                long vehicleId = occupancy.vehicleId(i);
+                long booked = occupancy.bookedDays(i);
+                long maintenance = occupancy.maintenanceDays(i);
+                add(byLocation.computeIfAbsent(sweep.location, key -> new long[3]), booked, maintenance);
+                add(byType.computeIfAbsent(String.valueOf(typeByVehicle.get(vehicleId)), key -> new long[3]), booked, maintenance);
+                add(total, booked, maintenance);
+                if (vehicles != null) {
+                    vehicles.add(new UtilisationRow(String.valueOf(vehicleId), 1, booked, maintenance, windowDays - maintenance));
+                }
+            }
+        }
+
+        return new UtilisationReport(from, to, toRow("total", total, windowDays),
+                toRows(byLocation, windowDays), toRows(byType, windowDays), vehicles);
+    }
+
+    // Runs in a fork/join worker: one read-only transaction so the event cursor can stream
+    private LocationSweep sweepLocation(String location, List<Long> vehicleIds, LocalDate from, LocalDate to) {
+        OccupancySweep occupancy = new OccupancySweep(from.toEpochDay(), to.toEpochDay(), vehicleIds);
+        readOnlyTransaction.executeWithoutResult(status ->
+                fleetEventRepository.streamEvents(location, from, to, occupancy::onEvent));
+        occupancy.finish();
+        return new LocationSweep(location, occupancy);
+    }
+
+    private static void add(long[] sums, long booked, long maintenance) {
+        sums[0]++;
+        sums[1] += booked;
+        sums[2] += maintenance;
+    }
+
+    private static UtilisationRow toRow(String key, long[] sums, long windowDays) {
+        return new UtilisationRow(key, (int) sums[0], sums[1], sums[2], sums[0] * windowDays - sums[2]);
+    }
+
+    private static List<UtilisationRow> toRows(Map<String, long[]> groups, long windowDays) {
+        List<UtilisationRow> rows = new ArrayList<>(groups.size());
+        for (Map.Entry<String, long[]> group : groups.entrySet()) {
+            rows.add(toRow(group.getKey(), group.getValue(), windowDays));
+        }
+        return rows;
+    }
+
+    // Splits the location list in half until each task holds one location
+    private class LocationTask extends RecursiveTask<List<LocationSweep>> {
+        private final List<Map.Entry<String, List<Long>>> locations;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        LocationTask(List<Map.Entry<String, List<Long>>> locations, LocalDate from, LocalDate to) {
+            this.locations = locations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<LocationSweep> compute() {
+            if (locations.size() == 1) {
+                Map.Entry<String, List<Long>> location = locations.get(0);
+                List<LocationSweep> result = new ArrayList<>(1);
+                result.add(sweepLocation(location.getKey(), location.getValue(), from, to));
+                return result;
+            }
+            int middle = locations.size() / 2;
+            LocationTask left = new LocationTask(locations.subList(0, middle), from, to);
+            LocationTask right = new LocationTask(locations.subList(middle, locations.size()), from, to);
+            left.fork();
+            List<LocationSweep> result = new ArrayList<>(right.compute());
+            result.addAll(left.join());
+            return result;
+        }
+    }
+
+    private static class LocationSweep {
+        private final String location;
+        private final OccupancySweep occupancy;
+
+        LocationSweep(String location, OccupancySweep occupancy) {
+            this.location = location;
+            this.occupancy = occupancy;
+        }
+    }
+
+    /**
+     * One-pass sweep over +1/-1 interval events for a set of vehicles.
+     *
+     * Events must arrive in non-decreasing day order per vehicle. Each vehicle
+     * keeps open-interval counts and the day it was last seen; when an event
+     * arrives, the span since then is credited to maintenance (if any
+     * maintenance is open) or else to booked days (if any booking is open).
+     * Overlapping bookings count once, and booked days inside maintenance are
+     * not counted.
+     */
+    public static class OccupancySweep {
+        private final long lastDay;
+        private final long[] vehicleIds;
+        // Open-addressing id -> index + 1 table, so per-event lookups neither box nor allocate
+        private final long[] slotIds;
+        private final int[] slotIndexes;
+        private final int[] openReservations;
+        private final int[] openMaintenance;
+        private final long[] lastSeen;
+        private final long[] bookedDays;
+        private final long[] maintenanceDays;
+
+        public OccupancySweep(long firstDay, long lastDay, List<Long> vehicleIds) {
+            int size = vehicleIds.size();
+            this.lastDay = lastDay;
+            this.vehicleIds = new long[size];
+            this.openReservations = new int[size];
+            this.openMaintenance = new int[size];
+            this.lastSeen = new long[size];
+            this.bookedDays = new long[size];
+            this.maintenanceDays = new long[size];
+            int capacity = Integer.highestOneBit(Math.max(size, 1) * 2) * 2;
+            this.slotIds = new long[capacity];
+            this.slotIndexes = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                this.vehicleIds[i] = vehicleIds.get(i);
+                this.lastSeen[i] = firstDay;
+                int slot = slot(this.vehicleIds[i]);
+                while (slotIndexes[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                slotIds[slot] = this.vehicleIds[i];
+                slotIndexes[slot] = i + 1;
+            }
+        }
+
+        public void onEvent(long vehicleId, long epochDay, int kind, int delta) {
+            int index = indexOf(vehicleId);
+            if (index < 0) {
+                return;
+            }
+            advance(index, epochDay);
+            if (kind == FleetEventRepository.MAINTENANCE) {
+                openMaintenance[index] += delta;
+            } else {
+                openReservations[index] += delta;
+            }
+        }
+
+        // Credits the remaining days up to the end of the window
+        public void finish() {
+            for (int i = 0; i < vehicleIds.length; i++) {
+                advance(i, lastDay + 1);
+            }
+        }
+
+        private int indexOf(long vehicleId) {
+            int slot = slot(vehicleId);
+            while (slotIndexes[slot] != 0) {
+                if (slotIds[slot] == vehicleId) {
+                    return slotIndexes[slot] - 1;
+                }
+                slot = (slot + 1) & (slotIds.length - 1);
+            }
+            return -1;
+        }
+
+        private int slot(long vehicleId) {
+            long hash = vehicleId * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & (slotIds.length - 1);
+        }
+
+        private void advance(int index, long epochDay) {
+            long span = epochDay - lastSeen[index];
+            if (span <= 0) {
+                return;
+            }
+            if (openMaintenance[index] > 0) {
+                maintenanceDays[index] += span;
+            } else if (openReservations[index] > 0) {
+                bookedDays[index] += span;
+            }
+            lastSeen[index] = epochDay;
+        }
+
+        public int size() { return vehicleIds.length; }
+        public long vehicleId(int index) { return vehicleIds[index]; }
+        public long bookedDays(int index) { return bookedDays[index]; }
+        public long maintenanceDays(int index) { return maintenanceDays[index]; }
+    }
+}
@@ -0,0 +1,116 @@
+package com.grp12.Services;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick. A timeout lands in
+ * the bucket of its deadline tick and carries the number of full turns left
+ * before it is due, so scheduling, cancelling and expiring are all O(1) per
+ * timeout whatever the delay. Timeouts fire at most one tick late, never
+ * early.
+ *
+ * Not thread-safe; callers synchronise.
+ */
+public class HashedTimingWheel<T> {
+
+    public static final class Timeout<T> {
+        private final T item;
+        private long rounds;
+        private int bucket = -1;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item) {
+            this.item = item;
+        }
+
+        public T getItem() { return item; }
+        public boolean isPending() { return bucket >= 0; }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final Timeout<T>[] heads;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = wheelSize - 1;
+        this.heads = (Timeout<T>[]) new Timeout[wheelSize];
+    }
+
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        // The tick whose processing is the first to happen at or after the deadline
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis, tickMillis), currentTick);
+        Timeout<T> timeout = new Timeout<>(item);
+        timeout.rounds = (deadlineTick - currentTick) / heads.length;
+        link(timeout, (int) (deadlineTick & mask));
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    // Processes every tick that has fully elapsed by nowMillis, handing due items to onExpire
+    public int advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        int expired = 0;
+        while (currentTick < targetTick) {
+            Timeout<T> timeout = heads[(int) (currentTick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.rounds == 0) {
+                    unlink(timeout);
+                    onExpire.accept(timeout.item);
+                    expired++;
+                } else {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+            currentTick++;
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void link(Timeout<T> timeout, int bucket) {
+        timeout.bucket = bucket;
+        timeout.next = heads[bucket];
+        if (heads[bucket] != null) {
+            heads[bucket].prev = timeout;
+        }
+        heads[bucket] = timeout;
+        size++;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+        size--;
+    }
+}
@@ -0,0 +1,122 @@
+package com.grp12.Services;
+
+import com.grp12.Model.CheckoutHold;
+import com.grp12.Model.Vehicle;
+import com.grp12.Repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Checkout holds: a customer claims a vehicle and date range for a few
+ * minutes while filling in checkout, so nobody else can book it from under
+ * them. Bookings and the available-vehicles listing both respect other
+ * customers' holds; a customer's own hold is consumed when they book.
+ */
+@Service
+public class HoldService {
+
+    @Autowired
+    private HoldStore holdStore;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Value("${app.holds.minutes:10}")
+    private int defaultMinutes;
+
+    @Value("${app.holds.max-minutes:20}")
+    private int maxMinutes;
+
+    @Value("${app.holds.max-per-user:3}")
+    private int maxPerUser;
+
+    public CheckoutHold placeHold(Long userId, Long vehicleId, LocalDate rentalDate, LocalDate returnDate, Integer minutes) {
+        if (vehicleId == null) {
+            throw new IllegalArgumentException("Vehicle ID is required");
+        }
+        if (rentalDate == null || returnDate == null) {
+            throw new IllegalArgumentException("Rental and return dates are required");
+        }
+        if (returnDate.isBefore(rentalDate)) {
+            throw new IllegalArgumentException("Return date must be after rental date");
+        }
+        if (rentalDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Rental date cannot be in the past");
+        }
+        int holdMinutes = minutes == null ? defaultMinutes : minutes;
+        if (holdMinutes <= 0 || holdMinutes > maxMinutes) {
+            throw new IllegalArgumentException("Holds last between 1 and " + maxMinutes + " minutes");
+        }
+
+        Vehicle vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new IllegalArgumentException("Vehicle not found"));
+        if (!"Available".equals(vehicle.getStatus())) {
+            throw new IllegalArgumentException("Vehicle is not available");
+        }
+        // A new hold on the same vehicle replaces the customer's previous one, so it does not count
+        holdStore.releaseForUser(vehicleId, userId);
+        if (holdStore.countActiveForUser(userId) >= maxPerUser) {
+            throw new IllegalArgumentException("You can hold at most " + maxPerUser + " vehicles at a time");
+        }
+
+        CheckoutHold hold = new CheckoutHold(UUID.randomUUID().toString(), vehicleId, userId, rentalDate, returnDate,
+                LocalDateTime.now().plusMinutes(holdMinutes));
+        return holdStore.place(hold);
+    }
+
+    public Optional<CheckoutHold> getHold(String holdId) {
+        return holdStore.findById(holdId);
+    }
+
+    public boolean releaseHold(String holdId) {
+        return holdStore.release(holdId);
+    }
+
+    // Rejects a booking that overlaps another customer's active hold
+    public void checkNotHeldByOthers(Long vehicleId, LocalDate rentalDate, LocalDate returnDate, Long userId) {
+        Optional<CheckoutHold> conflict = holdStore.findConflict(vehicleId, rentalDate, returnDate, userId);
+        if (conflict.isPresent()) {
+            throw new IllegalArgumentException("Vehicle is held by another customer until " + conflict.get().getExpiresAt());
+        }
+    }
+
+    // Drops the booker's own holds on the vehicle once the booking commits; a rolled-back booking keeps them
+    public void consumeHolds(Long vehicleId, Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    holdStore.releaseForUser(vehicleId, userId);
+                }
+            });
+        } else {
+            holdStore.releaseForUser(vehicleId, userId);
+        }
+    }
+
+    // Vehicles held by someone else are left out; userId may be null for anonymous browsing
+    public List<Vehicle> withoutHeldVehicles(List<Vehicle> vehicles, Long userId) {
+        Set<Long> held = holdStore.findHeldVehicleIds(userId);
+        if (held.isEmpty()) {
+            return vehicles;
+        }
+        List<Vehicle> visible = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            if (!held.contains(vehicle.getId())) {
+                visible.add(vehicle);
+            }
+        }
+        return visible;
+    }
+}
@@ -0,0 +1,34 @@
+package com.grp12.Services;
+
+import com.grp12.Model.CheckoutHold;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Where checkout holds live. The default in-memory store is enough for one
+ * node; set app.holds.store=database when several nodes serve bookings so
+ * they all see the same holds. Expired holds are never returned, whether or
+ * not they have been purged yet.
+ */
+public interface HoldStore {
+
+    // Replaces any hold the same user already has on the vehicle; throws IllegalArgumentException
+    // when another user holds an overlapping range
+    CheckoutHold place(CheckoutHold hold);
+
+    Optional<CheckoutHold> findById(String id);
+
+    boolean release(String id);
+
+    int releaseForUser(Long vehicleId, Long userId);
+
+    // An active hold by anyone other than userId on an overlapping range
+    Optional<CheckoutHold> findConflict(Long vehicleId, LocalDate rentalDate, LocalDate returnDate, Long userId);
+
+    // Vehicles with an active hold by anyone other than userId (by anyone at all when userId is null)
+    Set<Long> findHeldVehicleIds(Long userId);
+
+    int countActiveForUser(Long userId);
+}
@@ -15,6 +15,8 @@ public class ImageCompressionService {
     private static final int MAX_WIDTH = 800;
     private static final int MAX_HEIGHT = 600;
     private static final float COMPRESSION_QUALITY = 0.7f;
+    private static final int THUMBNAIL_WIDTH = 320;
+    private static final int THUMBNAIL_HEIGHT = 240;
     
     public String compressBase64Image(String base64Image) {
         try {
@@ -50,7 +52,20 @@ public class ImageCompressionService {
         }
     }
     
+    // Small JPEG for listings (reservation cards), scaled from a stored base64 image
+    public byte[] createThumbnail(String base64Image) throws IOException {
+        String imageData = base64Image;
+        if (base64Image.startsWith("data:")) {
+            imageData = base64Image.substring(base64Image.indexOf(",") + 1);
+        }
+        return compressImage(Base64.getDecoder().decode(imageData), THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+    }
+
     private byte[] compressImage(byte[] originalImageBytes) throws IOException {
+        return compressImage(originalImageBytes, MAX_WIDTH, MAX_HEIGHT);
+    }
+
+    private byte[] compressImage(byte[] originalImageBytes, int maxWidth, int maxHeight) throws IOException {
   
         ByteArrayInputStream bis = new ByteArrayInputStream(originalImageBytes);
         BufferedImage originalImage = ImageIO.read(bis);
@@ -66,9 +81,9 @@ public class ImageCompressionService {
         int newWidth = originalWidth;
         int newHeight = originalHeight;
         
-        if (originalWidth > MAX_WIDTH || originalHeight > MAX_HEIGHT) {
-            double widthRatio = (double) MAX_WIDTH / originalWidth;
-            double heightRatio = (double) MAX_HEIGHT / originalHeight;
+        if (originalWidth > maxWidth || originalHeight > maxHeight) {
+            double widthRatio = (double) maxWidth / originalWidth;
+            double heightRatio = (double) maxHeight / originalHeight;
             double ratio = Math.min(widthRatio, heightRatio);
             
             newWidth = (int) (originalWidth * ratio);
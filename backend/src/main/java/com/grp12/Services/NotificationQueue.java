@@ -0,0 +1,83 @@
+package com.grp12.Services;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends customer notifications (emails) off the request thread.
+ *
+ * Tasks enqueued inside a transaction are only handed to the worker after
+ * that transaction commits, so a rolled-back change never emails anyone.
+ * The queue is bounded; when it is full the notification is dropped and
+ * logged rather than blocking the caller.
+ */
+@Component
+public class NotificationQueue {
+
+    @FunctionalInterface
+    public interface Notification {
+        void send() throws Exception;
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    public NotificationQueue(@Value("${app.notifications.workers:2}") int workers,
+                             @Value("${app.notifications.capacity:1000}") int capacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void enqueue(String description, Notification notification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(description, notification);
+                }
+            });
+        } else {
+            submit(description, notification);
+        }
+    }
+
+    private void submit(String description, Notification notification) {
+        try {
+            executor.execute(() -> {
+                try {
+                    notification.send();
+                } catch (Exception e) {
+                    System.err.println("Failed to send " + description + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("Notification queue full, dropped " + description);
+        }
+    }
+
+    public int getPending() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            System.err.println("Notification queue shut down with " + executor.getQueue().size() + " pending");
+            executor.shutdownNow();
+        }
+    }
+}
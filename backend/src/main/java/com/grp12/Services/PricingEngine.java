@@ -0,0 +1,383 @@
+package com.grp12.Services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grp12.DTO.PriceQuote;
+import com.grp12.Model.Amenity;
+import com.grp12.Model.Vehicle;
+import com.grp12.Repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single source of truth for reservation prices, shared by the quote endpoint
+ * and createReservation so the two can never disagree.
+ *
+ * All arithmetic is in long cents against an immutable {@link PriceTable}
+ * snapshot: per-vehicle day rate and the attributes promotions key on (sorted
+ * parallel arrays, looked up by binary search), flat per-reservation amenity
+ * prices indexed by amenity bit, and the compiled promotion rules. Computing
+ * a quote therefore allocates nothing. The snapshot is rebuilt from the
+ * vehicles table and the amenity price and promotion files on a fixed delay,
+ * on demand via {@link #reload()}, and patched in place when a vehicle is saved
+ * or deleted. Patches made inside a transaction wait for it to commit, so a
+ * rolled-back change never reaches quotes or bookings.
+ */
+@Component
+public class PricingEngine {
+
+    public static final long VEHICLE_NOT_PRICED = -1L;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.pricing.amenities.location:classpath:pricing/amenity-prices.properties}")
+    private String amenityPricesLocation;
+
+    @Value("${app.pricing.promotions.location:classpath:pricing/promotions.json}")
+    private String promotionsLocation;
+
+    private volatile PriceTable priceTable;
+
+    @Scheduled(fixedDelayString = "${app.pricing.refresh-ms:60000}", initialDelayString = "${app.pricing.refresh-ms:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; the next run retries
+            System.err.println("Failed to reload price table: " + e.getMessage());
+        }
+    }
+
+    public synchronized PriceTable reload() {
+        List<Object[]> rows = vehicleRepository.findAllPricingAttributes();
+        int count = rows.size();
+        long[] vehicleIds = new long[count];
+        long[] dayRateCents = new long[count];
+        String[] vehicleTypes = new String[count];
+        String[] locations = new String[count];
+        int[] seats = new int[count];
+        for (int i = 0; i < count; i++) {
+            Object[] row = rows.get(i);
+            vehicleIds[i] = (Long) row[0];
+            dayRateCents[i] = toCents((BigDecimal) row[1]);
+            vehicleTypes[i] = (String) row[2];
+            locations[i] = (String) row[3];
+            seats[i] = row[4] != null ? (Integer) row[4] : 0;
+        }
+        PromotionEngine.CompiledPromotions promotions = PromotionEngine.compile(loadPromotionRules());
+        PriceTable table = new PriceTable(vehicleIds, dayRateCents, vehicleTypes, locations, seats,
+                loadAmenityPrices(), promotions);
+        priceTable = table;
+        System.out.println("Price table loaded: " + count + " vehicle rates, " + promotions.size() + " promotions");
+        return table;
+    }
+
+    public PriceTable getPriceTable() {
+        PriceTable table = priceTable;
+        return table != null ? table : reload();
+    }
+
+    /**
+     * Total price in cents, after promotions, for renting the vehicle from
+     * rentalDate to returnDate (both days charged) with the amenities in the
+     * mask. A vehicle missing from the snapshot triggers one reload before
+     * giving up.
+     */
+    public long quoteCents(long vehicleId, int amenityMask, LocalDate rentalDate, LocalDate returnDate, boolean firstBooking) {
+        return tableFor(vehicleId).quoteCents(vehicleId, amenityMask, rentalDate, returnDate, firstBooking);
+    }
+
+    private PriceTable tableFor(long vehicleId) {
+        PriceTable table = getPriceTable();
+        if (table.indexOf(vehicleId) < 0) {
+            table = reload();
+            if (table.indexOf(vehicleId) < 0) {
+                throw new IllegalArgumentException("Vehicle not found");
+            }
+        }
+        return table;
+    }
+
+    // Itemised quote for the API; only this wrapper allocates
+    public PriceQuote quote(Long vehicleId, LocalDate rentalDate, LocalDate returnDate, Set<Amenity> amenities,
+                            boolean firstBooking) {
+        if (vehicleId == null) {
+            throw new IllegalArgumentException("Vehicle ID is required");
+        }
+        if (rentalDate == null || returnDate == null) {
+            throw new IllegalArgumentException("Rental and return dates are required");
+        }
+        if (amenities == null || amenities.isEmpty()) {
+            throw new IllegalArgumentException("At least one amenity or 'none' is required");
+        }
+        if (amenities.contains(Amenity.NONE) && amenities.size() > 1) {
+            throw new IllegalArgumentException("'none' cannot be combined with other amenities");
+        }
+
+        int mask = Amenity.toMask(amenities);
+        PriceTable table = tableFor(vehicleId);
+        long totalCents = table.quoteCents(vehicleId, mask, rentalDate, returnDate, firstBooking);
+        long days = rentalDays(rentalDate, returnDate);
+        long dayRate = table.dayRateCents(vehicleId);
+        long baseCents = dayRate * days;
+        long amenityCents = table.amenityCents(mask);
+
+        return new PriceQuote(vehicleId, rentalDate, returnDate, days, amenities,
+                fromCents(dayRate), fromCents(baseCents), fromCents(amenityCents),
+                fromCents(baseCents + amenityCents - totalCents),
+                table.appliedPromotions(vehicleId, mask, rentalDate, days, firstBooking, baseCents, amenityCents),
+                fromCents(totalCents));
+    }
+
+    // Both the pick-up and drop-off day are charged
+    public static long rentalDays(LocalDate rentalDate, LocalDate returnDate) {
+        return returnDate.toEpochDay() - rentalDate.toEpochDay() + 1;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // Patch one saved vehicle into the snapshot without waiting for the next reload
+    public void updateVehicle(Vehicle vehicle) {
+        if (vehicle == null || vehicle.getId() == null || vehicle.getPricePerDay() == null) {
+            return;
+        }
+        // Read now: the entity may change again before the commit
+        long vehicleId = vehicle.getId();
+        long cents = toCents(vehicle.getPricePerDay());
+        String vehicleType = vehicle.getVehicleType();
+        String location = vehicle.getLocation();
+        int seatCount = vehicle.getSeatingCapacity() != null ? vehicle.getSeatingCapacity() : 0;
+        afterCommit(() -> patch(table -> table.withVehicle(vehicleId, cents, vehicleType, location, seatCount)));
+    }
+
+    // Drop a deleted vehicle from the snapshot so it stops being quoted
+    public void removeVehicle(Long vehicleId) {
+        if (vehicleId == null) {
+            return;
+        }
+        afterCommit(() -> patch(table -> table.withoutVehicle(vehicleId)));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void patch(UnaryOperator<PriceTable> change) {
+        PriceTable table = priceTable;
+        if (table != null) {
+            priceTable = change.apply(table);
+        }
+    }
+
+    private long[] loadAmenityPrices() {
+        Properties properties = new Properties();
+        Resource resource = resourceLoader.getResource(amenityPricesLocation);
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load amenity prices from " + amenityPricesLocation, e);
+        }
+
+        long[] centsByBit = new long[Integer.SIZE];
+        for (Amenity amenity : Amenity.values()) {
+            String price = properties.getProperty(amenity.getCode());
+            if (price == null) {
+                throw new IllegalStateException("No price configured for amenity '" + amenity.getCode() + "'");
+            }
+            centsByBit[Integer.numberOfTrailingZeros(amenity.getBit())] = toCents(new BigDecimal(price.trim()));
+        }
+        return centsByBit;
+    }
+
+    private List<PromotionEngine.Rule> loadPromotionRules() {
+        Resource resource = resourceLoader.getResource(promotionsLocation);
+        if (!resource.exists()) {
+            return List.of();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, new TypeReference<List<PromotionEngine.Rule>>() {});
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load promotions from " + promotionsLocation, e);
+        }
+    }
+
+    /**
+     * Immutable price snapshot. vehicleIds is sorted ascending and parallel to
+     * the other per-vehicle arrays; amenityCentsByBit is indexed by the
+     * amenity's bit position.
+     */
+    public static final class PriceTable {
+        private final long[] vehicleIds;
+        private final long[] dayRateCents;
+        private final String[] vehicleTypes;
+        private final String[] locations;
+        private final int[] seats;
+        private final long[] amenityCentsByBit;
+        private final PromotionEngine.CompiledPromotions promotions;
+
+        PriceTable(long[] vehicleIds, long[] dayRateCents, String[] vehicleTypes, String[] locations, int[] seats,
+                   long[] amenityCentsByBit, PromotionEngine.CompiledPromotions promotions) {
+            this.vehicleIds = vehicleIds;
+            this.dayRateCents = dayRateCents;
+            this.vehicleTypes = vehicleTypes;
+            this.locations = locations;
+            this.seats = seats;
+            this.amenityCentsByBit = amenityCentsByBit;
+            this.promotions = promotions;
+        }
+
+        int indexOf(long vehicleId) {
+            return Arrays.binarySearch(vehicleIds, vehicleId);
+        }
+
+        public long dayRateCents(long vehicleId) {
+            int index = indexOf(vehicleId);
+            return index >= 0 ? dayRateCents[index] : VEHICLE_NOT_PRICED;
+        }
+
+        public long quoteCents(long vehicleId, int amenityMask, LocalDate rentalDate, LocalDate returnDate, boolean firstBooking) {
+            long days = rentalDays(rentalDate, returnDate);
+            if (days < 1) {
+                throw new IllegalArgumentException("Return date must be on or after rental date");
+            }
+            int index = indexOf(vehicleId);
+            if (index < 0) {
+                throw new IllegalArgumentException("Vehicle not found");
+            }
+            long rentalCents = Math.multiplyExact(dayRateCents[index], days);
+            long amenityCents = amenityCents(amenityMask);
+            long discountCents = promotions.discountCents(vehicleTypes[index], locations[index], seats[index],
+                    rentalDate, days, firstBooking, rentalCents, amenityCents, amenityCentsByBit, amenityMask);
+            return Math.addExact(rentalCents, amenityCents) - discountCents;
+        }
+
+        List<String> appliedPromotions(long vehicleId, int amenityMask, LocalDate rentalDate, long days, boolean firstBooking,
+                                       long rentalCents, long amenityCents) {
+            int index = indexOf(vehicleId);
+            return promotions.appliedPromotions(vehicleTypes[index], locations[index], seats[index],
+                    rentalDate, days, firstBooking, rentalCents, amenityCents, amenityCentsByBit, amenityMask);
+        }
+
+        public long amenityCents(int amenityMask) {
+            long cents = 0;
+            int remaining = amenityMask;
+            while (remaining != 0) {
+                cents += amenityCentsByBit[Integer.numberOfTrailingZeros(remaining)];
+                remaining &= remaining - 1;
+            }
+            return cents;
+        }
+
+        PriceTable withVehicle(long vehicleId, long cents, String vehicleType, String location, int seatCount) {
+            int index = indexOf(vehicleId);
+            if (index >= 0) {
+                long[] rates = dayRateCents.clone();
+                String[] types = vehicleTypes.clone();
+                String[] places = locations.clone();
+                int[] seatCounts = seats.clone();
+                rates[index] = cents;
+                types[index] = vehicleType;
+                places[index] = location;
+                seatCounts[index] = seatCount;
+                return new PriceTable(vehicleIds, rates, types, places, seatCounts, amenityCentsByBit, promotions);
+            }
+            int at = -index - 1;
+            return new PriceTable(insert(vehicleIds, at, vehicleId), insert(dayRateCents, at, cents),
+                    insert(vehicleTypes, at, vehicleType), insert(locations, at, location), insert(seats, at, seatCount),
+                    amenityCentsByBit, promotions);
+        }
+
+        PriceTable withoutVehicle(long vehicleId) {
+            int index = indexOf(vehicleId);
+            if (index < 0) {
+                return this;
+            }
+            return new PriceTable(remove(vehicleIds, index), remove(dayRateCents, index), remove(vehicleTypes, index),
+                    remove(locations, index), remove(seats, index), amenityCentsByBit, promotions);
+        }
+
+        private static long[] remove(long[] values, int at) {
+            long[] result = new long[values.length - 1];
+            System.arraycopy(values, 0, result, 0, at);
+            System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+            return result;
+        }
+
+        private static int[] remove(int[] values, int at) {
+            int[] result = new int[values.length - 1];
+            System.arraycopy(values, 0, result, 0, at);
+            System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+            return result;
+        }
+
+        private static String[] remove(String[] values, int at) {
+            String[] result = new String[values.length - 1];
+            System.arraycopy(values, 0, result, 0, at);
+            System.arraycopy(values, at + 1, result, at, values.length - at - 1);
+            return result;
+        }
+
+        private static long[] insert(long[] values, int at, long value) {
+            long[] result = new long[values.length + 1];
+            System.arraycopy(values, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            return result;
+        }
+
+        private static int[] insert(int[] values, int at, int value) {
+            int[] result = new int[values.length + 1];
+            System.arraycopy(values, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            return result;
+        }
+
+        private static String[] insert(String[] values, int at, String value) {
+            String[] result = new String[values.length + 1];
+            System.arraycopy(values, 0, result, 0, at);
+            result[at] = value;
+            System.arraycopy(values, at, result, at + 1, values.length - at);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.Model.Admin;
+import com.grp12.Repository.PrincipalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Login name to principal, fronted by a small LRU cache with a short TTL.
+ *
+ * Authentication and current-admin lookups read from here instead of the
+ * database. Only hits are cached, so a newly approved customer is found at
+ * once. Anything that changes who may sign in or with which password
+ * (password change, deactivation, approval, deletion) calls evictAdmin or
+ * evictUser; eviction runs again after the surrounding transaction commits
+ * so a concurrent lookup cannot re-cache the old row. The TTL bounds how
+ * long an update made outside these services can go unseen.
+ */
+@Service
+public class PrincipalService {
+
+    @Autowired
+    private PrincipalRepository principalRepository;
+
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maxEntries;
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CachedPrincipal> cache;
+
+    @Autowired
+    public PrincipalService(@Value("${app.security.principal-cache.ttl-ms:30000}") long ttlMillis,
+                            @Value("${app.security.principal-cache.max-entries:10000}") int maxEntries) {
+        this(Clock.systemUTC(), ttlMillis, maxEntries);
+    }
+
+    PrincipalService(Clock clock, long ttlMillis, int maxEntries) {
+        this.clock = clock;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > PrincipalService.this.maxEntries;
+            }
+        };
+    }
+
+    public Optional<AuthPrincipal> resolve(String login) {
+        if (login == null || login.isBlank()) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        synchronized (cache) {
+            CachedPrincipal cached = cache.get(login);
+            if (cached != null) {
+                if (cached.expiresAt > now) {
+                    return Optional.of(cached.principal);
+                }
+                cache.remove(login);
+            }
+        }
+
+        Optional<AuthPrincipal> principal = principalRepository.findByLogin(login);
+        if (principal.isPresent() && ttlMillis > 0) {
+            synchronized (cache) {
+                cache.put(login, new CachedPrincipal(principal.get(), now + ttlMillis));
+            }
+        }
+        return principal;
+    }
+
+    // The signed-in admin as a detached copy, or null for customers and unknown names
+    public Admin currentAdmin(String login) {
+        return resolve(login).filter(AuthPrincipal::isAdmin).map(AuthPrincipal::toAdmin).orElse(null);
+    }
+
+    public void evictAdmin(Long adminId) {
+        evict(principal -> principal.isAdmin() && principal.getId().equals(adminId));
+    }
+
+    public void evictUser(Long userId) {
+        evict(principal -> !principal.isAdmin() && principal.getId().equals(userId));
+    }
+
+    // For changes keyed by email, e.g. an account about to be replaced by a new registration
+    public void evictEmail(String email) {
+        evict(principal -> principal.getEmail() != null && principal.getEmail().equalsIgnoreCase(email));
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    // An account can be cached under its email and its username, so match on the principal
+    private void evict(Predicate<AuthPrincipal> matches) {
+        removeMatching(matches);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeMatching(matches);
+                }
+            });
+        }
+    }
+
+    private void removeMatching(Predicate<AuthPrincipal> matches) {
+        synchronized (cache) {
+            Iterator<CachedPrincipal> entries = cache.values().iterator();
+            while (entries.hasNext()) {
+                if (matches.test(entries.next().principal)) {
+                    entries.remove();
+                }
+            }
+        }
+    }
+
+    private static class CachedPrincipal {
+        private final AuthPrincipal principal;
+        private final long expiresAt;
+
+        CachedPrincipal(AuthPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.grp12.Services;
+
+import com.grp12.Model.Amenity;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles data-defined promotion rules (pricing/promotions.json) into an
+ * index that the pricing engine evaluates on every quote.
+ *
+ * Each rule becomes one bit in per-dimension bitsets: one per vehicle type,
+ * one per location (rules without a restriction are set in every entry and
+ * in the wildcard set used for unknown values) and one per 7-bit day-of-week
+ * mask a rental can cover. Candidate rules for a quote are the AND of three
+ * bitsets, walked word by word, so only rules that already match all three
+ * keys have their remaining scalar conditions (validity window, length of
+ * rental, seats, first booking) checked. Evaluation allocates nothing.
+ */
+public final class PromotionEngine {
+
+    private static final int ALL_DAYS = (1 << 7) - 1;
+    private static final long BASIS_POINTS = 10_000L;
+
+    private PromotionEngine() {
+    }
+
+    public static CompiledPromotions compile(List<Rule> rules) {
+        List<Rule> definitions = rules != null ? rules : List.of();
+        int count = definitions.size();
+        int words = Math.max(1, (count + Long.SIZE - 1) / Long.SIZE);
+
+        CompiledRule[] compiled = new CompiledRule[count];
+        Set<String> ids = new HashSet<>();
+        Set<String> vehicleTypes = new HashSet<>();
+        Set<String> locations = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            Rule rule = definitions.get(i);
+            compiled[i] = CompiledRule.of(rule);
+            if (!ids.add(compiled[i].id)) {
+                throw new IllegalStateException("Duplicate promotion id '" + compiled[i].id + "'");
+            }
+            vehicleTypes.addAll(compiled[i].vehicleTypes);
+            locations.addAll(compiled[i].locations);
+        }
+
+        long[] anyType = new long[words];
+        long[] anyLocation = new long[words];
+        Map<String, long[]> byType = new HashMap<>();
+        Map<String, long[]> byLocation = new HashMap<>();
+        for (String type : vehicleTypes) {
+            byType.put(type, new long[words]);
+        }
+        for (String location : locations) {
+            byLocation.put(location, new long[words]);
+        }
+
+        long[][] byDays = new long[ALL_DAYS + 1][words];
+        for (int i = 0; i < count; i++) {
+            CompiledRule rule = compiled[i];
+            int word = i / Long.SIZE;
+            long bit = 1L << (i % Long.SIZE);
+
+            markMatching(rule.vehicleTypes, byType, anyType, word, bit);
+            markMatching(rule.locations, byLocation, anyLocation, word, bit);
+
+            // A rental matches when every day it covers is one of the rule's days
+            for (int rentalDays = 0; rentalDays <= ALL_DAYS; rentalDays++) {
+                if ((rule.daysOfWeekMask & rentalDays) == rentalDays) {
+                    byDays[rentalDays][word] |= bit;
+                }
+            }
+        }
+
+        return new CompiledPromotions(compiled, words, byType, anyType, byLocation, anyLocation, byDays);
+    }
+
+    private static void markMatching(Set<String> restriction, Map<String, long[]> index, long[] wildcard, int word, long bit) {
+        if (restriction.isEmpty()) {
+            wildcard[word] |= bit;
+            for (long[] bits : index.values()) {
+                bits[word] |= bit;
+            }
+        } else {
+            for (String value : restriction) {
+                index.get(value)[word] |= bit;
+            }
+        }
+    }
+
+    // Bit i set for each DayOfWeek (Monday = bit 0) that the rental covers
+    static int rentalDaysOfWeek(LocalDate rentalDate, long days) {
+        if (days >= 7) {
+            return ALL_DAYS;
+        }
+        int mask = 0;
+        int day = rentalDate.getDayOfWeek().ordinal();
+        for (long i = 0; i < days; i++) {
+            mask |= 1 << day;
+            day = day == 6 ? 0 : day + 1;
+        }
+        return mask;
+    }
+
+    /**
+     * A promotion as written in the rules file. Every restriction is optional;
+     * an empty list means "any". The discount is the sum of percentOff of the
+     * rental (day rate x days), amountOff, and the price of freeAmenities the
+     * customer selected.
+     */
+    public static class Rule {
+        private String id;
+        private String description;
+        private List<String> vehicleTypes = new ArrayList<>();
+        private List<String> locations = new ArrayList<>();
+        private List<DayOfWeek> daysOfWeek = new ArrayList<>();
+        private LocalDate validFrom;
+        private LocalDate validTo;
+        private Integer minDays;
+        private Integer maxDays;
+        private Integer minSeats;
+        private boolean firstBookingOnly;
+        private BigDecimal percentOff;
+        private BigDecimal amountOff;
+        private List<Amenity> freeAmenities = new ArrayList<>();
+        private boolean stackable;
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+
+        public List<String> getVehicleTypes() { return vehicleTypes; }
+        public void setVehicleTypes(List<String> vehicleTypes) { this.vehicleTypes = vehicleTypes != null ? vehicleTypes : new ArrayList<>(); }
+
+        public List<String> getLocations() { return locations; }
+        public void setLocations(List<String> locations) { this.locations = locations != null ? locations : new ArrayList<>(); }
+
+        public List<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+        public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) { this.daysOfWeek = daysOfWeek != null ? daysOfWeek : new ArrayList<>(); }
+
+        public LocalDate getValidFrom() { return validFrom; }
+        public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+        public LocalDate getValidTo() { return validTo; }
+        public void setValidTo(LocalDate validTo) { this.validTo = validTo; }
+
+        public Integer getMinDays() { return minDays; }
+        public void setMinDays(Integer minDays) { this.minDays = minDays; }
+
+        public Integer getMaxDays() { return maxDays; }
+        public void setMaxDays(Integer maxDays) { this.maxDays = maxDays; }
+
+        public Integer getMinSeats() { return minSeats; }
+        public void setMinSeats(Integer minSeats) { this.minSeats = minSeats; }
+
+        public boolean isFirstBookingOnly() { return firstBookingOnly; }
+        public void setFirstBookingOnly(boolean firstBookingOnly) { this.firstBookingOnly = firstBookingOnly; }
+
+        public BigDecimal getPercentOff() { return percentOff; }
+        public void setPercentOff(BigDecimal percentOff) { this.percentOff = percentOff; }
+
+        public BigDecimal getAmountOff() { return amountOff; }
+        public void setAmountOff(BigDecimal amountOff) { this.amountOff = amountOff; }
+
+        public List<Amenity> getFreeAmenities() { return freeAmenities; }
+        public void setFreeAmenities(List<Amenity> freeAmenities) { this.freeAmenities = freeAmenities != null ? freeAmenities : new ArrayList<>(); }
+
+        public boolean isStackable() { return stackable; }
+        public void setStackable(boolean stackable) { this.stackable = stackable; }
+    }
+
+    // Rule reduced to primitives; the string sets are only used while building the index
+    static final class CompiledRule {
+        final String id;
+        final Set<String> vehicleTypes;
+        final Set<String> locations;
+        final int daysOfWeekMask;
+        final long validFromDay;
+        final long validToDay;
+        final long minDays;
+        final long maxDays;
+        final int minSeats;
+        final boolean firstBookingOnly;
+        final long percentBasisPoints;
+        final long amountOffCents;
+        final int freeAmenityMask;
+        final boolean stackable;
+
+        private CompiledRule(Rule rule) {
+            if (rule.getId() == null || rule.getId().isBlank()) {
+                throw new IllegalStateException("Promotion rule without an id");
+            }
+            this.id = rule.getId().trim();
+            this.vehicleTypes = new HashSet<>(rule.getVehicleTypes());
+            this.locations = new HashSet<>(rule.getLocations());
+
+            int days = 0;
+            for (DayOfWeek day : rule.getDaysOfWeek()) {
+                days |= 1 << day.ordinal();
+            }
+            this.daysOfWeekMask = days == 0 ? ALL_DAYS : days;
+
+            this.validFromDay = rule.getValidFrom() != null ? rule.getValidFrom().toEpochDay() : Long.MIN_VALUE;
+            this.validToDay = rule.getValidTo() != null ? rule.getValidTo().toEpochDay() : Long.MAX_VALUE;
+            this.minDays = rule.getMinDays() != null ? rule.getMinDays() : 1;
+            this.maxDays = rule.getMaxDays() != null ? rule.getMaxDays() : Long.MAX_VALUE;
+            this.minSeats = rule.getMinSeats() != null ? rule.getMinSeats() : 0;
+            this.firstBookingOnly = rule.isFirstBookingOnly();
+            this.percentBasisPoints = rule.getPercentOff() != null
+                    ? rule.getPercentOff().movePointRight(2).longValueExact() : 0;
+            this.amountOffCents = rule.getAmountOff() != null ? PricingEngine.toCents(rule.getAmountOff()) : 0;
+            this.freeAmenityMask = Amenity.toMask(rule.getFreeAmenities());
+            this.stackable = rule.isStackable();
+
+            if (percentBasisPoints < 0 || percentBasisPoints > BASIS_POINTS || amountOffCents < 0) {
+                throw new IllegalStateException("Promotion '" + id + "' has an invalid discount");
+            }
+        }
+
+        static CompiledRule of(Rule rule) {
+            return new CompiledRule(rule);
+        }
+    }
+
+    /**
+     * Immutable compiled rule set. {@link #discountCents} is the hot path;
+     * {@link #appliedPromotions} repeats the same selection to report which
+     * rule ids were used.
+     */
+    public static final class CompiledPromotions {
+        private final CompiledRule[] rules;
+        private final int words;
+        private final Map<String, long[]> byVehicleType;
+        private final long[] anyVehicleType;
+        private final Map<String, long[]> byLocation;
+        private final long[] anyLocation;
+        private final long[][] byDaysOfWeek;
+
+        CompiledPromotions(CompiledRule[] rules, int words, Map<String, long[]> byVehicleType, long[] anyVehicleType,
+                           Map<String, long[]> byLocation, long[] anyLocation, long[][] byDaysOfWeek) {
+            this.rules = rules;
+            this.words = words;
+            this.byVehicleType = byVehicleType;
+            this.anyVehicleType = anyVehicleType;
+            this.byLocation = byLocation;
+            this.anyLocation = anyLocation;
+            this.byDaysOfWeek = byDaysOfWeek;
+        }
+
+        public int size() { return rules.length; }
+
+        /**
+         * Total discount in cents: every applicable stackable rule plus the
+         * single best non-stackable one, capped at the subtotal.
+         */
+        public long discountCents(String vehicleType, String location, int seats, LocalDate rentalDate, long days,
+                                  boolean firstBooking, long rentalCents, long amenityCents, long[] amenityCentsByBit,
+                                  int amenityMask) {
+            return select(vehicleType, location, seats, rentalDate, days, firstBooking,
+                    rentalCents, amenityCents, amenityCentsByBit, amenityMask, null);
+        }
+
+        public List<String> appliedPromotions(String vehicleType, String location, int seats, LocalDate rentalDate, long days,
+                                              boolean firstBooking, long rentalCents, long amenityCents,
+                                              long[] amenityCentsByBit, int amenityMask) {
+            List<String> applied = new ArrayList<>();
+            select(vehicleType, location, seats, rentalDate, days, firstBooking,
+                    rentalCents, amenityCents, amenityCentsByBit, amenityMask, applied);
+            return applied;
+        }
+
+        private long select(String vehicleType, String location, int seats, LocalDate rentalDate, long days,
+                            boolean firstBooking, long rentalCents, long amenityCents, long[] amenityCentsByBit,
+                            int amenityMask, List<String> applied) {
+            if (rules.length == 0) {
+                return 0;
+            }
+            long[] typeBits = vehicleType != null ? byVehicleType.getOrDefault(vehicleType, anyVehicleType) : anyVehicleType;
+            long[] locationBits = location != null ? byLocation.getOrDefault(location, anyLocation) : anyLocation;
+            long[] dayBits = byDaysOfWeek[rentalDaysOfWeek(rentalDate, days)];
+            long startDay = rentalDate.toEpochDay();
+
+            long stacked = 0;
+            long best = 0;
+            int bestRule = -1;
+            for (int word = 0; word < words; word++) {
+                long candidates = typeBits[word] & locationBits[word] & dayBits[word];
+                while (candidates != 0) {
+                    int index = word * Long.SIZE + Long.numberOfTrailingZeros(candidates);
+                    candidates &= candidates - 1;
+
+                    CompiledRule rule = rules[index];
+                    if (startDay < rule.validFromDay || startDay > rule.validToDay
+                            || days < rule.minDays || days > rule.maxDays
+                            || seats < rule.minSeats
+                            || (rule.firstBookingOnly && !firstBooking)) {
+                        continue;
+                    }
+
+                    long discount = (rentalCents * rule.percentBasisPoints + BASIS_POINTS / 2) / BASIS_POINTS
+                            + rule.amountOffCents
+                            + waivedAmenityCents(rule.freeAmenityMask & amenityMask, amenityCentsByBit);
+                    if (rule.stackable) {
+                        stacked += discount;
+                        if (applied != null) {
+                            applied.add(rule.id);
+                        }
+                    } else if (discount > best) {
+                        best = discount;
+                        bestRule = index;
+                    }
+                }
+            }
+            if (applied != null && bestRule >= 0) {
+                applied.add(rules[bestRule].id);
+            }
+            return Math.min(stacked + best, rentalCents + amenityCents);
+        }
+
+        private static long waivedAmenityCents(int mask, long[] amenityCentsByBit) {
+            long cents = 0;
+            int remaining = mask;
+            while (remaining != 0) {
+                cents += amenityCentsByBit[Integer.numberOfTrailingZeros(remaining)];
+                remaining &= remaining - 1;
+            }
+            return cents;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.grp12.Services;
+
+/**
+ * Token buckets for the public endpoints that cost SMTP sends or BCrypt work.
+ * The default in-memory limiter counts per node; set app.rate-limit.store=database
+ * to share the buckets between nodes as well.
+ */
+public interface RateLimiter {
+
+    // Takes one token from the key's bucket; false means the caller is over the limit
+    boolean tryAcquire(String key, Limit limit);
+
+    /**
+     * capacity requests per period, refilled continuously. Parsed from
+     * "count/seconds", e.g. "10/600" is a burst of 10 and then one request
+     * per minute.
+     */
+    final class Limit {
+        static final int MAX_CAPACITY = 10_000;
+
+        private final String name;
+        private final int capacity;
+        private final long periodMillis;
+
+        public Limit(String name, int capacity, long periodMillis) {
+            if (capacity <= 0 || capacity > MAX_CAPACITY || periodMillis <= 0) {
+                throw new IllegalStateException("Invalid rate limit " + name + ": " + capacity + " per " + periodMillis + " ms");
+            }
+            this.name = name;
+            this.capacity = capacity;
+            this.periodMillis = periodMillis;
+        }
+
+        public static Limit parse(String name, String spec) {
+            String[] parts = spec.trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid rate limit " + name + " '" + spec + "', expected count/seconds");
+            }
+            return new Limit(name, Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()) * 1000);
+        }
+
+        public String getName() { return name; }
+        public int getCapacity() { return capacity; }
+        public long getPeriodMillis() { return periodMillis; }
+
+        // Time for one token to come back, rounded up to whole seconds for Retry-After
+        public long getRetryAfterSeconds() {
+            return Math.max(1, (periodMillis + capacity * 1000L - 1) / (capacity * 1000L));
+        }
+    }
+}
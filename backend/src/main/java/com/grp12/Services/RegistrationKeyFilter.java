@@ -0,0 +1,146 @@
+package com.grp12.Services;
+
+import com.grp12.Model.User;
+import com.grp12.Repository.RegistrationConflictRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter over the emails, phone numbers and licence numbers in users
+ * and registration_requests, so a sign-up sharing none of them skips the
+ * conflict query. A miss means no row can match; a hit only means the query
+ * has to run. Deleted rows leave their bits behind, which costs a query, not
+ * a wrong answer.
+ *
+ * Built once the application is ready; until then every sign-up is screened
+ * by the query. Keys are added again after the inserting transaction
+ * commits, so a row the rebuild's scan could not yet see is not lost. Rows
+ * inserted by another node are not seen, so it is off unless
+ * app.registration.bloom.enabled=true, and stays off under the multi-node
+ * settings app.auth.mode=token and app.sessions.store=jdbc.
+ */
+@Component
+public class RegistrationKeyFilter {
+
+    @Autowired
+    private RegistrationConflictRepository registrationConflictRepository;
+
+    private final boolean enabled;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    // filter answers lookups; building also receives adds while a rebuild scans
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+
+    @Autowired
+    public RegistrationKeyFilter(@Value("${app.registration.bloom.enabled:false}") boolean enabled,
+                                 @Value("${app.auth.mode:session}") String authMode,
+                                 @Value("${app.sessions.store:memory}") String sessionStore,
+                                 @Value("${app.registration.bloom.expected-keys:300000}") long expectedKeys,
+                                 @Value("${app.registration.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this(enabled && !"token".equals(authMode) && !"jdbc".equals(sessionStore), expectedKeys, falsePositiveRate);
+        if (enabled && !this.enabled) {
+            System.out.println("Registration filter disabled: app.auth.mode=" + authMode + " and app.sessions.store="
+                    + sessionStore + " imply more than one node");
+        }
+    }
+
+    RegistrationKeyFilter(boolean enabled, long expectedKeys, double falsePositiveRate) {
+        this.enabled = enabled;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(expectedKeys, falsePositiveRate);
+        AtomicLong rows = new AtomicLong();
+        building = rebuilt;
+        try {
+            registrationConflictRepository.streamKeys((email, phoneNumber, driversLicenseNumber) -> {
+                addTo(rebuilt, email, phoneNumber, driversLicenseNumber);
+                rows.incrementAndGet();
+            });
+            filter = rebuilt;
+            System.out.println("Registration filter built from " + rows.get() + " users and requests");
+        } catch (RuntimeException e) {
+            System.err.println("Could not build registration filter, screening every sign-up in the database: " + e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * False only if no user or registration request can share the email,
+     * phone number or licence number.
+     */
+    public boolean mightConflict(String email, String phoneNumber, String driversLicenseNumber) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        String normalizedEmail = User.normalizeEmail(email);
+        String normalizedPhone = normalize(phoneNumber);
+        String normalizedLicense = normalize(driversLicenseNumber);
+        return (normalizedEmail != null && current.mightContain("e:" + normalizedEmail))
+                || (normalizedPhone != null && current.mightContain("p:" + normalizedPhone))
+                || (normalizedLicense != null && current.mightContain("l:" + normalizedLicense));
+    }
+
+    // Call before the insert commits
+    public void add(String email, String phoneNumber, String driversLicenseNumber) {
+        addNow(email, phoneNumber, driversLicenseNumber);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(email, phoneNumber, driversLicenseNumber);
+                }
+            });
+        }
+    }
+
+    private void addNow(String email, String phoneNumber, String driversLicenseNumber) {
+        BloomFilter pending = building;
+        if (pending != null) {
+            addTo(pending, email, phoneNumber, driversLicenseNumber);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            addTo(current, email, phoneNumber, driversLicenseNumber);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static void addTo(BloomFilter target, String email, String phoneNumber, String driversLicenseNumber) {
+        String normalizedEmail = User.normalizeEmail(email);
+        String normalizedPhone = normalize(phoneNumber);
+        String normalizedLicense = normalize(driversLicenseNumber);
+        if (normalizedEmail != null) {
+            target.add("e:" + normalizedEmail);
+        }
+        if (normalizedPhone != null) {
+            target.add("p:" + normalizedPhone);
+        }
+        if (normalizedLicense != null) {
+            target.add("l:" + normalizedLicense);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.ReservationArchiveRepository;
+import com.grp12.Repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Moves Completed and Cancelled reservations whose return date is older than
+ * app.reservations.archive.horizon-days out of the hot reservations table and
+ * into the year-partitioned reservations_archive, so listings, availability
+ * checks and the lifecycle job only ever touch recent rows.
+ *
+ * Rows move in batches, each its own transaction holding an advisory lock, so
+ * a large first run neither blocks bookings for long nor runs on two nodes.
+ */
+@Service
+public class ReservationArchiveService {
+
+    static final long ARCHIVE_LOCK_KEY = 270_270_002L;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationArchiveRepository archiveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reservations.archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${app.reservations.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.reservations.archive.cron:0 30 3 * * *}")
+    public void runScheduledArchival() {
+        archive(LocalDate.now());
+    }
+
+    // Returns the number of reservations archived, or -1 when another node holds the lock
+    public long archive(LocalDate today) {
+        LocalDate cutoff = today.minusDays(horizonDays);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long total = 0;
+        while (true) {
+            Integer moved = transaction.execute(status -> archiveBatch(cutoff));
+            if (moved == null || moved < 0) {
+                System.out.println("Reservation archival skipped: another node holds the lock");
+                return total > 0 ? total : -1;
+            }
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            System.out.println("Archived " + total + " reservations returned before " + cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        if (!reservationRepository.tryAdvisoryXactLock(ARCHIVE_LOCK_KEY)) {
+            return -1;
+        }
+        for (Integer year : archiveRepository.findArchivableYears(cutoff)) {
+            archiveRepository.ensureYearPartition(year);
+        }
+        return archiveRepository.moveToArchive(cutoff, batchSize);
+    }
+}
@@ -0,0 +1,79 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Moves reservations through Confirmed -> Active -> Completed as their rental and
+ * return dates pass, then returns vehicles with no open bookings to Available.
+ *
+ * Every step is a single UPDATE statement, so no entities are loaded. Each run
+ * takes a Postgres advisory lock for the length of its transaction: when several
+ * nodes fire at once only one does the work and the others skip that tick.
+ */
+@Service
+public class ReservationLifecycleService {
+
+    // Shared by all nodes; any constant works as long as nothing else uses it
+    static final long LIFECYCLE_LOCK_KEY = 270_270_001L;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Scheduled(cron = "${app.reservations.lifecycle.cron:0 */15 * * * *}")
+    @Transactional
+    public void runScheduledTransitions() {
+        advance(LocalDate.now());
+    }
+
+    @Transactional
+    public LifecycleResult advance(LocalDate today) {
+        if (!reservationRepository.tryAdvisoryXactLock(LIFECYCLE_LOCK_KEY)) {
+            System.out.println("Reservation lifecycle run skipped: another node holds the lock");
+            return LifecycleResult.skipped();
+        }
+
+        int completed = reservationRepository.completeFinishedReservations(today);
+        int activated = reservationRepository.activateStartedReservations(today);
+        int released = vehicleRepository.releaseVehiclesWithoutOpenReservations();
+
+        if (completed + activated + released > 0) {
+            System.out.println("Reservation lifecycle for " + today + ": activated=" + activated
+                    + ", completed=" + completed + ", vehiclesReleased=" + released);
+        }
+        return new LifecycleResult(true, activated, completed, released);
+    }
+
+    public static class LifecycleResult {
+        private final boolean ran;
+        private final int activated;
+        private final int completed;
+        private final int vehiclesReleased;
+
+        public LifecycleResult(boolean ran, int activated, int completed, int vehiclesReleased) {
+            this.ran = ran;
+            this.activated = activated;
+            this.completed = completed;
+            this.vehiclesReleased = vehiclesReleased;
+        }
+
+        static LifecycleResult skipped() {
+            return new LifecycleResult(false, 0, 0, 0);
+        }
+
+        // Getters
+        public boolean isRan() { return ran; }
+        public int getActivated() { return activated; }
+        public int getCompleted() { return completed; }
+        public int getVehiclesReleased() { return vehiclesReleased; }
+    }
+}
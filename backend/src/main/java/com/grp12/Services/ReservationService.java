@@ -1,17 +1,41 @@
 package com.grp12.Services;
 
+import com.grp12.DTO.CancellationCandidate;
+import com.grp12.DTO.CancellationQuote;
+import com.grp12.DTO.CancellationResult;
+import com.grp12.DTO.GroupBookingRequest;
+import com.grp12.DTO.GroupBookingResult;
+import com.grp12.DTO.ReservationAmendment;
+import com.grp12.DTO.ReservationView;
+import com.grp12.DTO.UserNameView;
+import com.grp12.Model.Amenity;
 import com.grp12.Model.Reservation;
+import com.grp12.Model.User;
 import com.grp12.Model.Vehicle;
+import com.grp12.Repository.GroupBookingRepository;
+import com.grp12.Repository.GroupBookingRepository.VehicleAvailability;
+import com.grp12.Repository.ReservationArchiveRepository;
 import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.UserRepository;
 import com.grp12.Repository.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Service
 @Transactional
@@ -20,14 +44,38 @@ public class ReservationService {
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ReservationArchiveRepository reservationArchiveRepository;
+
     @Autowired
     private VehicleRepository vehicleRepository;
 
-    private static final List<String> VALID_AMENITIES = Arrays.asList("none", "baby-sitter", "gps", "power-bank");
-    private static final BigDecimal BABY_SITTER_PRICE = new BigDecimal("20.00");
-    private static final BigDecimal GPS_PRICE = new BigDecimal("10.00");
-    private static final BigDecimal POWER_BANK_PRICE = new BigDecimal("5.00");
-    private static final BigDecimal NONE_PRICE = BigDecimal.ZERO;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private CancellationPolicy cancellationPolicy;
+
+    @Autowired
+    private NotificationQueue notificationQueue;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private GroupBookingRepository groupBookingRepository;
+
+    @Value("${app.reservations.group.max-vehicles:10}")
+    private int maxGroupVehicles;
 
     public Reservation createReservation(Reservation reservation) {
         System.out.println("=== RESERVATION DEBUG START ===");
@@ -72,22 +120,15 @@ public class ReservationService {
             }
             System.out.println("✓ Price validation passed");
 
-            // Validate amenities
-            if (reservation.getAmenities() == null || reservation.getAmenities().isEmpty()) {
+            // Validate amenities (unknown codes are already rejected by Amenity.fromCode)
+            Set<Amenity> amenities = reservation.getAmenities();
+            if (amenities.isEmpty()) {
                 System.out.println("ERROR: No amenities provided");
                 throw new IllegalArgumentException("At least one amenity or 'none' is required");
             }
             System.out.println("✓ Amenities exist validation passed");
-            
-            for (String amenity : reservation.getAmenities()) {
-                if (!VALID_AMENITIES.contains(amenity)) {
-                    System.out.println("ERROR: Invalid amenity: " + amenity);
-                    throw new IllegalArgumentException("Invalid amenity: " + amenity);
-                }
-            }
-            System.out.println("✓ Amenities validity validation passed");
-            
-            if (reservation.getAmenities().contains("none") && reservation.getAmenities().size() > 1) {
+
+            if (amenities.contains(Amenity.NONE) && amenities.size() > 1) {
                 System.out.println("ERROR: 'none' combined with other amenities");
                 throw new IllegalArgumentException("'none' cannot be combined with other amenities");
             }
@@ -95,6 +136,8 @@ public class ReservationService {
 
             // Verify vehicle exists and is available
             System.out.println("Looking up vehicle with ID: " + reservation.getVehicle().getId());
+            // Row lock until commit, so amendments and group bookings on this vehicle wait for us
+            vehicleRepository.lockById(reservation.getVehicle().getId());
             Vehicle vehicle = vehicleRepository.findById(reservation.getVehicle().getId())
                     .orElseThrow(() -> new IllegalArgumentException("Vehicle not found"));
             System.out.println("Found vehicle: " + vehicle.getMake() + " " + vehicle.getModel() + " - Status: " + vehicle.getStatus());
@@ -105,24 +148,25 @@ public class ReservationService {
             }
             System.out.println("✓ Vehicle availability validation passed");
 
-            // Validate total price with tolerance
-            long totalDays = reservation.getReturnDate().toEpochDay() - reservation.getRentalDate().toEpochDay() + 1;
-            BigDecimal basePrice = vehicle.getPricePerDay().multiply(new BigDecimal(totalDays));
-            BigDecimal amenityCost = calculateAmenityCost(reservation.getAmenities());
-            BigDecimal expectedTotalPrice = basePrice.add(amenityCost);
-            
+            holdService.checkNotHeldByOthers(vehicle.getId(), reservation.getRentalDate(), reservation.getReturnDate(),
+                    reservation.getUserId());
+            System.out.println("✓ Checkout hold validation passed");
+
+            // Validate total price against the same engine that serves /quote, in exact cents
+            long totalDays = PricingEngine.rentalDays(reservation.getRentalDate(), reservation.getReturnDate());
+            long expectedCents = pricingEngine.quoteCents(vehicle.getId(), reservation.getAmenityMask(),
+                    reservation.getRentalDate(), reservation.getReturnDate(), isFirstBooking(reservation.getUserId()));
+            long receivedCents = PricingEngine.toCents(reservation.getTotalPrice());
+
             System.out.println("Price calculation:");
             System.out.println("- Total days: " + totalDays);
-            System.out.println("- Price per day: " + vehicle.getPricePerDay());
-            System.out.println("- Base price: " + basePrice);
-            System.out.println("- Amenity cost: " + amenityCost);
-            System.out.println("- Expected total: " + expectedTotalPrice);
+            System.out.println("- Expected total: " + PricingEngine.fromCents(expectedCents));
             System.out.println("- Received total: " + reservation.getTotalPrice());
-            
-            BigDecimal tolerance = new BigDecimal("0.01");
-            if (reservation.getTotalPrice().subtract(expectedTotalPrice).abs().compareTo(tolerance) > 0) {
+
+            if (receivedCents != expectedCents) {
                 System.out.println("ERROR: Price mismatch!");
-                throw new IllegalArgumentException("Total price mismatch. Expected: " + expectedTotalPrice + ", Received: " + reservation.getTotalPrice());
+                throw new IllegalArgumentException("Total price mismatch. Expected: " + PricingEngine.fromCents(expectedCents)
+                        + ", Received: " + reservation.getTotalPrice());
             }
             System.out.println("✓ Price calculation validation passed");
 
@@ -134,6 +178,8 @@ public class ReservationService {
             // Save reservation
             Reservation savedReservation = reservationRepository.save(reservation);
             System.out.println("✓ Reservation saved with ID: " + savedReservation.getId());
+            analyticsService.recordBookings(List.of(savedReservation.getId()));
+            holdService.consumeHolds(vehicle.getId(), reservation.getUserId());
             System.out.println("=== RESERVATION DEBUG END ===");
             
             return savedReservation;
@@ -145,31 +191,358 @@ public class ReservationService {
         }
     }
 
-    private BigDecimal calculateAmenityCost(List<String> amenities) {
-        if (amenities == null || amenities.isEmpty() || amenities.contains("none")) {
-            return BigDecimal.ZERO;
+    // Books every vehicle for the same dates in one transaction, or none of them. The vehicle rows are
+    // locked in id order and checked in a single statement, and the reservations go in as one JDBC batch.
+    public GroupBookingResult createGroupReservation(User user, GroupBookingRequest request) {
+        if (request.getVehicleIds() == null || request.getVehicleIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one vehicle is required");
+        }
+        TreeSet<Long> vehicleIds = new TreeSet<>();
+        for (Long vehicleId : request.getVehicleIds()) {
+            if (vehicleId == null) {
+                throw new IllegalArgumentException("Vehicle IDs must not be null");
+            }
+            vehicleIds.add(vehicleId);
+        }
+        if (vehicleIds.size() != request.getVehicleIds().size()) {
+            throw new IllegalArgumentException("Each vehicle can only be booked once per group");
+        }
+        if (vehicleIds.size() > maxGroupVehicles) {
+            throw new IllegalArgumentException("A group booking is limited to " + maxGroupVehicles + " vehicles");
+        }
+        LocalDate rentalDate = request.getRentalDate();
+        LocalDate returnDate = request.getReturnDate();
+        if (rentalDate == null || returnDate == null) {
+            throw new IllegalArgumentException("Rental and return dates are required");
+        }
+        if (returnDate.isBefore(rentalDate)) {
+            throw new IllegalArgumentException("Return date must be after rental date");
+        }
+        Set<Amenity> amenities = request.getAmenities() == null ? EnumSet.noneOf(Amenity.class) : request.getAmenities();
+        if (amenities.isEmpty()) {
+            throw new IllegalArgumentException("At least one amenity or 'none' is required");
+        }
+        if (amenities.contains(Amenity.NONE) && amenities.size() > 1) {
+            throw new IllegalArgumentException("'none' cannot be combined with other amenities");
+        }
+
+        // Sorted ids, so overlapping groups queue behind each other instead of deadlocking
+        List<VehicleAvailability> locked = groupBookingRepository.lockForBooking(vehicleIds, rentalDate, returnDate);
+        if (locked.size() != vehicleIds.size()) {
+            Set<Long> missing = new TreeSet<>(vehicleIds);
+            for (VehicleAvailability vehicle : locked) {
+                missing.remove(vehicle.getVehicleId());
+            }
+            throw new IllegalArgumentException("Vehicles not found: " + missing);
+        }
+        List<Long> unavailable = new ArrayList<>();
+        for (VehicleAvailability vehicle : locked) {
+            if (!vehicle.isBookable()) {
+                unavailable.add(vehicle.getVehicleId());
+            }
+        }
+        if (!unavailable.isEmpty()) {
+            throw new IllegalArgumentException("Vehicles not available: " + unavailable);
+        }
+        for (Long vehicleId : vehicleIds) {
+            holdService.checkNotHeldByOthers(vehicleId, rentalDate, returnDate, user.getId());
+        }
+
+        // A first-booking promotion covers one vehicle of the group, the first by id
+        int amenityMask = Amenity.toMask(amenities);
+        boolean firstBooking = isFirstBooking(user.getId());
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> reservations = new ArrayList<>(locked.size());
+        long totalCents = 0;
+        for (VehicleAvailability availability : locked) {
+            long cents = pricingEngine.quoteCents(availability.getVehicleId(), amenityMask, rentalDate, returnDate, firstBooking);
+            firstBooking = false;
+            totalCents += cents;
+
+            Vehicle vehicle = new Vehicle();
+            vehicle.setId(availability.getVehicleId());
+            Reservation reservation = new Reservation(vehicle, user.getId(), user.getTitle(), user.getFirstName(),
+                    user.getLastName(), rentalDate, returnDate, amenities, PricingEngine.fromCents(cents));
+            reservation.setCreatedAt(now);
+            reservations.add(reservation);
+        }
+        if (request.getTotalPrice() != null && PricingEngine.toCents(request.getTotalPrice()) != totalCents) {
+            throw new IllegalArgumentException("Total price mismatch. Expected: " + PricingEngine.fromCents(totalCents)
+                    + ", Received: " + request.getTotalPrice());
+        }
+
+        groupBookingRepository.insertAll(reservations);
+        vehicleRepository.markRented(vehicleIds);
+
+        List<Long> reservationIds = new ArrayList<>(reservations.size());
+        List<GroupBookingResult.Item> items = new ArrayList<>(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            VehicleAvailability vehicle = locked.get(i);
+            reservationIds.add(reservation.getId());
+            items.add(new GroupBookingResult.Item(reservation.getId(), vehicle.getVehicleId(), reservation.getTotalPrice()));
+            holdService.consumeHolds(vehicle.getVehicleId(), user.getId());
+            if (user.getEmail() != null) {
+                notificationQueue.enqueue("confirmation email for reservation " + reservation.getId(),
+                        () -> emailService.sendReservationConfirmationEmail(user.getEmail(), user.getFirstName(),
+                                user.getLastName(), reservation.getId(), vehicle.getVehicleName(),
+                                rentalDate.toString(), returnDate.toString(), reservation.getTotalPrice().toString()));
+            }
+        }
+        analyticsService.recordBookings(reservationIds);
+        System.out.println("Group booking for user " + user.getId() + ": " + reservationIds.size() + " reservation(s)");
+        return new GroupBookingResult(items, PricingEngine.fromCents(totalCents));
+    }
+
+    // Changes dates, vehicle or amenities of a Confirmed reservation in place. The reservation and vehicle rows
+    // stay locked from the availability check until commit, and only the days the change adds are checked.
+    public Reservation amendReservation(Long reservationId, ReservationAmendment amendment) {
+        Reservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+        if (!"Confirmed".equals(reservation.getStatus())) {
+            throw new IllegalStateException("Only confirmed reservations can be changed (status: " + reservation.getStatus() + ")");
+        }
+
+        Long userId = reservation.getUserId();
+        Long oldVehicleId = reservation.getVehicle().getId();
+        LocalDate oldRentalDate = reservation.getRentalDate();
+        LocalDate oldReturnDate = reservation.getReturnDate();
+        Long vehicleId = amendment.getVehicleId() != null ? amendment.getVehicleId() : oldVehicleId;
+        LocalDate rentalDate = amendment.getRentalDate() != null ? amendment.getRentalDate() : oldRentalDate;
+        LocalDate returnDate = amendment.getReturnDate() != null ? amendment.getReturnDate() : oldReturnDate;
+        Set<Amenity> amenities = amendment.getAmenities() != null ? amendment.getAmenities() : reservation.getAmenities();
+
+        if (returnDate.isBefore(rentalDate)) {
+            throw new IllegalArgumentException("Return date must be after rental date");
+        }
+        if (!rentalDate.equals(oldRentalDate) && rentalDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Rental date cannot be in the past");
+        }
+        if (amenities.isEmpty()) {
+            throw new IllegalArgumentException("At least one amenity or 'none' is required");
+        }
+        if (amenities.contains(Amenity.NONE) && amenities.size() > 1) {
+            throw new IllegalArgumentException("'none' cannot be combined with other amenities");
+        }
+
+        // Vehicle rows in id order, as group bookings take them
+        boolean vehicleChanged = !vehicleId.equals(oldVehicleId);
+        for (Long id : new TreeSet<>(List.of(oldVehicleId, vehicleId))) {
+            vehicleRepository.lockById(id);
         }
-        BigDecimal cost = BigDecimal.ZERO;
-        for (String amenity : amenities) {
-            switch (amenity) {
-                case "baby-sitter":
-                    cost = cost.add(BABY_SITTER_PRICE);
-                    break;
-                case "gps":
-                    cost = cost.add(GPS_PRICE);
-                    break;
-                case "power-bank":
-                    cost = cost.add(POWER_BANK_PRICE);
-                    break;
+        Vehicle vehicle = reservation.getVehicle();
+        if (vehicleChanged) {
+            vehicle = vehicleRepository.findById(vehicleId)
+                    .orElseThrow(() -> new IllegalArgumentException("Vehicle not found"));
+            if (!"Available".equals(vehicle.getStatus())) {
+                throw new IllegalArgumentException("Vehicle is not available");
+            }
+        }
+
+        List<LocalDate[]> added = vehicleChanged
+                ? List.<LocalDate[]>of(new LocalDate[]{rentalDate, returnDate})
+                : addedDays(oldRentalDate, oldReturnDate, rentalDate, returnDate);
+        if (!added.isEmpty()) {
+            LocalDate[] first = added.get(0);
+            LocalDate[] last = added.get(added.size() - 1);
+            if (reservationRepository.existsOverlapExcluding(vehicleId, reservationId, first[0], first[1], last[0], last[1])) {
+                throw new IllegalArgumentException("Vehicle is already booked for the new dates");
             }
+            for (LocalDate[] range : added) {
+                holdService.checkNotHeldByOthers(vehicleId, range[0], range[1], userId);
+            }
+        }
+
+        boolean firstBooking = !reservationRepository.existsByUserIdAndStatusNotAndIdNot(userId, "Cancelled", reservationId)
+                && !reservationArchiveRepository.existsBookingByUserId(userId);
+        long cents = pricingEngine.quoteCents(vehicleId, Amenity.toMask(amenities), rentalDate, returnDate, firstBooking);
+        if (amendment.getTotalPrice() != null && PricingEngine.toCents(amendment.getTotalPrice()) != cents) {
+            throw new IllegalArgumentException("Total price mismatch. Expected: " + PricingEngine.fromCents(cents)
+                    + ", Received: " + amendment.getTotalPrice());
+        }
+
+        // Aggregates: out with the old version, in with the new, without counting a cancellation
+        analyticsService.retractBookings(List.of(reservationId));
+        reservation.setVehicle(vehicle);
+        reservation.setRentalDate(rentalDate);
+        reservation.setReturnDate(returnDate);
+        reservation.setAmenities(amenities);
+        reservation.setTotalPrice(PricingEngine.fromCents(cents));
+        Reservation saved = reservationRepository.saveAndFlush(reservation);
+        analyticsService.recordBookings(List.of(reservationId));
+
+        if (vehicleChanged) {
+            vehicle.setStatus("Rented");
+            vehicleRepository.save(vehicle);
+            vehicleRepository.releaseRentedVehicles(List.of(oldVehicleId));
         }
-        return cost;
+
+        String vehicleName = vehicle.getMake() + " " + vehicle.getModel();
+        String totalPrice = saved.getTotalPrice().toString();
+        userRepository.findById(userId).ifPresent(user -> {
+            if (user.getEmail() != null) {
+                notificationQueue.enqueue("amendment email for reservation " + reservationId,
+                        () -> emailService.sendReservationAmendedEmail(user.getEmail(), user.getFirstName(),
+                                user.getLastName(), reservationId, vehicleName, rentalDate.toString(),
+                                returnDate.toString(), totalPrice));
+            }
+        });
+        System.out.println("Reservation " + reservationId + " amended: " + rentalDate + " to " + returnDate
+                + ", vehicle " + vehicleId + ", " + added.size() + " new range(s) checked");
+        return saved;
+    }
+
+    // Day ranges (inclusive) in the new booking that the old one did not cover; at most two, earliest first
+    static List<LocalDate[]> addedDays(LocalDate oldFrom, LocalDate oldTo, LocalDate newFrom, LocalDate newTo) {
+        List<LocalDate[]> added = new ArrayList<>(2);
+        if (newTo.isBefore(oldFrom) || newFrom.isAfter(oldTo)) {
+            added.add(new LocalDate[]{newFrom, newTo});
+            return added;
+        }
+        if (newFrom.isBefore(oldFrom)) {
+            added.add(new LocalDate[]{newFrom, oldFrom.minusDays(1)});
+        }
+        if (newTo.isAfter(oldTo)) {
+            added.add(new LocalDate[]{oldTo.plusDays(1), newTo});
+        }
+        return added;
+    }
+
+    // First-booking promotions: no earlier reservation that was not cancelled, archived ones included
+    @Transactional(readOnly = true)
+    public boolean isFirstBooking(Long userId) {
+        return userId != null && !reservationRepository.existsByUserIdAndStatusNot(userId, "Cancelled")
+                && !reservationArchiveRepository.existsBookingByUserId(userId);
     }
 
     public List<Reservation> getReservationsByUser(Long userId) {
         return reservationRepository.findByUserId(userId);
     }
 
+    // Customer dashboard listing: one projection query, no entities or vehicle images
+    @Transactional(readOnly = true)
+    public List<ReservationView> getUserReservationViews(Long userId) {
+        return reservationRepository.findViewsByUserId(userId);
+    }
+
+    // Full customer history: the hot table plus reservations_archive in one UNION ALL query
+    @Transactional(readOnly = true)
+    public List<ReservationView> getReservationHistory(Long userId) {
+        return reservationArchiveRepository.findHistoryByUserId(userId);
+    }
+
+    // Admin listing in a fixed number of queries regardless of row count:
+    // reservations+vehicle projection (amenities ride along as a bitmask), then one IN lookup for missing names
+    @Transactional(readOnly = true)
+    public List<ReservationView> getAllReservationViews() {
+        return getAllReservationViews(EnumSet.noneOf(Amenity.class));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationView> getAllReservationViews(Set<Amenity> requiredAmenities) {
+        List<ReservationView> views = requiredAmenities.isEmpty()
+                ? reservationRepository.findAllViews()
+                : reservationRepository.findAllViewsWithAmenities(Amenity.toMask(requiredAmenities));
+        if (views.isEmpty()) {
+            return views;
+        }
+
+        Set<Long> usersMissingNames = new HashSet<>();
+        for (ReservationView view : views) {
+            if (view.getFirstName() == null || view.getFirstName().isEmpty()) {
+                usersMissingNames.add(view.getUserId());
+            }
+        }
+
+        if (!usersMissingNames.isEmpty()) {
+            Map<Long, UserNameView> names = new HashMap<>();
+            for (UserNameView name : userRepository.findNamesByIdIn(usersMissingNames)) {
+                names.put(name.getId(), name);
+            }
+            for (ReservationView view : views) {
+                UserNameView name = names.get(view.getUserId());
+                if (name != null && (view.getFirstName() == null || view.getFirstName().isEmpty())) {
+                    view.setTitle(name.getTitle());
+                    view.setFirstName(name.getFirstName());
+                    view.setLastName(name.getLastName());
+                }
+            }
+        }
+        return views;
+    }
+
+    // Fee the customer would pay if they cancelled now; read-only
+    @Transactional(readOnly = true)
+    public CancellationQuote quoteCancellation(Reservation reservation) {
+        return cancellationPolicy.quote(reservation.getId(), reservation.getTotalPrice(), reservation.getRentalDate(),
+                LocalDateTime.now(), false);
+    }
+
+    // Cancels whichever of ids are still Confirmed; the rest come back as skipped
+    public CancellationResult cancelReservations(Collection<Long> ids, boolean waiveFees) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            return new CancellationResult();
+        }
+        return cancelLocked(reservationRepository.lockConfirmedIds(requested), requested, waiveFees);
+    }
+
+    // Every Confirmed booking on a vehicle, e.g. when it is taken out of service
+    public CancellationResult cancelReservationsForVehicle(Long vehicleId, boolean waiveFees) {
+        return cancelLocked(reservationRepository.lockConfirmedIdsForVehicle(vehicleId), Set.of(), waiveFees);
+    }
+
+    // A fixed number of statements whatever the batch size: lock, read candidates, update, release vehicles.
+    // Emails are queued and only go out once the transaction commits.
+    private CancellationResult cancelLocked(List<Long> lockedIds, Set<Long> requested, boolean waiveFees) {
+        Set<Long> locked = new HashSet<>(lockedIds);
+        List<Long> skipped = new ArrayList<>();
+        for (Long id : requested) {
+            if (!locked.contains(id)) {
+                skipped.add(id);
+            }
+        }
+        if (lockedIds.isEmpty()) {
+            return new CancellationResult(new ArrayList<>(), skipped);
+        }
+
+        List<CancellationCandidate> candidates = reservationRepository.findCancellationCandidates(lockedIds);
+        reservationRepository.cancelConfirmedByIdIn(lockedIds);
+        analyticsService.recordCancellations(lockedIds);
+
+        Set<Long> vehicleIds = new HashSet<>();
+        for (CancellationCandidate candidate : candidates) {
+            vehicleIds.add(candidate.getVehicleId());
+        }
+        vehicleRepository.releaseRentedVehicles(vehicleIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CancellationQuote> cancelled = new ArrayList<>(candidates.size());
+        for (CancellationCandidate candidate : candidates) {
+            CancellationQuote quote = cancellationPolicy.quote(candidate.getReservationId(), candidate.getTotalPrice(),
+                    candidate.getRentalDate(), now, waiveFees);
+            cancelled.add(quote);
+            if (candidate.getEmail() != null) {
+                notificationQueue.enqueue("cancellation email for reservation " + candidate.getReservationId(),
+                        () -> emailService.sendCancellationEmail(candidate.getEmail(), candidate.getFirstName(),
+                                candidate.getLastName(), candidate.getReservationId(), candidate.getVehicleName(),
+                                quote.getCancellationFee().toString(), quote.getTotalAmount().toString(),
+                                quote.getRefundAmount().toString()));
+            }
+        }
+        System.out.println("Cancelled " + cancelled.size() + " reservation(s), skipped " + skipped.size());
+        return new CancellationResult(cancelled, skipped);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasOpenReservations(Long vehicleId) {
+        return reservationRepository.existsOpenReservationForVehicle(vehicleId, LocalDate.now());
+    }
+
+    public int deleteReservationsForVehicle(Long vehicleId) {
+        return reservationRepository.deleteAllForVehicle(vehicleId);
+    }
+
     public List<Reservation> getReservationsByVehicle(Long vehicleId) {
         return reservationRepository.findByVehicleId(vehicleId);
     }
@@ -0,0 +1,117 @@
+package com.grp12.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single-node code store. Each code sits in a HashedTimingWheel keyed on its
+ * expiry, so abandoned sign-ups and resets are dropped by the tick instead
+ * of staying in memory until someone checks them. At most max-entries codes
+ * are held; once full, new codes are refused until the tick frees room.
+ */
+@Component
+@ConditionalOnProperty(name = "app.codes.store", havingValue = "memory", matchIfMissing = true)
+public class TimingWheelCodeStore implements CodeStore {
+
+    private final Clock clock;
+    private final int maxEntries;
+    private final HashedTimingWheel<Entry> wheel;
+    private final Map<String, HashedTimingWheel.Timeout<Entry>> byKey = new HashMap<>();
+
+    @Autowired
+    public TimingWheelCodeStore(@Value("${app.codes.tick-ms:1000}") long tickMillis,
+                                @Value("${app.codes.wheel-size:1024}") int wheelSize,
+                                @Value("${app.codes.max-entries:100000}") int maxEntries) {
+        this(Clock.systemUTC(), tickMillis, wheelSize, maxEntries);
+    }
+
+    TimingWheelCodeStore(Clock clock, long tickMillis, int wheelSize, int maxEntries) {
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, clock.millis());
+    }
+
+    @Override
+    public synchronized void put(Purpose purpose, String key, String code, Duration ttl) {
+        String id = id(purpose, key);
+        HashedTimingWheel.Timeout<Entry> existing = byKey.remove(id);
+        if (existing != null) {
+            wheel.cancel(existing);
+        } else if (byKey.size() >= maxEntries) {
+            throw new IllegalStateException("Too many pending codes, please try again in a few minutes");
+        }
+        long expiresAt = clock.millis() + ttl.toMillis();
+        byKey.put(id, wheel.schedule(new Entry(id, code, expiresAt), expiresAt));
+    }
+
+    @Override
+    public synchronized boolean matches(Purpose purpose, String key, String code) {
+        HashedTimingWheel.Timeout<Entry> timeout = byKey.get(id(purpose, key));
+        return timeout != null && timeout.getItem().matches(code, clock.millis());
+    }
+
+    @Override
+    public synchronized boolean consume(Purpose purpose, String key, String code) {
+        String id = id(purpose, key);
+        HashedTimingWheel.Timeout<Entry> timeout = byKey.get(id);
+        if (timeout == null || !timeout.getItem().matches(code, clock.millis())) {
+            return false;
+        }
+        wheel.cancel(timeout);
+        byKey.remove(id);
+        return true;
+    }
+
+    @Override
+    public synchronized void remove(Purpose purpose, String key) {
+        HashedTimingWheel.Timeout<Entry> timeout = byKey.remove(id(purpose, key));
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.codes.tick-ms:1000}")
+    public void tick() {
+        expire(clock.millis());
+    }
+
+    synchronized int expire(long nowMillis) {
+        return wheel.advance(nowMillis, entry -> byKey.remove(entry.id));
+    }
+
+    synchronized int size() {
+        return byKey.size();
+    }
+
+    static String id(Purpose purpose, String key) {
+        return purpose.name() + ":" + key;
+    }
+
+    private static class Entry {
+        private final String id;
+        private final byte[] code;
+        private final long expiresAt;
+
+        Entry(String id, String code, long expiresAt) {
+            this.id = id;
+            this.code = code.getBytes(StandardCharsets.UTF_8);
+            this.expiresAt = expiresAt;
+        }
+
+        // Constant-time, so response timing does not leak how many leading digits were right
+        boolean matches(String candidate, long nowMillis) {
+            return candidate != null && nowMillis < expiresAt
+                    && MessageDigest.isEqual(code, candidate.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
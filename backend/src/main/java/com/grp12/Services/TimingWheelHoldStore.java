@@ -0,0 +1,180 @@
+package com.grp12.Services;
+
+import com.grp12.Model.CheckoutHold;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Single-node hold store. Holds are indexed by id and by vehicle, and each
+ * one sits in a HashedTimingWheel keyed on its expiry, so the tick only
+ * touches the one bucket that is due instead of scanning every hold.
+ *
+ * Reads also compare against the clock, so a hold stops counting the moment
+ * it expires even if the tick has not removed it yet.
+ */
+@Component
+@ConditionalOnProperty(name = "app.holds.store", havingValue = "memory", matchIfMissing = true)
+public class TimingWheelHoldStore implements HoldStore {
+
+    private final Clock clock;
+    private final ZoneId zone;
+    private final HashedTimingWheel<CheckoutHold> wheel;
+    private final Map<String, HashedTimingWheel.Timeout<CheckoutHold>> byId = new HashMap<>();
+    private final Map<Long, List<CheckoutHold>> byVehicle = new HashMap<>();
+    private final Map<Long, Integer> countByUser = new HashMap<>();
+
+    @Autowired
+    public TimingWheelHoldStore(@Value("${app.holds.tick-ms:1000}") long tickMillis,
+                                @Value("${app.holds.wheel-size:512}") int wheelSize) {
+        this(Clock.systemDefaultZone(), tickMillis, wheelSize);
+    }
+
+    TimingWheelHoldStore(Clock clock, long tickMillis, int wheelSize) {
+        this.clock = clock;
+        this.zone = clock.getZone();
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, clock.millis());
+    }
+
+    @Override
+    public synchronized CheckoutHold place(CheckoutHold hold) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<CheckoutHold> vehicleHolds = byVehicle.get(hold.getVehicleId());
+        if (vehicleHolds != null) {
+            for (CheckoutHold existing : vehicleHolds) {
+                if (!existing.getUserId().equals(hold.getUserId()) && !existing.isExpired(now)
+                        && existing.overlaps(hold.getRentalDate(), hold.getReturnDate())) {
+                    throw new IllegalArgumentException("Vehicle is held by another customer until " + existing.getExpiresAt());
+                }
+            }
+        }
+        releaseForUser(hold.getVehicleId(), hold.getUserId());
+
+        long deadline = hold.getExpiresAt().atZone(zone).toInstant().toEpochMilli();
+        byId.put(hold.getId(), wheel.schedule(hold, deadline));
+        byVehicle.computeIfAbsent(hold.getVehicleId(), id -> new ArrayList<>(2)).add(hold);
+        countByUser.merge(hold.getUserId(), 1, Integer::sum);
+        return hold;
+    }
+
+    @Override
+    public synchronized Optional<CheckoutHold> findById(String id) {
+        HashedTimingWheel.Timeout<CheckoutHold> timeout = byId.get(id);
+        if (timeout == null || timeout.getItem().isExpired(LocalDateTime.now(clock))) {
+            return Optional.empty();
+        }
+        return Optional.of(timeout.getItem());
+    }
+
+    @Override
+    public synchronized boolean release(String id) {
+        HashedTimingWheel.Timeout<CheckoutHold> timeout = byId.get(id);
+        if (timeout == null) {
+            return false;
+        }
+        wheel.cancel(timeout);
+        remove(timeout.getItem());
+        return true;
+    }
+
+    @Override
+    public synchronized int releaseForUser(Long vehicleId, Long userId) {
+        List<CheckoutHold> vehicleHolds = byVehicle.get(vehicleId);
+        if (vehicleHolds == null) {
+            return 0;
+        }
+        List<String> ids = new ArrayList<>(1);
+        for (CheckoutHold hold : vehicleHolds) {
+            if (hold.getUserId().equals(userId)) {
+                ids.add(hold.getId());
+            }
+        }
+        for (String id : ids) {
+            release(id);
+        }
+        return ids.size();
+    }
+
+    @Override
+    public synchronized Optional<CheckoutHold> findConflict(Long vehicleId, LocalDate rentalDate, LocalDate returnDate,
+                                                             Long userId) {
+        List<CheckoutHold> vehicleHolds = byVehicle.get(vehicleId);
+        if (vehicleHolds == null) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (CheckoutHold hold : vehicleHolds) {
+            if (!hold.getUserId().equals(userId) && !hold.isExpired(now) && hold.overlaps(rentalDate, returnDate)) {
+                return Optional.of(hold);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized Set<Long> findHeldVehicleIds(Long userId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Set<Long> held = new HashSet<>();
+        for (Map.Entry<Long, List<CheckoutHold>> entry : byVehicle.entrySet()) {
+            for (CheckoutHold hold : entry.getValue()) {
+                if (!hold.getUserId().equals(userId) && !hold.isExpired(now)) {
+                    held.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return held;
+    }
+
+    @Override
+    public synchronized int countActiveForUser(Long userId) {
+        return countByUser.getOrDefault(userId, 0);
+    }
+
+    @Scheduled(fixedRateString = "${app.holds.tick-ms:1000}")
+    public void tick() {
+        expire(clock.millis());
+    }
+
+    synchronized int expire(long nowMillis) {
+        return wheel.advance(nowMillis, hold -> remove(hold));
+    }
+
+    synchronized int size() {
+        return byId.size();
+    }
+
+    // Index bookkeeping only; the caller has already taken the hold off the wheel
+    private void remove(CheckoutHold hold) {
+        byId.remove(hold.getId());
+        List<CheckoutHold> vehicleHolds = byVehicle.get(hold.getVehicleId());
+        if (vehicleHolds != null) {
+            Iterator<CheckoutHold> iterator = vehicleHolds.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() == hold) {
+                    iterator.remove();
+                    break;
+                }
+            }
+            if (vehicleHolds.isEmpty()) {
+                byVehicle.remove(hold.getVehicleId());
+            }
+        }
+        countByUser.computeIfPresent(hold.getUserId(), (id, count) -> count > 1 ? count - 1 : null);
+    }
+}
@@ -0,0 +1,119 @@
+package com.grp12.Services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node rate limiter. Each bucket is one AtomicLong holding the last
+ * refill time and the token count, updated by compare-and-set, so checking
+ * a limit never blocks and never allocates once the bucket exists.
+ *
+ * A bucket that has refilled completely is the same as no bucket, so the
+ * sweep drops those and the map only holds clients seen within one period.
+ * It is capped at max-buckets; beyond that, new clients share one overflow
+ * bucket per limit. A flood of distinct addresses therefore cannot grow the
+ * map, and it cannot get through faster than a single client could.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final Clock clock;
+    private final long origin;
+    private final int maxBuckets;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenBucketRateLimiter(@Value("${app.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this(Clock.systemUTC(), maxBuckets);
+    }
+
+    TokenBucketRateLimiter(Clock clock, int maxBuckets) {
+        this.clock = clock;
+        this.origin = clock.millis();
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, Limit limit) {
+        long now = clock.millis() - origin;
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            String trackedKey = buckets.size() < maxBuckets ? key : "overflow:" + limit.getName();
+            bucket = buckets.computeIfAbsent(trackedKey, k -> new Bucket(limit, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-ms:60000}")
+    public void sweep() {
+        long now = clock.millis() - origin;
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Tokens are kept in thousandths so slow refill rates still accrue
+     * between requests. The state packs the refill time (milliseconds since
+     * the limiter started) into the high 40 bits and the token count into
+     * the low 24, which is why Limit caps capacity at 10,000.
+     */
+    static final class Bucket {
+        private static final int TOKEN_BITS = 24;
+        private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+        private static final long ONE = 1000;
+
+        private final long capacity;
+        private final long periodMillis;
+        private final AtomicLong state;
+
+        Bucket(Limit limit, long now) {
+            this.capacity = limit.getCapacity() * ONE;
+            this.periodMillis = limit.getPeriodMillis();
+            this.state = new AtomicLong(pack(now, capacity));
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = state.get();
+                long tokens = available(current, now);
+                if (tokens < ONE) {
+                    // Leave the state alone so the elapsed time keeps counting towards the next token
+                    return false;
+                }
+                if (state.compareAndSet(current, pack(Math.max(now, current >>> TOKEN_BITS), tokens - ONE))) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return available(state.get(), now) >= capacity;
+        }
+
+        private long available(long state, long now) {
+            long elapsed = now - (state >>> TOKEN_BITS);
+            if (elapsed <= 0) {
+                return state & TOKEN_MASK;
+            }
+            if (elapsed >= periodMillis) {
+                return capacity;
+            }
+            return Math.min(capacity, (state & TOKEN_MASK) + elapsed * capacity / periodMillis);
+        }
+
+        private static long pack(long time, long tokens) {
+            return (time << TOKEN_BITS) | tokens;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.grp12.Services;
+
+import com.grp12.Model.RevokedAccessToken;
+import com.grp12.Repository.RevokedAccessTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked-but-unexpired access token ids, checked on every token request.
+ *
+ * Revocations are written to revoked_access_tokens and applied locally at
+ * once; other nodes pick them up on their next sync, which reads every
+ * unexpired row. Entries leave the set only when the token itself expires,
+ * so the set (and each reload) is bounded by the revocations made within
+ * one access-token lifetime. A revocation can take up to deny-sync-ms to
+ * reach the other nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.auth.mode", havingValue = "token")
+public class TokenDenyList {
+
+    @Autowired
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    // jti -> expiry in epoch seconds
+    private final Map<String, Long> denied = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        sync();
+    }
+
+    public boolean isDenied(String jti) {
+        return denied.containsKey(jti);
+    }
+
+    @Transactional
+    public void deny(String jti, long expiresAtSeconds) {
+        revokedAccessTokenRepository.save(new RevokedAccessToken(jti, toLocalDateTime(expiresAtSeconds)));
+        denied.put(jti, expiresAtSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.token.deny-sync-ms:5000}", initialDelayString = "${app.auth.token.deny-sync-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (RevokedAccessToken token : revokedAccessTokenRepository.findUnexpired(now)) {
+            denied.put(token.getJti(), token.getExpiresAt().toEpochSecond(ZoneOffset.UTC));
+        }
+        long nowSeconds = now.toEpochSecond(ZoneOffset.UTC);
+        denied.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+    }
+
+    // Any node may purge; deleting rows that are already expired is idempotent
+    @Scheduled(fixedDelayString = "${app.auth.token.purge-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        revokedAccessTokenRepository.deleteExpired(LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    int size() {
+        return denied.size();
+    }
+
+    static LocalDateTime toLocalDateTime(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,164 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.DTO.TokenResponse;
+import com.grp12.Model.RefreshToken;
+import com.grp12.Repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Stateless authentication (app.auth.mode=token).
+ *
+ * Access tokens are short-lived HMAC-signed claims (AccessTokenCodec) that
+ * any node can verify without a session or a database read. Refresh tokens
+ * are random strings whose SHA-256 lives in refresh_tokens; each refresh
+ * revokes the presented token and issues a new pair. Presenting an already
+ * revoked refresh token is treated as theft and revokes every refresh
+ * token of that account, as does a password reset or change (UserService,
+ * AdminService). Logout denies the access token through TokenDenyList.
+ */
+@Service
+@ConditionalOnProperty(name = "app.auth.mode", havingValue = "token")
+public class TokenService {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenDenyList tokenDenyList;
+
+    @Autowired
+    private PrincipalService principalService;
+
+    private final AccessTokenCodec codec;
+    private final Clock clock;
+    private final long accessTtlSeconds;
+    private final long refreshTtlSeconds;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public TokenService(@Value("${app.auth.token.secret:}") String secret,
+                        @Value("${app.auth.token.access-ttl-seconds:900}") long accessTtlSeconds,
+                        @Value("${app.auth.token.refresh-ttl-days:14}") long refreshTtlDays) {
+        this(decodeSecret(secret), Clock.systemUTC(), accessTtlSeconds, refreshTtlDays * 86_400);
+    }
+
+    TokenService(byte[] secret, Clock clock, long accessTtlSeconds, long refreshTtlSeconds) {
+        this.codec = new AccessTokenCodec(secret);
+        this.clock = clock;
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.refreshTtlSeconds = refreshTtlSeconds;
+    }
+
+    // Call only after the password has been verified
+    @Transactional
+    public TokenResponse issue(AuthPrincipal principal) {
+        long now = clock.instant().getEpochSecond();
+        String accessToken = codec.encode(new AccessTokenCodec.Claims(principal.getEmail(),
+                UUID.randomUUID().toString(), now, now + accessTtlSeconds));
+
+        byte[] raw = new byte[32];
+        random.nextBytes(raw);
+        String refreshToken = ENCODER.encodeToString(raw);
+        refreshTokenRepository.save(new RefreshToken(UUID.randomUUID().toString(), hash(refreshToken),
+                principal.getEmail(), toLocalDateTime(now), toLocalDateTime(now + refreshTtlSeconds)));
+
+        return new TokenResponse(accessToken, accessTtlSeconds, refreshToken, refreshTtlSeconds,
+                principal.isAdmin() ? "admin" : "customer");
+    }
+
+    // Rejections keep their side effects (reuse revocation) so they must not roll back
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public TokenResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new IllegalArgumentException("Refresh token is required");
+        }
+        LocalDateTime now = LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+        RefreshToken stored = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+
+        if (stored.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeAllForSubject(stored.getSubject(), now);
+            System.err.println("Refresh token reuse for " + stored.getSubject() + ", revoked " + revoked + " token(s)");
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (!stored.isUsable(now)) {
+            throw new IllegalArgumentException("Refresh token has expired");
+        }
+        stored.setRevokedAt(now);
+        refreshTokenRepository.save(stored);
+
+        AuthPrincipal principal = principalService.resolve(stored.getSubject())
+                .filter(AuthPrincipal::isEnabled)
+                .orElseThrow(() -> new IllegalArgumentException("Account is no longer active"));
+        return issue(principal);
+    }
+
+    // Null unless the token is authentic, unexpired and not revoked
+    public AccessTokenCodec.Claims authenticate(String accessToken) {
+        AccessTokenCodec.Claims claims = codec.decode(accessToken, clock.instant().getEpochSecond());
+        if (claims == null || tokenDenyList.isDenied(claims.getJti())) {
+            return null;
+        }
+        return claims;
+    }
+
+    // Logout: deny the access token everywhere and drop the refresh token if it belongs to the same account
+    @Transactional
+    public void revoke(AccessTokenCodec.Claims claims, String refreshToken) {
+        tokenDenyList.deny(claims.getJti(), claims.getExpiresAt());
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                    .filter(stored -> stored.getSubject().equals(claims.getSubject()) && stored.getRevokedAt() == null)
+                    .ifPresent(stored -> {
+                        stored.setRevokedAt(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+                        refreshTokenRepository.save(stored);
+                    });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.token.purge-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC));
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+
+    // All nodes must share the secret, so there is deliberately no generated fallback
+    private static byte[] decodeSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.auth.token.secret (base64, at least 32 bytes) must be set when app.auth.mode=token");
+        }
+        return Base64.getDecoder().decode(secret.trim());
+    }
+}
@@ -1,7 +1,14 @@
 package com.grp12.Services;
 
+import com.grp12.DTO.CustomerDirectoryPage;
+import com.grp12.DTO.RegistrationConflict;
+import com.grp12.DTO.RegistrationDecisionResult;
+import com.grp12.DTO.UserKeyView;
 import com.grp12.Model.RegistrationRequest;
 import com.grp12.Model.User;
+import com.grp12.Repository.CustomerDirectoryRepository;
+import com.grp12.Repository.RefreshTokenRepository;
+import com.grp12.Repository.RegistrationConflictRepository;
 import com.grp12.Repository.RegistrationRequestRepository;
 import com.grp12.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,12 +16,18 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.mail.MessagingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Random;
 
 @Service
@@ -28,15 +41,30 @@ public class UserService {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private EmailService emailService;
+    @Autowired
+    private PrincipalService principalService;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9._%+-]+@gmail\\.com$");
     private static final Pattern PHONE_PATTERN = Pattern.compile("^\\d{7}$");
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s]+$");
     private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$");
     private static final Pattern DRIVERS_LICENSE_PATTERN = Pattern.compile("^\\d{7}$");
+    private static final int MAX_DECISION_BATCH = 200;
+    private static final int DEFAULT_DIRECTORY_PAGE = 50;
+    private static final int MAX_DIRECTORY_PAGE = 200;
 
-    private final Map<String, String> passwordResetTokens = new ConcurrentHashMap<>();
-    private final Map<String, LocalDateTime> tokenExpiryTimes = new ConcurrentHashMap<>();
+    @Autowired
+    private CodeStore codeStore;
+    @Autowired
+    private RegistrationConflictRepository registrationConflictRepository;
+    @Autowired
+    private RegistrationKeyFilter registrationKeyFilter;
+    @Autowired
+    private NotificationQueue notificationQueue;
+    @Autowired
+    private CustomerDirectoryRepository customerDirectoryRepository;
 
     public RegistrationRequest registerUser(User user) {
         try {
@@ -53,42 +81,44 @@ public class UserService {
                 throw new IllegalArgumentException("Driver's license number must be exactly 7 digits");
             }
 
-            // Check if email already exists for APPROVED users only
-            Optional<User> existingUser = userRepository.findByEmail(user.getEmail());
-            if (existingUser.isPresent() && "APPROVED".equals(existingUser.get().getStatus())) {
-                throw new IllegalArgumentException("Email already registered and approved");
-            }
-
-            // Check for pending registration requests
-            Optional<RegistrationRequest> existingRequest = registrationRequestRepository.findByEmail(user.getEmail());
-            if (existingRequest.isPresent() && "PENDING".equals(existingRequest.get().getStatus())) {
-                throw new IllegalArgumentException("Registration request already pending for this email");
-            }
+            // One query for every user or request sharing the email, phone or licence; skipped when the filter rules all three out
+            String email = User.normalizeEmail(user.getEmail());
+            String phoneNumber = user.getPhoneNumber() == null ? null : user.getPhoneNumber().trim();
+            String driversLicenseNumber = user.getDriversLicenseNumber().trim();
+            List<RegistrationConflict> conflicts = registrationKeyFilter.mightConflict(email, phoneNumber, driversLicenseNumber)
+                    ? registrationConflictRepository.findConflicts(email, phoneNumber, driversLicenseNumber)
+                    : List.of();
+            checkConflicts(conflicts);
 
             // Clean up old rejected/non-approved records
-            if (existingUser.isPresent() && !"APPROVED".equals(existingUser.get().getStatus())) {
-                userRepository.delete(existingUser.get());
-                System.out.println("Deleted old non-approved user record for: " + user.getEmail());
-            }
-
-            if (existingRequest.isPresent() && "REJECTED".equals(existingRequest.get().getStatus())) {
-                registrationRequestRepository.delete(existingRequest.get());
-                System.out.println("Deleted old rejected registration request for: " + user.getEmail());
+            for (RegistrationConflict conflict : conflicts) {
+                if (!conflict.isEmailMatch()) {
+                    continue;
+                }
+                if (conflict.isUser() && !"APPROVED".equals(conflict.getStatus())) {
+                    userRepository.deleteById(conflict.getId());
+                    principalService.evictUser(conflict.getId());
+                    System.out.println("Deleted old non-approved user record for: " + user.getEmail());
+                } else if (conflict.isRequest() && "REJECTED".equals(conflict.getStatus())) {
+                    registrationRequestRepository.deleteById(conflict.getId());
+                    System.out.println("Deleted old rejected registration request for: " + user.getEmail());
+                }
             }
 
             // Create RegistrationRequest
             RegistrationRequest request = new RegistrationRequest();
             request.setFirstName(user.getFirstName());
             request.setLastName(user.getLastName());
-            request.setPhoneNumber(user.getPhoneNumber());
+            request.setPhoneNumber(phoneNumber);
             request.setEmail(user.getEmail());
             request.setPassword(passwordEncoder.encode(user.getPassword()));
-            request.setDriversLicenseNumber(user.getDriversLicenseNumber().trim());
+            request.setDriversLicenseNumber(driversLicenseNumber);
             request.setDriversLicenseImage(user.getDriversLicenseImage());
             request.setStatus("PENDING");
             request.setCreatedAt(LocalDateTime.now());
 
             RegistrationRequest savedRequest = registrationRequestRepository.save(request);
+            registrationKeyFilter.add(request.getEmail(), request.getPhoneNumber(), request.getDriversLicenseNumber());
             System.out.println("Registration request created with ID: " + savedRequest.getId());
 
             return savedRequest;
@@ -102,6 +132,36 @@ public class UserService {
         }
     }
 
+    // Same messages and precedence as the separate lookups this replaced; phone and licence only clash with other emails
+    private void checkConflicts(List<RegistrationConflict> conflicts) {
+        for (RegistrationConflict conflict : conflicts) {
+            if (conflict.isEmailMatch() && conflict.isUser() && "APPROVED".equals(conflict.getStatus())) {
+                throw new IllegalArgumentException("Email already registered and approved");
+            }
+        }
+        for (RegistrationConflict conflict : conflicts) {
+            if (conflict.isEmailMatch() && conflict.isRequest() && "PENDING".equals(conflict.getStatus())) {
+                throw new IllegalArgumentException("Registration request already pending for this email");
+            }
+        }
+        for (RegistrationConflict conflict : conflicts) {
+            if (conflict.isEmailMatch() || !isLive(conflict)) {
+                continue;
+            }
+            if (conflict.isLicenseMatch()) {
+                throw new IllegalArgumentException("Driver's license number is already registered");
+            }
+            if (conflict.isPhoneMatch()) {
+                throw new IllegalArgumentException("Phone number is already registered");
+            }
+        }
+    }
+
+    // Approved customers and pending requests hold their details; rejected and stale records do not
+    private static boolean isLive(RegistrationConflict conflict) {
+        return conflict.isUser() ? "APPROVED".equals(conflict.getStatus()) : "PENDING".equals(conflict.getStatus());
+    }
+
     public User loginUser(String email, String password) {
         try {
             System.out.println("LoginUser called with email: " + email);
@@ -176,19 +236,11 @@ public class UserService {
         }
         
         // Create new user from registration request
-        User user = new User();
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setEmail(request.getEmail());
-        user.setPhoneNumber(request.getPhoneNumber());
-        user.setDriversLicenseNumber(request.getDriversLicenseNumber());
-        user.setDriversLicenseImage(request.getDriversLicenseImage());
-        user.setPassword(request.getPassword());
-        user.setStatus("APPROVED");
-        user.setEmailVerified(true);
-        user.setCreatedAt(java.time.LocalDateTime.now());
+        User user = toApprovedUser(request);
         
         User savedUser = userRepository.save(user);
+        principalService.evictEmail(savedUser.getEmail());
+        registrationKeyFilter.add(savedUser.getEmail(), savedUser.getPhoneNumber(), savedUser.getDriversLicenseNumber());
         
         // Update request status
         request.setStatus("APPROVED");
@@ -240,6 +292,142 @@ public class UserService {
         }
     }
 
+    /**
+     * Approves many registration requests in one transaction: one locking
+     * read of the requests, one check of their emails and licence numbers
+     * against users, batched user inserts and one status update. Ids that
+     * are missing, already decided or clash with an account are reported
+     * and left alone. Approval emails go out after commit.
+     */
+    public List<RegistrationDecisionResult> approveUsers(List<Long> requestIds) {
+        Map<Long, RegistrationRequest> requests = lockRequests(requestIds);
+        List<RegistrationRequest> pending = new ArrayList<>();
+        for (RegistrationRequest request : requests.values()) {
+            if (request != null && "PENDING".equals(request.getStatus())) {
+                pending.add(request);
+            }
+        }
+
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenLicenses = new HashSet<>();
+        if (!pending.isEmpty()) {
+            List<String> emails = pending.stream().map(r -> User.normalizeEmail(r.getEmail())).toList();
+            List<String> licenses = pending.stream().map(RegistrationRequest::getDriversLicenseNumber).toList();
+            for (UserKeyView existing : userRepository.findKeysByEmailInOrLicenseIn(emails, licenses)) {
+                takenEmails.add(existing.getEmail());
+                takenLicenses.add(existing.getDriversLicenseNumber());
+            }
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        List<RegistrationRequest> approved = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (RegistrationRequest request : pending) {
+            // add() also catches two requests in this batch for the same email or licence
+            if (!takenEmails.add(User.normalizeEmail(request.getEmail()))) {
+                errors.put(request.getId(), "Email already registered");
+            } else if (!takenLicenses.add(request.getDriversLicenseNumber())) {
+                errors.put(request.getId(), "Driver's license number already registered");
+            } else {
+                approved.add(request);
+                users.add(toApprovedUser(request));
+            }
+        }
+
+        Map<Long, Long> userIds = new HashMap<>();
+        if (!approved.isEmpty()) {
+            List<User> savedUsers = userRepository.saveAll(users);
+            registrationRequestRepository.markApproved(approved.stream().map(RegistrationRequest::getId).toList(),
+                    LocalDateTime.now());
+            for (int i = 0; i < approved.size(); i++) {
+                RegistrationRequest request = approved.get(i);
+                User savedUser = savedUsers.get(i);
+                userIds.put(request.getId(), savedUser.getId());
+                principalService.evictEmail(savedUser.getEmail());
+                registrationKeyFilter.add(savedUser.getEmail(), savedUser.getPhoneNumber(), savedUser.getDriversLicenseNumber());
+                notificationQueue.enqueue("approval email for registration request " + request.getId(),
+                        () -> emailService.sendApprovalNotification(request.getEmail(), request.getFirstName(),
+                                request.getLastName(), true));
+            }
+        }
+
+        List<RegistrationDecisionResult> results = new ArrayList<>(requests.size());
+        for (Map.Entry<Long, RegistrationRequest> entry : requests.entrySet()) {
+            Long requestId = entry.getKey();
+            if (userIds.containsKey(requestId)) {
+                results.add(RegistrationDecisionResult.approved(requestId, userIds.get(requestId)));
+            } else {
+                results.add(RegistrationDecisionResult.failed(requestId,
+                        errors.getOrDefault(requestId, undecidableReason(entry.getValue()))));
+            }
+        }
+        System.out.println("Batch approval: " + approved.size() + " of " + requests.size() + " requests approved");
+        return results;
+    }
+
+    // Rejects many registration requests in one transaction; rejection emails go out after commit
+    public List<RegistrationDecisionResult> rejectUsers(List<Long> requestIds) {
+        Map<Long, RegistrationRequest> requests = lockRequests(requestIds);
+        List<Long> rejected = new ArrayList<>();
+        List<RegistrationDecisionResult> results = new ArrayList<>(requests.size());
+        for (Map.Entry<Long, RegistrationRequest> entry : requests.entrySet()) {
+            RegistrationRequest request = entry.getValue();
+            if (request == null || !"PENDING".equals(request.getStatus())) {
+                results.add(RegistrationDecisionResult.failed(entry.getKey(), undecidableReason(request)));
+                continue;
+            }
+            rejected.add(request.getId());
+            results.add(RegistrationDecisionResult.rejected(request.getId()));
+            notificationQueue.enqueue("rejection email for registration request " + request.getId(),
+                    () -> emailService.sendApprovalNotification(request.getEmail(), request.getFirstName(),
+                            request.getLastName(), false));
+        }
+        if (!rejected.isEmpty()) {
+            registrationRequestRepository.markRejected(rejected, LocalDateTime.now());
+        }
+        System.out.println("Batch rejection: " + rejected.size() + " of " + requests.size() + " requests rejected");
+        return results;
+    }
+
+    // Requested ids in order without repeats, each with its locked request or null if there is none
+    private Map<Long, RegistrationRequest> lockRequests(List<Long> requestIds) {
+        if (requestIds == null || requestIds.isEmpty()) {
+            throw new IllegalArgumentException("requestIds is required");
+        }
+        if (requestIds.size() > MAX_DECISION_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_DECISION_BATCH + " requests can be decided at once");
+        }
+        Map<Long, RegistrationRequest> requests = new LinkedHashMap<>();
+        for (Long requestId : requestIds) {
+            if (requestId != null) {
+                requests.put(requestId, null);
+            }
+        }
+        for (RegistrationRequest request : registrationRequestRepository.findAllByIdForUpdate(requests.keySet())) {
+            requests.put(request.getId(), request);
+        }
+        return requests;
+    }
+
+    private static String undecidableReason(RegistrationRequest request) {
+        return request == null ? "Registration request not found" : "Registration request is not pending";
+    }
+
+    private static User toApprovedUser(RegistrationRequest request) {
+        User user = new User();
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setEmail(request.getEmail());
+        user.setPhoneNumber(request.getPhoneNumber());
+        user.setDriversLicenseNumber(request.getDriversLicenseNumber());
+        user.setDriversLicenseImage(request.getDriversLicenseImage());
+        user.setPassword(request.getPassword());
+        user.setStatus("APPROVED");
+        user.setEmailVerified(true);
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+
     public List<RegistrationRequest> getPendingRequests() {
         try {
             return registrationRequestRepository.findByStatusOrderByCreatedAtDesc("PENDING");
@@ -258,6 +446,29 @@ public class UserService {
         }
     }
 
+    // Approved customers without licence images, a page at a time; limit defaults to 50 and is capped at 200
+    @Transactional(readOnly = true)
+    public CustomerDirectoryPage getCustomerDirectory(String search, Long after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_DIRECTORY_PAGE : Math.max(1, Math.min(limit, MAX_DIRECTORY_PAGE));
+        try {
+            return customerDirectoryRepository.findPage(search, after, pageSize);
+        } catch (Exception e) {
+            System.err.println("Error in getCustomerDirectory: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch customers: " + e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long countCustomers() {
+        return userRepository.countApprovedCustomers();
+    }
+
+    // Base64 licence image of one customer, or null if the customer is missing or has none
+    @Transactional(readOnly = true)
+    public String getCustomerLicenseImage(Long userId) {
+        return userRepository.findLicenseImageByCustomerId(userId).orElse(null);
+    }
+
     public User getUserById(Long id) {
         try {
             return userRepository.findById(id)
@@ -276,7 +487,9 @@ public class UserService {
                     .orElseThrow(() -> new RuntimeException("Customer not found"));
             
             user.setStatus(status);
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            principalService.evictUser(userId);
+            return savedUser;
         } catch (Exception e) {
             System.err.println("Error in updateUserStatus: " + e.getMessage());
             if (e instanceof RuntimeException) {
@@ -292,6 +505,7 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
             
             userRepository.delete(user);
+            principalService.evictUser(userId);
             System.out.println("User deleted successfully: " + user.getEmail());
             
         } catch (Exception e) {
@@ -315,16 +529,14 @@ public class UserService {
             String resetToken = String.format("%06d", new Random().nextInt(1000000));
             
             // Store token with expiry (15 minutes)
-            passwordResetTokens.put(email.toLowerCase(), resetToken);
-            tokenExpiryTimes.put(email.toLowerCase(), LocalDateTime.now().plusMinutes(15));
+            codeStore.put(CodeStore.Purpose.PASSWORD_RESET, User.normalizeEmail(email), resetToken, Duration.ofMinutes(15));
             
             emailService.sendPasswordResetEmail(email, resetToken);
             System.out.println("Password reset email sent to: " + email);
             
         } catch (MessagingException e) {
             // Clean up tokens if email fails
-            passwordResetTokens.remove(email.toLowerCase());
-            tokenExpiryTimes.remove(email.toLowerCase());
+            codeStore.remove(CodeStore.Purpose.PASSWORD_RESET, User.normalizeEmail(email));
             throw new RuntimeException("Failed to send password reset email: " + e.getMessage());
         } catch (RuntimeException e) {
             throw e; 
@@ -336,28 +548,13 @@ public class UserService {
     
     public void resetPassword(String email, String resetToken, String newPassword) {
         try {
-            String emailKey = email.toLowerCase();
+            String emailKey = User.normalizeEmail(email);
             
-            // Validate token exists
-            String storedToken = passwordResetTokens.get(emailKey);
-            if (storedToken == null) {
+            // Expired tokens are dropped by the store, so they read as missing
+            if (!codeStore.matches(CodeStore.Purpose.PASSWORD_RESET, emailKey, resetToken)) {
                 throw new RuntimeException("Invalid or expired reset token");
             }
-            
-            // Check if token has expired
-            LocalDateTime expiryTime = tokenExpiryTimes.get(emailKey);
-            if (expiryTime == null || LocalDateTime.now().isAfter(expiryTime)) {
-                // Clean up expired tokens
-                passwordResetTokens.remove(emailKey);
-                tokenExpiryTimes.remove(emailKey);
-                throw new RuntimeException("Reset token has expired. Please request a new one.");
-            }
-            
-            // Validate token matches
-            if (!storedToken.equals(resetToken)) {
-                throw new RuntimeException("Invalid reset token");
-            }
-            
+
             // Find user
             User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -367,13 +564,17 @@ public class UserService {
                 throw new RuntimeException("Password must be at least 8 characters, including uppercase, lowercase, number, and special character");
             }
             
+            // Use the token up before changing anything, so two requests cannot both spend it
+            if (!codeStore.consume(CodeStore.Purpose.PASSWORD_RESET, emailKey, resetToken)) {
+                throw new RuntimeException("Invalid or expired reset token");
+            }
+
             // Update password with proper encoding
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
-            
-            // Clean up tokens
-            passwordResetTokens.remove(emailKey);
-            tokenExpiryTimes.remove(emailKey);
+            principalService.evictUser(user.getId());
+            // Sessions signed in with the old password must not outlive it
+            refreshTokenRepository.revokeAllForSubject(user.getEmail(), LocalDateTime.now(ZoneOffset.UTC));
             
             System.out.println("Password reset successful for: " + email);
             
@@ -396,15 +597,7 @@ public class UserService {
                 return false;
             }
             
-            String emailKey = email.toLowerCase();
-            String storedToken = passwordResetTokens.get(emailKey);
-            LocalDateTime expiryTime = tokenExpiryTimes.get(emailKey);
-            
-            // Check if token exists, matches, and is still valid
-            return resetToken != null && storedToken != null 
-                   && resetToken.equals(storedToken)
-                   && expiryTime != null 
-                   && LocalDateTime.now().isBefore(expiryTime);
+            return codeStore.matches(CodeStore.Purpose.PASSWORD_RESET, User.normalizeEmail(email), resetToken);
         } catch (Exception e) {
             return false;
         }
@@ -1,7 +1,6 @@
 package com.grp12.Services;
 
 import com.grp12.Model.Vehicle;
-import com.grp12.Model.Reservation;
 import com.grp12.Repository.VehicleRepository;
 import com.grp12.Services.ReservationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +8,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -23,6 +21,9 @@ public class VehicleService {
 
     @Autowired
     private ReservationService reservationService;
+
+    @Autowired
+    private PricingEngine pricingEngine;
     
     // License plate pattern: AB 123 (2 letters, space, 3 numbers)
     private static final Pattern LICENSE_PLATE_PATTERN = Pattern.compile("^[A-Za-z]{2}\\s\\d{3}$");
@@ -156,6 +157,7 @@ public class VehicleService {
             
             Vehicle savedVehicle = vehicleRepository.save(vehicle);
             System.out.println("Vehicle saved with ID: " + savedVehicle.getId());
+            pricingEngine.updateVehicle(savedVehicle);
             return savedVehicle;
             
         } catch (Exception e) {
@@ -333,6 +335,7 @@ public class VehicleService {
 
             Vehicle savedVehicle = vehicleRepository.save(vehicle);
             System.out.println("Vehicle updated with ID: " + savedVehicle.getId());
+            pricingEngine.updateVehicle(savedVehicle);
             return savedVehicle;
 
         } catch (Exception e) {
@@ -351,24 +354,16 @@ public class VehicleService {
                 .orElseThrow(() -> new RuntimeException("Vehicle not found"));
 
             // Check if vehicle has any active (current or future) confirmed reservations
-            List<Reservation> reservations = reservationService.getReservationsByVehicle(vehicleId);
-            LocalDate today = LocalDate.now();
-            boolean hasActiveReservations = reservations != null &&
-                reservations.stream().anyMatch(r -> "Confirmed".equals(r.getStatus()) &&
-                    (r.getReturnDate().isEqual(today) || r.getReturnDate().isAfter(today)));
-            if (hasActiveReservations) {
+            if (reservationService.hasOpenReservations(vehicleId)) {
                 throw new IllegalArgumentException("Cannot delete vehicle with active reservations. Vehicle ID: " + vehicleId);
             }
 
             // Delete associated reservations first to avoid foreign key constraint issues
-            if (reservations != null && !reservations.isEmpty()) {
-                for (Reservation reservation : reservations) {
-                    reservationService.deleteReservation(reservation.getId());
-                }
-            }
+            reservationService.deleteReservationsForVehicle(vehicleId);
 
             // Delete the vehicle entity
             vehicleRepository.delete(vehicle);
+            pricingEngine.removeVehicle(vehicleId);
             System.out.println("Vehicle deleted with ID: " + vehicleId);
         } catch (Exception e) {
             System.err.println("Error deleting vehicle: " + e.getMessage());
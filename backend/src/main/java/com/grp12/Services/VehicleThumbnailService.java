@@ -0,0 +1,85 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.VehicleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Listing thumbnails, scaled once per vehicle and photo rather than on every
+ * request. Entries are keyed by vehicle id and remember the row's updated_at
+ * they were scaled from; each request reads only that timestamp, and a
+ * changed vehicle is scaled again. An LRU bound keeps at most max-entries
+ * thumbnails (about 20 KB each) in memory.
+ */
+@Service
+public class VehicleThumbnailService {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private ImageCompressionService imageCompressionService;
+
+    private final int maxEntries;
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<Long, CachedThumbnail> cache;
+
+    public VehicleThumbnailService(@Value("${app.vehicles.thumbnail-cache.max-entries:500}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedThumbnail> eldest) {
+                return size() > VehicleThumbnailService.this.maxEntries;
+            }
+        };
+    }
+
+    // Empty when the vehicle does not exist or has no first photo
+    public Optional<byte[]> getThumbnail(Long vehicleId) throws IOException {
+        Optional<LocalDateTime> version = vehicleRepository.findPrimaryImageVersionById(vehicleId);
+        if (!version.isPresent()) {
+            return Optional.empty();
+        }
+        synchronized (cache) {
+            CachedThumbnail cached = cache.get(vehicleId);
+            if (cached != null && cached.version.equals(version.get())) {
+                return Optional.of(cached.bytes);
+            }
+        }
+
+        Optional<String> image = vehicleRepository.findPrimaryImageById(vehicleId);
+        if (!image.isPresent() || image.get().isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] bytes = imageCompressionService.createThumbnail(image.get());
+        if (maxEntries > 0) {
+            synchronized (cache) {
+                cache.put(vehicleId, new CachedThumbnail(version.get(), bytes));
+            }
+        }
+        return Optional.of(bytes);
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private static class CachedThumbnail {
+        private final LocalDateTime version;
+        private final byte[] bytes;
+
+        CachedThumbnail(LocalDateTime version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.grp12.config;
+
+import com.grp12.Model.Amenity;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One-off conversion of the old reservation_amenities join table into
+ * reservations.amenity_mask. Hibernate adds the column (default 0) on startup;
+ * this folds each reservation's amenity rows into its mask and then drops the
+ * join table, all in one transaction. Once the table is gone it is a no-op.
+ *
+ * Runs before the web server starts, so no legacy reservation is read with an
+ * empty mask. When several nodes start together the first to take the
+ * advisory lock converts; the rest wait for it, then find the table gone.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class AmenityMaskMigration {
+
+    static final long MIGRATION_LOCK_KEY = 270_270_004L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    void init() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> migrate());
+    }
+
+    void migrate() {
+        if (!legacyTablePresent()) {
+            return;
+        }
+        // Checked again under the lock: another node may have dropped the table meanwhile
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, MIGRATION_LOCK_KEY);
+        if (!legacyTablePresent()) {
+            return;
+        }
+
+        int converted = jdbcTemplate.update(
+                "UPDATE reservations r SET amenity_mask = m.mask " +
+                "FROM (SELECT reservation_id, bit_or(" + amenityBitCase() + ") AS mask " +
+                "      FROM reservation_amenities GROUP BY reservation_id) m " +
+                "WHERE r.id = m.reservation_id");
+        jdbcTemplate.execute("DROP TABLE reservation_amenities");
+
+        System.out.println("Migrated amenities of " + converted + " reservations to amenity_mask");
+    }
+
+    private boolean legacyTablePresent() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('reservation_amenities') IS NOT NULL", Boolean.class));
+    }
+
+    // CASE amenity WHEN 'none' THEN 1 WHEN 'baby-sitter' THEN 2 ... ELSE 0 END, generated from the enum
+    static String amenityBitCase() {
+        StringBuilder sql = new StringBuilder("CASE amenity");
+        for (Amenity amenity : Amenity.values()) {
+            sql.append(" WHEN '").append(amenity.getCode()).append("' THEN ").append(amenity.getBit());
+        }
+        return sql.append(" ELSE 0 END").toString();
+    }
+}
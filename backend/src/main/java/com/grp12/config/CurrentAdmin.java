@@ -0,0 +1,18 @@
+package com.grp12.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the signed-in admin into a controller method parameter of type
+ * Admin, or null when the caller is anonymous or not an admin. Resolved by
+ * CurrentAdminArgumentResolver at most once per request.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentAdmin {
+}
@@ -0,0 +1,61 @@
+package com.grp12.config;
+
+import com.grp12.Model.Admin;
+import com.grp12.Services.PrincipalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Optional;
+
+/**
+ * Resolves @CurrentAdmin parameters from the security context.
+ *
+ * The result, including "not an admin", is kept as a request attribute, so
+ * however many parameters or forwards ask for it the principal is looked up
+ * once per request (and that lookup is usually a PrincipalService cache hit).
+ * Each request gets its own detached copy.
+ */
+@Component
+public class CurrentAdminArgumentResolver implements HandlerMethodArgumentResolver {
+
+    static final String ATTRIBUTE = CurrentAdminArgumentResolver.class.getName() + ".admin";
+
+    @Autowired
+    private PrincipalService principalService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentAdmin.class)
+                && Admin.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Optional<Admin> memoised = (Optional<Admin>) webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memoised == null) {
+            memoised = Optional.ofNullable(lookup());
+            webRequest.setAttribute(ATTRIBUTE, memoised, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memoised.orElse(null);
+    }
+
+    private Admin lookup() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return principalService.currentAdmin(authentication.getName());
+    }
+}
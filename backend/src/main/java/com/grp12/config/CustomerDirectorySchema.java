@@ -0,0 +1,56 @@
+package com.grp12.config;
+
+import com.grp12.Repository.CustomerDirectoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes behind the customer directory search (CustomerDirectoryRepository).
+ * The pattern_ops btrees answer LIKE 'abc%' prefix searches whatever the
+ * database collation; the pg_trgm GIN index answers LIKE '%abc%' over
+ * SEARCH_TEXT. Creating the extension needs a privileged role, so if it is
+ * missing and cannot be created the trigram index is skipped and substring
+ * searches scan users instead.
+ *
+ * Every index is built CONCURRENTLY so sign-ups and profile updates keep
+ * writing to users while it builds; that cannot run inside a transaction, so
+ * each statement autocommits on its own. A build that failed part way leaves
+ * an invalid index, which IF NOT EXISTS would keep, so it is dropped and built
+ * again. Reruns are no-ops and one failure does not undo the rest.
+ */
+@Component
+public class CustomerDirectorySchema implements CommandLineRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        createIndex("idx_user_first_name_prefix", "ON users (LOWER(first_name) text_pattern_ops)");
+        createIndex("idx_user_last_name_prefix", "ON users (LOWER(last_name) text_pattern_ops)");
+        createIndex("idx_user_email_prefix", "ON users (email varchar_pattern_ops)");
+        createIndex("idx_user_phone_prefix", "ON users (phone_number varchar_pattern_ops)");
+        createIndex("idx_user_license_prefix", "ON users (LOWER(drivers_license_number) text_pattern_ops)");
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (RuntimeException e) {
+            System.err.println("Could not create pg_trgm, customer searches will scan users: " + e.getMessage());
+            return;
+        }
+        createIndex("idx_user_directory_trgm", "ON users USING gin ((" +
+                CustomerDirectoryRepository.SEARCH_TEXT + ") gin_trgm_ops)");
+    }
+
+    private void createIndex(String name, String definition) {
+        Boolean invalid = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_index WHERE indexrelid = to_regclass(?) AND NOT indisvalid)",
+                Boolean.class, name);
+        if (Boolean.TRUE.equals(invalid)) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " " + definition);
+    }
+}
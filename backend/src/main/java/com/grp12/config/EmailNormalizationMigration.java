@@ -0,0 +1,129 @@
+package com.grp12.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores every customer and registration email trimmed and lower-cased, the
+ * form User.normalizeEmail writes, so lookups are plain equality on the
+ * unique email index instead of LOWER(email) scans.
+ *
+ * Customers whose emails differ only in case collide once normalised. Such
+ * accounts could not sign in before (the case-insensitive lookup found two
+ * rows), so one is kept under the address, preferring an approved account
+ * and then the oldest, and the others are renamed to
+ * duplicate-<id>-<address> for an admin to sort out. Finally users(email)
+ * is given a unique index if it has none, and the plain idx_user_email,
+ * redundant next to one, is dropped. Once everything is normalised it only
+ * reads.
+ *
+ * Runs in one transaction once the entity manager factory has updated the
+ * schema, but before the web server starts: until it finishes, the equality
+ * lookups miss unnormalised rows, and a sign-up could insert a lower-cased
+ * duplicate ahead of the unique index.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class EmailNormalizationMigration {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    void init() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> migrate());
+    }
+
+    void migrate() {
+        Integer unnormalized = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM users WHERE email <> LOWER(TRIM(email))) + " +
+                "(SELECT COUNT(*) FROM registration_requests WHERE email <> LOWER(TRIM(email)))", Integer.class);
+        if (unnormalized != null && unnormalized > 0) {
+            renameCollisions();
+            int users = jdbcTemplate.update("UPDATE users SET email = LOWER(TRIM(email)) WHERE email <> LOWER(TRIM(email))");
+            int requests = jdbcTemplate.update(
+                    "UPDATE registration_requests SET email = LOWER(TRIM(email)) WHERE email <> LOWER(TRIM(email))");
+            System.out.println("Normalised the emails of " + users + " users and " + requests + " registration requests");
+        }
+        ensureUniqueEmailIndex();
+    }
+
+    private void renameCollisions() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, LOWER(TRIM(email)) AS normalized FROM users " +
+                "WHERE LOWER(TRIM(email)) IN (" +
+                "    SELECT LOWER(TRIM(email)) FROM users GROUP BY LOWER(TRIM(email)) HAVING COUNT(*) > 1) " +
+                "ORDER BY LOWER(TRIM(email)), CASE WHEN status = 'APPROVED' THEN 0 ELSE 1 END, id");
+        String kept = null;
+        for (Map<String, Object> row : rows) {
+            String normalized = (String) row.get("normalized");
+            if (!normalized.equals(kept)) {
+                kept = normalized;
+                continue;
+            }
+            long id = ((Number) row.get("id")).longValue();
+            String renamed = "duplicate-" + id + "-" + normalized;
+            jdbcTemplate.update("UPDATE users SET email = ? WHERE id = ?", renamed, id);
+            System.err.println("User " + id + " shares the email " + normalized + " with another account; renamed to " + renamed);
+        }
+    }
+
+    private void ensureUniqueEmailIndex() {
+        Map<String, Boolean> indexes = singleColumnEmailIndexes();
+        boolean hasUnique = indexes.containsValue(true);
+        if (Boolean.FALSE.equals(indexes.get("idx_user_email"))) {
+            jdbcTemplate.execute("DROP INDEX idx_user_email");
+        }
+        if (!hasUnique) {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX idx_user_email ON users (email)");
+            System.out.println("Created unique index idx_user_email on users (email)");
+        }
+        // Expression indexes for the LOWER(email) lookups this replaces
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_user_email_lower");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_reg_email_lower");
+    }
+
+    // Lower-cased index name -> unique, for indexes on users(email) alone
+    private Map<String, Boolean> singleColumnEmailIndexes() {
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Boolean>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "USERS" : "users";
+            Map<String, Boolean> unique = new HashMap<>();
+            Set<String> otherColumns = new HashSet<>();
+            try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name == null) {
+                        continue;
+                    }
+                    name = name.toLowerCase(Locale.ROOT);
+                    if ("email".equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                        unique.put(name, !rs.getBoolean("NON_UNIQUE"));
+                    } else {
+                        otherColumns.add(name);
+                    }
+                }
+            }
+            unique.keySet().removeAll(otherColumns);
+            return unique;
+        });
+    }
+}
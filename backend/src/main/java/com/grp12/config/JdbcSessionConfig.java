@@ -0,0 +1,39 @@
+package com.grp12.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.MapSession;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Keeps cookie sessions in Postgres (app.sessions.store=jdbc) so a restart or
+ * failover does not log anyone out. The session registry reads the same
+ * table, so maximumSessions(1) counts an account's sessions on every node.
+ * With the default store=memory none of this is loaded and sessions stay in
+ * the servlet container.
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.sessions.store", havingValue = "jdbc")
+public class JdbcSessionConfig {
+
+    @Bean
+    public NearCacheSessionRepository sessionRepository(JdbcTemplate jdbcTemplate,
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+            @Value("${app.sessions.touch-interval-ms:60000}") long touchIntervalMillis,
+            @Value("${app.sessions.poll-grace-ms:5000}") long pollGraceMillis) {
+        return new NearCacheSessionRepository(jdbcTemplate, Clock.systemUTC(), timeout, touchIntervalMillis, pollGraceMillis);
+    }
+
+    @Bean
+    public SpringSessionBackedSessionRegistry<MapSession> sessionRegistry(NearCacheSessionRepository sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+}
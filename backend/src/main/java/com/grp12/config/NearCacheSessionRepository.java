@@ -0,0 +1,433 @@
+package com.grp12.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP sessions stored in the http_sessions table, with a per-node near cache.
+ *
+ * A cached session is served without touching the database. Every content
+ * change bumps the row's version and modified_at; each node polls for rows
+ * modified since its last poll and marks cached copies with an older version
+ * stale, so another node's change (a logout, or the session registry
+ * expiring a session) is seen within poll-ms. Writes are optimistic on the
+ * version: if another node got there first, this node's changed attributes
+ * are re-applied on top of the stored row rather than overwriting it.
+ *
+ * A request that changes nothing only refreshes last_accessed_at, and at most
+ * once per touch-interval, so expiry seen by other nodes is accurate to
+ * that interval. Deleted sessions stay as tombstones until purge() so that
+ * no node can save them back.
+ */
+public class NearCacheSessionRepository implements FindByIndexNameSessionRepository<MapSession> {
+
+    static final String SECURITY_CONTEXT = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+    private static final int MAX_MERGE_ATTEMPTS = 3;
+    private static final String COLUMNS =
+            "id, created_at, last_accessed_at, max_inactive_seconds, attributes, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final Duration defaultMaxInactive;
+    private final long touchIntervalMillis;
+    private final long pollGraceMillis;
+    private final Map<String, CachedSession> cache = new ConcurrentHashMap<>();
+    private final RowMapper<StoredSession> storedSessionMapper = this::mapStoredSession;
+
+    // Database time of the previous poll, so node clock skew cannot hide a change
+    private volatile Timestamp lastPoll;
+
+    public NearCacheSessionRepository(JdbcTemplate jdbcTemplate, Clock clock, Duration defaultMaxInactive,
+                                      long touchIntervalMillis, long pollGraceMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.defaultMaxInactive = defaultMaxInactive;
+        this.touchIntervalMillis = touchIntervalMillis;
+        this.pollGraceMillis = pollGraceMillis;
+    }
+
+    // Every statement is IF NOT EXISTS, so each node can run this on start
+    @PostConstruct
+    public void init() {
+        jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS http_sessions (" +
+                "    id VARCHAR(36) PRIMARY KEY," +
+                "    principal_name VARCHAR(255)," +
+                "    created_at BIGINT NOT NULL," +
+                "    last_accessed_at BIGINT NOT NULL," +
+                "    max_inactive_seconds INTEGER NOT NULL," +
+                "    expires_at BIGINT NOT NULL," +
+                "    attributes BYTEA," +
+                "    version BIGINT NOT NULL," +
+                "    deleted BOOLEAN NOT NULL DEFAULT FALSE," +
+                "    modified_at TIMESTAMP NOT NULL DEFAULT now()" +
+                ")");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_http_sessions_principal ON http_sessions (principal_name)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_http_sessions_modified ON http_sessions (modified_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_http_sessions_expires ON http_sessions (expires_at)");
+        lastPoll = jdbcTemplate.queryForObject("SELECT now()", Timestamp.class);
+    }
+
+    @Override
+    public MapSession createSession() {
+        MapSession session = new MapSession();
+        Instant now = clock.instant();
+        session.setCreationTime(now);
+        session.setLastAccessedTime(now);
+        session.setMaxInactiveInterval(defaultMaxInactive);
+        return session;
+    }
+
+    @Override
+    public void save(MapSession session) {
+        String id = session.getId();
+        if (!id.equals(session.getOriginalId())) {
+            // Session id changed (fixation protection): move the row, then write it in full under the new id
+            jdbcTemplate.update("UPDATE http_sessions SET id = ?, version = version + 1, modified_at = now() " +
+                    "WHERE id = ? AND NOT deleted", id, session.getOriginalId());
+            cache.remove(session.getOriginalId());
+            cache.remove(id);
+        }
+
+        Map<String, byte[]> attributes = serializeAttributes(session);
+        long lastAccess = session.getLastAccessedTime().toEpochMilli();
+        CachedSession cached = cache.get(id);
+        if (cached == null) {
+            insertOrReplace(session, attributes);
+            return;
+        }
+
+        if (cached.sameContent(attributes, session.getMaxInactiveInterval())) {
+            if (lastAccess - cached.persistedLastAccess < touchIntervalMillis) {
+                cache.replace(id, cached, cached.accessed(session));
+                return;
+            }
+            int touched = jdbcTemplate.update("UPDATE http_sessions SET last_accessed_at = ?, expires_at = ? " +
+                    "WHERE id = ? AND NOT deleted", lastAccess, expiresAt(session), id);
+            if (touched == 0) {
+                cache.remove(id);
+            } else {
+                cache.replace(id, cached, cached.touched(session));
+            }
+            return;
+        }
+
+        int updated = jdbcTemplate.update("UPDATE http_sessions SET principal_name = ?, last_accessed_at = ?, " +
+                        "max_inactive_seconds = ?, expires_at = ?, attributes = ?, version = version + 1, modified_at = now() " +
+                        "WHERE id = ? AND version = ? AND NOT deleted",
+                principalName(session), lastAccess, (int) session.getMaxInactiveInterval().getSeconds(),
+                expiresAt(session), serialize(new HashMap<>(attributes)), id, cached.version);
+        if (updated == 1) {
+            cache.put(id, new CachedSession(new MapSession(session), attributes, cached.version + 1, lastAccess));
+        } else {
+            mergeIntoStored(session, cached, attributes);
+        }
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        CachedSession cached = cache.get(id);
+        if (cached == null || cached.stale || isExpired(cached.session)) {
+            // Locally expired may only mean another node has been serving it; the stored row decides
+            cached = load(id);
+            if (cached == null) {
+                return null;
+            }
+            if (isExpired(cached.session)) {
+                deleteById(id);
+                return null;
+            }
+        }
+        return new MapSession(cached.session);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        jdbcTemplate.update("UPDATE http_sessions SET deleted = TRUE, attributes = NULL, version = version + 1, " +
+                "modified_at = now() WHERE id = ?", id);
+        cache.remove(id);
+    }
+
+    // Always read from the table: the session registry uses this to count an account's sessions on every node
+    @Override
+    public Map<String, MapSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Map.of();
+        }
+        List<StoredSession> rows = jdbcTemplate.query("SELECT " + COLUMNS + " FROM http_sessions " +
+                "WHERE principal_name = ? AND NOT deleted AND expires_at > ?",
+                storedSessionMapper, indexValue, clock.millis());
+        Map<String, MapSession> sessions = new LinkedHashMap<>();
+        for (StoredSession row : rows) {
+            sessions.put(row.session.getId(), row.session);
+        }
+        return sessions;
+    }
+
+    /**
+     * Marks cached sessions stale when their row changed since the last poll
+     * and drops deleted or expired ones. The window reaches back pollGrace
+     * before the previous poll, because modified_at is stamped when a
+     * transaction starts, not when it commits.
+     */
+    @Scheduled(fixedDelayString = "${app.sessions.poll-ms:1000}", initialDelayString = "${app.sessions.poll-ms:1000}")
+    public void poll() {
+        Timestamp now = jdbcTemplate.queryForObject("SELECT now()", Timestamp.class);
+        Timestamp since = new Timestamp(lastPoll.getTime() - pollGraceMillis);
+        jdbcTemplate.query("SELECT id, version, deleted FROM http_sessions WHERE modified_at > ?", rs -> {
+            CachedSession cached = cache.get(rs.getString("id"));
+            if (cached == null) {
+                return;
+            }
+            if (rs.getBoolean("deleted")) {
+                cache.remove(cached.session.getId(), cached);
+            } else if (rs.getLong("version") != cached.version) {
+                cache.replace(cached.session.getId(), cached, cached.markStale());
+            }
+        }, since);
+        lastPoll = now;
+        cache.values().removeIf(cached -> isExpired(cached.session));
+    }
+
+    // Any node may purge; tombstones are kept well past the poll window so no node misses a delete
+    @Scheduled(fixedDelayString = "${app.sessions.purge-ms:600000}")
+    public void purge() {
+        int purged = jdbcTemplate.update("DELETE FROM http_sessions WHERE expires_at < ? " +
+                "OR (deleted AND modified_at < now() - interval '1 hour')", clock.millis());
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " expired or deleted sessions");
+        }
+    }
+
+    int cachedCount() {
+        return cache.size();
+    }
+
+    // New session, or one this node has not loaded; a tombstoned row is never brought back
+    private void insertOrReplace(MapSession session, Map<String, byte[]> attributes) {
+        long lastAccess = session.getLastAccessedTime().toEpochMilli();
+        List<Long> versions = jdbcTemplate.query(
+                "INSERT INTO http_sessions (id, principal_name, created_at, last_accessed_at, max_inactive_seconds, " +
+                "expires_at, attributes, version, deleted, modified_at) VALUES (?, ?, ?, ?, ?, ?, ?, 1, FALSE, now()) " +
+                "ON CONFLICT (id) DO UPDATE SET principal_name = EXCLUDED.principal_name, " +
+                "last_accessed_at = EXCLUDED.last_accessed_at, max_inactive_seconds = EXCLUDED.max_inactive_seconds, " +
+                "expires_at = EXCLUDED.expires_at, attributes = EXCLUDED.attributes, " +
+                "version = http_sessions.version + 1, modified_at = now() " +
+                "WHERE NOT http_sessions.deleted RETURNING version",
+                (rs, rowNum) -> rs.getLong(1),
+                session.getId(), principalName(session), session.getCreationTime().toEpochMilli(), lastAccess,
+                (int) session.getMaxInactiveInterval().getSeconds(), expiresAt(session),
+                serialize(new HashMap<>(attributes)));
+        if (!versions.isEmpty()) {
+            cache.put(session.getId(), new CachedSession(new MapSession(session), attributes, versions.get(0), lastAccess));
+        }
+    }
+
+    // Another node saved first: apply only what this request changed to the stored attributes, then retry
+    private void mergeIntoStored(MapSession session, CachedSession base, Map<String, byte[]> attributes) {
+        for (int attempt = 0; attempt < MAX_MERGE_ATTEMPTS; attempt++) {
+            StoredSession stored = loadStored(session.getId());
+            if (stored == null) {
+                cache.remove(session.getId());
+                return;
+            }
+            Map<String, byte[]> merged = new HashMap<>(stored.attributes);
+            for (Map.Entry<String, byte[]> attribute : attributes.entrySet()) {
+                if (!Arrays.equals(attribute.getValue(), base.attributes.get(attribute.getKey()))) {
+                    merged.put(attribute.getKey(), attribute.getValue());
+                }
+            }
+            for (String name : base.attributes.keySet()) {
+                if (!attributes.containsKey(name)) {
+                    merged.remove(name);
+                }
+            }
+
+            MapSession result = new MapSession(session);
+            for (String name : result.getAttributeNames().toArray(new String[0])) {
+                result.removeAttribute(name);
+            }
+            merged.forEach((name, bytes) -> result.setAttribute(name, deserialize(bytes)));
+            if (stored.session.getLastAccessedTime().isAfter(result.getLastAccessedTime())) {
+                result.setLastAccessedTime(stored.session.getLastAccessedTime());
+            }
+
+            long lastAccess = result.getLastAccessedTime().toEpochMilli();
+            int updated = jdbcTemplate.update("UPDATE http_sessions SET principal_name = ?, last_accessed_at = ?, " +
+                            "max_inactive_seconds = ?, expires_at = ?, attributes = ?, version = version + 1, " +
+                            "modified_at = now() WHERE id = ? AND version = ? AND NOT deleted",
+                    principalName(result), lastAccess, (int) result.getMaxInactiveInterval().getSeconds(),
+                    expiresAt(result), serialize(new HashMap<>(merged)), result.getId(), stored.version);
+            if (updated == 1) {
+                cache.put(result.getId(), new CachedSession(result, merged, stored.version + 1, lastAccess));
+                return;
+            }
+        }
+        cache.remove(session.getId());
+        System.err.println("Session " + session.getId() + " changed concurrently, dropped this request's changes");
+    }
+
+    private CachedSession load(String id) {
+        StoredSession stored = loadStored(id);
+        if (stored == null) {
+            cache.remove(id);
+            return null;
+        }
+        CachedSession cached = new CachedSession(stored.session, stored.attributes, stored.version,
+                stored.session.getLastAccessedTime().toEpochMilli());
+        cache.put(id, cached);
+        return cached;
+    }
+
+    private StoredSession loadStored(String id) {
+        List<StoredSession> rows = jdbcTemplate.query("SELECT " + COLUMNS + " FROM http_sessions WHERE id = ? AND NOT deleted",
+                storedSessionMapper, id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StoredSession mapStoredSession(ResultSet rs, int rowNum) throws SQLException {
+        MapSession session = new MapSession(rs.getString("id"));
+        session.setCreationTime(Instant.ofEpochMilli(rs.getLong("created_at")));
+        session.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong("last_accessed_at")));
+        session.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive_seconds")));
+        byte[] stored = rs.getBytes("attributes");
+        Map<String, byte[]> attributes = stored == null ? new HashMap<>() : (Map<String, byte[]>) deserialize(stored);
+        attributes.forEach((name, bytes) -> session.setAttribute(name, deserialize(bytes)));
+        return new StoredSession(session, attributes, rs.getLong("version"));
+    }
+
+    private boolean isExpired(MapSession session) {
+        return session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).isBefore(clock.instant());
+    }
+
+    private static long expiresAt(Session session) {
+        return session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli();
+    }
+
+    static String principalName(Session session) {
+        String name = session.getAttribute(PRINCIPAL_NAME_INDEX_NAME);
+        if (name != null) {
+            return name;
+        }
+        Object context = session.getAttribute(SECURITY_CONTEXT);
+        if (context instanceof SecurityContext securityContext && securityContext.getAuthentication() != null) {
+            return securityContext.getAuthentication().getName();
+        }
+        return null;
+    }
+
+    // Each attribute is serialized on its own so a change can be detected, and merged, per attribute
+    private static Map<String, byte[]> serializeAttributes(Session session) {
+        Map<String, byte[]> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, serialize(session.getAttribute(name)));
+        }
+        return attributes;
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Session attribute is not serializable: " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(new ByteArrayInputStream(bytes),
+                getClass().getClassLoader())) {
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not read session attribute", e);
+        }
+    }
+
+    private static class StoredSession {
+        private final MapSession session;
+        private final Map<String, byte[]> attributes;
+        private final long version;
+
+        StoredSession(MapSession session, Map<String, byte[]> attributes, long version) {
+            this.session = session;
+            this.attributes = attributes;
+            this.version = version;
+        }
+    }
+
+    // Immutable; replaced as a whole so concurrent requests and the poller never see a half-updated entry
+    private static class CachedSession {
+        private final MapSession session;
+        private final Map<String, byte[]> attributes;
+        private final long version;
+        private final long persistedLastAccess;
+        private final boolean stale;
+
+        CachedSession(MapSession session, Map<String, byte[]> attributes, long version, long persistedLastAccess) {
+            this(session, attributes, version, persistedLastAccess, false);
+        }
+
+        private CachedSession(MapSession session, Map<String, byte[]> attributes, long version,
+                              long persistedLastAccess, boolean stale) {
+            this.session = session;
+            this.attributes = attributes;
+            this.version = version;
+            this.persistedLastAccess = persistedLastAccess;
+            this.stale = stale;
+        }
+
+        boolean sameContent(Map<String, byte[]> other, Duration maxInactive) {
+            if (!Objects.equals(session.getMaxInactiveInterval(), maxInactive) || other.size() != attributes.size()) {
+                return false;
+            }
+            for (Map.Entry<String, byte[]> attribute : other.entrySet()) {
+                if (!Arrays.equals(attribute.getValue(), attributes.get(attribute.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        CachedSession accessed(MapSession current) {
+            return new CachedSession(new MapSession(current), attributes, version, persistedLastAccess, stale);
+        }
+
+        CachedSession touched(MapSession current) {
+            return new CachedSession(new MapSession(current), attributes, version,
+                    current.getLastAccessedTime().toEpochMilli(), stale);
+        }
+
+        CachedSession markStale() {
+            return new CachedSession(session, attributes, version, persistedLastAccess, true);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.grp12.config;
+
+import com.grp12.Services.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Which endpoints RateLimitFilter throttles, and with which limits (app.rate-limit.*)
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.login.per-ip:30/60}")
+    private String loginPerIp;
+
+    @Value("${app.rate-limit.login.per-email:10/300}")
+    private String loginPerEmail;
+
+    @Value("${app.rate-limit.email.per-ip:10/600}")
+    private String emailPerIp;
+
+    @Value("${app.rate-limit.email.per-email:3/600}")
+    private String emailPerEmail;
+
+    @Value("${app.rate-limit.code.per-ip:30/60}")
+    private String codePerIp;
+
+    @Value("${app.rate-limit.code.per-email:10/600}")
+    private String codePerEmail;
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter,
+                                                                   CorsConfigurationSource corsConfigurationSource) {
+        // BCrypt: password sign-ins
+        RateLimitFilter.Rule login = new RateLimitFilter.Rule("login",
+                RateLimiter.Limit.parse("login.per-ip", loginPerIp), RateLimiter.Limit.parse("login.per-email", loginPerEmail));
+        // SMTP: anything that emails a code
+        RateLimitFilter.Rule email = new RateLimitFilter.Rule("email",
+                RateLimiter.Limit.parse("email.per-ip", emailPerIp), RateLimiter.Limit.parse("email.per-email", emailPerEmail));
+        // Guessing six-digit verification and reset codes
+        RateLimitFilter.Rule code = new RateLimitFilter.Rule("code",
+                RateLimiter.Limit.parse("code.per-ip", codePerIp), RateLimiter.Limit.parse("code.per-email", codePerEmail));
+
+        Map<String, RateLimitFilter.Rule> rules = new HashMap<>();
+        rules.put("/api/auth/login", login);
+        rules.put("/api/admin/login", login);
+        rules.put("/api/auth/token", login);
+        rules.put("/api/email/send-verification", email);
+        rules.put("/api/auth/request-password-reset", email);
+        rules.put("/api/email/verify-code", code);
+        rules.put("/api/auth/verify-reset-code", code);
+        rules.put("/api/auth/reset-password", code);
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(rateLimiter, corsConfigurationSource, rules));
+        // Ahead of the session repository and security filters, so a refusal costs no session or database work
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
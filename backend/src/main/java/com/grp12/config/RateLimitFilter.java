@@ -0,0 +1,207 @@
+package com.grp12.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grp12.Services.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles the public POST endpoints that send email or check a password or
+ * one-time code, per client address and per email in the body.
+ *
+ * It runs ahead of the session and security filters, so a refused request
+ * gets its 429 before anything reads the database. The body is read once
+ * to find the email and replayed to the controller; these endpoints take a
+ * few small fields, so a body over MAX_BODY_BYTES is refused with 413 rather
+ * than buffered or cut short.
+ * Refusals still carry the CORS headers, so the browser can show the message
+ * instead of a CORS error.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final int MAX_BODY_BYTES = 16 * 1024;
+
+    // One group of endpoints sharing buckets; perEmail may be null
+    public static final class Rule {
+        private final String name;
+        private final RateLimiter.Limit perIp;
+        private final RateLimiter.Limit perEmail;
+
+        public Rule(String name, RateLimiter.Limit perIp, RateLimiter.Limit perEmail) {
+            this.name = name;
+            this.perIp = perIp;
+            this.perEmail = perEmail;
+        }
+    }
+
+    private final RateLimiter rateLimiter;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final Map<String, Rule> rulesByPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultCorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    public RateLimitFilter(RateLimiter rateLimiter, CorsConfigurationSource corsConfigurationSource,
+                           Map<String, Rule> rulesByPath) {
+        this.rateLimiter = rateLimiter;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.rulesByPath = rulesByPath;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !rulesByPath.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = rulesByPath.get(path(request));
+        if (!rateLimiter.tryAcquire(rule.name + ":ip:" + request.getRemoteAddr(), rule.perIp)) {
+            reject(request, response, rule.perIp);
+            return;
+        }
+        if (rule.perEmail == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Content-Length may be absent (chunked), so also stop reading one byte past the cap
+        byte[] body = request.getContentLengthLong() > MAX_BODY_BYTES
+                ? null : request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body == null || body.length > MAX_BODY_BYTES) {
+            refuse(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large");
+            return;
+        }
+        String email = email(body);
+        if (email != null && !rateLimiter.tryAcquire(rule.name + ":email:" + email, rule.perEmail)) {
+            reject(request, response, rule.perEmail);
+            return;
+        }
+        chain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // Lower-cased so changing the case of an address does not buy a fresh bucket
+    private String email(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException | RuntimeException e) {
+            // Not JSON; the controller will refuse it
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RateLimiter.Limit limit)
+            throws IOException {
+        response.setHeader("Retry-After", String.valueOf(limit.getRetryAfterSeconds()));
+        refuse(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please try again in a few minutes");
+    }
+
+    private void refuse(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null) {
+            corsProcessor.processRequest(cors, request, response);
+        }
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    // Serves the already-read body to the controller
+    static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return in.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available and then finished at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.grp12.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates reservations_archive, range-partitioned by rental_date. Yearly
+ * partitions are added by ReservationArchiveService as rows for a new year
+ * arrive; there is deliberately no default partition, so adding a year never
+ * has to move rows. Every statement is IF NOT EXISTS, so reruns are no-ops.
+ *
+ * Runs once the entity manager factory has updated the schema, but before
+ * the web server starts, since quotes, bookings, the fleet timeline and the
+ * customer directory all read the archive.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ReservationArchiveSchema {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    void init() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> createArchive());
+    }
+
+    void createArchive() {
+        jdbcTemplate.execute(
+                "CREATE TABLE IF NOT EXISTS reservations_archive (" +
+                "    id BIGINT NOT NULL," +
+                "    vehicle_id BIGINT NOT NULL," +
+                "    user_id BIGINT NOT NULL," +
+                "    title VARCHAR(10)," +
+                "    first_name VARCHAR(100)," +
+                "    last_name VARCHAR(100)," +
+                "    rental_date DATE NOT NULL," +
+                "    return_date DATE NOT NULL," +
+                "    status VARCHAR(20) NOT NULL," +
+                "    amenity_mask INTEGER NOT NULL DEFAULT 0," +
+                "    total_price DECIMAL(10,2) NOT NULL," +
+                "    created_at TIMESTAMP NOT NULL," +
+                "    updated_at TIMESTAMP," +
+                "    vehicle_make VARCHAR(50)," +
+                "    vehicle_model VARCHAR(50)," +
+                "    vehicle_type VARCHAR(30)," +
+                "    vehicle_year INTEGER," +
+                "    vehicle_location VARCHAR(100)," +
+                "    vehicle_license_plate VARCHAR(20)," +
+                "    vehicle_price_per_day DECIMAL(8,2)," +
+                "    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+                "    PRIMARY KEY (id, rental_date)" +
+                ") PARTITION BY RANGE (rental_date)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_reservation_archive_user_rental " +
+                "ON reservations_archive (user_id, rental_date)");
+    }
+}
@@ -1,10 +1,14 @@
 package com.grp12.config;
 
-import com.grp12.Model.Admin;
-import com.grp12.Model.User;
+import com.grp12.DTO.AuthPrincipal;
 import com.grp12.Repository.AdminRepository;
 import com.grp12.Repository.UserRepository;
+import com.grp12.Services.PrincipalService;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.grp12.Services.TokenService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,18 +17,19 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
-import java.util.Optional;
 
 @Configuration
 @EnableWebSecurity
@@ -37,9 +42,51 @@ public class SecurityConfig {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalService principalService;
+
+    // session: servlet HttpSession per node (default). token: stateless bearer tokens, see TokenService
+    @Value("${app.auth.mode:session}")
+    private String authMode;
+
+    @Autowired
+    private ObjectProvider<TokenService> tokenService;
+
+    // Only defined with app.sessions.store=jdbc; otherwise Spring Security keeps its in-memory registry
+    @Autowired
+    private ObjectProvider<SessionRegistry> sessionRegistry;
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    // Defaults to half the cores so a login burst cannot starve catalog requests
+    @Value("${app.security.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${app.security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${app.security.bcrypt.timeout-ms:5000}")
+    private long bcryptTimeoutMillis;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = bcryptThreads > 0 ? bcryptThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(bcryptStrength, threads, bcryptQueueCapacity, bcryptTimeoutMillis, meterRegistry);
+    }
+
+    // DaoAuthenticationProvider calls this after a good login whose hash has a different work factor
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            if (adminRepository.updatePasswordByEmail(userDetails.getUsername(), newPassword) == 0) {
+                userRepository.updatePasswordByEmail(userDetails.getUsername(), newPassword);
+            }
+            principalService.evictEmail(userDetails.getUsername());
+            return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                    .password(newPassword)
+                    .build();
+        };
     }
 
     @Bean
@@ -47,35 +94,18 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // One query per cache miss; see PrincipalService for caching and eviction
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
-            System.out.println("=== LOADING USER: " + username + " ===");
-            Optional<Admin> adminOptional = adminRepository.findByEmail(username);
-            if (adminOptional.isEmpty()) adminOptional = adminRepository.findByUsername(username);
-
-            if (adminOptional.isPresent()) {
-                Admin admin = adminOptional.get();
-                String authority = "SUPER_ADMIN".equals(admin.getRole()) ? "ROLE_SUPER_ADMIN" : "ROLE_ADMIN";
-                return org.springframework.security.core.userdetails.User.builder()
-                        .username(admin.getEmail())
-                        .password(admin.getPassword())
-                        .authorities(authority)
-                        .build();
-            }
-
-            Optional<User> userOptional = userRepository.findByEmailForAuth(username);
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
-                return org.springframework.security.core.userdetails.User.builder()
-                        .username(user.getEmail())
-                        .password(user.getPassword())
-                        .authorities("ROLE_USER")
-                        .disabled(!user.getApproved())
-                        .build();
-            }
-
-            throw new UsernameNotFoundException("User not found: " + username);
+            AuthPrincipal principal = principalService.resolve(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(principal.getEmail())
+                    .password(principal.getPassword())
+                    .authorities(principal.getAuthority())
+                    .disabled(!principal.isEnabled())
+                    .build();
         };
     }
 
@@ -106,6 +136,7 @@ public class SecurityConfig {
                 .requestMatchers("/api/vehicles/available").permitAll()
                 .requestMatchers("/api/vehicles/locations").permitAll()
                 .requestMatchers("/api/vehicles/types").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/vehicles/{id}/thumbnail").permitAll()
 
                 // Admin public endpoints
                 .requestMatchers("/api/admin/login").permitAll()
@@ -123,18 +154,36 @@ public class SecurityConfig {
 
                 // Reservation endpoints
                 .requestMatchers(HttpMethod.POST, "/api/reservations").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/reservations/group").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/reservations/quote").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/reservations/holds").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/api/reservations/holds/{holdId}").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/reservations/user/{userId}").authenticated() 
                 .requestMatchers(HttpMethod.PUT, "/api/reservations/{id}/cancel").authenticated() 
+                .requestMatchers(HttpMethod.PATCH, "/api/reservations/{id}").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/reservations/{id}/cancellation-quote").authenticated()
                 .requestMatchers("/api/reservations/**").hasAnyRole("ADMIN", "SUPER_ADMIN") 
 
+                // Analytics dashboards
+                .requestMatchers("/api/analytics/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
+
                 // Everything else requires authentication
                 .anyRequest().authenticated()
-            )
-            .sessionManagement(session -> session
+            );
+
+        if ("token".equals(authMode)) {
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService.getObject(), principalService),
+                        UsernamePasswordAuthenticationFilter.class);
+        } else {
+            http.sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
+                .sessionRegistry(sessionRegistry.getIfAvailable())
             );
+        }
 
         return http.build();
     }
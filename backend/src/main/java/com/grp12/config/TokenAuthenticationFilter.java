@@ -0,0 +1,62 @@
+package com.grp12.config;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.Services.AccessTokenCodec;
+import com.grp12.Services.PrincipalService;
+import com.grp12.Services.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates "Authorization: Bearer" requests in token mode.
+ *
+ * The token is verified in memory; the account is then read through
+ * PrincipalService (normally a cache hit) so a deactivated admin or
+ * unapproved customer is refused even while their token is still valid.
+ * A missing or bad token leaves the request anonymous and the normal
+ * authorisation rules answer it. The verified claims are kept as a request
+ * attribute for logout.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String CLAIMS_ATTRIBUTE = TokenAuthenticationFilter.class.getName() + ".claims";
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+    private final PrincipalService principalService;
+
+    public TokenAuthenticationFilter(TokenService tokenService, PrincipalService principalService) {
+        this.tokenService = tokenService;
+        this.principalService = principalService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            AccessTokenCodec.Claims claims = tokenService.authenticate(header.substring(BEARER.length()).trim());
+            if (claims != null) {
+                Optional<AuthPrincipal> principal = principalService.resolve(claims.getSubject())
+                        .filter(AuthPrincipal::isEnabled);
+                if (principal.isPresent()) {
+                    UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                            principal.get().getEmail(), null,
+                            AuthorityUtils.createAuthorityList(principal.get().getAuthority()));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                }
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.grp12.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves users_seq past the ids already in users. User ids used to come from
+ * the users.id BIGSERIAL (IDENTITY); they now come from users_seq, which
+ * Hibernate creates starting at 1 and hands out 50 at a time, the last
+ * value fetched being the top of each block.
+ *
+ * Runs once the entity manager factory has created the sequence, but before
+ * the web server starts, so no insert can take an id from the old range.
+ * Once the sequence is ahead of every id it only reads.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class UserIdSequenceMigration {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        List<Long> moved = jdbcTemplate.queryForList(
+                "SELECT setval('users_seq', m.max_id) FROM (SELECT MAX(id) AS max_id FROM users) m " +
+                "WHERE m.max_id >= (SELECT last_value FROM users_seq)", Long.class);
+        if (!moved.isEmpty()) {
+            System.out.println("Moved users_seq past existing user ids to " + moved.get(0));
+        }
+    }
+}
@@ -18,6 +18,7 @@ CREATE TABLE IF NOT EXISTS registration_requests (
 CREATE INDEX IF NOT EXISTS idx_reg_email ON registration_requests(email);
 CREATE INDEX IF NOT EXISTS idx_reg_status ON registration_requests(status);
 CREATE INDEX IF NOT EXISTS idx_reg_license ON registration_requests(drivers_license_number);
+CREATE INDEX IF NOT EXISTS idx_reg_phone ON registration_requests(phone_number);
 
 -- Create users table if it doesn't exist
 CREATE TABLE IF NOT EXISTS users (
@@ -37,9 +38,24 @@ CREATE TABLE IF NOT EXISTS users (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Create indexes for users table
-CREATE INDEX IF NOT EXISTS idx_user_email ON users(email);
+-- users.id comes from users_seq, 50 ids per nextval (Hibernate pooled optimizer); the BIGSERIAL default is unused
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT MAX(id) FROM users)) WHERE (SELECT MAX(id) FROM users) >= (SELECT last_value FROM users_seq);
+
+-- Create indexes for users table (emails are stored lower-cased; the UNIQUE constraint's index serves lookups)
 CREATE INDEX IF NOT EXISTS idx_user_license ON users(drivers_license_number);
+CREATE INDEX IF NOT EXISTS idx_user_phone ON users(phone_number);
+
+-- Customer directory search (CustomerDirectorySchema): prefix matches on each column, substring matches through pg_trgm
+-- On a populated users table CustomerDirectorySchema builds these CONCURRENTLY; plain CREATE is fine for a fresh schema
+CREATE INDEX IF NOT EXISTS idx_user_first_name_prefix ON users (LOWER(first_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_last_name_prefix ON users (LOWER(last_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_email_prefix ON users (email varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_phone_prefix ON users (phone_number varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_user_license_prefix ON users (LOWER(drivers_license_number) text_pattern_ops);
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_user_directory_trgm ON users USING gin
+    ((LOWER(first_name || ' ' || last_name || ' ' || email || ' ' || phone_number || ' ' || drivers_license_number)) gin_trgm_ops);
 
 -- Create admins table if it doesn't exist
 CREATE TABLE IF NOT EXISTS admins (
@@ -105,18 +121,109 @@ CREATE TABLE IF NOT EXISTS reservations (
     rental_date DATE NOT NULL,
     return_date DATE NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT 'Confirmed',
+    amenity_mask INTEGER NOT NULL DEFAULT 0,
     total_price DECIMAL(10,2) NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP
 );
 
--- Create reservation_amenities table for ElementCollection
-CREATE TABLE IF NOT EXISTS reservation_amenities (
-    reservation_id BIGINT NOT NULL,
-    amenity VARCHAR(255),
-    FOREIGN KEY (reservation_id) REFERENCES reservations(id) ON DELETE CASCADE
+-- Create indexes for reservations table
+CREATE INDEX IF NOT EXISTS idx_reservation_status_return ON reservations(status, return_date);
+CREATE INDEX IF NOT EXISTS idx_reservation_user_rental ON reservations(user_id, rental_date);
+CREATE INDEX IF NOT EXISTS idx_reservation_vehicle_rental ON reservations(vehicle_id, rental_date);
+CREATE INDEX IF NOT EXISTS idx_reservation_rental_date ON reservations(rental_date);
+
+-- Old Completed/Cancelled bookings are moved by ReservationArchiveService into reservations_archive,
+-- range-partitioned by rental_date with one partition per year (created by ReservationArchiveSchema)
+
+-- Amenities are stored as a bitmask in reservations.amenity_mask (see Amenity);
+-- the old reservation_amenities table is converted and dropped by AmenityMaskMigration
+
+-- Daily booking aggregates behind /api/analytics, maintained by ReservationService and AnalyticsService
+CREATE TABLE IF NOT EXISTS reservation_daily_stats (
+    stat_date DATE NOT NULL,
+    vehicle_id BIGINT NOT NULL,
+    location VARCHAR(100),
+    vehicle_type VARCHAR(30),
+    bookings INTEGER NOT NULL,
+    booked_days INTEGER NOT NULL,
+    revenue DECIMAL(12,2) NOT NULL,
+    cancellations INTEGER NOT NULL,
+    PRIMARY KEY (stat_date, vehicle_id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_daily_stats_location_date ON reservation_daily_stats(location, stat_date);
+CREATE INDEX IF NOT EXISTS idx_daily_stats_type_date ON reservation_daily_stats(vehicle_type, stat_date);
+
+-- Checkout holds (only used when app.holds.store=database)
+CREATE TABLE IF NOT EXISTS checkout_holds (
+    id VARCHAR(36) PRIMARY KEY,
+    vehicle_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    rental_date DATE NOT NULL,
+    return_date DATE NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_checkout_hold_vehicle_expiry ON checkout_holds(vehicle_id, expires_at);
+CREATE INDEX IF NOT EXISTS idx_checkout_hold_user ON checkout_holds(user_id);
+
+-- Stateless auth (app.auth.mode=token): hashed refresh tokens and revoked access token ids
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id VARCHAR(36) PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_token_hash ON refresh_tokens(token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_subject ON refresh_tokens(subject);
+
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_access_token_expiry ON revoked_access_tokens(expires_at);
+
+-- One-time codes for DatabaseCodeStore (app.codes.store=database)
+CREATE TABLE IF NOT EXISTS pending_codes (
+    id VARCHAR(320) PRIMARY KEY,
+    code VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_pending_code_expiry ON pending_codes(expires_at);
+
+-- Shared rate limit buckets for DatabaseRateLimiter (app.rate-limit.store=database)
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(400) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_bucket_refilled ON rate_limit_buckets(refilled_at);
+
+-- Shared HTTP sessions (app.sessions.store=jdbc); also created on start by NearCacheSessionRepository
+CREATE TABLE IF NOT EXISTS http_sessions (
+    id VARCHAR(36) PRIMARY KEY,
+    principal_name VARCHAR(255),
+    created_at BIGINT NOT NULL,
+    last_accessed_at BIGINT NOT NULL,
+    max_inactive_seconds INTEGER NOT NULL,
+    expires_at BIGINT NOT NULL,
+    attributes BYTEA,
+    version BIGINT NOT NULL,
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    modified_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_http_sessions_principal ON http_sessions(principal_name);
+CREATE INDEX IF NOT EXISTS idx_http_sessions_modified ON http_sessions(modified_at);
+CREATE INDEX IF NOT EXISTS idx_http_sessions_expires ON http_sessions(expires_at);
+
 -- Create maintenance_records table if it doesn't exist
 CREATE TABLE IF NOT EXISTS maintenance_records (
     id BIGSERIAL PRIMARY KEY,
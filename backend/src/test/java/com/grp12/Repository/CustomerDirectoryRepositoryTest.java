@@ -0,0 +1,90 @@
+package com.grp12.Repository;
+
+import com.grp12.DTO.CustomerDirectoryEntry;
+import com.grp12.DTO.CustomerDirectoryPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the directory query against H2 in PostgreSQL mode; the pg_trgm and pattern_ops indexes are Postgres-only
+class CustomerDirectoryRepositoryTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CustomerDirectoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:directory;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, title VARCHAR(10), first_name VARCHAR(100) NOT NULL, " +
+                "last_name VARCHAR(100) NOT NULL, email VARCHAR(255) NOT NULL, phone_number VARCHAR(20) NOT NULL, " +
+                "drivers_license_number VARCHAR(50) NOT NULL, drivers_license_image TEXT, role VARCHAR(50) NOT NULL, " +
+                "status VARCHAR(20) NOT NULL, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE reservations (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE reservations_archive (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO users VALUES " +
+                "(1, 'Mr', 'Jane', 'Smith', 'jane@gmail.com', '7001001', '1000001', 'aW1hZ2U=', 'ROLE_CUSTOMER', 'APPROVED', NULL), " +
+                "(2, 'Ms', 'Bob', 'Jones', 'bob_j@gmail.com', '7001002', '1000002', NULL, 'ROLE_CUSTOMER', 'APPROVED', NULL), " +
+                "(3, NULL, 'Ana', 'Janssen', 'ana@gmail.com', '7001003', '1000003', NULL, 'ROLE_CUSTOMER', 'PENDING', NULL), " +
+                "(4, NULL, 'Sam', 'Stone', 'sam@gmail.com', '9123456', '2000004', NULL, 'ROLE_CUSTOMER', 'APPROVED', NULL), " +
+                "(5, NULL, 'Ada', 'Admin', 'admin@gmail.com', '7001005', '1000005', NULL, 'ROLE_ADMIN', 'APPROVED', NULL), " +
+                "(6, NULL, 'Bobby', 'Fisher', 'bobjones@gmail.com', '7001006', '1000006', NULL, 'ROLE_CUSTOMER', 'APPROVED', NULL)");
+        jdbcTemplate.update("INSERT INTO reservations VALUES (1, 1), (2, 1), (3, 4)");
+        jdbcTemplate.update("INSERT INTO reservations_archive VALUES (1, 1), (2, 6)");
+        repository = new CustomerDirectoryRepository(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void findPage_ShouldKeysetPageApprovedCustomersWithReservationCounts() {
+        CustomerDirectoryPage first = repository.findPage(null, null, 2);
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(2L, first.getNextCursor());
+
+        CustomerDirectoryEntry jane = first.getCustomers().get(0);
+        assertEquals(3, jane.getReservationCount());
+        assertTrue(jane.isHasLicenseImage());
+        assertEquals(0, first.getCustomers().get(1).getReservationCount());
+        assertFalse(first.getCustomers().get(1).isHasLicenseImage());
+
+        CustomerDirectoryPage second = repository.findPage(null, first.getNextCursor(), 2);
+        assertEquals(List.of(4L, 6L), ids(second));
+        assertEquals(1, second.getCustomers().get(1).getReservationCount());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void findPage_ShouldPrefixMatchShortSearchesAndSubstringMatchLongerOnes() {
+        // "jo" is a prefix of Jones only; "ja" is a prefix of Jane and jane@, but Janssen is not approved
+        assertEquals(List.of(2L), ids(repository.findPage("Jo", null, 10)));
+        assertEquals(List.of(1L), ids(repository.findPage(" JA ", null, 10)));
+        assertEquals(List.of(4L), ids(repository.findPage("91", null, 10)));
+
+        // Three characters or more match anywhere in name, email, phone or licence
+        assertEquals(List.of(2L, 6L), ids(repository.findPage("jones", null, 10)));
+        assertEquals(List.of(1L), ids(repository.findPage("jane smith", null, 10)));
+        assertEquals(List.of(4L), ids(repository.findPage("00004", null, 10)));
+
+        // LIKE wildcards in the search are literal
+        assertEquals(List.of(2L), ids(repository.findPage("b_j", null, 10)));
+        assertEquals(List.of(), ids(repository.findPage("%", null, 10)));
+    }
+
+    private static List<Long> ids(CustomerDirectoryPage page) {
+        return page.getCustomers().stream().map(CustomerDirectoryEntry::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.AnalyticsRow;
+import com.grp12.Repository.ReservationDailyStatRepository;
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    @Mock
+    private ReservationDailyStatRepository statRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @Test
+    void summary_ShouldAnswerFromAggregatesWithUtilisation() {
+        // Arrange - 10 vehicles in February 2025 (28 days) = 280 vehicle-days, 70 booked
+        LocalDate from = LocalDate.of(2025, 2, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        when(statRepository.totalsBetween(from, to))
+                .thenReturn(new AnalyticsRow("total", 12L, 70L, new BigDecimal("4200.00"), 2L));
+        when(vehicleRepository.count()).thenReturn(10L);
+
+        // Act
+        AnalyticsRow summary = analyticsService.summary(2025, 2);
+
+        // Assert
+        assertEquals(12, summary.getBookings());
+        assertEquals(new BigDecimal("4200.00"), summary.getRevenue());
+        assertEquals(25.0, summary.getUtilisation());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void breakdown_ByLocation_ShouldDivideByFleetAtThatLocation() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        when(statRepository.byLocationBetween(from, to)).thenReturn(List.of(
+                new AnalyticsRow("Nadi", 3L, 365L, new BigDecimal("900.00"), 0L),
+                new AnalyticsRow("Suva", null, null, null, null)));
+        when(vehicleRepository.countByLocation()).thenReturn(List.of(
+                new Object[]{"Nadi", 2L}, new Object[]{"Suva", 4L}));
+
+        // Act
+        List<AnalyticsRow> rows = analyticsService.breakdown(2025, null, "location");
+
+        // Assert
+        assertEquals(50.0, rows.get(0).getUtilisation());
+        assertEquals(0.0, rows.get(1).getUtilisation());
+        assertEquals(BigDecimal.ZERO, rows.get(1).getRevenue());
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.breakdown(2025, null, "colour"));
+    }
+
+    @Test
+    void reconcile_ShouldRebuildWindowUnderLock() {
+        // Arrange
+        ReflectionTestUtils.setField(analyticsService, "reconcileDays", 60);
+        LocalDate today = LocalDate.of(2025, 10, 1);
+        when(reservationRepository.tryAdvisoryXactLock(AnalyticsService.RECONCILE_LOCK_KEY)).thenReturn(true, false);
+        when(statRepository.rebuildFrom(today.minusDays(60))).thenReturn(120);
+
+        // Act & Assert
+        assertEquals(120, analyticsService.reconcile(today));
+        InOrder order = inOrder(statRepository);
+        order.verify(statRepository).deleteFrom(today.minusDays(60));
+        order.verify(statRepository).rebuildFrom(today.minusDays(60));
+
+        assertEquals(-1, analyticsService.reconcile(today));
+        verify(statRepository, times(1)).deleteFrom(any());
+    }
+
+    @Test
+    void recordBookings_EmptyIds_ShouldNotQuery() {
+        analyticsService.recordBookings(List.of());
+        analyticsService.recordCancellations(List.of(7L));
+
+        verify(statRepository).applyReservations(List.of(7L), -1, 1);
+        verifyNoMoreInteractions(statRepository);
+    }
+}
@@ -0,0 +1,64 @@
+package com.grp12.Services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValues_ShouldAlwaysBeFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("e:customer" + i + "@gmail.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("e:customer" + i + "@gmail.com"));
+        }
+    }
+
+    @Test
+    void falsePositives_ShouldStayNearTheConfiguredRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("l:" + (1_000_000 + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            falsePositives += filter.mightContain("l:" + (5_000_000 + i)) ? 1 : 0;
+        }
+
+        assertEquals(7, filter.getHashCount());
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void concurrentAdds_ShouldNotLoseBits() throws Exception {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                executor.submit(() -> {
+                    for (int i = offset; i < 4_000; i += 8) {
+                        filter.add("p:" + i);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int i = 0; i < 4_000; i++) {
+            assertTrue(filter.mightContain("p:" + i));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.CancellationQuote;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationPolicyTest {
+
+    private static final LocalDate PICKUP = LocalDate.of(2025, 3, 10);
+
+    private final CancellationPolicy policy = new CancellationPolicy("24:30,72:10");
+
+    @Test
+    void feeBasisPoints_ShouldApplyTightestMatchingTier() {
+        assertEquals(3000, policy.feeBasisPoints(-5));
+        assertEquals(3000, policy.feeBasisPoints(23));
+        assertEquals(1000, policy.feeBasisPoints(24));
+        assertEquals(1000, policy.feeBasisPoints(71));
+        assertEquals(0, policy.feeBasisPoints(72));
+    }
+
+    @Test
+    void quote_ShouldMatchPreviousHardCodedFees() {
+        // 12 hours before pick-up: 30%
+        CancellationQuote late = policy.quote(1L, new BigDecimal("150.00"), PICKUP, PICKUP.minusDays(1).atTime(12, 0), false);
+        assertEquals(12, late.getHoursToPickup());
+        assertEquals(new BigDecimal("45.00"), late.getCancellationFee());
+        assertEquals(new BigDecimal("105.00"), late.getRefundAmount());
+        assertEquals(new BigDecimal("30.00"), late.getFeePercent());
+
+        // 2 days before: 10%, rounded half-up to the cent
+        CancellationQuote mid = policy.quote(2L, new BigDecimal("99.95"), PICKUP, PICKUP.minusDays(2).atStartOfDay(), false);
+        assertEquals(new BigDecimal("10.00"), mid.getCancellationFee());
+        assertEquals(new BigDecimal("89.95"), mid.getRefundAmount());
+
+        // 4 days before: free
+        CancellationQuote early = policy.quote(3L, new BigDecimal("150.00"), PICKUP, PICKUP.minusDays(4).atStartOfDay(), false);
+        assertEquals(0, early.getCancellationFee().signum());
+        assertEquals(new BigDecimal("150.00"), early.getRefundAmount());
+    }
+
+    @Test
+    void quote_WaivedFee_ShouldRefundEverything() {
+        CancellationQuote quote = policy.quote(1L, new BigDecimal("150.00"), PICKUP, LocalDateTime.of(2025, 3, 9, 23, 0), true);
+
+        assertEquals(0, quote.getCancellationFee().signum());
+        assertEquals(new BigDecimal("150.00"), quote.getRefundAmount());
+    }
+
+    @Test
+    void constructor_ShouldSortTiersAndRejectBadInput() {
+        CancellationPolicy unordered = new CancellationPolicy("168:5, 48:50");
+        assertEquals(5000, unordered.feeBasisPoints(10));
+        assertEquals(500, unordered.feeBasisPoints(100));
+        assertEquals(0, new CancellationPolicy("").feeBasisPoints(0));
+
+        assertThrows(IllegalStateException.class, () -> new CancellationPolicy("24"));
+        assertThrows(IllegalStateException.class, () -> new CancellationPolicy("24:150"));
+    }
+}
@@ -4,6 +4,7 @@ import com.grp12.Model.RegistrationRequest;
 import com.grp12.Model.Reservation;
 import com.grp12.Model.User;
 import com.grp12.Model.Vehicle;
+import com.grp12.Repository.RegistrationConflictRepository;
 import com.grp12.Repository.RegistrationRequestRepository;
 import com.grp12.Repository.ReservationRepository;
 import com.grp12.Repository.UserRepository;
@@ -11,6 +12,7 @@ import com.grp12.Repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -48,6 +50,15 @@ class ComprehensiveTest {
     @Mock
     private ReservationService reservationServiceMock;
 
+    @Mock
+    private RegistrationConflictRepository registrationConflictRepository;
+
+    @Mock
+    private RegistrationKeyFilter registrationKeyFilter;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
     @InjectMocks
     private UserService userService;
 
@@ -89,8 +100,8 @@ class ComprehensiveTest {
     @Test
     void registerUser_ValidUser_ShouldCreateRegistrationRequest() {
         // Arrange
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
-        when(registrationRequestRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
+        when(registrationKeyFilter.mightConflict(any(), any(), any())).thenReturn(true);
+        when(registrationConflictRepository.findConflicts(any(), any(), any())).thenReturn(List.of());
         when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
         when(registrationRequestRepository.save(any())).thenReturn(new RegistrationRequest());
 
@@ -142,8 +153,8 @@ class ComprehensiveTest {
     void registerUser_ValidDriversLicenseNumber_ShouldAccept() {
         // Arrange
         testUser.setDriversLicenseNumber("1234567"); // Exactly 7 digits
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
-        when(registrationRequestRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
+        when(registrationKeyFilter.mightConflict(any(), any(), any())).thenReturn(true);
+        when(registrationConflictRepository.findConflicts(any(), any(), any())).thenReturn(List.of());
         when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
         when(registrationRequestRepository.save(any())).thenReturn(new RegistrationRequest());
 
@@ -195,31 +206,28 @@ class ComprehensiveTest {
 
     @Test
     void deleteVehicle_WithReservations_ShouldDeleteReservationsFirst() {
-        // Arrange - Create a past reservation that is not active
-        Reservation pastReservation = new Reservation();
-        pastReservation.setId(2L);
-        pastReservation.setVehicle(testVehicle);
-        pastReservation.setStatus("Completed");
-        pastReservation.setReturnDate(java.time.LocalDate.now().minusDays(1)); // Past date
-
-        List<Reservation> reservations = Arrays.asList(pastReservation);
+        // Arrange - only past reservations, removed with one bulk delete
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(reservationServiceMock.getReservationsByVehicle(1L)).thenReturn(reservations);
-        doNothing().when(reservationServiceMock).deleteReservation(pastReservation.getId()); // Mock void method
+        when(reservationServiceMock.hasOpenReservations(1L)).thenReturn(false);
+        when(reservationServiceMock.deleteReservationsForVehicle(1L)).thenReturn(3);
 
         // Act
         vehicleService.deleteVehicle(1L);
 
         // Assert
-        verify(reservationServiceMock).deleteReservation(pastReservation.getId());
-        verify(vehicleRepository).delete(testVehicle);
+        InOrder inOrder = inOrder(reservationServiceMock, vehicleRepository);
+        inOrder.verify(reservationServiceMock).deleteReservationsForVehicle(1L);
+        inOrder.verify(vehicleRepository).delete(testVehicle);
+        verify(reservationServiceMock, never()).deleteReservation(any());
+        verify(reservationServiceMock, never()).getReservationsByVehicle(any());
     }
 
     @Test
     void deleteVehicle_WithoutReservations_ShouldDeleteVehicleOnly() {
         // Arrange
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(reservationServiceMock.getReservationsByVehicle(1L)).thenReturn(Arrays.asList());
+        when(reservationServiceMock.hasOpenReservations(1L)).thenReturn(false);
+        when(reservationServiceMock.deleteReservationsForVehicle(1L)).thenReturn(0);
 
         // Act
         vehicleService.deleteVehicle(1L);
@@ -227,21 +235,22 @@ class ComprehensiveTest {
         // Assert
         verify(reservationServiceMock, never()).deleteReservation(any());
         verify(vehicleRepository).delete(testVehicle);
+        verify(pricingEngine).removeVehicle(1L);
     }
 
     @Test
     void deleteVehicle_WithActiveReservations_ShouldThrowException() {
         // Arrange
-        testReservation.setStatus("Confirmed");
-        List<Reservation> reservations = Arrays.asList(testReservation);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(reservationServiceMock.getReservationsByVehicle(1L)).thenReturn(reservations);
+        when(reservationServiceMock.hasOpenReservations(1L)).thenReturn(true);
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             vehicleService.deleteVehicle(1L);
         });
         assertTrue(exception.getMessage().contains("Cannot delete vehicle with active reservations"));
+        verify(reservationServiceMock, never()).deleteReservationsForVehicle(any());
+        verify(vehicleRepository, never()).delete(any(Vehicle.class));
     }
 
     @Test
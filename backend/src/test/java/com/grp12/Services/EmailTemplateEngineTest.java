@@ -0,0 +1,67 @@
+package com.grp12.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateEngineTest {
+
+    private EmailTemplateEngine templateEngine;
+
+    @BeforeEach
+    void setUp() {
+        templateEngine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(templateEngine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(templateEngine, "templateLocation", "classpath:templates/email/");
+    }
+
+    @Test
+    void compile_SlotsAndPartials_ShouldRenderInDeclaredOrder() {
+        Map<String, String> partials = Map.of("footer", "<p>Sent to {{name}}</p>\n");
+
+        EmailTemplateEngine.CompiledTemplate template = EmailTemplateEngine.compile(
+                "greeting", "<h1>Hi {{ name }}</h1><p>Code {{code}}</p>{{> footer}}", partials::get, "code", "name");
+
+        assertEquals("<h1>Hi Jane</h1><p>Code 123456</p><p>Sent to Jane</p>", template.render("123456", "Jane"));
+    }
+
+    @Test
+    void compile_UndeclaredSlot_ShouldFailFast() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                EmailTemplateEngine.compile("broken", "<p>{{missing}}</p>", name -> "", "code"));
+        assertTrue(exception.getMessage().contains("missing"));
+    }
+
+    @Test
+    void render_WrongNumberOfValues_ShouldThrowException() {
+        EmailTemplateEngine.CompiledTemplate template = EmailTemplateEngine.compile("t", "{{a}}{{b}}", name -> "", "a", "b");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("only-one"));
+    }
+
+    @Test
+    void compile_AllBundledTemplates_ShouldRenderValues() {
+        String html = templateEngine.compile("reservation-confirmation",
+                "firstName", "lastName", "reservationId", "vehicleName", "rentalDate", "returnDate", "totalPrice")
+                .render("John", "Doe", "42", "Toyota Camry", "2025-01-01", "2025-01-03", "150.00");
+
+        assertTrue(html.startsWith("<!DOCTYPE html>"));
+        assertTrue(html.contains("<h3>Dear John Doe,</h3>"));
+        assertTrue(html.contains("<li><strong>Total Price:</strong> $150.00</li>"));
+        assertTrue(html.contains("This email was sent to John Doe"));
+        assertFalse(html.contains("{{"));
+
+        assertNotNull(templateEngine.compile("verification", "code"));
+        assertNotNull(templateEngine.compile("approval", "firstName", "lastName"));
+        assertNotNull(templateEngine.compile("rejection", "firstName", "lastName"));
+        assertNotNull(templateEngine.compile("password-reset", "resetToken"));
+        assertNotNull(templateEngine.compile("cancellation",
+                "firstName", "lastName", "reservationId", "vehicleName", "cancellationFee", "totalAmount", "refundAmount"));
+        assertNotNull(templateEngine.compile("admin-credentials", "firstName", "lastName", "username", "password"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.UtilisationReport;
+import com.grp12.DTO.UtilisationRow;
+import com.grp12.Repository.FleetEventRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.grp12.Repository.FleetEventRepository.MAINTENANCE;
+import static com.grp12.Repository.FleetEventRepository.RESERVATION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FleetUtilisationServiceTest {
+
+    // June 2025: 30 days
+    private static final LocalDate FROM = LocalDate.of(2025, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 6, 30);
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private FleetEventRepository fleetEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FleetUtilisationService utilisationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(utilisationService, "parallelism", 2);
+        utilisationService.init();
+    }
+
+    @Test
+    void sweep_ShouldMergeOverlapsAndExcludeMaintenance() {
+        FleetUtilisationService.OccupancySweep sweep = new FleetUtilisationService.OccupancySweep(
+                day(1), day(30), List.of(1L, 2L));
+
+        // Vehicle 1: bookings 1-10 and 5-12 overlap (12 days), maintenance 11-14 takes 11-12 out of them
+        sweep.onEvent(1L, day(1), RESERVATION, 1);
+        sweep.onEvent(1L, day(5), RESERVATION, 1);
+        sweep.onEvent(1L, day(11), RESERVATION, -1);
+        sweep.onEvent(1L, day(11), MAINTENANCE, 1);
+        sweep.onEvent(1L, day(13), RESERVATION, -1);
+        sweep.onEvent(1L, day(15), MAINTENANCE, -1);
+        // Vehicle 2: booked until the window ends; unknown vehicles are ignored
+        sweep.onEvent(2L, day(21), RESERVATION, 1);
+        sweep.onEvent(99L, day(2), RESERVATION, 1);
+        sweep.finish();
+
+        assertEquals(10, sweep.bookedDays(0));
+        assertEquals(4, sweep.maintenanceDays(0));
+        assertEquals(10, sweep.bookedDays(1));
+        assertEquals(0, sweep.maintenanceDays(1));
+    }
+
+    @Test
+    void utilisation_ShouldSweepEachLocationAndRollUp() {
+        // Arrange
+        when(vehicleRepository.findAllUtilisationAttributes()).thenReturn(List.of(
+                new Object[]{1L, "Nadi", "SUV"},
+                new Object[]{2L, "Suva", "SUV"},
+                new Object[]{3L, "Suva", "Sedan"}));
+        doAnswer(invocation -> {
+            FleetEventRepository.EventHandler handler = invocation.getArgument(3);
+            handler.onEvent(1L, day(1), RESERVATION, 1);
+            handler.onEvent(1L, day(16), RESERVATION, -1);
+            return null;
+        }).when(fleetEventRepository).streamEvents(eq("Nadi"), eq(FROM), eq(TO), any());
+        doAnswer(invocation -> {
+            FleetEventRepository.EventHandler handler = invocation.getArgument(3);
+            handler.onEvent(2L, day(1), MAINTENANCE, 1);
+            handler.onEvent(3L, day(1), RESERVATION, 1);
+            handler.onEvent(2L, day(11), MAINTENANCE, -1);
+            handler.onEvent(2L, day(11), RESERVATION, 1);
+            handler.onEvent(3L, day(31), RESERVATION, -1);
+            return null;
+        }).when(fleetEventRepository).streamEvents(eq("Suva"), eq(FROM), eq(TO), any());
+
+        // Act
+        UtilisationReport report = utilisationService.utilisation(FROM, TO, true);
+
+        // Assert - 90 vehicle-days, 10 in maintenance, 15 + 20 + 30 booked
+        UtilisationRow total = report.getTotal();
+        assertEquals(3, total.getVehicles());
+        assertEquals(65, total.getBookedDays());
+        assertEquals(80, total.getAvailableDays());
+        assertEquals(81.25, total.getOccupancy());
+
+        assertEquals("Nadi", report.getByLocation().get(0).getKey());
+        assertEquals(50.0, report.getByLocation().get(0).getOccupancy());
+        assertEquals(50, report.getByLocation().get(1).getBookedDays());
+        assertEquals(List.of("SUV", "Sedan"), report.getByType().stream().map(UtilisationRow::getKey).toList());
+        assertEquals(70.0, report.getByType().get(0).getOccupancy());
+        assertEquals(100.0, report.getByType().get(1).getOccupancy());
+        assertEquals(3, report.getVehicles().size());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void streamEvents_ShouldKeepOpenMaintenanceToTheWindowEndAndCompletedToItsDay() {
+        // Runs the event query against H2 in PostgreSQL mode
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:fleet;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        try {
+            jdbc.execute("CREATE TABLE vehicles (id BIGINT PRIMARY KEY, location VARCHAR(50))");
+            jdbc.execute("CREATE TABLE reservations (vehicle_id BIGINT, rental_date DATE, return_date DATE, status VARCHAR(20))");
+            jdbc.execute("CREATE TABLE reservations_archive (vehicle_id BIGINT, rental_date DATE, return_date DATE, status VARCHAR(20))");
+            jdbc.execute("CREATE TABLE maintenance_records (car_id BIGINT, \"date\" TIMESTAMP, status VARCHAR(20), completed_at TIMESTAMP)");
+            jdbc.update("INSERT INTO vehicles VALUES (1, 'Suva'), (2, 'Suva'), (3, 'Suva'), (4, 'Nadi')");
+            // completed_at is the filing time, long after the work, and must not stretch the downtime
+            jdbc.update("INSERT INTO maintenance_records VALUES " +
+                    "(1, TIMESTAMP '2025-06-05 09:00:00', 'Completed', TIMESTAMP '2025-09-01 00:00:00'), " +
+                    "(2, TIMESTAMP '2025-05-20 09:00:00', 'In Progress', TIMESTAMP '2025-05-20 09:00:00'), " +
+                    "(3, TIMESTAMP '2025-05-20 09:00:00', 'Completed', TIMESTAMP '2025-09-01 00:00:00'), " +
+                    "(4, TIMESTAMP '2025-06-10 09:00:00', 'Pending', TIMESTAMP '2025-06-10 09:00:00')");
+
+            List<long[]> events = new ArrayList<>();
+            new FleetEventRepository(dataSource).streamEvents("Suva", FROM, TO,
+                    (vehicleId, epochDay, kind, delta) -> events.add(new long[]{vehicleId, epochDay, kind, delta}));
+
+            // Vehicle 1 is out on 5 June only; vehicle 2 is still in the workshop; vehicle 3 finished before June
+            assertEquals(4, events.size());
+            assertTrue(events.stream().allMatch(e -> e[2] == MAINTENANCE));
+            assertEquals(List.of("1:" + day(5) + ":1", "1:" + day(6) + ":-1", "2:" + day(1) + ":1", "2:" + day(31) + ":-1"),
+                    events.stream().map(e -> e[0] + ":" + e[1] + ":" + e[3]).sorted().toList());
+        } finally {
+            jdbc.execute("DROP ALL OBJECTS");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void utilisation_InvalidWindow_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> utilisationService.utilisation(TO, FROM, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> utilisationService.utilisation(FROM, FROM.plusYears(20), false));
+        verifyNoInteractions(fleetEventRepository);
+    }
+
+    // Day 31 is the exclusive end of the window
+    private static long day(int dayOfJune) {
+        return LocalDate.of(2025, 6, 1).plusDays(dayOfJune - 1).toEpochDay();
+    }
+}
@@ -0,0 +1,236 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.GroupBookingRequest;
+import com.grp12.DTO.GroupBookingResult;
+import com.grp12.Model.Amenity;
+import com.grp12.Model.Reservation;
+import com.grp12.Model.User;
+import com.grp12.Repository.GroupBookingRepository;
+import com.grp12.Repository.ReservationArchiveRepository;
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.UserRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Overlapping group bookings racing each other. The fake repository stands in
+ * for Postgres row locks: it locks vehicles one at a time in the order the
+ * service asks for them, and gives up (reporting a deadlock) if a lock cannot
+ * be had within two seconds. Locks are released when the "transaction" ends.
+ */
+@ExtendWith(MockitoExtension.class)
+class GroupBookingConcurrencyTest {
+
+    private static final LocalDate PICKUP = LocalDate.of(2025, 6, 1);
+
+    // Requested in clashing orders on purpose
+    private static final List<List<Long>> GROUPS = List.of(
+            List.of(1L, 2L, 3L), List.of(3L, 2L, 1L), List.of(2L, 4L), List.of(4L, 5L, 1L),
+            List.of(5L, 6L), List.of(6L, 3L), List.of(6L, 5L, 4L, 3L, 2L, 1L), List.of(7L, 8L));
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private NotificationQueue notificationQueue;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private HoldService holdService;
+
+    @InjectMocks
+    private ReservationService reservationService;
+
+    private final LockingGroupBookingRepository repository = new LockingGroupBookingRepository(8);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationService, "groupBookingRepository", repository);
+        ReflectionTestUtils.setField(reservationService, "maxGroupVehicles", 10);
+        when(pricingEngine.quoteCents(anyLong(), anyInt(), any(), any(), anyBoolean())).thenReturn(10_000L);
+    }
+
+    @Test
+    void overlappingGroups_ShouldBookAllOrNothingWithoutDeadlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(GROUPS.size());
+        try {
+            for (int round = 0; round < 50; round++) {
+                repository.reset();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<GroupBookingResult>> futures = new ArrayList<>();
+                for (int i = 0; i < GROUPS.size(); i++) {
+                    List<Long> group = GROUPS.get(i);
+                    User user = user(100L + i);
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return bookInTransaction(user, group);
+                    }));
+                }
+                start.countDown();
+
+                Map<Long, Long> bookedBy = new HashMap<>();
+                int bookedGroups = 0;
+                for (int i = 0; i < GROUPS.size(); i++) {
+                    GroupBookingResult result = futures.get(i).get(10, TimeUnit.SECONDS);
+                    if (result == null) {
+                        continue;
+                    }
+                    bookedGroups++;
+                    // All or nothing: a successful group got every vehicle it asked for
+                    assertEquals(new HashSet<>(GROUPS.get(i)), vehicleIds(result));
+                    for (GroupBookingResult.Item item : result.getReservations()) {
+                        assertNull(bookedBy.put(item.getVehicleId(), (long) i), "vehicle " + item.getVehicleId() + " booked twice");
+                    }
+                }
+                // Nothing was written for the groups that failed
+                assertEquals(bookedBy.keySet(), repository.bookedVehicles());
+                assertTrue(bookedGroups >= 2, "the disjoint group {7, 8} and at least one other always succeed");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(repository.deadlocked, "a lock wait timed out");
+        assertFalse(repository.outOfOrder, "locks were requested out of id order");
+    }
+
+    // Returns null when the booking was rejected; releases the row locks either way, like a commit or rollback
+    private GroupBookingResult bookInTransaction(User user, List<Long> vehicleIds) {
+        GroupBookingRequest request = new GroupBookingRequest();
+        request.setVehicleIds(vehicleIds);
+        request.setRentalDate(PICKUP);
+        request.setReturnDate(PICKUP.plusDays(2));
+        request.setAmenities(EnumSet.of(Amenity.NONE));
+        try {
+            return reservationService.createGroupReservation(user, request);
+        } catch (IllegalArgumentException e) {
+            return null;
+        } finally {
+            repository.endTransaction();
+        }
+    }
+
+    private static Set<Long> vehicleIds(GroupBookingResult result) {
+        Set<Long> ids = new HashSet<>();
+        for (GroupBookingResult.Item item : result.getReservations()) {
+            ids.add(item.getVehicleId());
+        }
+        return ids;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static class LockingGroupBookingRepository extends GroupBookingRepository {
+        private final Map<Long, ReentrantLock> rowLocks = new HashMap<>();
+        private final Set<Long> booked = ConcurrentHashMap.newKeySet();
+        private final ThreadLocal<List<ReentrantLock>> held = ThreadLocal.withInitial(ArrayList::new);
+        private final AtomicLong nextId = new AtomicLong();
+        private volatile boolean deadlocked;
+        private volatile boolean outOfOrder;
+
+        LockingGroupBookingRepository(int vehicles) {
+            for (long id = 1; id <= vehicles; id++) {
+                rowLocks.put(id, new ReentrantLock());
+            }
+        }
+
+        @Override
+        public List<VehicleAvailability> lockForBooking(Collection<Long> vehicleIds, LocalDate rentalDate, LocalDate returnDate) {
+            List<VehicleAvailability> rows = new ArrayList<>();
+            long previous = Long.MIN_VALUE;
+            for (Long id : vehicleIds) {
+                if (id < previous) {
+                    outOfOrder = true;
+                }
+                previous = id;
+                ReentrantLock lock = rowLocks.get(id);
+                try {
+                    if (!lock.tryLock(2, TimeUnit.SECONDS)) {
+                        deadlocked = true;
+                        throw new IllegalStateException("Timed out waiting for vehicle " + id);
+                    }
+                    held.get().add(lock);
+                    // Widen the window between locks so an unordered acquisition would really deadlock
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                rows.add(new VehicleAvailability(id, "Vehicle " + id, "Available", booked.contains(id)));
+            }
+            return rows;
+        }
+
+        @Override
+        public void insertAll(List<Reservation> reservations) {
+            for (Reservation reservation : reservations) {
+                reservation.setId(nextId.incrementAndGet());
+                assertTrue(booked.add(reservation.getVehicle().getId()), "double booking");
+            }
+        }
+
+        void endTransaction() {
+            List<ReentrantLock> locks = held.get();
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+            locks.clear();
+        }
+
+        void reset() {
+            booked.clear();
+        }
+
+        Set<Long> bookedVehicles() {
+            return new HashSet<>(booked);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.PriceQuote;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grp12.Model.Amenity;
+import com.grp12.Model.Vehicle;
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    private static final LocalDate WEDNESDAY = LocalDate.of(2025, 1, 1);
+
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = new PricingEngine();
+        ReflectionTestUtils.setField(pricingEngine, "vehicleRepository", vehicleRepository);
+        ReflectionTestUtils.setField(pricingEngine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(pricingEngine, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(pricingEngine, "amenityPricesLocation", "classpath:pricing/amenity-prices.properties");
+        ReflectionTestUtils.setField(pricingEngine, "promotionsLocation", "classpath:pricing/promotions.json");
+    }
+
+    @Test
+    void quote_ShouldChargeEveryDayPlusFlatAmenities() {
+        // Arrange
+        when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates(vehicle(1L, "150.00")));
+
+        // Act: Wed-Fri, 3 days inclusive, GPS (10.00) + baby sitter (20.00), no promotion applies
+        PriceQuote quote = pricingEngine.quote(1L, WEDNESDAY, WEDNESDAY.plusDays(2),
+                EnumSet.of(Amenity.GPS, Amenity.BABY_SITTER), false);
+
+        // Assert
+        assertEquals(3, quote.getDays());
+        assertEquals(new BigDecimal("450.00"), quote.getBasePrice());
+        assertEquals(new BigDecimal("30.00"), quote.getAmenitiesPrice());
+        assertEquals(new BigDecimal("0.00"), quote.getDiscount());
+        assertEquals(new BigDecimal("480.00"), quote.getTotalPrice());
+        assertEquals(48_000L, pricingEngine.quoteCents(1L, Amenity.GPS.getBit() | Amenity.BABY_SITTER.getBit(),
+                WEDNESDAY, WEDNESDAY.plusDays(2), false));
+    }
+
+    @Test
+    void quote_WeekendFirstTrip_ShouldApplyOnlyTheBestExclusivePromotion() {
+        when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates(vehicle(1L, "100.00")));
+        LocalDate saturday = LocalDate.of(2025, 1, 4);
+
+        PriceQuote quote = pricingEngine.quote(1L, saturday, saturday.plusDays(1), EnumSet.of(Amenity.NONE), true);
+
+        // weekend-saver-10 (20.00) beats first-trip-5 (10.00); neither is stackable
+        assertEquals(List.of("weekend-saver-10"), quote.getPromotions());
+        assertEquals(new BigDecimal("20.00"), quote.getDiscount());
+        assertEquals(new BigDecimal("180.00"), quote.getTotalPrice());
+        assertEquals(18_000L, pricingEngine.quoteCents(1L, Amenity.NONE.getBit(), saturday, saturday.plusDays(1), true));
+    }
+
+    @Test
+    void quoteCents_FractionalRate_ShouldStayExactInCents() {
+        when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates(vehicle(7L, "33.33")));
+
+        assertEquals(33_33L * 3, pricingEngine.quoteCents(7L, Amenity.NONE.getBit(), WEDNESDAY, WEDNESDAY.plusDays(2), false));
+    }
+
+    @Test
+    void quoteCents_UnknownVehicle_ShouldReloadOnceThenFail() {
+        when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates(vehicle(1L, "100.00")));
+        pricingEngine.reload();
+
+        assertThrows(IllegalArgumentException.class, () -> pricingEngine.quoteCents(99L, 0, WEDNESDAY, WEDNESDAY, false));
+        verify(vehicleRepository, times(2)).findAllPricingAttributes();
+    }
+
+    @Test
+    void updateVehicle_ShouldBeVisibleWithoutReload() {
+        when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates(vehicle(1L, "100.00"), vehicle(5L, "120.00")));
+        pricingEngine.reload();
+
+        pricingEngine.updateVehicle(savedVehicle(5L, "125.50"));
+        pricingEngine.updateVehicle(savedVehicle(3L, "80.00"));
+
+        assertEquals(125_50L, pricingEngine.quoteCents(5L, 0, WEDNESDAY, WEDNESDAY, false));
+        assertEquals(80_00L, pricingEngine.quoteCents(3L, 0, WEDNESDAY, WEDNESDAY, false));
+        assertEquals(100_00L, pricingEngine.quoteCents(1L, 0, WEDNESDAY, WEDNESDAY, false));
+        verify(vehicleRepository, times(1)).findAllPricingAttributes();
+    }
+
+    @Test
+    void updateVehicle_InsideATransaction_ShouldWaitForTheCommit() {
+        when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates(vehicle(5L, "120.00")));
+        pricingEngine.reload();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pricingEngine.updateVehicle(savedVehicle(5L, "125.50"));
+            assertEquals(120_00L, pricingEngine.quoteCents(5L, 0, WEDNESDAY, WEDNESDAY, false));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(125_50L, pricingEngine.quoteCents(5L, 0, WEDNESDAY, WEDNESDAY, false));
+    }
+
+    @Test
+    void removeVehicle_ShouldStopQuotingTheDeletedVehicle() {
+        when(vehicleRepository.findAllPricingAttributes())
+                .thenReturn(rates(vehicle(1L, "100.00"), vehicle(5L, "120.00")))
+                .thenReturn(rates(vehicle(1L, "100.00")));
+        pricingEngine.reload();
+
+        pricingEngine.removeVehicle(5L);
+
+        assertThrows(IllegalArgumentException.class, () -> pricingEngine.quoteCents(5L, 0, WEDNESDAY, WEDNESDAY, false));
+        assertEquals(100_00L, pricingEngine.quoteCents(1L, 0, WEDNESDAY, WEDNESDAY, false));
+    }
+
+    @Test
+    void quote_InvalidInput_ShouldBeRejected() {
+        LocalDate day = LocalDate.of(2025, 1, 5);
+        assertThrows(IllegalArgumentException.class,
+                () -> pricingEngine.quote(1L, day, day.minusDays(1), EnumSet.of(Amenity.NONE), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> pricingEngine.quote(1L, day, day, EnumSet.of(Amenity.NONE, Amenity.GPS), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> pricingEngine.quote(1L, day, day, EnumSet.noneOf(Amenity.class), false));
+    }
+
+    private List<Object[]> rates(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private Object[] vehicle(Long id, String pricePerDay) {
+        return new Object[]{id, new BigDecimal(pricePerDay), "Sedan", "Suva", 5};
+    }
+
+    private Vehicle savedVehicle(Long id, String pricePerDay) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setPricePerDay(new BigDecimal(pricePerDay));
+        vehicle.setVehicleType("Sedan");
+        vehicle.setLocation("Nadi");
+        vehicle.setSeatingCapacity(5);
+        return vehicle;
+    }
+}
@@ -0,0 +1,130 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.Model.Admin;
+import com.grp12.Repository.PrincipalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PrincipalServiceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T09:00:00Z"));
+    private final PrincipalRepository principalRepository = mock(PrincipalRepository.class);
+    private final PrincipalService principalService = new PrincipalService(clock, 30_000, 3);
+
+    private final AuthPrincipal admin = new AuthPrincipal(AuthPrincipal.ADMIN, 1L, "admin@rms.com", "admin", "$2a$10$hash",
+            "SUPER_ADMIN", "ACTIVE", "Ana", "Tui", null, null, null);
+    private final AuthPrincipal customer = new AuthPrincipal(AuthPrincipal.USER, 1L, "sam@gmail.com", null, "$2a$10$hash",
+            "ROLE_CUSTOMER", "APPROVED", "Sam", "Lee", null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(principalService, "principalRepository", principalRepository);
+        when(principalRepository.findByLogin(anyString())).thenReturn(Optional.empty());
+        when(principalRepository.findByLogin("admin@rms.com")).thenReturn(Optional.of(admin));
+        when(principalRepository.findByLogin("admin")).thenReturn(Optional.of(admin));
+        when(principalRepository.findByLogin("sam@gmail.com")).thenReturn(Optional.of(customer));
+    }
+
+    @Test
+    void resolve_RepeatedLookups_ShouldHitDatabaseOnceUntilTtlExpires() {
+        principalService.resolve("admin@rms.com");
+        principalService.resolve("admin@rms.com");
+        verify(principalRepository, times(1)).findByLogin("admin@rms.com");
+
+        clock.advanceSeconds(31);
+        assertEquals(admin, principalService.resolve("admin@rms.com").orElseThrow());
+        verify(principalRepository, times(2)).findByLogin("admin@rms.com");
+    }
+
+    @Test
+    void resolve_UnknownName_ShouldNotBeCached() {
+        assertTrue(principalService.resolve("new@gmail.com").isEmpty());
+        assertTrue(principalService.resolve("new@gmail.com").isEmpty());
+
+        verify(principalRepository, times(2)).findByLogin("new@gmail.com");
+        assertEquals(0, principalService.size());
+    }
+
+    @Test
+    void evictAdmin_ShouldDropEveryNameTheAdminIsCachedUnder() {
+        principalService.resolve("admin@rms.com");
+        principalService.resolve("admin");
+        principalService.resolve("sam@gmail.com");
+
+        principalService.evictAdmin(1L);
+
+        // The customer with the same numeric id stays cached
+        assertEquals(1, principalService.size());
+        principalService.resolve("admin");
+        verify(principalRepository, times(2)).findByLogin("admin");
+        verify(principalRepository, times(1)).findByLogin("sam@gmail.com");
+    }
+
+    @Test
+    void resolve_BeyondMaxEntries_ShouldDropLeastRecentlyUsed() {
+        when(principalRepository.findByLogin("kim@gmail.com")).thenReturn(Optional.of(customer));
+        principalService.resolve("admin@rms.com");
+        principalService.resolve("admin");
+        principalService.resolve("sam@gmail.com");
+        principalService.resolve("admin@rms.com");
+
+        principalService.resolve("kim@gmail.com");
+
+        assertEquals(3, principalService.size());
+        principalService.resolve("admin@rms.com");
+        principalService.resolve("admin");
+        verify(principalRepository, times(1)).findByLogin("admin@rms.com");
+        verify(principalRepository, times(2)).findByLogin("admin");
+    }
+
+    @Test
+    void currentAdmin_ShouldReturnDetachedCopyWithoutPassword() {
+        Admin first = principalService.currentAdmin("admin");
+        first.setRole("ADMIN");
+
+        Admin second = principalService.currentAdmin("admin");
+        assertEquals("SUPER_ADMIN", second.getRole());
+        assertNull(second.getPassword());
+        assertEquals(1L, second.getId());
+        assertNull(principalService.currentAdmin("sam@gmail.com"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
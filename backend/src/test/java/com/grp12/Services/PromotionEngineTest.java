@@ -0,0 +1,178 @@
+package com.grp12.Services;
+
+import com.grp12.Model.Amenity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromotionEngineTest {
+
+    private static final long[] AMENITY_CENTS = amenityCents();
+    private static final LocalDate SATURDAY = LocalDate.of(2025, 1, 4);
+
+    @Test
+    void compile_RestrictedRules_ShouldOnlyMatchTheirKeys() {
+        PromotionEngine.Rule suvNadi = rule("suv-nadi", 10);
+        suvNadi.setVehicleTypes(List.of("SUV"));
+        suvNadi.setLocations(List.of("Nadi"));
+        PromotionEngine.CompiledPromotions promotions = PromotionEngine.compile(List.of(suvNadi));
+
+        assertEquals(1_000L, discount(promotions, "SUV", "Nadi", SATURDAY, 1, false, 10_000L, 0));
+        assertEquals(0L, discount(promotions, "Sedan", "Nadi", SATURDAY, 1, false, 10_000L, 0));
+        assertEquals(0L, discount(promotions, "SUV", "Suva", SATURDAY, 1, false, 10_000L, 0));
+    }
+
+    @Test
+    void compile_DaysOfWeek_ShouldRequireEveryRentalDayToMatch() {
+        PromotionEngine.Rule weekend = rule("weekend", 10);
+        weekend.setDaysOfWeek(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+        PromotionEngine.CompiledPromotions promotions = PromotionEngine.compile(List.of(weekend));
+
+        assertEquals(2_000L, discount(promotions, "SUV", "Suva", SATURDAY, 2, false, 20_000L, 0));
+        assertEquals(0L, discount(promotions, "SUV", "Suva", SATURDAY, 3, false, 30_000L, 0));
+        assertEquals(0L, discount(promotions, "SUV", "Suva", SATURDAY.minusDays(1), 2, false, 20_000L, 0));
+    }
+
+    @Test
+    void compile_StackableRulesAndFreeAmenities_ShouldAddUpAndCapAtSubtotal() {
+        PromotionEngine.Rule bundle = rule("family-bundle", 0);
+        bundle.setMinSeats(7);
+        bundle.setFreeAmenities(List.of(Amenity.BABY_SITTER));
+        bundle.setStackable(true);
+        PromotionEngine.Rule fixed = rule("fixed", 0);
+        fixed.setAmountOff(new BigDecimal("500.00"));
+        PromotionEngine.CompiledPromotions promotions = PromotionEngine.compile(List.of(bundle, fixed));
+
+        int mask = Amenity.BABY_SITTER.getBit() | Amenity.GPS.getBit();
+        // 7 seats: baby sitter waived (20.00) plus fixed 500.00, capped at 100.00 rental + 30.00 amenities
+        assertEquals(13_000L, promotions.discountCents("SUV", "Suva", 7, SATURDAY, 1, false,
+                10_000L, 3_000L, AMENITY_CENTS, mask));
+        assertEquals(List.of("family-bundle", "fixed"), promotions.appliedPromotions("SUV", "Suva", 7, SATURDAY, 1, false,
+                10_000L, 3_000L, AMENITY_CENTS, mask));
+        assertEquals(List.of("fixed"), promotions.appliedPromotions("SUV", "Suva", 5, SATURDAY, 1, false,
+                10_000L, 3_000L, AMENITY_CENTS, mask));
+    }
+
+    @Test
+    void compile_HundredsOfRules_ShouldAgreeWithLinearScan() {
+        Random random = new Random(31);
+        List<PromotionEngine.Rule> rules = randomRules(random, 300);
+        PromotionEngine.CompiledPromotions promotions = PromotionEngine.compile(rules);
+        String[] types = {"SUV", "Sedan", "Hatchback", "Van", "Truck"};
+        String[] locations = {"Suva", "Nadi", "Lautoka", "Labasa"};
+
+        for (int i = 0; i < 2_000; i++) {
+            String type = types[random.nextInt(types.length)];
+            String location = locations[random.nextInt(locations.length)];
+            int seats = 2 + random.nextInt(7);
+            LocalDate start = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            long days = 1 + random.nextInt(10);
+            boolean first = random.nextBoolean();
+            long rental = days * (5_000L + random.nextInt(20_000));
+
+            assertEquals(linearScan(rules, type, location, seats, start, days, first, rental),
+                    promotions.discountCents(type, location, seats, start, days, first, rental, 0, AMENITY_CENTS, 0));
+        }
+    }
+
+    @Test
+    void compile_DuplicateIds_ShouldFailFast() {
+        assertThrows(IllegalStateException.class,
+                () -> PromotionEngine.compile(List.of(rule("same", 5), rule("same", 10))));
+    }
+
+    // Reference implementation: check every rule directly, percent discounts only
+    private long linearScan(List<PromotionEngine.Rule> rules, String type, String location, int seats,
+                            LocalDate start, long days, boolean first, long rental) {
+        long stacked = 0;
+        long best = 0;
+        for (PromotionEngine.Rule rule : rules) {
+            boolean matches = (rule.getVehicleTypes().isEmpty() || rule.getVehicleTypes().contains(type))
+                    && (rule.getLocations().isEmpty() || rule.getLocations().contains(location))
+                    && (rule.getValidFrom() == null || !start.isBefore(rule.getValidFrom()))
+                    && (rule.getValidTo() == null || !start.isAfter(rule.getValidTo()))
+                    && (rule.getMinDays() == null || days >= rule.getMinDays())
+                    && (rule.getMinSeats() == null || seats >= rule.getMinSeats())
+                    && (!rule.isFirstBookingOnly() || first);
+            for (long d = 0; matches && d < days && !rule.getDaysOfWeek().isEmpty(); d++) {
+                matches = rule.getDaysOfWeek().contains(start.plusDays(d).getDayOfWeek());
+            }
+            if (!matches) {
+                continue;
+            }
+            long discount = (rental * rule.getPercentOff().movePointRight(2).longValueExact() + 5_000) / 10_000;
+            if (rule.isStackable()) {
+                stacked += discount;
+            } else {
+                best = Math.max(best, discount);
+            }
+        }
+        return Math.min(stacked + best, rental);
+    }
+
+    static List<PromotionEngine.Rule> randomRules(Random random, int count) {
+        String[] types = {"SUV", "Sedan", "Hatchback", "Van"};
+        String[] locations = {"Suva", "Nadi", "Lautoka"};
+        List<PromotionEngine.Rule> rules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PromotionEngine.Rule rule = rule("rule-" + i, 1 + random.nextInt(20));
+            if (random.nextBoolean()) {
+                rule.setVehicleTypes(List.of(types[random.nextInt(types.length)]));
+            }
+            if (random.nextBoolean()) {
+                rule.setLocations(List.of(locations[random.nextInt(locations.length)]));
+            }
+            if (random.nextInt(3) == 0) {
+                List<DayOfWeek> days = new ArrayList<>();
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    if (random.nextBoolean()) {
+                        days.add(day);
+                    }
+                }
+                rule.setDaysOfWeek(days);
+            }
+            if (random.nextInt(4) == 0) {
+                LocalDate from = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(300));
+                rule.setValidFrom(from);
+                rule.setValidTo(from.plusDays(random.nextInt(60)));
+            }
+            if (random.nextInt(4) == 0) {
+                rule.setMinDays(1 + random.nextInt(5));
+            }
+            if (random.nextInt(5) == 0) {
+                rule.setMinSeats(5 + random.nextInt(3));
+            }
+            rule.setFirstBookingOnly(random.nextInt(6) == 0);
+            rule.setStackable(random.nextInt(5) == 0);
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    static PromotionEngine.Rule rule(String id, int percentOff) {
+        PromotionEngine.Rule rule = new PromotionEngine.Rule();
+        rule.setId(id);
+        rule.setPercentOff(BigDecimal.valueOf(percentOff));
+        return rule;
+    }
+
+    private long discount(PromotionEngine.CompiledPromotions promotions, String type, String location, LocalDate start,
+                          long days, boolean first, long rental, int mask) {
+        return promotions.discountCents(type, location, 5, start, days, first, rental, 0, AMENITY_CENTS, mask);
+    }
+
+    private static long[] amenityCents() {
+        long[] cents = new long[Integer.SIZE];
+        cents[Integer.numberOfTrailingZeros(Amenity.BABY_SITTER.getBit())] = 2_000L;
+        cents[Integer.numberOfTrailingZeros(Amenity.GPS.getBit())] = 1_000L;
+        cents[Integer.numberOfTrailingZeros(Amenity.POWER_BANK.getBit())] = 500L;
+        return cents;
+    }
+}
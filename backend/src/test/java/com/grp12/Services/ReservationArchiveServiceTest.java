@@ -0,0 +1,75 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.ReservationArchiveRepository;
+import com.grp12.Repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationArchiveServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReservationArchiveService archiveService;
+
+    private final LocalDate today = LocalDate.of(2025, 10, 1);
+    private final LocalDate cutoff = today.minusDays(365);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiveService, "horizonDays", 365);
+        ReflectionTestUtils.setField(archiveService, "batchSize", 100);
+    }
+
+    @Test
+    void archive_ShouldCreatePartitionsThenMoveInBatchesUntilShortBatch() {
+        // Arrange
+        when(reservationRepository.tryAdvisoryXactLock(ReservationArchiveService.ARCHIVE_LOCK_KEY)).thenReturn(true);
+        when(archiveRepository.findArchivableYears(cutoff)).thenReturn(List.of(2023, 2024), List.of(2024), List.of(2024));
+        when(archiveRepository.moveToArchive(cutoff, 100)).thenReturn(100, 100, 42);
+
+        // Act
+        long archived = archiveService.archive(today);
+
+        // Assert
+        assertEquals(242, archived);
+        verify(archiveRepository, times(3)).moveToArchive(cutoff, 100);
+        verify(transactionManager, times(3)).commit(any());
+        InOrder order = inOrder(archiveRepository);
+        order.verify(archiveRepository).ensureYearPartition(2023);
+        order.verify(archiveRepository).ensureYearPartition(2024);
+        order.verify(archiveRepository).moveToArchive(cutoff, 100);
+    }
+
+    @Test
+    void archive_LockHeldElsewhere_ShouldSkipWithoutMoving() {
+        when(reservationRepository.tryAdvisoryXactLock(ReservationArchiveService.ARCHIVE_LOCK_KEY)).thenReturn(false);
+
+        assertEquals(-1, archiveService.archive(today));
+        verify(archiveRepository, never()).moveToArchive(any(), anyInt());
+        verify(archiveRepository, never()).ensureYearPartition(anyInt());
+    }
+}
@@ -0,0 +1,69 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationLifecycleServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @InjectMocks
+    private ReservationLifecycleService lifecycleService;
+
+    private final LocalDate today = LocalDate.of(2025, 10, 1);
+
+    @Test
+    void advance_LockAcquired_ShouldCompleteThenActivateThenReleaseVehicles() {
+        // Arrange
+        when(reservationRepository.tryAdvisoryXactLock(ReservationLifecycleService.LIFECYCLE_LOCK_KEY)).thenReturn(true);
+        when(reservationRepository.completeFinishedReservations(today)).thenReturn(3);
+        when(reservationRepository.activateStartedReservations(today)).thenReturn(2);
+        when(vehicleRepository.releaseVehiclesWithoutOpenReservations()).thenReturn(1);
+
+        // Act
+        ReservationLifecycleService.LifecycleResult result = lifecycleService.advance(today);
+
+        // Assert
+        assertTrue(result.isRan());
+        assertEquals(2, result.getActivated());
+        assertEquals(3, result.getCompleted());
+        assertEquals(1, result.getVehiclesReleased());
+        InOrder order = inOrder(reservationRepository, vehicleRepository);
+        order.verify(reservationRepository).completeFinishedReservations(today);
+        order.verify(reservationRepository).activateStartedReservations(today);
+        order.verify(vehicleRepository).releaseVehiclesWithoutOpenReservations();
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    void advance_LockHeldByAnotherNode_ShouldSkipWithoutUpdates() {
+        // Arrange
+        when(reservationRepository.tryAdvisoryXactLock(anyLong())).thenReturn(false);
+
+        // Act
+        ReservationLifecycleService.LifecycleResult result = lifecycleService.advance(today);
+
+        // Assert
+        assertFalse(result.isRan());
+        verify(reservationRepository, never()).completeFinishedReservations(any());
+        verify(reservationRepository, never()).activateStartedReservations(any());
+        verifyNoInteractions(vehicleRepository);
+    }
+}
@@ -0,0 +1,299 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.CancellationCandidate;
+import com.grp12.DTO.CancellationResult;
+import com.grp12.DTO.ReservationAmendment;
+import com.grp12.DTO.ReservationView;
+import com.grp12.DTO.UserNameView;
+import com.grp12.Model.Amenity;
+import com.grp12.Model.Reservation;
+import com.grp12.Model.User;
+import com.grp12.Model.Vehicle;
+import com.grp12.Repository.ReservationArchiveRepository;
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.UserRepository;
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationQueue notificationQueue;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private HoldService holdService;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Spy
+    private CancellationPolicy cancellationPolicy = new CancellationPolicy("24:30,72:10");
+
+    @InjectMocks
+    private ReservationService reservationService;
+
+    @Test
+    void getAllReservationViews_ShouldAttachAmenitiesAndMissingNames() {
+        // Arrange
+        ReservationView named = view(1L, 10L, "Jane", Amenity.GPS.getBit() | Amenity.POWER_BANK.getBit());
+        ReservationView unnamed = view(2L, 20L, null, Amenity.NONE.getBit());
+        when(reservationRepository.findAllViews()).thenReturn(List.of(named, unnamed));
+        when(userRepository.findNamesByIdIn(anyCollection())).thenReturn(List.of(name(20L, "Mr", "John", "Doe")));
+
+        // Act
+        List<ReservationView> result = reservationService.getAllReservationViews();
+
+        // Assert
+        assertEquals(EnumSet.of(Amenity.GPS, Amenity.POWER_BANK), result.get(0).getAmenities());
+        assertEquals(EnumSet.of(Amenity.NONE), result.get(1).getAmenities());
+        assertEquals("Jane", result.get(0).getFirstName());
+        assertEquals("John", result.get(1).getFirstName());
+        assertEquals("Doe", result.get(1).getLastName());
+        verify(userRepository).findNamesByIdIn(argThat((Collection<Long> ids) -> ids.size() == 1 && ids.contains(20L)));
+    }
+
+    @Test
+    void getAllReservationViews_WithAmenityFilter_ShouldQueryByCombinedMask() {
+        // Arrange
+        when(reservationRepository.findAllViewsWithAmenities(anyInt())).thenReturn(List.of());
+
+        // Act
+        reservationService.getAllReservationViews(EnumSet.of(Amenity.GPS, Amenity.BABY_SITTER));
+
+        // Assert
+        verify(reservationRepository).findAllViewsWithAmenities(Amenity.GPS.getBit() | Amenity.BABY_SITTER.getBit());
+        verify(reservationRepository, never()).findAllViews();
+    }
+
+    @Test
+    void amenityMask_ShouldRoundTripEverySubset() {
+        Amenity[] all = Amenity.values();
+        for (int subset = 0; subset < (1 << all.length); subset++) {
+            EnumSet<Amenity> amenities = EnumSet.noneOf(Amenity.class);
+            for (int i = 0; i < all.length; i++) {
+                if ((subset & (1 << i)) != 0) {
+                    amenities.add(all[i]);
+                }
+            }
+            assertEquals(amenities, Amenity.fromMask(Amenity.toMask(amenities)));
+        }
+        assertEquals(Amenity.GPS, Amenity.fromCode("gps"));
+        assertThrows(IllegalArgumentException.class, () -> Amenity.fromCode("jetpack"));
+    }
+
+    @Test
+    void getUserReservationViews_ShouldUseProjectionWithoutEntities() {
+        // Arrange
+        when(reservationRepository.findViewsByUserId(10L)).thenReturn(List.of(view(1L, 10L, "Jane", Amenity.GPS.getBit())));
+
+        // Act
+        List<ReservationView> result = reservationService.getUserReservationViews(10L);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("/api/vehicles/5/thumbnail", result.get(0).getVehicle().getThumbnailUrl());
+        verify(reservationRepository, never()).findByUserId(any());
+        verifyNoInteractions(vehicleRepository, userRepository);
+    }
+
+    @Test
+    void cancelReservations_ShouldUseSetBasedStatementsAndQueueEmails() {
+        // Arrange - 3 requested, 4 is no longer Confirmed
+        List<Long> requested = List.of(1L, 2L, 3L, 4L);
+        List<Long> locked = List.of(1L, 2L, 3L);
+        LocalDate farAway = LocalDate.now().plusDays(30);
+        when(reservationRepository.lockConfirmedIds(anyCollection())).thenReturn(locked);
+        when(reservationRepository.findCancellationCandidates(locked)).thenReturn(List.of(
+                candidate(1L, 5L, farAway, "a@example.com"),
+                candidate(2L, 5L, farAway, "b@example.com"),
+                candidate(3L, 6L, farAway, null)));
+        when(reservationRepository.cancelConfirmedByIdIn(locked)).thenReturn(3);
+
+        // Act
+        CancellationResult result = reservationService.cancelReservations(requested, false);
+
+        // Assert
+        assertEquals(3, result.getCancelled().size());
+        assertEquals(List.of(4L), result.getSkipped());
+        assertEquals(0, result.getCancelled().get(0).getCancellationFee().signum());
+        assertEquals(new BigDecimal("150.00"), result.getCancelled().get(0).getRefundAmount());
+        verify(reservationRepository).cancelConfirmedByIdIn(locked);
+        verify(analyticsService).recordCancellations(locked);
+        verify(vehicleRepository).releaseRentedVehicles(argThat((Collection<Long> ids) -> ids.size() == 2));
+        verify(reservationRepository, never()).findById(any());
+        verify(reservationRepository, never()).save(any());
+        verify(notificationQueue, times(2)).enqueue(anyString(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void cancelReservationsForVehicle_NothingConfirmed_ShouldNotUpdate() {
+        when(reservationRepository.lockConfirmedIdsForVehicle(5L)).thenReturn(List.of());
+
+        CancellationResult result = reservationService.cancelReservationsForVehicle(5L, true);
+
+        assertTrue(result.getCancelled().isEmpty());
+        verify(reservationRepository, never()).cancelConfirmedByIdIn(anyCollection());
+        verifyNoInteractions(analyticsService);
+        verifyNoInteractions(vehicleRepository, notificationQueue);
+    }
+
+    private CancellationCandidate candidate(Long id, Long vehicleId, LocalDate rentalDate, String email) {
+        return new CancellationCandidate(id, 100 + id, vehicleId, rentalDate, new BigDecimal("150.00"),
+                "Toyota", "Camry", email, "Jane", "Smith");
+    }
+
+    @Test
+    void createReservation_VehicleHeldByAnotherCustomer_ShouldRejectBeforeBooking() {
+        // Arrange
+        Vehicle vehicle = new Vehicle("Toyota", "Camry", "Sedan", 2022, "Suva", new BigDecimal("50.00"));
+        vehicle.setId(5L);
+        vehicle.setStatus("Available");
+        when(vehicleRepository.findById(5L)).thenReturn(Optional.of(vehicle));
+        doThrow(new IllegalArgumentException("Vehicle is held by another customer"))
+                .when(holdService).checkNotHeldByOthers(5L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3), 10L);
+
+        Reservation reservation = new Reservation();
+        reservation.setVehicle(vehicle);
+        reservation.setUserId(10L);
+        reservation.setRentalDate(LocalDate.of(2025, 1, 1));
+        reservation.setReturnDate(LocalDate.of(2025, 1, 3));
+        reservation.setTotalPrice(new BigDecimal("150.00"));
+        reservation.setAmenities(EnumSet.of(Amenity.NONE));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reservationService.createReservation(reservation));
+        assertEquals("Available", vehicle.getStatus());
+        verify(reservationRepository, never()).save(any());
+        verify(holdService, never()).consumeHolds(anyLong(), anyLong());
+    }
+
+    @Test
+    void amendReservation_ExtendingReturnDate_ShouldCheckOnlyTheAddedDaysAndUpdateInPlace() {
+        // Arrange: booked 1-3 June, extended to 5 June
+        Vehicle vehicle = new Vehicle("Toyota", "Camry", "Sedan", 2022, "Suva", new BigDecimal("50.00"));
+        vehicle.setId(5L);
+        vehicle.setStatus("Rented");
+        Reservation reservation = new Reservation(vehicle, 10L, LocalDate.of(2099, 6, 1), LocalDate.of(2099, 6, 3),
+                EnumSet.of(Amenity.NONE), new BigDecimal("150.00"));
+        reservation.setId(1L);
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
+        when(reservationRepository.existsOverlapExcluding(anyLong(), anyLong(), any(), any(), any(), any())).thenReturn(false);
+        when(reservationRepository.existsByUserIdAndStatusNotAndIdNot(10L, "Cancelled", 1L)).thenReturn(true);
+        when(pricingEngine.quoteCents(5L, Amenity.NONE.getBit(), LocalDate.of(2099, 6, 1), LocalDate.of(2099, 6, 5), false))
+                .thenReturn(25_000L);
+        when(reservationRepository.saveAndFlush(reservation)).thenReturn(reservation);
+        User user = new User();
+        user.setEmail("jane@example.com");
+        when(userRepository.findById(10L)).thenReturn(Optional.of(user));
+
+        ReservationAmendment amendment = new ReservationAmendment();
+        amendment.setReturnDate(LocalDate.of(2099, 6, 5));
+
+        // Act
+        Reservation result = reservationService.amendReservation(1L, amendment);
+
+        // Assert: one availability query for 4-5 June only, row updated rather than cancelled and rebooked
+        verify(reservationRepository).existsOverlapExcluding(5L, 1L, LocalDate.of(2099, 6, 4), LocalDate.of(2099, 6, 5),
+                LocalDate.of(2099, 6, 4), LocalDate.of(2099, 6, 5));
+        assertEquals(LocalDate.of(2099, 6, 5), result.getReturnDate());
+        assertEquals(new BigDecimal("250.00"), result.getTotalPrice());
+        assertEquals("Confirmed", result.getStatus());
+        verify(reservationRepository, never()).cancelConfirmedByIdIn(anyCollection());
+        InOrder order = inOrder(analyticsService, reservationRepository);
+        order.verify(analyticsService).retractBookings(List.of(1L));
+        order.verify(reservationRepository).saveAndFlush(reservation);
+        order.verify(analyticsService).recordBookings(List.of(1L));
+        verify(notificationQueue).enqueue(anyString(), any());
+    }
+
+    @Test
+    void amendReservation_ShorteningDates_ShouldSkipTheAvailabilityQuery() {
+        Vehicle vehicle = new Vehicle("Toyota", "Camry", "Sedan", 2022, "Suva", new BigDecimal("50.00"));
+        vehicle.setId(5L);
+        Reservation reservation = new Reservation(vehicle, 10L, LocalDate.of(2099, 6, 1), LocalDate.of(2099, 6, 5),
+                EnumSet.of(Amenity.NONE), new BigDecimal("250.00"));
+        reservation.setId(1L);
+        when(reservationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(reservation));
+        when(pricingEngine.quoteCents(anyLong(), anyInt(), any(), any(), anyBoolean())).thenReturn(10_000L);
+        when(reservationRepository.saveAndFlush(reservation)).thenReturn(reservation);
+
+        ReservationAmendment amendment = new ReservationAmendment();
+        amendment.setRentalDate(LocalDate.of(2099, 6, 2));
+        amendment.setReturnDate(LocalDate.of(2099, 6, 3));
+        reservationService.amendReservation(1L, amendment);
+
+        verify(reservationRepository, never()).existsOverlapExcluding(anyLong(), anyLong(), any(), any(), any(), any());
+        assertEquals(new BigDecimal("100.00"), reservation.getTotalPrice());
+    }
+
+    @Test
+    void addedDays_ShouldReturnOnlyNewlyCoveredRanges() {
+        LocalDate d1 = LocalDate.of(2099, 6, 1);
+        // Extended on both sides
+        List<LocalDate[]> both = ReservationService.addedDays(d1.plusDays(2), d1.plusDays(4), d1, d1.plusDays(6));
+        assertEquals(2, both.size());
+        assertArrayEquals(new LocalDate[]{d1, d1.plusDays(1)}, both.get(0));
+        assertArrayEquals(new LocalDate[]{d1.plusDays(5), d1.plusDays(6)}, both.get(1));
+        // Moved past the old booking entirely
+        List<LocalDate[]> moved = ReservationService.addedDays(d1, d1.plusDays(1), d1.plusDays(3), d1.plusDays(4));
+        assertArrayEquals(new LocalDate[]{d1.plusDays(3), d1.plusDays(4)}, moved.get(0));
+        // Inside the old booking
+        assertTrue(ReservationService.addedDays(d1, d1.plusDays(4), d1.plusDays(1), d1.plusDays(2)).isEmpty());
+    }
+
+    private ReservationView view(Long id, Long userId, String firstName, int amenityMask) {
+        return new ReservationView(id, userId, null, firstName, firstName != null ? "Smith" : null,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3), "Confirmed", amenityMask, new BigDecimal("150.00"),
+                LocalDateTime.of(2024, 12, 1, 9, 0), null,
+                5L, "Toyota", "Camry", "Sedan", 2022, "Suva", "AB 123", new BigDecimal("50.00"), "Rented");
+    }
+
+    private UserNameView name(Long id, String title, String firstName, String lastName) {
+        return new UserNameView() {
+            public Long getId() { return id; }
+            public String getTitle() { return title; }
+            public String getFirstName() { return firstName; }
+            public String getLastName() { return lastName; }
+        };
+    }
+}
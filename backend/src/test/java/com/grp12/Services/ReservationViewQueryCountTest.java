@@ -0,0 +1,114 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.ReservationView;
+import com.grp12.Model.Amenity;
+import com.grp12.Model.Reservation;
+import com.grp12.Model.User;
+import com.grp12.Model.Vehicle;
+import com.grp12.Repository.ReservationRepository;
+import com.grp12.Repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts the SQL statements Hibernate prepares for the reservation listing, against H2 in PostgreSQL mode
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:views;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReservationViewQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ReservationService reservationService = new ReservationService();
+    private Statistics statistics;
+    private Vehicle vehicle;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationService, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(reservationService, "userRepository", userRepository);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        vehicle = new Vehicle("Toyota", "Camry", "Sedan", 2022, "Suva", new BigDecimal("50.00"));
+        vehicle.setLicensePlate("FJ-001");
+        entityManager.persist(vehicle);
+    }
+
+    @Test
+    void getAllReservationViews_ShouldPrepareTheSameStatementsFor1And200Reservations() {
+        seedReservations(1);
+        long small = preparedStatementsForListing(1);
+
+        seedReservations(199);
+        long large = preparedStatementsForListing(200);
+
+        // One projection query for reservations with their vehicles, one batched name lookup
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    // Every reservation lacks a stored name, so every listed row needs its customer's name filled in
+    private void seedReservations(int count) {
+        for (int i = 0; i < count; i++) {
+            seeded++;
+            User user = new User();
+            user.setFirstName("Customer" + seeded);
+            user.setLastName("Test");
+            user.setEmail("customer" + seeded + "@gmail.com");
+            user.setPassword("hash");
+            user.setPhoneNumber(String.format("7%06d", seeded));
+            user.setDriversLicenseNumber(String.format("1%06d", seeded));
+            entityManager.persist(user);
+            entityManager.persist(new Reservation(vehicle, user.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3),
+                    EnumSet.of(Amenity.GPS), new BigDecimal("100.00")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long preparedStatementsForListing(int expectedRows) {
+        statistics.clear();
+
+        List<ReservationView> views = reservationService.getAllReservationViews();
+
+        long prepared = statistics.getPrepareStatementCount();
+        assertEquals(expectedRows, views.size());
+        assertTrue(views.stream().allMatch(v -> v.getFirstName() != null && v.getVehicle().getMake() != null));
+        return prepared;
+    }
+}
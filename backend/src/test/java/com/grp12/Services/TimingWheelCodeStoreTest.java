@@ -0,0 +1,118 @@
+package com.grp12.Services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.grp12.Services.CodeStore.Purpose.EMAIL_VERIFICATION;
+import static com.grp12.Services.CodeStore.Purpose.PASSWORD_RESET;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelCodeStoreTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T09:00:00Z"));
+    private final TimingWheelCodeStore store = new TimingWheelCodeStore(clock, 1000, 64, 3);
+
+    @Test
+    void consume_ShouldAcceptTheCodeOnceAndKeepPurposesApart() {
+        store.put(EMAIL_VERIFICATION, "jane@example.com", "123456", Duration.ofMinutes(10));
+        store.put(PASSWORD_RESET, "jane@example.com", "654321", Duration.ofMinutes(15));
+
+        assertFalse(store.consume(EMAIL_VERIFICATION, "jane@example.com", "654321"));
+        assertFalse(store.consume(EMAIL_VERIFICATION, "jane@example.com", null));
+        assertTrue(store.matches(EMAIL_VERIFICATION, "jane@example.com", "123456"));
+        assertTrue(store.consume(EMAIL_VERIFICATION, "jane@example.com", "123456"));
+        assertFalse(store.consume(EMAIL_VERIFICATION, "jane@example.com", "123456"));
+        assertTrue(store.matches(PASSWORD_RESET, "jane@example.com", "654321"));
+    }
+
+    @Test
+    void expiredCode_ShouldStopMatchingAtOnceAndBeSweptByTheTick() {
+        store.put(EMAIL_VERIFICATION, "abandoned@example.com", "123456", Duration.ofMinutes(10));
+        // 600 s is more than nine turns of a 64 s wheel
+        clock.advanceSeconds(599);
+        store.tick();
+        assertEquals(1, store.size());
+
+        clock.advanceSeconds(1);
+        assertFalse(store.matches(EMAIL_VERIFICATION, "abandoned@example.com", "123456"));
+        clock.advanceSeconds(1);
+        store.tick();
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void put_ShouldReplaceTheKeysCodeAndRefuseNewKeysWhenFull() {
+        store.put(EMAIL_VERIFICATION, "a@example.com", "111111", Duration.ofMinutes(10));
+        store.put(EMAIL_VERIFICATION, "a@example.com", "222222", Duration.ofMinutes(10));
+        store.put(EMAIL_VERIFICATION, "b@example.com", "333333", Duration.ofMinutes(10));
+        store.put(EMAIL_VERIFICATION, "c@example.com", "444444", Duration.ofMinutes(1));
+
+        assertFalse(store.matches(EMAIL_VERIFICATION, "a@example.com", "111111"));
+        assertTrue(store.matches(EMAIL_VERIFICATION, "a@example.com", "222222"));
+        assertThrows(IllegalStateException.class,
+                () -> store.put(EMAIL_VERIFICATION, "d@example.com", "555555", Duration.ofMinutes(10)));
+        // Re-issuing for a key already held is still allowed at the cap
+        store.put(EMAIL_VERIFICATION, "b@example.com", "666666", Duration.ofMinutes(10));
+
+        clock.advanceSeconds(61);
+        store.tick();
+        store.put(EMAIL_VERIFICATION, "d@example.com", "555555", Duration.ofMinutes(10));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void consume_ConcurrentCallers_ShouldLetExactlyOneWin() throws Exception {
+        store.put(PASSWORD_RESET, "jane@example.com", "123456", Duration.ofMinutes(15));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> store.consume(PASSWORD_RESET, "jane@example.com", "123456")));
+            }
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            assertEquals(1, winners);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.grp12.Services;
+
+import com.grp12.Model.CheckoutHold;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelHoldStoreTest {
+
+    private static final LocalDate PICKUP = LocalDate.of(2025, 3, 10);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T09:00:00Z"));
+    private final TimingWheelHoldStore store = new TimingWheelHoldStore(clock, 1000, 8);
+
+    @Test
+    void wheel_ShouldNeverFireEarlyAndAtMostOneTickLate() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        // 2_550 ms is more than three turns of an 800 ms wheel
+        wheel.schedule("short", 250);
+        wheel.schedule("long", 2_550);
+        List<String> fired = new ArrayList<>();
+
+        wheel.advance(249, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(350, fired::add);
+        assertEquals(List.of("short"), fired);
+
+        wheel.advance(2_549, fired::add);
+        assertEquals(List.of("short"), fired);
+        wheel.advance(2_650, fired::add);
+        assertEquals(List.of("short", "long"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void wheel_CancelledTimeout_ShouldNotFire() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        HashedTimingWheel.Timeout<String> first = wheel.schedule("first", 300);
+        wheel.schedule("second", 300);
+        HashedTimingWheel.Timeout<String> third = wheel.schedule("third", 300);
+
+        assertTrue(wheel.cancel(first));
+        assertTrue(wheel.cancel(third));
+        assertFalse(wheel.cancel(third));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1_000, fired::add);
+        assertEquals(List.of("second"), fired);
+    }
+
+    @Test
+    void place_OverlappingHoldByAnotherUser_ShouldBeRejected() {
+        store.place(hold("a", 1L, 10L, PICKUP, PICKUP.plusDays(2), 10));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.place(hold("b", 1L, 20L, PICKUP.plusDays(2), PICKUP.plusDays(4), 10)));
+        // Adjacent dates and other vehicles are free
+        store.place(hold("c", 1L, 20L, PICKUP.plusDays(3), PICKUP.plusDays(4), 10));
+        store.place(hold("d", 2L, 20L, PICKUP, PICKUP.plusDays(2), 10));
+
+        assertTrue(store.findConflict(1L, PICKUP, PICKUP, 20L).isPresent());
+        assertTrue(store.findConflict(1L, PICKUP, PICKUP, 10L).isEmpty());
+        assertEquals(Set.of(1L, 2L), store.findHeldVehicleIds(null));
+        assertEquals(Set.of(1L), store.findHeldVehicleIds(20L));
+    }
+
+    @Test
+    void place_SameUser_ShouldReplaceTheirPreviousHold() {
+        store.place(hold("a", 1L, 10L, PICKUP, PICKUP.plusDays(2), 10));
+        store.place(hold("b", 1L, 10L, PICKUP, PICKUP.plusDays(5), 10));
+
+        assertTrue(store.findById("a").isEmpty());
+        assertTrue(store.findById("b").isPresent());
+        assertEquals(1, store.countActiveForUser(10L));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void expiredHold_ShouldStopBlockingBeforeAndAfterTheTick() {
+        store.place(hold("a", 1L, 10L, PICKUP, PICKUP.plusDays(2), 5));
+
+        clock.advanceSeconds(5 * 60);
+        // Not ticked yet, but reads already ignore it
+        assertEquals(1, store.size());
+        assertTrue(store.findConflict(1L, PICKUP, PICKUP, 20L).isEmpty());
+        assertTrue(store.findById("a").isEmpty());
+
+        clock.advanceSeconds(1);
+        assertEquals(1, store.expire(clock.millis()));
+        assertEquals(0, store.size());
+        assertEquals(0, store.countActiveForUser(10L));
+        assertTrue(store.findHeldVehicleIds(null).isEmpty());
+    }
+
+    @Test
+    void release_ShouldFreeTheVehicleAndCancelTheTimeout() {
+        store.place(hold("a", 1L, 10L, PICKUP, PICKUP.plusDays(2), 10));
+        store.place(hold("b", 2L, 10L, PICKUP, PICKUP.plusDays(2), 10));
+
+        assertTrue(store.release("a"));
+        assertFalse(store.release("a"));
+        assertEquals(1, store.releaseForUser(2L, 10L));
+
+        clock.advanceSeconds(60 * 60);
+        assertEquals(0, store.expire(clock.millis()));
+        assertEquals(0, store.size());
+    }
+
+    private CheckoutHold hold(String id, Long vehicleId, Long userId, LocalDate from, LocalDate to, int minutes) {
+        return new CheckoutHold(id, vehicleId, userId, from, to, LocalDateTime.now(clock).plusMinutes(minutes));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.grp12.Services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T09:00:00Z"));
+    private final RateLimiter.Limit threePerMinute = RateLimiter.Limit.parse("test", "3/60");
+
+    @Test
+    void bucket_ShouldAllowTheBurstThenOneRequestPerRefill() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(clock, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("ip:10.0.0.1", threePerMinute));
+        }
+        assertFalse(limiter.tryAcquire("ip:10.0.0.1", threePerMinute));
+        assertTrue(limiter.tryAcquire("ip:10.0.0.2", threePerMinute));
+
+        // One token every 20 s; refused attempts do not push the refill back
+        clock.advanceMillis(10_000);
+        assertFalse(limiter.tryAcquire("ip:10.0.0.1", threePerMinute));
+        clock.advanceMillis(10_000);
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1", threePerMinute));
+        assertFalse(limiter.tryAcquire("ip:10.0.0.1", threePerMinute));
+        assertEquals(20, threePerMinute.getRetryAfterSeconds());
+    }
+
+    @Test
+    void sweep_ShouldDropOnlyBucketsThatHaveRefilled() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(clock, 100);
+        limiter.tryAcquire("ip:10.0.0.1", threePerMinute);
+        clock.advanceMillis(30_000);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("ip:10.0.0.2", threePerMinute);
+        }
+
+        clock.advanceMillis(30_000);
+        limiter.sweep();
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void fullMap_ShouldPutNewClientsInOneSharedBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(clock, 2);
+        limiter.tryAcquire("ip:10.0.0.1", threePerMinute);
+        limiter.tryAcquire("ip:10.0.0.2", threePerMinute);
+
+        int allowed = 0;
+        for (int i = 3; i < 50; i++) {
+            allowed += limiter.tryAcquire("ip:10.0.0." + i, threePerMinute) ? 1 : 0;
+        }
+
+        assertEquals(3, allowed);
+        assertEquals(3, limiter.size());
+        assertTrue(limiter.tryAcquire("ip:10.0.0.1", threePerMinute));
+    }
+
+    @Test
+    void concurrentCallers_ShouldNeverOverdrawTheBucket() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(clock, 100);
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("test", "500/3600");
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        if (limiter.tryAcquire("email:jane@example.com", limit)) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(500, allowed.get());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
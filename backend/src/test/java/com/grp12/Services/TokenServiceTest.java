@@ -0,0 +1,114 @@
+package com.grp12.Services;
+
+import com.grp12.DTO.AuthPrincipal;
+import com.grp12.DTO.TokenResponse;
+import com.grp12.Model.RefreshToken;
+import com.grp12.Repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant NOW = Instant.parse("2025-03-01T09:00:00Z");
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final TokenDenyList tokenDenyList = mock(TokenDenyList.class);
+    private final PrincipalService principalService = mock(PrincipalService.class);
+    private final TokenService tokenService = new TokenService(SECRET, Clock.fixed(NOW, ZoneOffset.UTC), 900, 86_400);
+
+    private final AuthPrincipal customer = new AuthPrincipal(AuthPrincipal.USER, 7L, "sam@gmail.com", null, "$2a$10$hash",
+            "ROLE_CUSTOMER", "APPROVED", "Sam", "Lee", null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenService, "refreshTokenRepository", refreshTokenRepository);
+        ReflectionTestUtils.setField(tokenService, "tokenDenyList", tokenDenyList);
+        ReflectionTestUtils.setField(tokenService, "principalService", principalService);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void codec_ShouldRejectTamperedForeignAndExpiredTokens() {
+        AccessTokenCodec codec = new AccessTokenCodec(SECRET);
+        long now = NOW.getEpochSecond();
+        String token = codec.encode(new AccessTokenCodec.Claims("sam@gmail.com", "jti-1", now, now + 900));
+
+        AccessTokenCodec.Claims claims = codec.decode(token, now);
+        assertEquals("sam@gmail.com", claims.getSubject());
+        assertEquals("jti-1", claims.getJti());
+
+        String forged = codec.encode(new AccessTokenCodec.Claims("admin@rms.com", "jti-1", now, now + 900));
+        String spliced = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+        assertNull(codec.decode(spliced, now));
+        assertNull(new AccessTokenCodec("another-secret-another-secret-00".getBytes(StandardCharsets.US_ASCII)).decode(token, now));
+        assertNull(codec.decode(token, now + 900));
+        assertNull(codec.decode("garbage", now));
+    }
+
+    @Test
+    void authenticate_DeniedJti_ShouldBeRejected() {
+        TokenResponse tokens = tokenService.issue(customer);
+        assertNotNull(tokenService.authenticate(tokens.getAccessToken()));
+
+        when(tokenDenyList.isDenied(anyString())).thenReturn(true);
+        assertNull(tokenService.authenticate(tokens.getAccessToken()));
+    }
+
+    @Test
+    void refresh_ShouldRotateAndStoreOnlyTheHash() {
+        TokenResponse first = tokenService.issue(customer);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        RefreshToken stored = saved.getValue();
+        assertEquals(TokenService.hash(first.getRefreshToken()), stored.getTokenHash());
+        assertNotEquals(first.getRefreshToken(), stored.getTokenHash());
+
+        when(refreshTokenRepository.findByTokenHashForUpdate(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(principalService.resolve("sam@gmail.com")).thenReturn(Optional.of(customer));
+
+        TokenResponse second = tokenService.refresh(first.getRefreshToken());
+
+        assertNotNull(stored.getRevokedAt());
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+        assertNotNull(tokenService.authenticate(second.getAccessToken()));
+    }
+
+    @Test
+    void refresh_ReusedToken_ShouldRevokeTheWholeAccount() {
+        RefreshToken used = new RefreshToken("id-1", TokenService.hash("stolen"), "sam@gmail.com",
+                NOW.atOffset(ZoneOffset.UTC).toLocalDateTime(), NOW.atOffset(ZoneOffset.UTC).toLocalDateTime().plusDays(1));
+        used.setRevokedAt(NOW.atOffset(ZoneOffset.UTC).toLocalDateTime());
+        when(refreshTokenRepository.findByTokenHashForUpdate(TokenService.hash("stolen"))).thenReturn(Optional.of(used));
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.refresh("stolen"));
+        verify(refreshTokenRepository).revokeAllForSubject(eq("sam@gmail.com"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_DeactivatedAccount_ShouldBeRefused() {
+        AuthPrincipal rejected = new AuthPrincipal(AuthPrincipal.USER, 7L, "sam@gmail.com", null, "$2a$10$hash",
+                "ROLE_CUSTOMER", "REJECTED", "Sam", "Lee", null, null, null);
+        RefreshToken stored = new RefreshToken("id-1", TokenService.hash("valid"), "sam@gmail.com",
+                NOW.atOffset(ZoneOffset.UTC).toLocalDateTime(), NOW.atOffset(ZoneOffset.UTC).toLocalDateTime().plusDays(1));
+        when(refreshTokenRepository.findByTokenHashForUpdate(TokenService.hash("valid"))).thenReturn(Optional.of(stored));
+        when(principalService.resolve("sam@gmail.com")).thenReturn(Optional.of(rejected));
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.refresh("valid"));
+    }
+}
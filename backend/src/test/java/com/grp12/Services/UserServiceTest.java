@@ -1,7 +1,12 @@
 package com.grp12.Services;
 
+import com.grp12.DTO.RegistrationConflict;
+import com.grp12.DTO.RegistrationDecisionResult;
+import com.grp12.DTO.UserKeyView;
 import com.grp12.Model.RegistrationRequest;
 import com.grp12.Model.User;
+import com.grp12.Repository.RefreshTokenRepository;
+import com.grp12.Repository.RegistrationConflictRepository;
 import com.grp12.Repository.RegistrationRequestRepository;
 import com.grp12.Repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +17,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +43,24 @@ class UserServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private PrincipalService principalService;
+
+    @Mock
+    private CodeStore codeStore;
+
+    @Mock
+    private RegistrationConflictRepository registrationConflictRepository;
+
+    @Mock
+    private RegistrationKeyFilter registrationKeyFilter;
+
+    @Mock
+    private NotificationQueue notificationQueue;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
     @InjectMocks
     private UserService userService;
 
@@ -53,8 +81,8 @@ class UserServiceTest {
     @Test
     void registerUser_ValidUser_ShouldCreateRegistrationRequest() {
         // Arrange
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
-        when(registrationRequestRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
+        when(registrationKeyFilter.mightConflict(any(), any(), any())).thenReturn(true);
+        when(registrationConflictRepository.findConflicts(any(), any(), any())).thenReturn(List.of());
         when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
         when(registrationRequestRepository.save(any())).thenReturn(new RegistrationRequest());
 
@@ -66,6 +94,19 @@ class UserServiceTest {
         verify(registrationRequestRepository).save(any(RegistrationRequest.class));
     }
 
+    @Test
+    void registerUser_ShouldStoreThePhoneNumberItScreened() {
+        testUser.setPhoneNumber(" 1234567 ");
+        when(registrationKeyFilter.mightConflict(any(), eq("1234567"), any())).thenReturn(true);
+        when(registrationConflictRepository.findConflicts(any(), eq("1234567"), any())).thenReturn(List.of());
+        when(registrationRequestRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RegistrationRequest result = userService.registerUser(testUser);
+
+        assertEquals("1234567", result.getPhoneNumber());
+        verify(registrationKeyFilter).add(any(), eq("1234567"), eq("1234567"));
+    }
+
     @Test
     void registerUser_InvalidDriversLicenseNumber_ShouldThrowException() {
         // Arrange
@@ -94,8 +135,8 @@ class UserServiceTest {
     void registerUser_ValidDriversLicenseNumber_ShouldAccept() {
         // Arrange
         testUser.setDriversLicenseNumber("1234567"); // Exactly 7 digits
-        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
-        when(registrationRequestRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.empty());
+        when(registrationKeyFilter.mightConflict(any(), any(), any())).thenReturn(true);
+        when(registrationConflictRepository.findConflicts(any(), any(), any())).thenReturn(List.of());
         when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
         when(registrationRequestRepository.save(any())).thenReturn(new RegistrationRequest());
 
@@ -142,4 +183,151 @@ class UserServiceTest {
         });
         assertEquals("Driver's license number is required", exception.getMessage());
     }
+
+    @Test
+    void registerUser_FilterRulesOutEveryKey_ShouldSkipTheConflictQuery() {
+        testUser.setEmail(" Test@Gmail.com ");
+        when(registrationKeyFilter.mightConflict("test@gmail.com", "1234567", "1234567")).thenReturn(false);
+        when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
+        when(registrationRequestRepository.save(any())).thenReturn(new RegistrationRequest());
+
+        userService.registerUser(testUser);
+
+        verifyNoInteractions(registrationConflictRepository);
+        verify(registrationKeyFilter).add(" Test@Gmail.com ", "1234567", "1234567");
+    }
+
+    @Test
+    void registerUser_OneQuery_ShouldReportTheSameConflictsAsTheOldLookups() {
+        when(registrationKeyFilter.mightConflict(any(), any(), any())).thenReturn(true);
+
+        when(registrationConflictRepository.findConflicts("test@gmail.com", "1234567", "1234567")).thenReturn(List.of(
+                new RegistrationConflict(RegistrationConflict.REQUEST, 4L, "PENDING", true, false, false),
+                new RegistrationConflict(RegistrationConflict.USER, 9L, "APPROVED", true, true, true)));
+        assertEquals("Email already registered and approved",
+                assertThrows(IllegalArgumentException.class, () -> userService.registerUser(testUser)).getMessage());
+
+        when(registrationConflictRepository.findConflicts("test@gmail.com", "1234567", "1234567")).thenReturn(List.of(
+                new RegistrationConflict(RegistrationConflict.USER, 9L, "APPROVED", false, false, true)));
+        assertEquals("Driver's license number is already registered",
+                assertThrows(IllegalArgumentException.class, () -> userService.registerUser(testUser)).getMessage());
+
+        when(registrationConflictRepository.findConflicts("test@gmail.com", "1234567", "1234567")).thenReturn(List.of(
+                new RegistrationConflict(RegistrationConflict.REQUEST, 5L, "PENDING", false, true, false)));
+        assertEquals("Phone number is already registered",
+                assertThrows(IllegalArgumentException.class, () -> userService.registerUser(testUser)).getMessage());
+
+        verify(registrationRequestRepository, never()).save(any());
+    }
+
+    @Test
+    void registerUser_StaleRecordsForTheEmail_ShouldBeRemovedBeforeTheNewRequest() {
+        when(registrationKeyFilter.mightConflict(any(), any(), any())).thenReturn(true);
+        when(registrationConflictRepository.findConflicts(any(), any(), any())).thenReturn(List.of(
+                new RegistrationConflict(RegistrationConflict.USER, 9L, "REJECTED", true, true, true),
+                new RegistrationConflict(RegistrationConflict.REQUEST, 4L, "REJECTED", true, true, true),
+                new RegistrationConflict(RegistrationConflict.REQUEST, 6L, "REJECTED", false, false, true)));
+        when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
+        when(registrationRequestRepository.save(any())).thenReturn(new RegistrationRequest());
+
+        userService.registerUser(testUser);
+
+        verify(userRepository).deleteById(9L);
+        verify(principalService).evictUser(9L);
+        verify(registrationRequestRepository).deleteById(4L);
+        verify(registrationRequestRepository, never()).deleteById(6L);
+        verify(registrationRequestRepository).save(any(RegistrationRequest.class));
+    }
+
+    @Test
+    void approveUsers_ShouldInsertTheNewUsersTogetherAndReportEveryId() {
+        RegistrationRequest first = pendingRequest(1L, "jane@gmail.com", "1111111");
+        RegistrationRequest emailTaken = pendingRequest(2L, "taken@gmail.com", "2222222");
+        RegistrationRequest rejected = pendingRequest(3L, "old@gmail.com", "3333333");
+        rejected.setStatus("REJECTED");
+        RegistrationRequest sameLicense = pendingRequest(5L, "other@gmail.com", "1111111");
+        when(registrationRequestRepository.findAllByIdForUpdate(Set.of(1L, 2L, 3L, 4L, 5L)))
+                .thenReturn(List.of(sameLicense, rejected, emailTaken, first));
+        UserKeyView taken = mock(UserKeyView.class);
+        when(taken.getEmail()).thenReturn("taken@gmail.com");
+        when(taken.getDriversLicenseNumber()).thenReturn("9999999");
+        when(userRepository.findKeysByEmailInOrLicenseIn(any(), any())).thenReturn(List.of(taken));
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.get(0).setId(40L);
+            return users;
+        });
+
+        List<RegistrationDecisionResult> results = userService.approveUsers(List.of(1L, 2L, 3L, 4L, 1L, 5L));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(RegistrationDecisionResult::getRequestId).toList());
+        assertEquals(List.of("APPROVED", "FAILED", "FAILED", "FAILED", "FAILED"),
+                results.stream().map(RegistrationDecisionResult::getStatus).toList());
+        assertEquals(40L, results.get(0).getUserId());
+        assertEquals("Email already registered", results.get(1).getError());
+        assertEquals("Registration request is not pending", results.get(2).getError());
+        assertEquals("Registration request not found", results.get(3).getError());
+        assertEquals("Driver's license number already registered", results.get(4).getError());
+        verify(userRepository).saveAll(argThat(users -> ((List<User>) users).size() == 1));
+        verify(registrationRequestRepository).markApproved(eq(List.of(1L)), any());
+        verify(notificationQueue, times(1)).enqueue(any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void rejectUsers_ShouldMarkOnlyPendingRequestsAndQueueTheirEmails() {
+        RegistrationRequest approved = pendingRequest(2L, "done@gmail.com", "2222222");
+        approved.setStatus("APPROVED");
+        when(registrationRequestRepository.findAllByIdForUpdate(any()))
+                .thenReturn(List.of(pendingRequest(1L, "jane@gmail.com", "1111111"), approved));
+
+        List<RegistrationDecisionResult> results = userService.rejectUsers(List.of(1L, 2L));
+
+        assertEquals("REJECTED", results.get(0).getStatus());
+        assertEquals("Registration request is not pending", results.get(1).getError());
+        verify(registrationRequestRepository).markRejected(eq(List.of(1L)), any());
+        verify(notificationQueue).enqueue(any(), any());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void approveUsers_TooManyIds_ShouldBeRefusedBeforeTouchingTheDatabase() {
+        List<Long> ids = LongStream.rangeClosed(1, 201).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> userService.approveUsers(ids));
+        verifyNoInteractions(registrationRequestRepository);
+    }
+
+    @Test
+    void passwordReset_ShouldKeyTheCodeByTheNormalisedEmail() throws Exception {
+        testUser.setStatus("APPROVED");
+        when(userRepository.findByEmail(any())).thenReturn(Optional.of(testUser));
+
+        userService.requestPasswordReset(" Test@Gmail.com ");
+        userService.verifyResetToken("test@gmail.com", "123456");
+
+        verify(codeStore).put(eq(CodeStore.Purpose.PASSWORD_RESET), eq("test@gmail.com"), any(), any());
+        verify(codeStore).matches(CodeStore.Purpose.PASSWORD_RESET, "test@gmail.com", "123456");
+    }
+
+    @Test
+    void resetPassword_ShouldRevokeEveryRefreshTokenOfTheAccount() {
+        testUser.setId(7L);
+        when(codeStore.matches(CodeStore.Purpose.PASSWORD_RESET, "test@gmail.com", "123456")).thenReturn(true);
+        when(codeStore.consume(CodeStore.Purpose.PASSWORD_RESET, "test@gmail.com", "123456")).thenReturn(true);
+        when(userRepository.findByEmail("test@gmail.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("NewPass1!")).thenReturn("hash");
+
+        userService.resetPassword("test@gmail.com", "123456", "NewPass1!");
+
+        verify(principalService).evictUser(7L);
+        verify(refreshTokenRepository).revokeAllForSubject(eq("test@gmail.com"), any());
+    }
+
+    private static RegistrationRequest pendingRequest(Long id, String email, String license) {
+        RegistrationRequest request = new RegistrationRequest("Jane", "Doe", "7654321", email, "hash", license, "image");
+        request.setId(id);
+        request.setStatus("PENDING");
+        return request;
+    }
 }
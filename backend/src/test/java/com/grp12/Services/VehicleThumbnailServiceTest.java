@@ -0,0 +1,73 @@
+package com.grp12.Services;
+
+import com.grp12.Repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleThumbnailServiceTest {
+
+    private static final LocalDateTime UPLOADED = LocalDateTime.of(2025, 6, 1, 9, 0);
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private ImageCompressionService imageCompressionService;
+
+    private VehicleThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailService = new VehicleThumbnailService(2);
+        ReflectionTestUtils.setField(thumbnailService, "vehicleRepository", vehicleRepository);
+        ReflectionTestUtils.setField(thumbnailService, "imageCompressionService", imageCompressionService);
+    }
+
+    @Test
+    void getThumbnail_ShouldScaleOncePerVersion() throws Exception {
+        byte[] first = {1};
+        byte[] second = {2};
+        when(vehicleRepository.findPrimaryImageVersionById(1L))
+                .thenReturn(Optional.of(UPLOADED), Optional.of(UPLOADED), Optional.of(UPLOADED.plusDays(1)));
+        when(vehicleRepository.findPrimaryImageById(1L)).thenReturn(Optional.of("old"), Optional.of("new"));
+        when(imageCompressionService.createThumbnail("old")).thenReturn(first);
+        when(imageCompressionService.createThumbnail("new")).thenReturn(second);
+
+        assertSame(first, thumbnailService.getThumbnail(1L).get());
+        assertSame(first, thumbnailService.getThumbnail(1L).get());
+        // The vehicle changed since, so its photo may have too
+        assertSame(second, thumbnailService.getThumbnail(1L).get());
+
+        verify(vehicleRepository, times(2)).findPrimaryImageById(1L);
+        verify(imageCompressionService, times(2)).createThumbnail(anyString());
+    }
+
+    @Test
+    void getThumbnail_ShouldBeEmptyWithoutAPhotoAndEvictTheLeastRecentlyUsed() throws Exception {
+        when(vehicleRepository.findPrimaryImageVersionById(9L)).thenReturn(Optional.empty());
+        assertFalse(thumbnailService.getThumbnail(9L).isPresent());
+        verify(vehicleRepository, never()).findPrimaryImageById(9L);
+
+        for (long id = 1; id <= 3; id++) {
+            when(vehicleRepository.findPrimaryImageVersionById(id)).thenReturn(Optional.of(UPLOADED));
+            when(vehicleRepository.findPrimaryImageById(id)).thenReturn(Optional.of("image" + id));
+            when(imageCompressionService.createThumbnail("image" + id)).thenReturn(new byte[]{(byte) id});
+            thumbnailService.getThumbnail(id);
+        }
+
+        assertEquals(2, thumbnailService.size());
+        thumbnailService.getThumbnail(1L);
+        verify(imageCompressionService, times(2)).createThumbnail("image1");
+    }
+}
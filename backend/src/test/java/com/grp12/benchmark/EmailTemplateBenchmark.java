@@ -0,0 +1,105 @@
+package com.grp12.benchmark;
+
+import com.grp12.Services.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of a reservation confirmation email: the compiled template versus
+ * the string concatenation it replaced.
+ *
+ * Run with GC profiling to see allocation per email (gc.alloc.rate.norm):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.grp12.benchmark.EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine.CompiledTemplate template;
+
+    private String firstName = "John";
+    private String lastName = "Doe";
+    private Long reservationId = 1042L;
+    private String vehicleName = "Toyota Camry";
+    private String rentalDate = "2025-10-01";
+    private String returnDate = "2025-10-05";
+    private String totalPrice = "450.00";
+
+    @Setup
+    public void setUp() {
+        EmailTemplateEngine engine = new EmailTemplateEngine();
+        ReflectionTestUtils.setField(engine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "templateLocation", "classpath:templates/email/");
+        template = engine.compile("reservation-confirmation",
+                "firstName", "lastName", "reservationId", "vehicleName", "rentalDate", "returnDate", "totalPrice");
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(firstName, lastName, String.valueOf(reservationId), vehicleName, rentalDate, returnDate, totalPrice);
+    }
+
+    @Benchmark
+    public String stringConcatenation() {
+        return "<!DOCTYPE html>" +
+                "<html>" +
+                "<head>" +
+                "<style>" +
+                "body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }" +
+                ".container { max-width: 600px; margin: 0 auto; padding: 20px; }" +
+                ".header { background-color: #27ae60; color: white; padding: 20px; text-align: center; border-radius: 8px 8px 0 0; }" +
+                ".content { padding: 30px; background-color: #f9f9f9; }" +
+                ".footer { text-align: center; margin-top: 20px; color: #666; font-size: 14px; }" +
+                ".info-box { background-color: #d4edda; border: 1px solid #c3e6cb; padding: 15px; border-radius: 4px; margin: 15px 0; }" +
+                "</style>" +
+                "</head>" +
+                "<body>" +
+                "<div class='container'>" +
+                "<div class='header'>" +
+                "<h1>🚗 Ronaldo's Rentals</h1>" +
+                "<h2>Your Payment Receipt</h2>" +
+                "</div>" +
+                "<div class='content'>" +
+                "<h3>Dear " + firstName + " " + lastName + ",</h3>" +
+                "<div class='info-box'>" +
+                "<p><strong>Your reservation has been successfully confirmed!</strong></p>" +
+                "</div>" +
+                "<p><strong>Reservation Details:</strong></p>" +
+                "<ul>" +
+                "<li><strong>Reservation ID:</strong> " + reservationId + "</li>" +
+                "<li><strong>Vehicle:</strong> " + vehicleName + "</li>" +
+                "<li><strong>Rental Date:</strong> " + rentalDate + "</li>" +
+                "<li><strong>Return Date:</strong> " + returnDate + "</li>" +
+                "<li><strong>Total Price:</strong> $" + totalPrice + "</li>" +
+                "</ul>" +
+                "<p>Thank you for choosing Ronaldo's Rentals. We look forward to serving you!</p>" +
+                "<p>If you have any questions about your reservation, please contact our support team.</p>" +
+                "</div>" +
+                "<div class='footer'>" +
+                "<p>© 2025 Ronaldo's Rentals. All rights reserved.</p>" +
+                "<p>This email was sent to " + firstName + " " + lastName + "</p>" +
+                "</div>" +
+                "</div>" +
+                "</body>" +
+                "</html>";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
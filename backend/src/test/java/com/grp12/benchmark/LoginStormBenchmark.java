@@ -0,0 +1,119 @@
+package com.grp12.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grp12.Exception.PasswordHashingBusyException;
+import com.grp12.Model.Vehicle;
+import com.grp12.config.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog latency (serialising the available-vehicle list, as
+ * GET /api/vehicles/available does) while storm-threads request threads keep
+ * checking passwords.
+ *
+ * none: no logins. inline: every login thread runs BCrypt itself, as with the
+ * plain BCryptPasswordEncoder. bounded: logins go through
+ * BoundedPasswordEncoder with its default half-the-cores pool; the overflow
+ * is turned away with 503 and retried after a short pause. Compare the
+ * p0.99 of bounded against none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginStormBenchmark {
+
+    private static final int VEHICLES = 200;
+    private static final int STRENGTH = 10;
+
+    @Param({"none", "inline", "bounded"})
+    public String mode;
+
+    @Param({"16"})
+    public int stormThreads;
+
+    private ObjectMapper objectMapper;
+    private List<Vehicle> catalog;
+    private BoundedPasswordEncoder boundedEncoder;
+    private final List<Thread> storm = new ArrayList<>();
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        catalog = new ArrayList<>();
+        for (int i = 1; i <= VEHICLES; i++) {
+            Vehicle vehicle = new Vehicle("Toyota", "Corolla " + i, "Sedan", 2020, i % 2 == 0 ? "Suva" : "Nadi",
+                    new BigDecimal("120.00"));
+            vehicle.setId((long) i);
+            vehicle.setStatus("Available");
+            vehicle.setDescription("Well kept family sedan with air conditioning and bluetooth");
+            catalog.add(vehicle);
+        }
+
+        if ("none".equals(mode)) {
+            return;
+        }
+        PasswordEncoder encoder;
+        if ("bounded".equals(mode)) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            boundedEncoder = new BoundedPasswordEncoder(STRENGTH, threads, 64, 5_000, new SimpleMeterRegistry());
+            encoder = boundedEncoder;
+        } else {
+            encoder = new BCryptPasswordEncoder(STRENGTH);
+        }
+        String hash = new BCryptPasswordEncoder(STRENGTH).encode("secret123");
+
+        running = true;
+        for (int i = 0; i < stormThreads; i++) {
+            Thread thread = new Thread(() -> {
+                while (running) {
+                    try {
+                        encoder.matches("secret123", hash);
+                    } catch (PasswordHashingBusyException e) {
+                        pause();
+                    }
+                }
+            }, "login-storm-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            storm.add(thread);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        running = false;
+        for (Thread thread : storm) {
+            thread.join();
+        }
+        storm.clear();
+        if (boundedEncoder != null) {
+            boundedEncoder.destroy();
+        }
+    }
+
+    @Benchmark
+    public byte[] catalog() throws Exception {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    // A client told 503 backs off before trying again
+    private static void pause() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
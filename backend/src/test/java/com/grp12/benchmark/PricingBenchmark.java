@@ -0,0 +1,74 @@
+package com.grp12.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grp12.Model.Amenity;
+import com.grp12.Repository.VehicleRepository;
+import com.grp12.Services.PricingEngine;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quote computation against a 500-vehicle price table, versus the previous
+ * BigDecimal day-rate multiplication. Run with -prof gc to confirm the cents
+ * path allocates nothing per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int VEHICLES = 500;
+
+    private PricingEngine pricingEngine;
+    private BigDecimal pricePerDay;
+    private int amenityMask;
+    private long vehicleId;
+    private LocalDate rentalDate;
+    private LocalDate returnDate;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> rates = new ArrayList<>();
+        for (long id = 1; id <= VEHICLES; id++) {
+            rates.add(new Object[]{id, new BigDecimal("120.00").add(BigDecimal.valueOf(id)), "Sedan", "Suva", 5});
+        }
+        VehicleRepository vehicleRepository = Mockito.mock(VehicleRepository.class);
+        Mockito.when(vehicleRepository.findAllPricingAttributes()).thenReturn(rates);
+
+        pricingEngine = new PricingEngine();
+        ReflectionTestUtils.setField(pricingEngine, "vehicleRepository", vehicleRepository);
+        ReflectionTestUtils.setField(pricingEngine, "resourceLoader", new DefaultResourceLoader());
+        ReflectionTestUtils.setField(pricingEngine, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(pricingEngine, "amenityPricesLocation", "classpath:pricing/amenity-prices.properties");
+        ReflectionTestUtils.setField(pricingEngine, "promotionsLocation", "classpath:pricing/promotions.json");
+        pricingEngine.reload();
+
+        vehicleId = 321;
+        rentalDate = LocalDate.of(2025, 3, 3);
+        returnDate = rentalDate.plusDays(4);
+        pricePerDay = new BigDecimal("441.00");
+        amenityMask = Amenity.GPS.getBit() | Amenity.POWER_BANK.getBit();
+    }
+
+    @Benchmark
+    public long engineCents() {
+        return pricingEngine.quoteCents(vehicleId, amenityMask, rentalDate, returnDate, false);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal base = pricePerDay.multiply(new BigDecimal(5));
+        return base.add(new BigDecimal("10.00")).add(new BigDecimal("5.00"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.grp12.benchmark;
+
+import com.grp12.Model.Amenity;
+import com.grp12.Services.PromotionEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluating every applicable promotion for one quote against hundreds of
+ * active rules through the compiled index. Run with -prof gc to confirm the
+ * evaluation path allocates nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionBenchmark {
+
+    private static final String[] TYPES = {"SUV", "Sedan", "Hatchback", "Van", "Truck"};
+    private static final String[] LOCATIONS = {"Suva", "Nadi", "Lautoka"};
+    private static final int QUERIES = 1024;
+
+    @Param({"100", "500", "1000"})
+    public int rules;
+
+    private PromotionEngine.CompiledPromotions promotions;
+    private long[] amenityCents;
+    private String[] queryTypes;
+    private String[] queryLocations;
+    private LocalDate[] queryDates;
+    private long[] queryDays;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<PromotionEngine.Rule> definitions = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            PromotionEngine.Rule rule = new PromotionEngine.Rule();
+            rule.setId("rule-" + i);
+            rule.setPercentOff(BigDecimal.valueOf(1 + random.nextInt(20)));
+            if (random.nextBoolean()) {
+                rule.setVehicleTypes(List.of(TYPES[random.nextInt(TYPES.length)]));
+            }
+            if (random.nextBoolean()) {
+                rule.setLocations(List.of(LOCATIONS[random.nextInt(LOCATIONS.length)]));
+            }
+            if (random.nextInt(3) == 0) {
+                rule.setDaysOfWeek(List.of(DayOfWeek.of(1 + random.nextInt(7)), DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+            }
+            if (random.nextInt(4) == 0) {
+                LocalDate from = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(300));
+                rule.setValidFrom(from);
+                rule.setValidTo(from.plusDays(30 + random.nextInt(60)));
+            }
+            rule.setMinDays(random.nextInt(4) == 0 ? 2 + random.nextInt(4) : null);
+            rule.setFreeAmenities(random.nextInt(5) == 0 ? List.of(Amenity.GPS) : List.of());
+            rule.setStackable(random.nextInt(5) == 0);
+            definitions.add(rule);
+        }
+        promotions = PromotionEngine.compile(definitions);
+
+        amenityCents = new long[Integer.SIZE];
+        amenityCents[Integer.numberOfTrailingZeros(Amenity.GPS.getBit())] = 1_000L;
+
+        queryTypes = new String[QUERIES];
+        queryLocations = new String[QUERIES];
+        queryDates = new LocalDate[QUERIES];
+        queryDays = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryTypes[i] = TYPES[random.nextInt(TYPES.length)];
+            queryLocations[i] = LOCATIONS[random.nextInt(LOCATIONS.length)];
+            queryDates[i] = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            queryDays[i] = 1 + random.nextInt(7);
+        }
+    }
+
+    @Benchmark
+    public long evaluate() {
+        int i = next++ & (QUERIES - 1);
+        long rentalCents = queryDays[i] * 15_000L;
+        return promotions.discountCents(queryTypes[i], queryLocations[i], 5, queryDates[i], queryDays[i], false,
+                rentalCents, 1_000L, amenityCents, Amenity.GPS.getBit());
+    }
+}
@@ -0,0 +1,90 @@
+package com.grp12.benchmark;
+
+import com.grp12.config.NearCacheSessionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SessionRepository;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Per-request session cost: look the session up, mark it accessed and save
+ * it, as the session filter does around every authenticated request.
+ *
+ * memory: a map of live sessions, the same work the servlet container does
+ * today. nearCache: NearCacheSessionRepository with the session cached, the
+ * steady state on the node serving a user; the table is not touched, the
+ * difference is copying the session and serializing its attributes to spot
+ * changes. A cache miss adds one primary-key SELECT, and a last-access write
+ * happens at most once per touch-interval per session, neither of which is
+ * measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionStoreBenchmark {
+
+    private static final int SESSIONS = 1_000;
+
+    @Param({"memory", "nearCache"})
+    public String store;
+
+    private SessionRepository<MapSession> repository;
+    private String[] ids;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        if ("memory".equals(store)) {
+            repository = new MapSessionRepository(new ConcurrentHashMap<>());
+        } else {
+            JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+            when(jdbcTemplate.queryForObject("SELECT now()", Timestamp.class)).thenReturn(new Timestamp(0));
+            when(jdbcTemplate.query(startsWith("INSERT INTO http_sessions"), any(RowMapper.class), any(Object[].class)))
+                    .thenReturn(List.of(1L));
+            NearCacheSessionRepository nearCache = new NearCacheSessionRepository(jdbcTemplate, Clock.systemUTC(),
+                    Duration.ofMinutes(30), 60_000, 5_000);
+            nearCache.init();
+            repository = nearCache;
+        }
+
+        ids = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            MapSession session = repository.createSession();
+            User user = new User("admin" + i + "@rentals.test", "", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+                    new SecurityContextImpl(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())));
+            repository.save(session);
+            ids[i] = session.getId();
+        }
+    }
+
+    @Benchmark
+    public MapSession request() {
+        MapSession session = repository.findById(ids[next++ % SESSIONS]);
+        session.setLastAccessedTime(Instant.now());
+        repository.save(session);
+        return session;
+    }
+}
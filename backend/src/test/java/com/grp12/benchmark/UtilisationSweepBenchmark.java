@@ -0,0 +1,89 @@
+package com.grp12.benchmark;
+
+import com.grp12.Services.FleetUtilisationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.grp12.Repository.FleetEventRepository.MAINTENANCE;
+import static com.grp12.Repository.FleetEventRepository.RESERVATION;
+
+/**
+ * Sweeping one location's event stream: three years of back-to-back bookings
+ * plus occasional maintenance for every vehicle, fed in day order as the
+ * database cursor would. Measures the in-process part of a utilisation
+ * report; the stream itself is pre-sorted in arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilisationSweepBenchmark {
+
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    @Param({"500", "2000"})
+    public int vehicles;
+
+    private List<Long> vehicleIds;
+    private long[] eventVehicle;
+    private long[] eventDay;
+    private int[] eventKind;
+    private int[] eventDelta;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vehicleIds = new ArrayList<>(vehicles);
+        List<long[]> events = new ArrayList<>();
+        long first = FROM.toEpochDay();
+        long last = TO.toEpochDay();
+        for (long id = 1; id <= vehicles; id++) {
+            vehicleIds.add(id);
+            long day = first + random.nextInt(5);
+            while (day <= last) {
+                long length = 1 + random.nextInt(7);
+                int kind = random.nextInt(20) == 0 ? MAINTENANCE : RESERVATION;
+                events.add(new long[]{day, id, kind, 1});
+                events.add(new long[]{Math.min(day + length, last + 1), id, kind, -1});
+                day += length + random.nextInt(4);
+            }
+        }
+        events.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        int size = events.size();
+        eventDay = new long[size];
+        eventVehicle = new long[size];
+        eventKind = new int[size];
+        eventDelta = new int[size];
+        for (int i = 0; i < size; i++) {
+            long[] event = events.get(i);
+            eventDay[i] = event[0];
+            eventVehicle[i] = event[1];
+            eventKind[i] = (int) event[2];
+            eventDelta[i] = (int) event[3];
+        }
+    }
+
+    @Benchmark
+    public long sweep() {
+        FleetUtilisationService.OccupancySweep sweep = new FleetUtilisationService.OccupancySweep(
+                FROM.toEpochDay(), TO.toEpochDay(), vehicleIds);
+        for (int i = 0; i < eventDay.length; i++) {
+            sweep.onEvent(eventVehicle[i], eventDay[i], eventKind[i], eventDelta[i]);
+        }
+        sweep.finish();
+        long booked = 0;
+        for (int i = 0; i < sweep.size(); i++) {
+            booked += sweep.bookedDays(i);
+        }
+        return booked;
+    }
+}
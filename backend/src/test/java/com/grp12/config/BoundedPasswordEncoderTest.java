@@ -0,0 +1,82 @@
+package com.grp12.config;
+
+import com.grp12.Exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldUseConfiguredCostAndRecordQueueTime() {
+        encoder = new BoundedPasswordEncoder(5, 1, 4, 5_000, registry);
+
+        String hash = encoder.encode("secret123");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("secret123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.matches("secret123", null));
+        assertEquals(1, registry.get("auth.password.queue").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("auth.password.execution").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_ShouldFlagHashesWithAnotherCost() {
+        encoder = new BoundedPasswordEncoder(5, 1, 4, 5_000, registry);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret123")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret123")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void saturatedPool_ShouldRejectImmediatelyInsteadOfQueueing() throws Exception {
+        // One worker and one queue slot, each holding a slow hash
+        encoder = new BoundedPasswordEncoder(13, 1, 1, 30_000, registry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        waitFor("auth.password.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        waitFor("auth.password.queued", 1);
+
+        long started = System.nanoTime();
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("third", running.getNow("$2a$13$x")));
+        assertTrue(System.nanoTime() - started < 100_000_000L, "rejection should not wait for the pool");
+        assertEquals(1.0, registry.get("auth.password.rejected").counter().count());
+
+        // The admitted work still completes
+        assertTrue(queued.get().startsWith("$2a$13$"));
+        assertTrue(encoder.matches("first", running.get()));
+    }
+
+    @Test
+    void slowPool_ShouldTimeOutWithBusy() {
+        encoder = new BoundedPasswordEncoder(13, 1, 4, 1, registry);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("secret123"));
+        assertEquals(1.0, registry.get("auth.password.rejected").counter().count());
+    }
+
+    private void waitFor(String gauge, double value) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (registry.get(gauge).gauge().value() < value) {
+            assertTrue(System.currentTimeMillis() < deadline, gauge + " never reached " + value);
+            Thread.sleep(1);
+        }
+    }
+}
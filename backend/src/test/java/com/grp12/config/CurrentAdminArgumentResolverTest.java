@@ -0,0 +1,82 @@
+package com.grp12.config;
+
+import com.grp12.Model.Admin;
+import com.grp12.Services.PrincipalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CurrentAdminArgumentResolverTest {
+
+    private final PrincipalService principalService = mock(PrincipalService.class);
+    private final CurrentAdminArgumentResolver resolver = new CurrentAdminArgumentResolver();
+    private MethodParameter annotated;
+    private MethodParameter plain;
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentAdmin Admin currentAdmin, Admin body) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(resolver, "principalService", principalService);
+        annotated = new MethodParameter(getClass().getDeclaredMethod("handler", Admin.class, Admin.class), 0);
+        plain = new MethodParameter(getClass().getDeclaredMethod("handler", Admin.class, Admin.class), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void supportsParameter_OnlyAnnotatedAdminParameters() {
+        assertTrue(resolver.supportsParameter(annotated));
+        assertFalse(resolver.supportsParameter(plain));
+    }
+
+    @Test
+    void resolveArgument_ShouldLookUpOncePerRequest() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@rms.com", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        Admin admin = new Admin("Ana", "Tui", "admin", "admin@rms.com");
+        when(principalService.currentAdmin("admin@rms.com")).thenReturn(admin);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertSame(admin, resolver.resolveArgument(annotated, null, request, null));
+        assertSame(admin, resolver.resolveArgument(annotated, null, request, null));
+        verify(principalService, times(1)).currentAdmin("admin@rms.com");
+
+        // A new request resolves again
+        resolver.resolveArgument(annotated, null, new ServletWebRequest(new MockHttpServletRequest()), null);
+        verify(principalService, times(2)).currentAdmin("admin@rms.com");
+    }
+
+    @Test
+    void resolveArgument_AnonymousOrCustomer_ShouldBeNullAndMemoised() {
+        ServletWebRequest anonymousRequest = new ServletWebRequest(new MockHttpServletRequest());
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertNull(resolver.resolveArgument(annotated, null, anonymousRequest, null));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "sam@gmail.com", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        ServletWebRequest customerRequest = new ServletWebRequest(new MockHttpServletRequest());
+        assertNull(resolver.resolveArgument(annotated, null, customerRequest, null));
+        assertNull(resolver.resolveArgument(annotated, null, customerRequest, null));
+
+        verify(principalService, times(1)).currentAdmin("sam@gmail.com");
+        verify(principalService, never()).currentAdmin("anonymousUser");
+    }
+}
@@ -0,0 +1,87 @@
+package com.grp12.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the migration against H2 in PostgreSQL mode, whose EXPLAIN shows whether a lookup seeks an index
+class EmailNormalizationMigrationTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private EmailNormalizationMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:emails;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE registration_requests (id BIGINT PRIMARY KEY, email VARCHAR(255) NOT NULL)");
+        migration = new EmailNormalizationMigration();
+        ReflectionTestUtils.setField(migration, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void migration_ShouldNormaliseEmailsAndKeepTheApprovedAccountOnACollision() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255) NOT NULL UNIQUE, status VARCHAR(20))");
+        jdbcTemplate.execute("CREATE INDEX idx_user_email ON users (email)");
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'Jane@Gmail.com', 'REJECTED'), (2, ' jane@gmail.com', 'APPROVED'), " +
+                "(3, 'BOB@gmail.com', 'APPROVED'), (4, 'JANE@GMAIL.COM', 'PENDING')");
+        jdbcTemplate.update("INSERT INTO registration_requests VALUES (1, 'Jane@Gmail.com ')");
+
+        migration.migrate();
+
+        assertEquals(List.of("duplicate-1-jane@gmail.com", "jane@gmail.com", "bob@gmail.com", "duplicate-4-jane@gmail.com"),
+                jdbcTemplate.queryForList("SELECT email FROM users ORDER BY id", String.class));
+        assertEquals("jane@gmail.com", jdbcTemplate.queryForObject("SELECT email FROM registration_requests", String.class));
+        // The UNIQUE constraint's index serves lookups, so the plain duplicate is gone
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_user_email'", Integer.class));
+        assertIndexLookup("SELECT id FROM users WHERE email = 'jane@gmail.com'");
+    }
+
+    @Test
+    void migration_ShouldAddAUniqueIndexWhenTheColumnHasNone() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255) NOT NULL, status VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'Jane@Gmail.com', 'APPROVED')");
+        assertTrue(explain("SELECT id FROM users WHERE email = 'jane@gmail.com'").contains("tableScan"));
+
+        migration.migrate();
+        migration.migrate();
+
+        String plan = explain("SELECT id FROM users WHERE email = 'jane@gmail.com'");
+        assertTrue(plan.contains("/* public.idx_user_email: email = 'jane@gmail.com' */"), plan);
+        // The old case-insensitive predicate can at best read the whole index
+        assertFalse(isIndexLookup(explain("SELECT id FROM users WHERE LOWER(email) = LOWER('Jane@Gmail.com')")));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("INSERT INTO users VALUES (2, 'jane@gmail.com', 'PENDING')"));
+    }
+
+    private void assertIndexLookup(String sql) {
+        String plan = explain(sql);
+        assertTrue(isIndexLookup(plan), plan);
+    }
+
+    // H2 prints the index and the condition it seeks on, e.g. /* public.idx_user_email: email = 'x' */
+    private static boolean isIndexLookup(String plan) {
+        return plan.matches("(?s).*/\\* public\\.\\w+: email = .*");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
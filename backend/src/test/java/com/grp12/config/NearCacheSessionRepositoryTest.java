@@ -0,0 +1,123 @@
+package com.grp12.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.session.MapSession;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NearCacheSessionRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    private JdbcTemplate jdbcTemplate;
+    private NearCacheSessionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject("SELECT now()", Timestamp.class)).thenReturn(Timestamp.from(NOW));
+        repository = new NearCacheSessionRepository(jdbcTemplate, Clock.fixed(NOW, ZoneOffset.UTC),
+                Duration.ofMinutes(30), 60_000, 5_000);
+        repository.init();
+        clearInvocations(jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MapSession savedSession() {
+        when(jdbcTemplate.query(startsWith("INSERT INTO http_sessions"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(1L));
+        MapSession session = repository.createSession();
+        session.setAttribute("cart", "vehicle-7");
+        repository.save(session);
+        clearInvocations(jdbcTemplate);
+        return session;
+    }
+
+    @Test
+    void cachedSession_ShouldBeServedAndSavedWithoutTouchingTheDatabase() {
+        MapSession saved = savedSession();
+
+        MapSession found = repository.findById(saved.getId());
+        found.setLastAccessedTime(NOW.plusSeconds(10));
+        repository.save(found);
+
+        assertEquals("vehicle-7", found.getAttribute("cart"));
+        assertNotSame(found, repository.findById(saved.getId()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void unchangedSession_ShouldOnlyRefreshLastAccessOncePerTouchInterval() {
+        MapSession session = repository.findById(savedSession().getId());
+        session.setLastAccessedTime(NOW.plusSeconds(61));
+        when(jdbcTemplate.update(startsWith("UPDATE http_sessions SET last_accessed_at"), any(Object[].class))).thenReturn(1);
+
+        repository.save(session);
+        session.setLastAccessedTime(NOW.plusSeconds(90));
+        repository.save(session);
+
+        verify(jdbcTemplate, times(1)).update(startsWith("UPDATE http_sessions SET last_accessed_at"), any(Object[].class));
+        verify(jdbcTemplate, never()).update(contains("version = version + 1"), any(Object[].class));
+    }
+
+    @Test
+    void changedSession_ShouldWriteAgainstTheCachedVersion() {
+        MapSession session = repository.findById(savedSession().getId());
+        session.setAttribute(NearCacheSessionRepository.SECURITY_CONTEXT,
+                new SecurityContextImpl(new UsernamePasswordAuthenticationToken("admin@rentals.test", null, List.of())));
+        when(jdbcTemplate.update(startsWith("UPDATE http_sessions SET principal_name"), any(Object[].class))).thenReturn(1);
+
+        repository.save(session);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE http_sessions SET principal_name"), eq("admin@rentals.test"),
+                anyLong(), anyInt(), anyLong(), any(byte[].class), eq(session.getId()), eq(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void poll_ShouldMakeTheNextReadGoToTheDatabaseWhenAnotherNodeChangedTheRow() throws Exception {
+        MapSession saved = savedSession();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("id")).thenReturn(saved.getId());
+        when(row.getBoolean("deleted")).thenReturn(false);
+        when(row.getLong("version")).thenReturn(2L);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, version, deleted"), any(RowCallbackHandler.class), any(Object[].class));
+        when(jdbcTemplate.query(contains("WHERE id = ? AND NOT deleted"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of());
+
+        repository.poll();
+
+        // The row was logged out elsewhere by the time it is re-read
+        assertNull(repository.findById(saved.getId()));
+        assertEquals(0, repository.cachedCount());
+    }
+
+    @Test
+    void deleteById_ShouldLeaveATombstoneAndDropTheCachedCopy() {
+        MapSession saved = savedSession();
+
+        repository.deleteById(saved.getId());
+
+        verify(jdbcTemplate).update(startsWith("UPDATE http_sessions SET deleted = TRUE"), eq(saved.getId()));
+        assertEquals(0, repository.cachedCount());
+    }
+}
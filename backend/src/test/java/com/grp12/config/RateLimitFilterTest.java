@@ -0,0 +1,123 @@
+package com.grp12.config;
+
+import com.grp12.Services.RateLimiter;
+import jakarta.servlet.ReadListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final List<String> acquired = new ArrayList<>();
+    private boolean allow = true;
+
+    private RateLimitFilter filter() {
+        RateLimiter limiter = (key, limit) -> {
+            acquired.add(key);
+            return allow || key.contains(":ip:");
+        };
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOrigin("http://localhost:3000");
+        cors.addAllowedMethod("POST");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        RateLimitFilter.Rule login = new RateLimitFilter.Rule("login",
+                RateLimiter.Limit.parse("ip", "30/60"), RateLimiter.Limit.parse("email", "10/300"));
+        return new RateLimitFilter(limiter, source, Map.of("/api/auth/login", login));
+    }
+
+    private MockHttpServletRequest login(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("10.0.0.7");
+        request.addHeader("Origin", "http://localhost:3000");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    void allowedRequest_ShouldReachTheControllerWithItsBodyIntact() throws Exception {
+        String body = "{\"email\":\" Jane@Example.com \",\"password\":\"secret\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter().doFilter(login(body), new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of("login:ip:10.0.0.7", "login:email:jane@example.com"), acquired);
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void nonBlockingReader_ShouldBeToldTheCachedBodyIsAvailableAndComplete() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter().doFilter(login("{\"email\":\"jane@example.com\"}"), new MockHttpServletResponse(), chain);
+        List<String> events = new ArrayList<>();
+
+        chain.getRequest().getInputStream().setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+                events.add("available");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("available", "done"), events);
+    }
+
+    @Test
+    void oversizedBody_ShouldGet413InsteadOfReachingTheControllerTruncated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String padding = "x".repeat(RateLimitFilter.MAX_BODY_BYTES);
+
+        filter().doFilter(login("{\"email\":\"jane@example.com\",\"note\":\"" + padding + "\"}"), response, chain);
+
+        assertEquals(413, response.getStatus());
+        assertEquals("http://localhost:3000", response.getHeader("Access-Control-Allow-Origin"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void limitedRequest_ShouldGet429WithCorsHeadersAndNeverReachTheController() throws Exception {
+        allow = false;
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter().doFilter(login("{\"email\":\"jane@example.com\"}"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("30", response.getHeader("Retry-After"));
+        assertEquals("http://localhost:3000", response.getHeader("Access-Control-Allow-Origin"));
+        assertTrue(response.getContentAsString().contains("Too many attempts"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void otherEndpoints_ShouldNotBeThrottled() throws Exception {
+        allow = false;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/login");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter().doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertTrue(acquired.isEmpty());
+        assertSame(request, chain.getRequest());
+    }
+}